@@ -3,6 +3,8 @@ package org.schabi.newpipe.extractor;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
 import org.schabi.newpipe.extractor.linkhandler.LinkHandler;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
@@ -29,13 +31,13 @@ public abstract class Extractor {
     private ContentCountry forcedContentCountry = null;
 
     private boolean pageFetched = false;
-    // called like this to prevent checkstyle errors about "hiding a field"
-    private final Downloader downloader;
+    @Nonnull
+    private NewPipeContext context;
 
     protected Extractor(final StreamingService service, final LinkHandler linkHandler) {
         this.service = Objects.requireNonNull(service, "service is null");
         this.linkHandler = Objects.requireNonNull(linkHandler, "LinkHandler is null");
-        this.downloader = Objects.requireNonNull(NewPipe.getDownloader(), "downloader is null");
+        this.context = NewPipe.getDefaultContext();
     }
 
     /**
@@ -57,10 +59,42 @@ public abstract class Extractor {
         if (pageFetched) {
             return;
         }
-        onFetchPage(downloader);
+        final long startTime = ExtractionEvents.start();
+        try {
+            onFetchPage(getDownloader());
+        } catch (final IOException | ExtractionException | RuntimeException e) {
+            ExtractionEvents.report(Phase.FETCH_PAGE, getClass().getSimpleName(), getServiceId(),
+                    startTime, e);
+            throw e;
+        }
+        ExtractionEvents.report(Phase.FETCH_PAGE, getClass().getSimpleName(), getServiceId(),
+                startTime);
         pageFetched = true;
     }
 
+    /**
+     * Release the data fetched by {@link #fetchPage()}, such as raw responses, so that it can be
+     * garbage collected even if this extractor is still referenced. This should be called once
+     * everything needed has been extracted.
+     *
+     * <p>
+     * The page is then considered not fetched anymore, so {@link #fetchPage()} must be called
+     * again before using this extractor.
+     * </p>
+     */
+    public void release() {
+        onRelease();
+        pageFetched = false;
+    }
+
+    /**
+     * Drop the data fetched by {@link #onFetchPage(Downloader)}. It does nothing by default.
+     *
+     * @see #release()
+     */
+    protected void onRelease() {
+    }
+
     protected void assertPageFetched() {
         if (!pageFetched) {
             throw new IllegalStateException("Page is not fetched. Make sure you call fetchPage()");
@@ -120,8 +154,35 @@ public abstract class Extractor {
         return service.getServiceId();
     }
 
+    /**
+     * @return the downloader of the {@link #getContext() context} of this extractor
+     * @throws NullPointerException if the context has no downloader, i.e. if it is the default
+     *                              context and {@link NewPipe#init(Downloader)} has not been
+     *                              called
+     */
+    @Nonnull
     public Downloader getDownloader() {
-        return downloader;
+        return Objects.requireNonNull(context.getDownloader(), "downloader is null");
+    }
+
+    /**
+     * Set the context of this extractor, i.e. its downloader and its preferred localization and
+     * content country. It must be set before the page is fetched.
+     *
+     * @param context the context of this extractor, which is the
+     *                {@link NewPipe#getDefaultContext() default context} at the creation of the
+     *                extractor otherwise
+     */
+    public void setContext(@Nonnull final NewPipeContext context) {
+        if (pageFetched) {
+            throw new IllegalStateException("Page is already fetched");
+        }
+        this.context = Objects.requireNonNull(context, "context is null");
+    }
+
+    @Nonnull
+    public NewPipeContext getContext() {
+        return context;
     }
 
     /*//////////////////////////////////////////////////////////////////////////
@@ -138,12 +199,13 @@ public abstract class Extractor {
 
     @Nonnull
     public Localization getExtractorLocalization() {
-        return forcedLocalization == null ? getService().getLocalization() : forcedLocalization;
+        return forcedLocalization == null ? getService().getLocalization(context)
+                : forcedLocalization;
     }
 
     @Nonnull
     public ContentCountry getExtractorContentCountry() {
-        return forcedContentCountry == null ? getService().getContentCountry()
+        return forcedContentCountry == null ? getService().getContentCountry(context)
                 : forcedContentCountry;
     }
 
@@ -0,0 +1,167 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Spliterator} over the items of all the pages of a list, which are fetched lazily with a
+ * {@link PageIterator}.
+ *
+ * <p>
+ * A page is only requested when all the items of the previous one have been consumed, so that
+ * short-circuiting operations of a {@link Stream} such as {@link Stream#limit(long) limit} or
+ * {@link Stream#takeWhile(java.util.function.Predicate) takeWhile} stop the requests as soon as
+ * they are satisfied. The page iterator can however prefetch pages ahead of the consumer, if it
+ * has been created with a non-zero prefetch depth.
+ * </p>
+ *
+ * <p>
+ * The {@link InfoItemsPage#getErrors() errors} of each page and the exception thrown when a page
+ * could not be fetched are given to an error consumer, instead of interrupting the stream. When a
+ * page could not be fetched, the stream ends.
+ * </p>
+ *
+ * @param <T> the info item type of the list
+ */
+public final class InfoItemsSpliterator<T extends InfoItem> implements Spliterator<T> {
+
+    @Nonnull
+    private final PageIterator<T> pageIterator;
+    @Nonnull
+    private final Consumer<Throwable> errorConsumer;
+    @Nullable
+    private Iterator<T> currentItems;
+    private int fetchedPageCount = 0;
+
+    /**
+     * Create a spliterator over the items of the pages returned by a page iterator.
+     *
+     * @param pageIterator  the iterator of the pages
+     * @param errorConsumer the consumer of the errors of the pages and of the exceptions thrown
+     *                      while fetching them, called on the thread consuming the items
+     */
+    public InfoItemsSpliterator(@Nonnull final PageIterator<T> pageIterator,
+                                @Nonnull final Consumer<Throwable> errorConsumer) {
+        this.pageIterator = Objects.requireNonNull(pageIterator, "pageIterator is null");
+        this.errorConsumer = Objects.requireNonNull(errorConsumer, "errorConsumer is null");
+    }
+
+    /**
+     * Get a sequential stream of the items of all the pages of a list, fetched only when needed
+     * on the thread consuming the stream.
+     *
+     * @param extractor     the extractor of the list
+     * @param startPage     the page of the first items, or {@code null} to start with the
+     *                      {@link ListExtractor#getInitialPage() initial page}, in which case the
+     *                      page of the extractor must have been fetched
+     * @param errorConsumer the consumer of the errors of the pages and of the exceptions thrown
+     *                      while fetching them
+     * @return a stream which should be closed if it is not fully consumed
+     */
+    @Nonnull
+    public static <T extends InfoItem> Stream<T> stream(
+            @Nonnull final ListExtractor<T> extractor,
+            @Nullable final Page startPage,
+            @Nonnull final Consumer<Throwable> errorConsumer) {
+        return stream(new PageIterator<>(extractor, startPage, 0, Runnable::run), errorConsumer);
+    }
+
+    /**
+     * Get a sequential stream of the items of the pages returned by a page iterator. The page
+     * iterator is closed when the stream is closed.
+     *
+     * @param pageIterator  the iterator of the pages
+     * @param errorConsumer the consumer of the errors of the pages and of the exceptions thrown
+     *                      while fetching them
+     * @return a stream which should be closed if it is not fully consumed
+     */
+    @Nonnull
+    public static <T extends InfoItem> Stream<T> stream(
+            @Nonnull final PageIterator<T> pageIterator,
+            @Nonnull final Consumer<Throwable> errorConsumer) {
+        return StreamSupport.stream(new InfoItemsSpliterator<>(pageIterator, errorConsumer), false)
+                .onClose(pageIterator::close);
+    }
+
+    @Override
+    public boolean tryAdvance(@Nonnull final Consumer<? super T> action) {
+        while (currentItems == null || !currentItems.hasNext()) {
+            if (!fetchNextPage()) {
+                return false;
+            }
+        }
+        action.accept(currentItems.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(@Nonnull final Consumer<? super T> action) {
+        //noinspection StatementWithEmptyBody
+        while (tryAdvance(action)) {
+        }
+    }
+
+    /**
+     * @return {@code null}, as a page can only be requested once the previous one is known
+     */
+    @Nullable
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * @return the number of pages which have been fetched, including the ones which could not be
+     * fetched
+     */
+    public int getFetchedPageCount() {
+        return fetchedPageCount;
+    }
+
+    /**
+     * Fetch the next page, if there is one, and give its errors to the error consumer.
+     *
+     * @return whether there may be more items to consume
+     */
+    private boolean fetchNextPage() {
+        if (!pageIterator.hasNext()) {
+            pageIterator.close();
+            return false;
+        }
+
+        ++fetchedPageCount;
+        final InfoItemsPage<T> page;
+        try {
+            page = pageIterator.next();
+        } catch (final Exception e) {
+            pageIterator.close();
+            errorConsumer.accept(e);
+            return false;
+        }
+
+        for (final Throwable error : page.getErrors()) {
+            errorConsumer.accept(error);
+        }
+        currentItems = page.getItems().iterator();
+        return true;
+    }
+}
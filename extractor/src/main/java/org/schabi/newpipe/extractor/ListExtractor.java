@@ -6,6 +6,8 @@ import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 
@@ -53,6 +55,20 @@ public abstract class ListExtractor<R extends InfoItem> extends Extractor {
      */
     public abstract InfoItemsPage<R> getPage(Page page) throws IOException, ExtractionException;
 
+    /**
+     * Get a lazy stream of the items of all the pages of this list, starting with the initial
+     * page. Pages are only requested when the items of the previous one have been consumed.
+     *
+     * @param errorConsumer the consumer of the errors of the pages and of the exceptions thrown
+     *                      while fetching them
+     * @return a stream which should be closed if it is not fully consumed
+     * @see InfoItemsSpliterator
+     */
+    @Nonnull
+    public Stream<R> getAllItems(@Nonnull final Consumer<Throwable> errorConsumer) {
+        return InfoItemsSpliterator.stream(this, null, errorConsumer);
+    }
+
     @Nonnull
     @Override
     public ListLinkHandler getLinkHandler() {
@@ -7,11 +7,14 @@ import org.schabi.newpipe.extractor.playlist.PlaylistInfoItemExtractor;
 import org.schabi.newpipe.extractor.playlist.PlaylistInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.StringPool;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 /*
  * Created by Christian Schabesberger on 12.02.17.
  *
@@ -57,6 +60,21 @@ public class MultiInfoItemsCollector extends InfoItemsCollector<InfoItem, InfoIt
         playlistCollector = new PlaylistInfoItemsCollector(serviceId);
     }
 
+    /**
+     * Set the pool of the strings repeated by the stream items.
+     *
+     * @param stringPool the pool, or {@code null} to not deduplicate strings, which is the default
+     * @see StreamInfoItemsCollector#setStringPool(StringPool)
+     */
+    public void setStringPool(@Nullable final StringPool stringPool) {
+        streamCollector.setStringPool(stringPool);
+    }
+
+    @Nullable
+    public StringPool getStringPool() {
+        return streamCollector.getStringPool();
+    }
+
     @Override
     public List<Throwable> getErrors() {
         final List<Throwable> errors = new ArrayList<>(super.getErrors());
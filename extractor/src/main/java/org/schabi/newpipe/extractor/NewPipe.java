@@ -20,12 +20,16 @@ package org.schabi.newpipe.extractor;
  * along with NewPipe.  If not, see <http://www.gnu.org/licenses/>.
  */
 
+import org.schabi.newpipe.extractor.cache.InfoCache;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionListener;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -34,9 +38,16 @@ import javax.annotation.Nullable;
  * Provides access to streaming services supported by NewPipe.
  */
 public final class NewPipe {
-    private static Downloader downloader;
-    private static Localization preferredLocalization;
-    private static ContentCountry preferredContentCountry;
+    @Nonnull
+    private static volatile NewPipeContext defaultContext =
+            new NewPipeContext(null, Localization.DEFAULT, ContentCountry.DEFAULT);
+    private static volatile boolean lazyInfoItems = false;
+    @Nullable
+    private static volatile InfoCache infoCache;
+    @Nullable
+    private static volatile Executor executor;
+    @Nullable
+    private static volatile ExtractionListener extractionListener;
 
     private NewPipe() {
     }
@@ -46,18 +57,31 @@ public final class NewPipe {
     }
 
     public static void init(final Downloader d, final Localization l) {
-        init(d, l, l.getCountryCode().isEmpty()
-                ? ContentCountry.DEFAULT : new ContentCountry(l.getCountryCode()));
+        init(d, l, NewPipeContext.getContentCountryOf(l));
     }
 
     public static void init(final Downloader d, final Localization l, final ContentCountry c) {
-        downloader = d;
-        preferredLocalization = l;
-        preferredContentCountry = c;
+        defaultContext = new NewPipeContext(d, orDefault(l), orDefault(c));
     }
 
+    /**
+     * @return the downloader of the {@link #getDefaultContext() default context}
+     */
     public static Downloader getDownloader() {
-        return downloader;
+        return defaultContext.getDownloader();
+    }
+
+    /**
+     * Get the default context, used by the extractors which have not been given another one. It
+     * is replaced each time the downloader, the preferred localization or the preferred content
+     * country is set with the methods of this class.
+     *
+     * @return the default context
+     * @see Extractor#setContext(NewPipeContext)
+     */
+    @Nonnull
+    public static NewPipeContext getDefaultContext() {
+        return defaultContext;
     }
 
     /*//////////////////////////////////////////////////////////////////////////
@@ -104,32 +128,140 @@ public final class NewPipe {
     public static void setupLocalization(
             final Localization thePreferredLocalization,
             @Nullable final ContentCountry thePreferredContentCountry) {
-        NewPipe.preferredLocalization = thePreferredLocalization;
-
-        if (thePreferredContentCountry != null) {
-            NewPipe.preferredContentCountry = thePreferredContentCountry;
-        } else {
-            NewPipe.preferredContentCountry = thePreferredLocalization.getCountryCode().isEmpty()
-                    ? ContentCountry.DEFAULT
-                    : new ContentCountry(thePreferredLocalization.getCountryCode());
-        }
+        final Localization localization = orDefault(thePreferredLocalization);
+        defaultContext = new NewPipeContext(defaultContext.getDownloader(), localization,
+                thePreferredContentCountry != null
+                        ? thePreferredContentCountry
+                        : NewPipeContext.getContentCountryOf(localization));
     }
 
     @Nonnull
     public static Localization getPreferredLocalization() {
-        return preferredLocalization == null ? Localization.DEFAULT : preferredLocalization;
+        return defaultContext.getPreferredLocalization();
     }
 
     public static void setPreferredLocalization(final Localization preferredLocalization) {
-        NewPipe.preferredLocalization = preferredLocalization;
+        final NewPipeContext context = defaultContext;
+        defaultContext = new NewPipeContext(context.getDownloader(),
+                orDefault(preferredLocalization), context.getPreferredContentCountry());
     }
 
     @Nonnull
     public static ContentCountry getPreferredContentCountry() {
-        return preferredContentCountry == null ? ContentCountry.DEFAULT : preferredContentCountry;
+        return defaultContext.getPreferredContentCountry();
     }
 
     public static void setPreferredContentCountry(final ContentCountry preferredContentCountry) {
-        NewPipe.preferredContentCountry = preferredContentCountry;
+        final NewPipeContext context = defaultContext;
+        defaultContext = new NewPipeContext(context.getDownloader(),
+                context.getPreferredLocalization(), orDefault(preferredContentCountry));
+    }
+
+    @Nonnull
+    private static Localization orDefault(@Nullable final Localization localization) {
+        return localization == null ? Localization.DEFAULT : localization;
+    }
+
+    @Nonnull
+    private static ContentCountry orDefault(@Nullable final ContentCountry contentCountry) {
+        return contentCountry == null ? ContentCountry.DEFAULT : contentCountry;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Info items
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Set whether the stream items of lists should be extracted lazily by default, i.e. whether
+     * their optional information, such as their upload date or their view count, should only be
+     * extracted when it is accessed.
+     *
+     * @param lazyInfoItems whether stream items should be lazy by default
+     * @see org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector#setLazy(boolean)
+     */
+    public static void setLazyInfoItems(final boolean lazyInfoItems) {
+        NewPipe.lazyInfoItems = lazyInfoItems;
+    }
+
+    public static boolean isLazyInfoItems() {
+        return lazyInfoItems;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Info cache
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Set the cache used by the {@code getInfo(StreamingService, String)} and
+     * {@code getInfo(String)} methods of {@link org.schabi.newpipe.extractor.stream.StreamInfo},
+     * {@link org.schabi.newpipe.extractor.channel.ChannelInfo},
+     * {@link org.schabi.newpipe.extractor.playlist.PlaylistInfo},
+     * {@link org.schabi.newpipe.extractor.kiosk.KioskInfo} and
+     * {@link org.schabi.newpipe.extractor.comments.CommentsInfo}. The methods taking an extractor
+     * never use it.
+     *
+     * @param infoCache the cache, or {@code null} to always extract infos, which is the default
+     */
+    public static void setInfoCache(@Nullable final InfoCache infoCache) {
+        NewPipe.infoCache = infoCache;
+    }
+
+    @Nullable
+    public static InfoCache getInfoCache() {
+        return infoCache;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Executor
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Set the executor running the concurrent operations of the extractor when no other one is
+     * given to them, such as prefetching pages with a {@link PageIterator}, fetching feeds with a
+     * {@link org.schabi.newpipe.extractor.feed.FeedAggregator}, searching with a
+     * {@link org.schabi.newpipe.extractor.search.FederatedSearch}, revalidating the entries of
+     * an {@link InfoCache}, or the requests made concurrently by some extractors.
+     *
+     * <p>
+     * These operations limit their own concurrency, so the executor does not need to. The tasks
+     * it rejects are either run on the thread submitting them or reported as errors. Some tasks
+     * wait for other tasks, so an executor queuing tasks while all its threads are busy can make
+     * them wait forever: prefer executors starting a thread for each task or running them on
+     * the submitting thread when they are saturated, like the default one.
+     * </p>
+     *
+     * @param executor the executor, or {@code null} to use
+     *                 {@link ExtractorExecutors#getDefaultExecutor()}, which is the default
+     * @see ExtractorExecutors
+     */
+    public static void setExecutor(@Nullable final Executor executor) {
+        NewPipe.executor = executor;
+    }
+
+    @Nonnull
+    public static Executor getExecutor() {
+        final Executor currentExecutor = executor;
+        return currentExecutor != null ? currentExecutor : ExtractorExecutors.getDefaultExecutor();
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Instrumentation
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Set the listener receiving the timing events of the extraction, such as
+     * {@link org.schabi.newpipe.extractor.instrumentation.LatencyHistogramListener}.
+     *
+     * @param listener the listener, or {@code null} to not time the extraction, which is the
+     *                 default
+     * @see ExtractionListener
+     */
+    public static void setExtractionListener(@Nullable final ExtractionListener listener) {
+        extractionListener = listener;
+    }
+
+    @Nullable
+    public static ExtractionListener getExtractionListener() {
+        return extractionListener;
     }
 }
@@ -0,0 +1,133 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The configuration used by extractors: the {@link Downloader} fetching their pages, and the
+ * preferred {@link Localization} and {@link ContentCountry} of their content.
+ *
+ * <p>
+ * The configuration set with the static methods of {@link NewPipe} is the
+ * {@link NewPipe#getDefaultContext() default context}, used by all extractors unless they are
+ * given another one, with {@link Extractor#setContext(NewPipeContext)} or with the methods of
+ * {@link StreamingService} taking a context. Several contexts can be used at once, for instance to
+ * extract content with different downloaders, using different proxies, or in different
+ * languages.
+ * </p>
+ *
+ * <p>
+ * Contexts are immutable and can be shared between threads.
+ * </p>
+ */
+public final class NewPipeContext {
+    @Nullable
+    private final Downloader downloader;
+    @Nonnull
+    private final Localization preferredLocalization;
+    @Nonnull
+    private final ContentCountry preferredContentCountry;
+
+    NewPipeContext(@Nullable final Downloader downloader,
+                   @Nonnull final Localization preferredLocalization,
+                   @Nonnull final ContentCountry preferredContentCountry) {
+        this.downloader = downloader;
+        this.preferredLocalization = preferredLocalization;
+        this.preferredContentCountry = preferredContentCountry;
+    }
+
+    /**
+     * @return the downloader of this context, which is only {@code null} for the default context
+     * when {@link NewPipe#init(Downloader)} has not been called
+     */
+    @Nullable
+    public Downloader getDownloader() {
+        return downloader;
+    }
+
+    @Nonnull
+    public Localization getPreferredLocalization() {
+        return preferredLocalization;
+    }
+
+    @Nonnull
+    public ContentCountry getPreferredContentCountry() {
+        return preferredContentCountry;
+    }
+
+    /**
+     * @return a builder initialized with the configuration of this context
+     * @throws NullPointerException if this context has no downloader
+     */
+    @Nonnull
+    public Builder toBuilder() {
+        return new Builder(Objects.requireNonNull(downloader, "downloader is null"))
+                .setPreferredLocalization(preferredLocalization)
+                .setPreferredContentCountry(preferredContentCountry);
+    }
+
+    /**
+     * Get the content country matching the country of a localization.
+     *
+     * @param localization a localization
+     * @return the country of the localization, or {@link ContentCountry#DEFAULT} if it has none
+     */
+    @Nonnull
+    static ContentCountry getContentCountryOf(@Nonnull final Localization localization) {
+        return localization.getCountryCode().isEmpty()
+                ? ContentCountry.DEFAULT : new ContentCountry(localization.getCountryCode());
+    }
+
+    public static final class Builder {
+        @Nonnull
+        private final Downloader downloader;
+        @Nonnull
+        private Localization preferredLocalization = Localization.DEFAULT;
+        @Nullable
+        private ContentCountry preferredContentCountry;
+
+        /**
+         * @param downloader the downloader fetching the pages of the extractors using the context
+         */
+        public Builder(@Nonnull final Downloader downloader) {
+            this.downloader = Objects.requireNonNull(downloader, "downloader is null");
+        }
+
+        /**
+         * @param preferredLocalization the preferred localization, which is
+         *                              {@link Localization#DEFAULT} by default
+         * @return this builder
+         */
+        public Builder setPreferredLocalization(@Nonnull final Localization preferredLocalization) {
+            this.preferredLocalization = Objects.requireNonNull(preferredLocalization,
+                    "preferredLocalization is null");
+            return this;
+        }
+
+        /**
+         * @param preferredContentCountry the preferred content country, or {@code null} to use
+         *                                the country of the preferred localization, which is
+         *                                the default
+         * @return this builder
+         */
+        public Builder setPreferredContentCountry(
+                @Nullable final ContentCountry preferredContentCountry) {
+            this.preferredContentCountry = preferredContentCountry;
+            return this;
+        }
+
+        @Nonnull
+        public NewPipeContext build() {
+            return new NewPipeContext(downloader, preferredLocalization,
+                    preferredContentCountry == null
+                            ? getContentCountryOf(preferredLocalization)
+                            : preferredContentCountry);
+        }
+    }
+}
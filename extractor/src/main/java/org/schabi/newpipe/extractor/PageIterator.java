@@ -0,0 +1,264 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An iterator over the pages of a {@link ListExtractor}, which fetches the next pages in the
+ * background while the current one is consumed.
+ *
+ * <p>
+ * As a page can only be requested once the previous one is known, pages are fetched one after
+ * the other. At most {@link #getPrefetchDepth() prefetch depth} pages are kept in memory ahead of
+ * the consumer: fetching stops when this number of pages are waiting to be returned by
+ * {@link #next()}, and it is resumed as soon as one of them is returned.
+ * </p>
+ *
+ * <p>
+ * The extractor must not be used by other threads while the iterator is open. Fetching stops
+ * when the last page has been fetched, when a page could not be fetched or when the iterator is
+ * {@link #close() closed}, which also cancels the running request.
+ * </p>
+ *
+ * @param <T> the info item type of the pages
+ */
+public final class PageIterator<T extends InfoItem> implements Closeable {
+
+    /**
+     * The default number of pages fetched ahead of the consumer.
+     */
+    public static final int DEFAULT_PREFETCH_DEPTH = 1;
+
+    @Nonnull
+    private final ListExtractor<T> extractor;
+    private final int prefetchDepth;
+    @Nonnull
+    private final Executor executor;
+
+    /**
+     * The fetched pages which have not been returned yet, or the exception thrown while fetching
+     * the last one.
+     */
+    private final Queue<Object> fetched = new ArrayDeque<>();
+    @Nullable
+    private Page pageToFetch;
+    private boolean initialPageToFetch;
+    private boolean endReached = false;
+    private boolean closed = false;
+    @Nullable
+    private Thread fetchingThread;
+    private boolean fetching = false;
+
+    /**
+     * Create an iterator with the {@link #DEFAULT_PREFETCH_DEPTH default prefetch depth}, using
+     * the {@link NewPipe#getExecutor() executor of NewPipe} to fetch pages.
+     *
+     * @param extractor the extractor from which pages are fetched
+     * @param startPage the first page to return, or {@code null} to start with the
+     *                  {@link ListExtractor#getInitialPage() initial page}, in which case the page
+     *                  of the extractor must have been fetched
+     */
+    public PageIterator(@Nonnull final ListExtractor<T> extractor,
+                        @Nullable final Page startPage) {
+        this(extractor, startPage, DEFAULT_PREFETCH_DEPTH, null);
+    }
+
+    /**
+     * Create an iterator.
+     *
+     * @param extractor     the extractor from which pages are fetched
+     * @param startPage     the first page to return, or {@code null} to start with the
+     *                      {@link ListExtractor#getInitialPage() initial page}, in which case the
+     *                      page of the extractor must have been fetched
+     * @param prefetchDepth the maximum number of pages fetched ahead of the consumer; with
+     *                      {@code 0}, pages are only fetched when {@link #next()} is called
+     * @param executor      the executor on which pages are fetched, or {@code null} to use the
+     *                      {@link NewPipe#getExecutor() executor of NewPipe}
+     */
+    public PageIterator(@Nonnull final ListExtractor<T> extractor,
+                        @Nullable final Page startPage,
+                        final int prefetchDepth,
+                        @Nullable final Executor executor) {
+        if (prefetchDepth < 0) {
+            throw new IllegalArgumentException("Invalid prefetch depth: " + prefetchDepth);
+        }
+        this.extractor = Objects.requireNonNull(extractor, "extractor is null");
+        this.prefetchDepth = prefetchDepth;
+        this.executor = executor == null ? NewPipe.getExecutor() : executor;
+
+        initialPageToFetch = startPage == null;
+        if (startPage != null && !Page.isValid(startPage)) {
+            endReached = true;
+        } else {
+            pageToFetch = startPage;
+        }
+
+        synchronized (this) {
+            fetchIfNeeded(false);
+        }
+    }
+
+    /**
+     * @return whether another page can be returned by {@link #next()}, which may have to wait
+     * for it to be fetched
+     */
+    public synchronized boolean hasNext() {
+        return !closed && (!fetched.isEmpty() || fetching || !endReached);
+    }
+
+    /**
+     * Return the next page, waiting for it to be fetched if needed.
+     *
+     * <p>
+     * If the page could not be fetched, the exception thrown by the extractor is rethrown and
+     * there are no more pages.
+     * </p>
+     *
+     * @return the next page
+     * @throws NoSuchElementException if there are no more pages
+     * @throws InterruptedIOException if the current thread has been interrupted while waiting
+     */
+    @Nonnull
+    public synchronized InfoItemsPage<T> next() throws IOException, ExtractionException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        fetchIfNeeded(true);
+        while (fetched.isEmpty()) {
+            if (closed) {
+                throw new NoSuchElementException("Page iterator has been closed");
+            }
+            try {
+                wait();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a page");
+            }
+        }
+
+        final Object result = fetched.poll();
+        fetchIfNeeded(false);
+
+        if (result instanceof IOException) {
+            throw (IOException) result;
+        } else if (result instanceof ExtractionException) {
+            throw (ExtractionException) result;
+        } else if (result instanceof RuntimeException) {
+            throw (RuntimeException) result;
+        } else if (result instanceof Exception) {
+            throw new ExtractionException((Exception) result);
+        }
+        //noinspection unchecked
+        return (InfoItemsPage<T>) result;
+    }
+
+    /**
+     * @return the maximum number of pages fetched ahead of the consumer
+     */
+    public int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    /**
+     * Stop fetching pages, interrupting the running request if there is one, and release the
+     * pages which have not been returned yet.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        fetched.clear();
+        if (fetchingThread != null) {
+            fetchingThread.interrupt();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Start fetching the next page if there is one, if no page is being fetched and if less than
+     * {@link #prefetchDepth} pages are waiting to be returned. Must be called while holding the
+     * lock of this iterator.
+     *
+     * @param requested whether a page has been requested by the consumer, in which case it is
+     *                  fetched even if the prefetch depth is reached
+     */
+    private void fetchIfNeeded(final boolean requested) {
+        if (closed || fetching || endReached
+                || (fetched.size() >= prefetchDepth && !(requested && fetched.isEmpty()))) {
+            return;
+        }
+
+        final Page page = pageToFetch;
+        final boolean initialPage = initialPageToFetch;
+        fetching = true;
+        try {
+            executor.execute(() -> fetch(page, initialPage));
+        } catch (final RejectedExecutionException e) {
+            onFetched(null, e);
+        }
+    }
+
+    private void fetch(@Nullable final Page page, final boolean initialPage) {
+        synchronized (this) {
+            if (closed) {
+                fetching = false;
+                return;
+            }
+            fetchingThread = Thread.currentThread();
+        }
+
+        InfoItemsPage<T> result = null;
+        Exception error = null;
+        try {
+            result = initialPage ? extractor.getInitialPage() : extractor.getPage(page);
+        } catch (final Exception e) {
+            error = e;
+        }
+
+        synchronized (this) {
+            fetchingThread = null;
+            // Clear a possible interruption from close() before the thread is reused
+            Thread.interrupted();
+            onFetched(result, error);
+        }
+    }
+
+    /**
+     * Store the result of a fetch and start fetching the next page. Must be called while holding
+     * the lock of this iterator.
+     */
+    private void onFetched(@Nullable final InfoItemsPage<T> page,
+                           @Nullable final Exception error) {
+        fetching = false;
+        initialPageToFetch = false;
+
+        if (!closed) {
+            if (error != null || page == null) {
+                fetched.add(error != null
+                        ? error
+                        : new ExtractionException("Could not get page: page is null"));
+                endReached = true;
+            } else {
+                fetched.add(page);
+                pageToFetch = page.getNextPage();
+                endReached = !page.hasNextPage();
+            }
+        }
+
+        notifyAll();
+        fetchIfNeeded(false);
+    }
+}
@@ -23,6 +23,7 @@ import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
 import org.schabi.newpipe.extractor.utils.Utils;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
@@ -278,6 +279,49 @@ public abstract class StreamingService {
         return getCommentsExtractor(listLinkHandlerFactory.fromUrl(url));
     }
 
+    /*//////////////////////////////////////////////////////////////////////////
+    // Extractors with a context
+    //////////////////////////////////////////////////////////////////////////*/
+
+    public SearchExtractor getSearchExtractor(final String query,
+                                              @Nonnull final NewPipeContext context)
+            throws ExtractionException {
+        return withContext(getSearchExtractor(query), context);
+    }
+
+    public ChannelExtractor getChannelExtractor(final String url,
+                                                @Nonnull final NewPipeContext context)
+            throws ExtractionException {
+        return withContext(getChannelExtractor(url), context);
+    }
+
+    public PlaylistExtractor getPlaylistExtractor(final String url,
+                                                  @Nonnull final NewPipeContext context)
+            throws ExtractionException {
+        return withContext(getPlaylistExtractor(url), context);
+    }
+
+    public StreamExtractor getStreamExtractor(final String url,
+                                              @Nonnull final NewPipeContext context)
+            throws ExtractionException {
+        return withContext(getStreamExtractor(url), context);
+    }
+
+    public CommentsExtractor getCommentsExtractor(final String url,
+                                                  @Nonnull final NewPipeContext context)
+            throws ExtractionException {
+        return withContext(getCommentsExtractor(url), context);
+    }
+
+    @Nullable
+    private static <E extends Extractor> E withContext(@Nullable final E extractor,
+                                                       @Nonnull final NewPipeContext context) {
+        if (extractor != null) {
+            extractor.setContext(context);
+        }
+        return extractor;
+    }
+
     /*//////////////////////////////////////////////////////////////////////////
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
@@ -334,7 +378,15 @@ public abstract class StreamingService {
      * </ul>
      */
     public Localization getLocalization() {
-        final Localization preferredLocalization = NewPipe.getPreferredLocalization();
+        return getLocalization(NewPipe.getDefaultContext());
+    }
+
+    /**
+     * Returns the localization that should be used in this service for the preferred localization
+     * of a context, like {@link #getLocalization()} does for the default context.
+     */
+    public Localization getLocalization(@Nonnull final NewPipeContext context) {
+        final Localization preferredLocalization = context.getPreferredLocalization();
 
         // Check the localization's language and country
         if (getSupportedLocalizations().contains(preferredLocalization)) {
@@ -361,7 +413,16 @@ public abstract class StreamingService {
      * </ul>
      */
     public ContentCountry getContentCountry() {
-        final ContentCountry preferredContentCountry = NewPipe.getPreferredContentCountry();
+        return getContentCountry(NewPipe.getDefaultContext());
+    }
+
+    /**
+     * Returns the country that should be used to fetch content in this service for the preferred
+     * content country of a context, like {@link #getContentCountry()} does for the default
+     * context.
+     */
+    public ContentCountry getContentCountry(@Nonnull final NewPipeContext context) {
+        final ContentCountry preferredContentCountry = context.getPreferredContentCountry();
 
         if (getSupportedCountries().contains(preferredContentCountry)) {
             return preferredContentCountry;
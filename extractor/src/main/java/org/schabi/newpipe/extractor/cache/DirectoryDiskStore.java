@@ -0,0 +1,108 @@
+package org.schabi.newpipe.extractor.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link InfoCache.DiskStore} keeping each entry in a file of a directory, named after the
+ * SHA-256 hash of its key.
+ *
+ * <p>
+ * Entries are written to a temporary file which is then renamed, so that a partially written
+ * entry is never read. Removing old entries is left to the caller, for instance by deleting the
+ * directory, as the cache removes expired entries only when they are read.
+ * </p>
+ */
+public final class DirectoryDiskStore implements InfoCache.DiskStore {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    @Nonnull
+    private final File directory;
+
+    public DirectoryDiskStore(@Nonnull final File directory) {
+        this.directory = directory;
+    }
+
+    @Nonnull
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Nullable
+    @Override
+    public byte[] read(@Nonnull final String key) throws IOException {
+        try (InputStream input = new FileInputStream(getFile(key))) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int count;
+            while ((count = input.read(buffer)) != -1) {
+                bytes.write(buffer, 0, count);
+            }
+            return bytes.toByteArray();
+        } catch (final FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void write(@Nonnull final String key, @Nonnull final byte[] data) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Could not create directory " + directory);
+        }
+
+        final File file = getFile(key);
+        final File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (OutputStream output = new FileOutputStream(temporaryFile)) {
+                output.write(data);
+            }
+            if (!temporaryFile.renameTo(file)) {
+                // Renaming fails on some platforms if the file already exists
+                if (!file.delete() || !temporaryFile.renameTo(file)) {
+                    throw new IOException("Could not write " + file);
+                }
+            }
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+        }
+    }
+
+    @Override
+    public void remove(@Nonnull final String key) throws IOException {
+        final File file = getFile(key);
+        if (!file.delete() && file.exists()) {
+            throw new IOException("Could not delete " + file);
+        }
+    }
+
+    @Nonnull
+    private File getFile(@Nonnull final String key) throws IOException {
+        final byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-256")
+                    .digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not available", e);
+        }
+
+        final char[] name = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            name[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            name[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new File(directory, new String(name));
+    }
+}
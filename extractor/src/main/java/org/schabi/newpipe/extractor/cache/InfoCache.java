@@ -0,0 +1,1065 @@
+package org.schabi.newpipe.extractor.cache;
+
+import org.schabi.newpipe.extractor.Info;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.ListInfo;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.channel.ChannelExtractor;
+import org.schabi.newpipe.extractor.channel.ChannelInfo;
+import org.schabi.newpipe.extractor.codec.InfoCodec;
+import org.schabi.newpipe.extractor.comments.CommentsInfo;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.kiosk.KioskExtractor;
+import org.schabi.newpipe.extractor.kiosk.KioskInfo;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandlerFactory;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.playlist.PlaylistExtractor;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.stream.LazyStreamInfoItem;
+import org.schabi.newpipe.extractor.stream.Stream;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamInfoItemTable;
+import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.utils.StringPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of {@link StreamInfo}s, {@link ChannelInfo}s, {@link PlaylistInfo}s, {@link KioskInfo}s
+ * and {@link CommentsInfo}s, so that the same content is not extracted again and again.
+ *
+ * <p>
+ * Infos are kept in memory, in a least recently used cache limited by the total
+ * {@link Weigher weight} of its entries, and optionally in a {@link DiskStore}, from which they
+ * are read back when they are not in memory anymore, for instance after a restart. They are
+ * identified by their service, their URL normalized by the link handler factory of the service,
+ * and the {@link NewPipe#getPreferredLocalization() preferred localization} and
+ * {@link NewPipe#getPreferredContentCountry() content country} at the time of the request.
+ * </p>
+ *
+ * <p>
+ * Each info is fresh for a time depending on its type: a live stream changes much more often
+ * than a finished video. The time of a {@link StreamInfo} is also limited by the expiry of its
+ * stream URLs, when they have one. Once an info is not fresh anymore, it is still returned for
+ * the {@link Options.Builder#setStaleWhileRevalidateMillis(long) stale-while-revalidate} time,
+ * while it is extracted again in the background; after that, it is extracted again before being
+ * returned. Concurrent requests of the same info share the same extraction.
+ * </p>
+ *
+ * <p>
+ * The cache is used by the {@code getInfo(StreamingService, String)} methods of the infos once it
+ * is set with {@link NewPipe#setInfoCache(InfoCache)}, or it can be used directly. As infos are
+ * shared between the callers, they should not be modified. Note that the
+ * {@link StreamInfo#getOriginalUrl() original URL} and the
+ * {@link StreamInfo#getStartPosition() start position} of a cached {@link StreamInfo} are the
+ * ones of the request which extracted it.
+ * </p>
+ */
+public final class InfoCache {
+
+    /**
+     * The type of the infos of an entry.
+     */
+    enum Kind {
+        STREAM,
+        CHANNEL,
+        PLAYLIST,
+        KIOSK,
+        COMMENTS
+    }
+
+    /**
+     * Estimates the memory used by an info, in an arbitrary unit which is the one of the
+     * {@link Options.Builder#setMaxWeight(long) maximum weight} of the cache.
+     */
+    @FunctionalInterface
+    public interface Weigher {
+        int weigh(@Nonnull Info info);
+    }
+
+    /**
+     * A persistent store of encoded entries, such as a directory, used as the second tier of the
+     * cache.
+     *
+     * <p>
+     * Its methods can be called from many threads at once. Its errors are ignored, an entry which
+     * could not be read being extracted again.
+     * </p>
+     *
+     * @see DirectoryDiskStore
+     */
+    public interface DiskStore {
+        /**
+         * @param key the key of the entry
+         * @return the entry, or {@code null} if there is no entry with this key
+         */
+        @Nullable
+        byte[] read(@Nonnull String key) throws IOException;
+
+        void write(@Nonnull String key, @Nonnull byte[] data) throws IOException;
+
+        void remove(@Nonnull String key) throws IOException;
+    }
+
+    /**
+     * Options of an {@link InfoCache}.
+     */
+    public static final class Options {
+        private final long maxWeight;
+        @Nonnull
+        private final Weigher weigher;
+        private final long streamTimeToLiveMillis;
+        private final long liveStreamTimeToLiveMillis;
+        private final long channelTimeToLiveMillis;
+        private final long playlistTimeToLiveMillis;
+        private final long kioskTimeToLiveMillis;
+        private final long commentsTimeToLiveMillis;
+        private final long staleWhileRevalidateMillis;
+        @Nullable
+        private final DiskStore diskStore;
+        @Nullable
+        private final Executor executor;
+        @Nullable
+        private final StringPool stringPool;
+
+        private Options(@Nonnull final Builder builder) {
+            this.maxWeight = builder.maxWeight;
+            this.weigher = builder.weigher;
+            this.streamTimeToLiveMillis = builder.streamTimeToLiveMillis;
+            this.liveStreamTimeToLiveMillis = builder.liveStreamTimeToLiveMillis;
+            this.channelTimeToLiveMillis = builder.channelTimeToLiveMillis;
+            this.playlistTimeToLiveMillis = builder.playlistTimeToLiveMillis;
+            this.kioskTimeToLiveMillis = builder.kioskTimeToLiveMillis;
+            this.commentsTimeToLiveMillis = builder.commentsTimeToLiveMillis;
+            this.staleWhileRevalidateMillis = builder.staleWhileRevalidateMillis;
+            this.diskStore = builder.diskStore;
+            this.executor = builder.executor;
+            this.stringPool = builder.stringPool;
+        }
+
+        @Nonnull
+        public static Options defaults() {
+            return new Builder().build();
+        }
+
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        @Nonnull
+        public Weigher getWeigher() {
+            return weigher;
+        }
+
+        public long getStreamTimeToLiveMillis() {
+            return streamTimeToLiveMillis;
+        }
+
+        public long getLiveStreamTimeToLiveMillis() {
+            return liveStreamTimeToLiveMillis;
+        }
+
+        public long getChannelTimeToLiveMillis() {
+            return channelTimeToLiveMillis;
+        }
+
+        public long getPlaylistTimeToLiveMillis() {
+            return playlistTimeToLiveMillis;
+        }
+
+        public long getKioskTimeToLiveMillis() {
+            return kioskTimeToLiveMillis;
+        }
+
+        public long getCommentsTimeToLiveMillis() {
+            return commentsTimeToLiveMillis;
+        }
+
+        public long getStaleWhileRevalidateMillis() {
+            return staleWhileRevalidateMillis;
+        }
+
+        @Nullable
+        public DiskStore getDiskStore() {
+            return diskStore;
+        }
+
+        @Nullable
+        public Executor getExecutor() {
+            return executor;
+        }
+
+        @Nullable
+        public StringPool getStringPool() {
+            return stringPool;
+        }
+
+        public static final class Builder {
+            private long maxWeight = 8 * 1024 * 1024;
+            @Nonnull
+            private Weigher weigher = InfoCache::estimateWeight;
+            private long streamTimeToLiveMillis = TimeUnit.HOURS.toMillis(6);
+            private long liveStreamTimeToLiveMillis = TimeUnit.SECONDS.toMillis(30);
+            private long channelTimeToLiveMillis = TimeUnit.MINUTES.toMillis(30);
+            private long playlistTimeToLiveMillis = TimeUnit.MINUTES.toMillis(30);
+            private long kioskTimeToLiveMillis = TimeUnit.MINUTES.toMillis(15);
+            private long commentsTimeToLiveMillis = TimeUnit.MINUTES.toMillis(10);
+            private long staleWhileRevalidateMillis = TimeUnit.HOURS.toMillis(1);
+            @Nullable
+            private DiskStore diskStore;
+            @Nullable
+            private Executor executor;
+            @Nullable
+            private StringPool stringPool;
+
+            /**
+             * Set the maximum total weight of the infos kept in memory. The least recently used
+             * ones are removed when it is exceeded.
+             *
+             * @param maxWeight a positive weight, about 8 MiB by default with the default
+             *                  {@link Weigher}
+             * @return this builder
+             */
+            public Builder setMaxWeight(final long maxWeight) {
+                if (maxWeight <= 0) {
+                    throw new IllegalArgumentException("Invalid max weight: " + maxWeight);
+                }
+                this.maxWeight = maxWeight;
+                return this;
+            }
+
+            /**
+             * @param weigher the weigher of the infos, which by default estimates their size in
+             *                bytes from their number of items and streams
+             * @return this builder
+             */
+            public Builder setWeigher(@Nonnull final Weigher weigher) {
+                this.weigher = Objects.requireNonNull(weigher, "weigher is null");
+                return this;
+            }
+
+            /**
+             * @param timeToLiveMillis the time for which a {@link StreamInfo} which is not a live
+             *                         stream is fresh, 6 hours by default
+             * @return this builder
+             */
+            public Builder setStreamTimeToLiveMillis(final long timeToLiveMillis) {
+                this.streamTimeToLiveMillis = checkTimeToLive(timeToLiveMillis);
+                return this;
+            }
+
+            /**
+             * @param timeToLiveMillis the time for which a {@link StreamInfo} of a live stream is
+             *                         fresh, 30 seconds by default
+             * @return this builder
+             */
+            public Builder setLiveStreamTimeToLiveMillis(final long timeToLiveMillis) {
+                this.liveStreamTimeToLiveMillis = checkTimeToLive(timeToLiveMillis);
+                return this;
+            }
+
+            /**
+             * @param timeToLiveMillis the time for which a {@link ChannelInfo} is fresh,
+             *                         30 minutes by default
+             * @return this builder
+             */
+            public Builder setChannelTimeToLiveMillis(final long timeToLiveMillis) {
+                this.channelTimeToLiveMillis = checkTimeToLive(timeToLiveMillis);
+                return this;
+            }
+
+            /**
+             * @param timeToLiveMillis the time for which a {@link PlaylistInfo} is fresh,
+             *                         30 minutes by default
+             * @return this builder
+             */
+            public Builder setPlaylistTimeToLiveMillis(final long timeToLiveMillis) {
+                this.playlistTimeToLiveMillis = checkTimeToLive(timeToLiveMillis);
+                return this;
+            }
+
+            /**
+             * @param timeToLiveMillis the time for which a {@link KioskInfo} is fresh,
+             *                         15 minutes by default
+             * @return this builder
+             */
+            public Builder setKioskTimeToLiveMillis(final long timeToLiveMillis) {
+                this.kioskTimeToLiveMillis = checkTimeToLive(timeToLiveMillis);
+                return this;
+            }
+
+            /**
+             * @param timeToLiveMillis the time for which a {@link CommentsInfo} is fresh,
+             *                         10 minutes by default
+             * @return this builder
+             */
+            public Builder setCommentsTimeToLiveMillis(final long timeToLiveMillis) {
+                this.commentsTimeToLiveMillis = checkTimeToLive(timeToLiveMillis);
+                return this;
+            }
+
+            /**
+             * Set for how long an info which is not fresh anymore is still returned while it is
+             * extracted again in the background. It is limited to the time for which the info was
+             * fresh, so that a live stream is not shown stale for long, and to the expiry of the
+             * stream URLs of a {@link StreamInfo}.
+             *
+             * @param staleWhileRevalidateMillis a time, {@code 0} to never return stale infos,
+             *                                   1 hour by default
+             * @return this builder
+             */
+            public Builder setStaleWhileRevalidateMillis(final long staleWhileRevalidateMillis) {
+                this.staleWhileRevalidateMillis = checkTimeToLive(staleWhileRevalidateMillis);
+                return this;
+            }
+
+            /**
+             * @param diskStore the store of the second tier of the cache, or {@code null} to only
+             *                  keep infos in memory, which is the default
+             * @return this builder
+             */
+            public Builder setDiskStore(@Nullable final DiskStore diskStore) {
+                this.diskStore = diskStore;
+                return this;
+            }
+
+            /**
+             * Set the executor on which stale infos are extracted again.
+             *
+             * <p>
+             * With an executor running tasks on the submitting thread, such as one with a
+             * caller-runs policy when it is saturated, stale infos are extracted again before
+             * being returned, which makes stale-while-revalidate synchronous. An extraction
+             * which the executor discards is run by the first request of the info once it is not
+             * returned stale anymore.
+             * </p>
+             *
+             * @param executor the executor on which stale infos are extracted again, or
+             *                 {@code null} to use {@link NewPipe#getExecutor()}
+             * @return this builder
+             */
+            public Builder setExecutor(@Nullable final Executor executor) {
+                this.executor = executor;
+                return this;
+            }
+
+            /**
+             * Set the pool shared by the stream items of all the cached infos, to keep a single
+             * instance of the strings they repeat, such as the names and URLs of their uploaders.
+             *
+             * @param stringPool the pool, or {@code null} to keep the strings of the items as
+             *                   they are, which is the default
+             * @return this builder
+             * @see org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector
+             */
+            public Builder setStringPool(@Nullable final StringPool stringPool) {
+                this.stringPool = stringPool;
+                return this;
+            }
+
+            @Nonnull
+            public Options build() {
+                return new Options(this);
+            }
+
+            private static long checkTimeToLive(final long timeMillis) {
+                if (timeMillis < 0) {
+                    throw new IllegalArgumentException("Invalid time: " + timeMillis);
+                }
+                return timeMillis;
+            }
+        }
+    }
+
+    /**
+     * Extracts an info which is not in the cache.
+     */
+    @FunctionalInterface
+    interface Loader<I extends Info> {
+        @Nullable
+        I load() throws IOException, ExtractionException;
+    }
+
+    /**
+     * The identity of a cached info.
+     */
+    static final class Key {
+        @Nonnull
+        private final Kind kind;
+        private final int serviceId;
+        @Nonnull
+        private final String url;
+        @Nonnull
+        private final Localization localization;
+        @Nonnull
+        private final ContentCountry contentCountry;
+
+        Key(@Nonnull final Kind kind,
+            final int serviceId,
+            @Nonnull final String url,
+            @Nonnull final Localization localization,
+            @Nonnull final ContentCountry contentCountry) {
+            this.kind = kind;
+            this.serviceId = serviceId;
+            this.url = url;
+            this.localization = localization;
+            this.contentCountry = contentCountry;
+        }
+
+        /**
+         * @return the key of the entry in the {@link DiskStore}
+         */
+        @Nonnull
+        String toStoreKey() {
+            return kind.name() + ':' + serviceId + ':'
+                    + localization.getLocalizationCode() + ':'
+                    + contentCountry.getCountryCode() + ':' + url;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return serviceId == key.serviceId
+                    && kind == key.kind
+                    && url.equals(key.url)
+                    && localization.equals(key.localization)
+                    && contentCountry.equals(key.contentCountry);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, serviceId, url, localization, contentCountry);
+        }
+
+        @Override
+        public String toString() {
+            return toStoreKey();
+        }
+    }
+
+    private static final class Entry {
+        @Nonnull
+        private final Info info;
+        private final int weight;
+        private final long freshUntil;
+        private final long staleUntil;
+
+        Entry(@Nonnull final Info info,
+              final int weight,
+              final long freshUntil,
+              final long staleUntil) {
+            this.info = info;
+            this.weight = weight;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+    }
+
+    /**
+     * The version of the format of the entries written to the {@link DiskStore}.
+     */
+    private static final int DISK_FORMAT_VERSION = 1;
+
+    /**
+     * Stream URLs are considered expired a bit before their actual expiry, so that they can
+     * still be opened when the info is got.
+     */
+    private static final long STREAM_URL_EXPIRY_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Matches the expiry timestamp, in seconds, of a stream URL, either as a query parameter,
+     * such as in YouTube stream URLs, or as a path segment, such as in YouTube manifest URLs.
+     */
+    private static final Pattern EXPIRE_PATTERN = Pattern.compile("[?&/]expire[=/](\\d+)");
+
+    @Nonnull
+    private final Options options;
+    @Nonnull
+    private final LongSupplier clock;
+    /**
+     * The infos kept in memory, from the least recently used to the most recently used one.
+     * It is guarded by {@code this}.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight = 0;
+    private final Map<Key, FutureTask<Info>> loadingTasks = new ConcurrentHashMap<>();
+
+    public InfoCache() {
+        this(Options.defaults());
+    }
+
+    public InfoCache(@Nonnull final Options options) {
+        this(options, System::currentTimeMillis);
+    }
+
+    InfoCache(@Nonnull final Options options, @Nonnull final LongSupplier clock) {
+        this.options = Objects.requireNonNull(options, "options is null");
+        this.clock = clock;
+    }
+
+    @Nonnull
+    public Options getOptions() {
+        return options;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Infos
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Get the {@link StreamInfo} of a stream. Stream infos are cached by their normalized URL,
+     * so a cached info extracted from another URL of the same stream, such as one with another
+     * timestamp, is returned as a copy with the original URL and the start position of the
+     * requested URL.
+     */
+    @Nonnull
+    public StreamInfo getStreamInfo(@Nonnull final StreamingService service,
+                                    @Nonnull final String url)
+            throws IOException, ExtractionException {
+        final StreamExtractor extractor = service.getStreamExtractor(url);
+        final StreamInfo info = get(createKey(Kind.STREAM, service, extractor.getUrl()),
+                () -> {
+                    extractor.setReleasedAfterExtraction(true);
+                    return StreamInfo.getInfo(extractor);
+                });
+        return withRequestedUrl(info, extractor);
+    }
+
+    @Nonnull
+    public ChannelInfo getChannelInfo(@Nonnull final StreamingService service,
+                                      @Nonnull final String url)
+            throws IOException, ExtractionException {
+        final String normalizedUrl = service.getChannelLHFactory().fromUrl(url).getUrl();
+        return get(createKey(Kind.CHANNEL, service, normalizedUrl), () -> {
+            final ChannelExtractor extractor = service.getChannelExtractor(url);
+            extractor.fetchPage();
+            return ChannelInfo.getInfo(extractor);
+        });
+    }
+
+    @Nonnull
+    public PlaylistInfo getPlaylistInfo(@Nonnull final StreamingService service,
+                                        @Nonnull final String url)
+            throws IOException, ExtractionException {
+        final String normalizedUrl = service.getPlaylistLHFactory().fromUrl(url).getUrl();
+        return get(createKey(Kind.PLAYLIST, service, normalizedUrl), () -> {
+            final PlaylistExtractor extractor = service.getPlaylistExtractor(url);
+            extractor.fetchPage();
+            return PlaylistInfo.getInfo(extractor);
+        });
+    }
+
+    /**
+     * Get the {@link KioskInfo} of a kiosk. Kiosk URLs are not normalized, as there is no link
+     * handler factory for all the kiosks of a service.
+     */
+    @Nonnull
+    public KioskInfo getKioskInfo(@Nonnull final StreamingService service,
+                                  @Nonnull final String url)
+            throws IOException, ExtractionException {
+        return get(createKey(Kind.KIOSK, service, url), () -> {
+            final KioskExtractor extractor = service.getKioskList().getExtractorByUrl(url, null);
+            extractor.fetchPage();
+            return KioskInfo.getInfo(extractor);
+        });
+    }
+
+    /**
+     * @return the {@link CommentsInfo}, or {@code null} if the service does not support comments
+     */
+    @Nullable
+    public CommentsInfo getCommentsInfo(@Nonnull final StreamingService service,
+                                        @Nonnull final String url)
+            throws IOException, ExtractionException {
+        final ListLinkHandlerFactory factory = service.getCommentsLHFactory();
+        if (factory == null) {
+            return null;
+        }
+        return get(createKey(Kind.COMMENTS, service, factory.fromUrl(url).getUrl()),
+                () -> CommentsInfo.getInfo(service.getCommentsExtractor(url)));
+    }
+
+    /**
+     * Remove all the infos kept in memory. The entries of the {@link DiskStore} are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * @return the number of infos kept in memory
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total weight of the infos kept in memory
+     */
+    public synchronized long getWeight() {
+        return totalWeight;
+    }
+
+    @Nonnull
+    private static StreamInfo withRequestedUrl(@Nonnull final StreamInfo info,
+                                               @Nonnull final StreamExtractor extractor)
+            throws IOException, ParsingException {
+        final String originalUrl = extractor.getOriginalUrl();
+        if (originalUrl.equals(info.getOriginalUrl())) {
+            return info;
+        }
+
+        final StreamInfo copy = InfoCodec.decodeStreamInfo(InfoCodec.encodeStreamInfo(info));
+        copy.addAllErrors(info.getErrors());
+        copy.setOriginalUrl(originalUrl);
+        try {
+            copy.setStartPosition(extractor.getTimeStamp());
+        } catch (final ParsingException e) {
+            copy.setStartPosition(0);
+            copy.addError(e);
+        }
+        return copy;
+    }
+
+    @Nonnull
+    private static Key createKey(@Nonnull final Kind kind,
+                                 @Nonnull final StreamingService service,
+                                 @Nonnull final String url) {
+        return new Key(kind, service.getServiceId(), url, NewPipe.getPreferredLocalization(),
+                NewPipe.getPreferredContentCountry());
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Cache
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Get an info from the cache, or extract it with the loader if it is not in the cache or if
+     * it is too old.
+     *
+     * @param key    the key of the info, whose kind must match the type of the info
+     * @param loader the loader extracting the info
+     * @return the info, which can only be {@code null} if the loader returns {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    <I extends Info> I get(@Nonnull final Key key, @Nonnull final Loader<I> loader)
+            throws IOException, ExtractionException {
+        final long now = clock.getAsLong();
+        Entry entry = getFromMemory(key);
+        if (entry == null) {
+            entry = readFromDisk(key, now);
+        }
+
+        if (entry != null) {
+            if (now < entry.freshUntil) {
+                return (I) entry.info;
+            } else if (now < entry.staleUntil) {
+                revalidate(key, loader);
+                return (I) entry.info;
+            }
+        }
+        return load(key, loader);
+    }
+
+    @Nullable
+    private synchronized Entry getFromMemory(@Nonnull final Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void putInMemory(@Nonnull final Key key, @Nonnull final Entry entry) {
+        if (entry.weight > options.getMaxWeight()) {
+            removeFromMemory(key);
+            return;
+        }
+
+        final Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        totalWeight += entry.weight;
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (totalWeight > options.getMaxWeight() && iterator.hasNext()) {
+            totalWeight -= iterator.next().weight;
+            iterator.remove();
+        }
+    }
+
+    private synchronized void removeFromMemory(@Nonnull final Key key) {
+        final Entry previous = entries.remove(key);
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+    }
+
+    /**
+     * Extract an info, sharing the extraction with the concurrent requests of the same info.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <I extends Info> I load(@Nonnull final Key key, @Nonnull final Loader<I> loader)
+            throws IOException, ExtractionException {
+        final FutureTask<Info> task = createLoadingTask(key, loader);
+        FutureTask<Info> runningTask = loadingTasks.putIfAbsent(key, task);
+        if (runningTask == null) {
+            runningTask = task;
+        }
+        // Run the task here if it has not been started yet, which is also the case of the
+        // revalidations still queued or discarded by their executor, or wait for it otherwise
+        runningTask.run();
+
+        try {
+            return (I) runningTask.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + key);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ExtractionException) {
+                throw (ExtractionException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ExtractionException(cause);
+        }
+    }
+
+    /**
+     * Extract a stale info again in the background, unless it is already being extracted. The
+     * stale info is kept if the extraction fails.
+     */
+    private <I extends Info> void revalidate(@Nonnull final Key key,
+                                             @Nonnull final Loader<I> loader) {
+        final FutureTask<Info> task = createLoadingTask(key, loader);
+        if (loadingTasks.putIfAbsent(key, task) != null) {
+            return;
+        }
+
+        final Executor executor = options.getExecutor();
+        try {
+            (executor == null ? NewPipe.getExecutor() : executor).execute(task);
+        } catch (final RejectedExecutionException e) {
+            loadingTasks.remove(key, task);
+        }
+    }
+
+    @Nonnull
+    private <I extends Info> FutureTask<Info> createLoadingTask(@Nonnull final Key key,
+                                                                @Nonnull final Loader<I> loader) {
+        return new FutureTask<>(() -> {
+            try {
+                final I info = loader.load();
+                if (info != null) {
+                    store(key, info);
+                }
+                return info;
+            } finally {
+                loadingTasks.remove(key);
+            }
+        });
+    }
+
+    private void store(@Nonnull final Key key, @Nonnull final Info info) {
+        final long now = clock.getAsLong();
+        final long timeToLive;
+        long expiry = Long.MAX_VALUE;
+        switch (key.kind) {
+            case STREAM:
+                final StreamInfo streamInfo = (StreamInfo) info;
+                timeToLive = isLiveStream(streamInfo.getStreamType())
+                        ? options.getLiveStreamTimeToLiveMillis()
+                        : options.getStreamTimeToLiveMillis();
+                expiry = getStreamUrlsExpiry(streamInfo) - STREAM_URL_EXPIRY_MARGIN_MILLIS;
+                break;
+            case CHANNEL:
+                timeToLive = options.getChannelTimeToLiveMillis();
+                break;
+            case PLAYLIST:
+                timeToLive = options.getPlaylistTimeToLiveMillis();
+                break;
+            case KIOSK:
+                timeToLive = options.getKioskTimeToLiveMillis();
+                break;
+            case COMMENTS:
+            default:
+                timeToLive = options.getCommentsTimeToLiveMillis();
+                break;
+        }
+
+        final long freshUntil = Math.min(now + timeToLive, expiry);
+        final long staleUntil = Math.min(freshUntil
+                + Math.min(options.getStaleWhileRevalidateMillis(), timeToLive), expiry);
+        if (freshUntil <= now) {
+            // The stream URLs expire too soon for the info to be worth caching
+            removeFromMemory(key);
+            return;
+        }
+
+        if (info instanceof ListInfo) {
+            // Do not keep the extractors of lazy items, and their raw data, as long as the info
+            LazyStreamInfoItem.materializeAll(((ListInfo<?>) info).getRelatedItems());
+        }
+        internStrings(info);
+        putInMemory(key, new Entry(info, options.getWeigher().weigh(info), freshUntil,
+                staleUntil));
+        writeToDisk(key, info, freshUntil, staleUntil);
+    }
+
+    /**
+     * Replace the strings of the stream items of an info which are in the
+     * {@link Options#getStringPool() string pool} by the instances of the pool.
+     */
+    private void internStrings(@Nonnull final Info info) {
+        final StringPool stringPool = options.getStringPool();
+        final Collection<? extends InfoItem> items;
+        if (stringPool == null) {
+            return;
+        } else if (info instanceof ListInfo) {
+            items = ((ListInfo<?>) info).getRelatedItems();
+        } else if (info instanceof StreamInfo) {
+            items = ((StreamInfo) info).getRelatedItems();
+        } else {
+            return;
+        }
+
+        if (items == null || items instanceof StreamInfoItemTable) {
+            // The strings of a table are already shared, and its items are read-only
+            return;
+        }
+        for (final InfoItem item : items) {
+            if (item instanceof StreamInfoItem) {
+                final StreamInfoItem streamItem = (StreamInfoItem) item;
+                streamItem.setUploaderName(stringPool.intern(streamItem.getUploaderName()));
+                streamItem.setUploaderUrl(stringPool.intern(streamItem.getUploaderUrl()));
+                streamItem.setUploaderAvatarUrl(
+                        stringPool.intern(streamItem.getUploaderAvatarUrl()));
+                streamItem.setTextualUploadDate(
+                        stringPool.intern(streamItem.getTextualUploadDate()));
+            }
+        }
+    }
+
+    private static boolean isLiveStream(@Nullable final StreamType streamType) {
+        return streamType == StreamType.LIVE_STREAM
+                || streamType == StreamType.AUDIO_LIVE_STREAM;
+    }
+
+    /**
+     * Get the earliest expiry of the stream URLs of a {@link StreamInfo}.
+     *
+     * @param streamInfo the info
+     * @return the expiry in milliseconds since the epoch, or {@link Long#MAX_VALUE} if the URLs
+     * do not expire
+     */
+    static long getStreamUrlsExpiry(@Nonnull final StreamInfo streamInfo) {
+        long expiry = Long.MAX_VALUE;
+        expiry = Math.min(expiry, getUrlExpiry(streamInfo.getDashMpdUrl()));
+        expiry = Math.min(expiry, getUrlExpiry(streamInfo.getHlsUrl()));
+        expiry = Math.min(expiry, getStreamsExpiry(streamInfo.getVideoStreams()));
+        expiry = Math.min(expiry, getStreamsExpiry(streamInfo.getAudioStreams()));
+        expiry = Math.min(expiry, getStreamsExpiry(streamInfo.getVideoOnlyStreams()));
+        return expiry;
+    }
+
+    private static long getStreamsExpiry(@Nullable final Collection<? extends Stream> streams) {
+        long expiry = Long.MAX_VALUE;
+        if (streams != null) {
+            for (final Stream stream : streams) {
+                if (stream.isUrl()) {
+                    expiry = Math.min(expiry, getUrlExpiry(stream.getContent()));
+                }
+                expiry = Math.min(expiry, getUrlExpiry(stream.getManifestUrl()));
+            }
+        }
+        return expiry;
+    }
+
+    private static long getUrlExpiry(@Nullable final String url) {
+        if (url == null) {
+            return Long.MAX_VALUE;
+        }
+        final Matcher matcher = EXPIRE_PATTERN.matcher(url);
+        if (!matcher.find()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1)));
+        } catch (final NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Estimate the size in bytes of an info, from its number of items and streams.
+     */
+    static int estimateWeight(@Nonnull final Info info) {
+        int weight = 2048;
+        if (info instanceof ListInfo) {
+            weight += 512 * size(((ListInfo<?>) info).getRelatedItems());
+        } else if (info instanceof StreamInfo) {
+            final StreamInfo streamInfo = (StreamInfo) info;
+            weight += 512 * size(streamInfo.getRelatedItems());
+            weight += 256 * (size(streamInfo.getVideoStreams())
+                    + size(streamInfo.getAudioStreams())
+                    + size(streamInfo.getVideoOnlyStreams())
+                    + size(streamInfo.getSubtitles()));
+        }
+        return weight;
+    }
+
+    private static int size(@Nullable final Collection<?> collection) {
+        return collection == null ? 0 : collection.size();
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Disk store
+    //////////////////////////////////////////////////////////////////////////*/
+
+    @Nullable
+    private Entry readFromDisk(@Nonnull final Key key, final long now) {
+        final DiskStore diskStore = options.getDiskStore();
+        if (diskStore == null) {
+            return null;
+        }
+
+        try {
+            final byte[] data = diskStore.read(key.toStoreKey());
+            if (data == null) {
+                return null;
+            }
+
+            final DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+            if (input.readInt() != DISK_FORMAT_VERSION) {
+                diskStore.remove(key.toStoreKey());
+                return null;
+            }
+            final long freshUntil = input.readLong();
+            final long staleUntil = input.readLong();
+            if (staleUntil <= now) {
+                diskStore.remove(key.toStoreKey());
+                return null;
+            }
+
+            final byte[] encodedInfo = new byte[input.readInt()];
+            input.readFully(encodedInfo);
+            final Info info = decodeInfo(key.kind, encodedInfo);
+            internStrings(info);
+            final Entry entry = new Entry(info, options.getWeigher().weigh(info), freshUntil,
+                    staleUntil);
+            putInMemory(key, entry);
+            return entry;
+        } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(@Nonnull final Key key,
+                             @Nonnull final Info info,
+                             final long freshUntil,
+                             final long staleUntil) {
+        final DiskStore diskStore = options.getDiskStore();
+        if (diskStore == null) {
+            return;
+        }
+
+        try {
+            final byte[] encodedInfo = encodeInfo(info);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(encodedInfo.length + 24);
+            final DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(DISK_FORMAT_VERSION);
+            output.writeLong(freshUntil);
+            output.writeLong(staleUntil);
+            output.writeInt(encodedInfo.length);
+            output.write(encodedInfo);
+            diskStore.write(key.toStoreKey(), bytes.toByteArray());
+        } catch (final IOException | RuntimeException e) {
+            // The info is still cached in memory, and extracted again if it is not there anymore
+        }
+    }
+
+    /**
+     * Encode an info with the {@link InfoCodec} if it supports it, or with Java serialization
+     * otherwise.
+     */
+    @Nonnull
+    private static byte[] encodeInfo(@Nonnull final Info info) throws IOException {
+        if (info instanceof StreamInfo) {
+            return InfoCodec.encodeStreamInfo((StreamInfo) info);
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(info);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Nonnull
+    private static Info decodeInfo(@Nonnull final Kind kind, @Nonnull final byte[] data)
+            throws IOException, ClassNotFoundException {
+        if (kind == Kind.STREAM) {
+            return InfoCodec.decodeStreamInfo(data);
+        }
+
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            final Object info = input.readObject();
+            final Class<? extends Info> infoClass;
+            switch (kind) {
+                case CHANNEL:
+                    infoClass = ChannelInfo.class;
+                    break;
+                case PLAYLIST:
+                    infoClass = PlaylistInfo.class;
+                    break;
+                case KIOSK:
+                    infoClass = KioskInfo.class;
+                    break;
+                case COMMENTS:
+                default:
+                    infoClass = CommentsInfo.class;
+                    break;
+            }
+            return infoClass.cast(info);
+        }
+    }
+}
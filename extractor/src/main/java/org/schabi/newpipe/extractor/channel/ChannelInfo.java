@@ -4,13 +4,18 @@ import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.PageIterator;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.cache.InfoCache;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.feed.FeedSyncState;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /*
  * Created by Christian Schabesberger on 31.07.16.
@@ -33,6 +38,11 @@ import java.io.IOException;
  */
 
 public class ChannelInfo extends ListInfo<StreamInfoItem> {
+    /**
+     * The default maximum number of pages fetched by
+     * {@link #getNewItems(StreamingService, String, FeedSyncState)}.
+     */
+    public static final int DEFAULT_MAX_NEW_ITEMS_PAGES = 5;
 
     public ChannelInfo(final int serviceId,
                        final String id,
@@ -50,6 +60,10 @@ public class ChannelInfo extends ListInfo<StreamInfoItem> {
 
     public static ChannelInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
+        final InfoCache infoCache = NewPipe.getInfoCache();
+        if (infoCache != null) {
+            return infoCache.getChannelInfo(service, url);
+        }
         final ChannelExtractor extractor = service.getChannelExtractor(url);
         extractor.fetchPage();
         return getInfo(extractor);
@@ -62,6 +76,88 @@ public class ChannelInfo extends ListInfo<StreamInfoItem> {
         return service.getChannelExtractor(url).getPage(page);
     }
 
+    /**
+     * Get an iterator over the pages following the given one, which fetches the next pages in
+     * the background while the current one is consumed.
+     *
+     * @param page the first page returned by the iterator
+     * @return a {@link PageIterator} which must be closed once not needed anymore
+     * @see PageIterator
+     */
+    public static PageIterator<StreamInfoItem> getMoreItemsIterator(
+            final StreamingService service,
+            final String url,
+            final Page page) throws ExtractionException {
+        return new PageIterator<>(service.getChannelExtractor(url), page);
+    }
+
+    /**
+     * Same as {@link #getNewItems(StreamingService, String, FeedSyncState, int)}, with at most
+     * {@link #DEFAULT_MAX_NEW_ITEMS_PAGES} pages.
+     */
+    public static InfoItemsPage<StreamInfoItem> getNewItems(final StreamingService service,
+                                                            final String url,
+                                                            final FeedSyncState syncState)
+            throws IOException, ExtractionException {
+        return getNewItems(service, url, syncState, DEFAULT_MAX_NEW_ITEMS_PAGES);
+    }
+
+    /**
+     * Get the items of a channel uploaded since its last refresh, following the next pages until
+     * a known item is found.
+     *
+     * <p>
+     * If the sync state has no last seen item, only the items of the initial page are returned.
+     * As the last seen item may not be listed anymore, such as when it has been deleted, and as
+     * approximated upload dates are not compared, at most {@code maxPages} pages are fetched.
+     * If no known item was found in them, the result is truncated: it has the next page which
+     * was not fetched, and {@link InfoItemsPage#hasNextPage()} returns {@code true}.
+     * </p>
+     *
+     * @param service   the service of the channel
+     * @param url       the URL of the channel
+     * @param syncState the state of the channel after its last refresh
+     * @param maxPages  the maximum number of pages to fetch, which must be positive
+     * @return a page with the new items and the errors of the fetched pages, with a next page
+     * only if it is truncated
+     * @see FeedSyncState#after(List, FeedSyncState, String, String)
+     */
+    public static InfoItemsPage<StreamInfoItem> getNewItems(final StreamingService service,
+                                                            final String url,
+                                                            final FeedSyncState syncState,
+                                                            final int maxPages)
+            throws IOException, ExtractionException {
+        if (maxPages <= 0) {
+            throw new IllegalArgumentException("Invalid max pages: " + maxPages);
+        }
+        final ChannelExtractor extractor = service.getChannelExtractor(url);
+        extractor.fetchPage();
+
+        final boolean hasLastSeenItem = syncState.getLastSeenItemUrl() != null
+                || syncState.getLastSeenUploadDate() != null;
+        final List<StreamInfoItem> newItems = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+
+        InfoItemsPage<StreamInfoItem> page = extractor.getInitialPage();
+        int fetchedPages = 1;
+        while (true) {
+            errors.addAll(page.getErrors());
+            final List<StreamInfoItem> pageNewItems = syncState.getNewItems(page.getItems());
+            newItems.addAll(pageNewItems);
+            if (!hasLastSeenItem || pageNewItems.size() < page.getItems().size()
+                    || !page.hasNextPage()) {
+                break;
+            } else if (fetchedPages >= maxPages) {
+                // Truncated
+                return new InfoItemsPage<>(newItems, page.getNextPage(), errors);
+            }
+            page = extractor.getPage(page.getNextPage());
+            ++fetchedPages;
+        }
+
+        return new InfoItemsPage<>(newItems, null, errors);
+    }
+
     public static ChannelInfo getInfo(final ChannelExtractor extractor)
             throws IOException, ExtractionException {
 
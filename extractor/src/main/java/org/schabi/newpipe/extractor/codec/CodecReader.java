@@ -0,0 +1,152 @@
+package org.schabi.newpipe.extractor.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Reads the primitive values written by a {@link CodecWriter}.
+ */
+final class CodecReader {
+    @Nonnull
+    private final byte[] data;
+    private int position;
+    private final List<String> stringTable = new ArrayList<>();
+    private int version;
+
+    CodecReader(@Nonnull final byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * @return the version of the format of the data, read from its header, so that the fields
+     * added in later versions are only read from data which contains them
+     */
+    int getVersion() {
+        return version;
+    }
+
+    void setVersion(final int version) {
+        this.version = version;
+    }
+
+    boolean hasRemaining() {
+        return position < data.length;
+    }
+
+    int readByte() throws EOFException {
+        if (position >= data.length) {
+            throw new EOFException("Unexpected end of data at position " + position);
+        }
+        return data[position++] & 0xFF;
+    }
+
+    boolean readBoolean() throws EOFException {
+        return readByte() != 0;
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length integer");
+    }
+
+    long readLong() throws IOException {
+        final long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    int readInt() throws IOException {
+        return (int) readLong();
+    }
+
+    /**
+     * Read a size written by {@link CodecWriter#writeSize(List)}.
+     *
+     * @return the size, or {@code -1} for a {@code null} list
+     */
+    int readSize() throws IOException {
+        final long value = readVarLong();
+        if (value - 1 > data.length - position) {
+            // Each element takes at least one byte, so the data was truncated
+            throw new EOFException("Size " + (value - 1) + " exceeds the remaining data");
+        }
+        return (int) value - 1;
+    }
+
+    @Nullable
+    String readString() throws IOException {
+        final long reference = readVarLong();
+        if (reference == CodecWriter.NULL_STRING) {
+            return null;
+        } else if (reference == CodecWriter.NEW_STRING) {
+            final String value = new String(readNonNullBytes(), StandardCharsets.UTF_8);
+            stringTable.add(value);
+            return value;
+        }
+
+        final long index = reference - CodecWriter.FIRST_STRING_INDEX;
+        if (index >= stringTable.size()) {
+            throw new StreamCorruptedException("Invalid string reference " + reference);
+        }
+        return stringTable.get((int) index);
+    }
+
+    @Nullable
+    byte[] readBytes() throws IOException {
+        final int length = readSize();
+        if (length == -1) {
+            return null;
+        }
+        final byte[] value = new byte[length];
+        System.arraycopy(data, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    @Nonnull
+    private byte[] readNonNullBytes() throws IOException {
+        final byte[] value = readBytes();
+        if (value == null) {
+            throw new StreamCorruptedException("Unexpected null string");
+        }
+        return value;
+    }
+
+    @Nullable
+    <E extends Enum<E>> E readEnum(@Nonnull final E[] values) throws IOException {
+        final long value = readVarLong();
+        if (value == 0) {
+            return null;
+        } else if (value > values.length) {
+            throw new StreamCorruptedException("Invalid ordinal " + (value - 1) + " of "
+                    + values.getClass().getComponentType().getSimpleName());
+        }
+        return values[(int) value - 1];
+    }
+
+    @Nullable
+    List<String> readStringList() throws IOException {
+        final int size = readSize();
+        if (size == -1) {
+            return null;
+        }
+        final List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readString());
+        }
+        return list;
+    }
+}
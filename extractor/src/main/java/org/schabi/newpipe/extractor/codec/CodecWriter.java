@@ -0,0 +1,134 @@
+package org.schabi.newpipe.extractor.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Writes the primitive values of the {@link InfoCodec} format.
+ *
+ * <ul>
+ *     <li>numbers are written as variable-length integers (7 bits per byte, the most
+ *     significant bit telling whether there are other bytes), signed ones being zigzag-encoded
+ *     so that small negative values such as {@code -1} take a single byte;</li>
+ *     <li>strings are written once and then referenced by their index in a string table, so that
+ *     values repeated by many items, such as uploader names and URLs, are only written once;</li>
+ *     <li>enums are written as their ordinal plus one, {@code 0} being {@code null}.</li>
+ * </ul>
+ */
+final class CodecWriter {
+    /**
+     * The string reference of {@code null}.
+     */
+    static final int NULL_STRING = 0;
+    /**
+     * The string reference of a string which is not in the table yet and which follows.
+     */
+    static final int NEW_STRING = 1;
+    /**
+     * The string reference of the first string of the table.
+     */
+    static final int FIRST_STRING_INDEX = 2;
+
+    private byte[] buffer = new byte[256];
+    private int size = 0;
+    private final Map<String, Integer> stringTable = new HashMap<>();
+
+    @Nonnull
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(final int additionalBytes) {
+        if (size + additionalBytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer,
+                    Math.max(buffer.length * 2, size + additionalBytes));
+        }
+    }
+
+    void writeByte(final int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeBoolean(final boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Write an unsigned variable-length integer.
+     */
+    void writeVarLong(final long value) {
+        ensureCapacity(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[size++] = (byte) remaining;
+    }
+
+    /**
+     * Write a signed variable-length integer.
+     */
+    void writeLong(final long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeInt(final int value) {
+        writeLong(value);
+    }
+
+    void writeString(@Nullable final String value) {
+        if (value == null) {
+            writeVarLong(NULL_STRING);
+            return;
+        }
+
+        final Integer index = stringTable.get(value);
+        if (index != null) {
+            writeVarLong(index + FIRST_STRING_INDEX);
+            return;
+        }
+
+        stringTable.put(value, stringTable.size());
+        writeVarLong(NEW_STRING);
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeBytes(@Nullable final byte[] value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(value.length + 1L);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, size, value.length);
+        size += value.length;
+    }
+
+    void writeEnum(@Nullable final Enum<?> value) {
+        writeVarLong(value == null ? 0 : value.ordinal() + 1L);
+    }
+
+    /**
+     * Write the size of a list plus one, or {@code 0} if the list is {@code null}.
+     */
+    void writeSize(@Nullable final List<?> list) {
+        writeVarLong(list == null ? 0 : list.size() + 1L);
+    }
+
+    void writeStringList(@Nullable final List<String> list) {
+        writeSize(list);
+        if (list != null) {
+            for (final String value : list) {
+                writeString(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,883 @@
+package org.schabi.newpipe.extractor.codec;
+
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.MediaFormat;
+import org.schabi.newpipe.extractor.MetaInfo;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.channel.ChannelInfoItem;
+import org.schabi.newpipe.extractor.comments.CommentsInfoItem;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfoItem;
+import org.schabi.newpipe.extractor.services.youtube.ItagItem;
+import org.schabi.newpipe.extractor.stream.AudioStream;
+import org.schabi.newpipe.extractor.stream.DeliveryMethod;
+import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.Frameset;
+import org.schabi.newpipe.extractor.stream.Stream;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamSegment;
+import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.stream.SubtitlesStream;
+import org.schabi.newpipe.extractor.stream.VideoStream;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.net.URL;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A compact binary format for {@link StreamInfo}, {@link InfoItem}s, {@link Stream}s and
+ * {@link Page}s, which is smaller and faster to read and write than Java serialization.
+ *
+ * <p>
+ * Encoded data starts with a magic number, the version of the format and the kind of the
+ * encoded object, followed by the fields of the object in a fixed order. See
+ * {@link CodecWriter} for the encoding of the values.
+ * </p>
+ *
+ * <p>
+ * Errors of {@link StreamInfo}s are not encoded. Data written with a newer version of the
+ * format than {@link #VERSION} cannot be read. When the format changes, {@link #VERSION} must
+ * be incremented, fields must only be appended and enum constants must only be added at the end
+ * of their enum, so that older data can still be read. As objects are nested, a field added to
+ * an object is read only if the {@link CodecReader#getVersion() version of the data} is at least
+ * the one which added it, and gets its default value otherwise.
+ * </p>
+ */
+public final class InfoCodec {
+    /**
+     * The current version of the format.
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC_0 = 'N';
+    private static final int MAGIC_1 = 'P';
+
+    private static final int KIND_PAGE = 1;
+    private static final int KIND_INFO_ITEMS = 2;
+    private static final int KIND_STREAMS = 3;
+    private static final int KIND_STREAM_INFO = 4;
+
+    private static final int STREAM_AUDIO = 0;
+    private static final int STREAM_VIDEO = 1;
+    private static final int STREAM_SUBTITLES = 2;
+
+    private static final InfoItem.InfoType[] INFO_TYPES = InfoItem.InfoType.values();
+    private static final StreamType[] STREAM_TYPES = StreamType.values();
+    private static final MediaFormat[] MEDIA_FORMATS = MediaFormat.values();
+    private static final DeliveryMethod[] DELIVERY_METHODS = DeliveryMethod.values();
+    private static final ItagItem.ItagType[] ITAG_TYPES = ItagItem.ItagType.values();
+    private static final StreamExtractor.Privacy[] PRIVACIES = StreamExtractor.Privacy.values();
+    private static final PlaylistInfo.PlaylistType[] PLAYLIST_TYPES =
+            PlaylistInfo.PlaylistType.values();
+
+    private InfoCodec() {
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Public API
+    //////////////////////////////////////////////////////////////////////////*/
+
+    @Nonnull
+    public static byte[] encodePage(@Nullable final Page page) {
+        final CodecWriter writer = startWriting(KIND_PAGE);
+        writePage(writer, page);
+        return writer.toByteArray();
+    }
+
+    @Nullable
+    public static Page decodePage(@Nonnull final byte[] data) throws IOException {
+        final CodecReader reader = startReading(data, KIND_PAGE);
+        return readPage(reader);
+    }
+
+    /**
+     * Encode a list of items. The items can be {@link StreamInfoItem}s, {@link ChannelInfoItem}s,
+     * {@link PlaylistInfoItem}s and {@link CommentsInfoItem}s, in any order.
+     *
+     * @param items the items to encode
+     * @return the encoded items
+     * @throws IllegalArgumentException if an item is of an unsupported type
+     */
+    @Nonnull
+    public static byte[] encodeInfoItems(@Nonnull final List<? extends InfoItem> items) {
+        final CodecWriter writer = startWriting(KIND_INFO_ITEMS);
+        writeInfoItems(writer, items);
+        return writer.toByteArray();
+    }
+
+    @Nonnull
+    public static List<InfoItem> decodeInfoItems(@Nonnull final byte[] data) throws IOException {
+        final CodecReader reader = startReading(data, KIND_INFO_ITEMS);
+        return readInfoItems(reader);
+    }
+
+    /**
+     * Encode a list of streams. The streams can be {@link AudioStream}s, {@link VideoStream}s
+     * and {@link SubtitlesStream}s, in any order.
+     *
+     * @param streams the streams to encode
+     * @return the encoded streams
+     * @throws IllegalArgumentException if a stream is of an unsupported type
+     */
+    @Nonnull
+    public static byte[] encodeStreams(@Nonnull final List<? extends Stream> streams) {
+        final CodecWriter writer = startWriting(KIND_STREAMS);
+        writeStreams(writer, streams);
+        return writer.toByteArray();
+    }
+
+    @Nonnull
+    public static List<Stream> decodeStreams(@Nonnull final byte[] data) throws IOException {
+        final CodecReader reader = startReading(data, KIND_STREAMS);
+        return readStreams(reader, Stream.class);
+    }
+
+    @Nonnull
+    public static byte[] encodeStreamInfo(@Nonnull final StreamInfo info) {
+        final CodecWriter writer = startWriting(KIND_STREAM_INFO);
+        writeStreamInfo(writer, info);
+        return writer.toByteArray();
+    }
+
+    @Nonnull
+    public static StreamInfo decodeStreamInfo(@Nonnull final byte[] data) throws IOException {
+        final CodecReader reader = startReading(data, KIND_STREAM_INFO);
+        return readStreamInfo(reader);
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Header
+    //////////////////////////////////////////////////////////////////////////*/
+
+    @Nonnull
+    private static CodecWriter startWriting(final int kind) {
+        final CodecWriter writer = new CodecWriter();
+        writer.writeByte(MAGIC_0);
+        writer.writeByte(MAGIC_1);
+        writer.writeVarLong(VERSION);
+        writer.writeVarLong(kind);
+        return writer;
+    }
+
+    @Nonnull
+    private static CodecReader startReading(@Nonnull final byte[] data, final int expectedKind)
+            throws IOException {
+        final CodecReader reader = new CodecReader(data);
+        if (reader.readByte() != MAGIC_0 || reader.readByte() != MAGIC_1) {
+            throw new StreamCorruptedException("Invalid magic number");
+        }
+        final long version = reader.readVarLong();
+        if (version < 1 || version > VERSION) {
+            throw new StreamCorruptedException("Unsupported version " + version);
+        }
+        reader.setVersion((int) version);
+        final long kind = reader.readVarLong();
+        if (kind != expectedKind) {
+            throw new StreamCorruptedException("Expected kind " + expectedKind + ", got " + kind);
+        }
+        return reader;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Common values
+    //////////////////////////////////////////////////////////////////////////*/
+
+    private static void writePage(@Nonnull final CodecWriter writer,
+                                  @Nullable final Page page) {
+        writer.writeBoolean(page != null);
+        if (page == null) {
+            return;
+        }
+        writer.writeString(page.getUrl());
+        writer.writeString(page.getId());
+        writer.writeStringList(page.getIds());
+        final Map<String, String> cookies = page.getCookies();
+        writer.writeVarLong(cookies == null ? 0 : cookies.size() + 1L);
+        if (cookies != null) {
+            for (final Map.Entry<String, String> cookie : cookies.entrySet()) {
+                writer.writeString(cookie.getKey());
+                writer.writeString(cookie.getValue());
+            }
+        }
+        writer.writeBytes(page.getBody());
+    }
+
+    @Nullable
+    private static Page readPage(@Nonnull final CodecReader reader) throws IOException {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        final String url = reader.readString();
+        final String id = reader.readString();
+        final List<String> ids = reader.readStringList();
+        final int cookieCount = reader.readSize();
+        Map<String, String> cookies = null;
+        if (cookieCount != -1) {
+            cookies = new LinkedHashMap<>();
+            for (int i = 0; i < cookieCount; i++) {
+                cookies.put(reader.readString(), reader.readString());
+            }
+        }
+        return new Page(url, id, ids, cookies, reader.readBytes());
+    }
+
+    private static void writeDate(@Nonnull final CodecWriter writer,
+                                  @Nullable final DateWrapper date) {
+        writer.writeBoolean(date != null);
+        if (date == null) {
+            return;
+        }
+        final OffsetDateTime dateTime = date.offsetDateTime();
+        writer.writeLong(dateTime.toEpochSecond());
+        writer.writeVarLong(dateTime.getNano());
+        writer.writeInt(dateTime.getOffset().getTotalSeconds());
+        writer.writeBoolean(date.isApproximation());
+    }
+
+    @Nullable
+    private static DateWrapper readDate(@Nonnull final CodecReader reader) throws IOException {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        final Instant instant = Instant.ofEpochSecond(reader.readLong(), reader.readVarLong());
+        final ZoneOffset offset = ZoneOffset.ofTotalSeconds(reader.readInt());
+        return new DateWrapper(OffsetDateTime.ofInstant(instant, offset), reader.readBoolean());
+    }
+
+    private static void writeDescription(@Nonnull final CodecWriter writer,
+                                         @Nullable final Description description) {
+        writer.writeBoolean(description != null);
+        if (description != null) {
+            writer.writeString(description.getContent());
+            writer.writeInt(description.getType());
+        }
+    }
+
+    @Nullable
+    private static Description readDescription(@Nonnull final CodecReader reader)
+            throws IOException {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        return new Description(reader.readString(), reader.readInt());
+    }
+
+    private static void writeLocale(@Nonnull final CodecWriter writer,
+                                    @Nullable final Locale locale) {
+        writer.writeBoolean(locale != null);
+        if (locale != null) {
+            writer.writeString(locale.getLanguage());
+            writer.writeString(locale.getCountry());
+            writer.writeString(locale.getVariant());
+        }
+    }
+
+    @Nullable
+    private static Locale readLocale(@Nonnull final CodecReader reader) throws IOException {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        return new Locale(reader.readString(), reader.readString(), reader.readString());
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Info items
+    //////////////////////////////////////////////////////////////////////////*/
+
+    private static void writeInfoItems(@Nonnull final CodecWriter writer,
+                                       @Nullable final List<? extends InfoItem> items) {
+        writer.writeSize(items);
+        if (items == null) {
+            return;
+        }
+
+        for (final InfoItem item : items) {
+            writer.writeEnum(item.getInfoType());
+            writer.writeInt(item.getServiceId());
+            writer.writeString(item.getUrl());
+            writer.writeString(item.getName());
+            writer.writeString(item.getThumbnailUrl());
+
+            if (item instanceof StreamInfoItem) {
+                writeStreamInfoItem(writer, (StreamInfoItem) item);
+            } else if (item instanceof ChannelInfoItem) {
+                writeChannelInfoItem(writer, (ChannelInfoItem) item);
+            } else if (item instanceof PlaylistInfoItem) {
+                writePlaylistInfoItem(writer, (PlaylistInfoItem) item);
+            } else if (item instanceof CommentsInfoItem) {
+                writeCommentsInfoItem(writer, (CommentsInfoItem) item);
+            } else {
+                throw new IllegalArgumentException("Unsupported item type: " + item.getClass());
+            }
+        }
+    }
+
+    @Nullable
+    private static List<InfoItem> readInfoItems(@Nonnull final CodecReader reader)
+            throws IOException {
+        final int size = reader.readSize();
+        if (size == -1) {
+            return null;
+        }
+
+        final List<InfoItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final InfoItem.InfoType infoType = reader.readEnum(INFO_TYPES);
+            final int serviceId = reader.readInt();
+            final String url = reader.readString();
+            final String name = reader.readString();
+            final String thumbnailUrl = reader.readString();
+
+            final InfoItem item;
+            if (infoType == null) {
+                throw new StreamCorruptedException("Missing item type");
+            }
+            switch (infoType) {
+                case STREAM:
+                    item = readStreamInfoItem(reader, serviceId, url, name);
+                    break;
+                case CHANNEL:
+                    item = readChannelInfoItem(reader, serviceId, url, name);
+                    break;
+                case PLAYLIST:
+                    item = readPlaylistInfoItem(reader, serviceId, url, name);
+                    break;
+                case COMMENT:
+                default:
+                    item = readCommentsInfoItem(reader, serviceId, url, name);
+                    break;
+            }
+            item.setThumbnailUrl(thumbnailUrl);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static void writeStreamInfoItem(@Nonnull final CodecWriter writer,
+                                            @Nonnull final StreamInfoItem item) {
+        writer.writeEnum(item.getStreamType());
+        writer.writeString(item.getUploaderName());
+        writer.writeString(item.getShortDescription());
+        writer.writeString(item.getTextualUploadDate());
+        writeDate(writer, item.getUploadDate());
+        writer.writeLong(item.getViewCount());
+        writer.writeLong(item.getDuration());
+        writer.writeString(item.getUploaderUrl());
+        writer.writeString(item.getUploaderAvatarUrl());
+        writer.writeBoolean(item.isUploaderVerified());
+        writer.writeBoolean(item.isShortFormContent());
+    }
+
+    @Nonnull
+    private static StreamInfoItem readStreamInfoItem(@Nonnull final CodecReader reader,
+                                                     final int serviceId,
+                                                     final String url,
+                                                     final String name) throws IOException {
+        final StreamInfoItem item = new StreamInfoItem(serviceId, url, name,
+                reader.readEnum(STREAM_TYPES));
+        item.setUploaderName(reader.readString());
+        item.setShortDescription(reader.readString());
+        item.setTextualUploadDate(reader.readString());
+        item.setUploadDate(readDate(reader));
+        item.setViewCount(reader.readLong());
+        item.setDuration(reader.readLong());
+        item.setUploaderUrl(reader.readString());
+        item.setUploaderAvatarUrl(reader.readString());
+        item.setUploaderVerified(reader.readBoolean());
+        item.setShortFormContent(reader.readBoolean());
+        return item;
+    }
+
+    private static void writeChannelInfoItem(@Nonnull final CodecWriter writer,
+                                             @Nonnull final ChannelInfoItem item) {
+        writer.writeString(item.getDescription());
+        writer.writeLong(item.getSubscriberCount());
+        writer.writeLong(item.getStreamCount());
+        writer.writeBoolean(item.isVerified());
+    }
+
+    @Nonnull
+    private static ChannelInfoItem readChannelInfoItem(@Nonnull final CodecReader reader,
+                                                       final int serviceId,
+                                                       final String url,
+                                                       final String name) throws IOException {
+        final ChannelInfoItem item = new ChannelInfoItem(serviceId, url, name);
+        item.setDescription(reader.readString());
+        item.setSubscriberCount(reader.readLong());
+        item.setStreamCount(reader.readLong());
+        item.setVerified(reader.readBoolean());
+        return item;
+    }
+
+    private static void writePlaylistInfoItem(@Nonnull final CodecWriter writer,
+                                              @Nonnull final PlaylistInfoItem item) {
+        writer.writeString(item.getUploaderName());
+        writer.writeString(item.getUploaderUrl());
+        writer.writeBoolean(item.isUploaderVerified());
+        writer.writeLong(item.getStreamCount());
+        writer.writeEnum(item.getPlaylistType());
+    }
+
+    @Nonnull
+    private static PlaylistInfoItem readPlaylistInfoItem(@Nonnull final CodecReader reader,
+                                                         final int serviceId,
+                                                         final String url,
+                                                         final String name) throws IOException {
+        final PlaylistInfoItem item = new PlaylistInfoItem(serviceId, url, name);
+        item.setUploaderName(reader.readString());
+        item.setUploaderUrl(reader.readString());
+        item.setUploaderVerified(reader.readBoolean());
+        item.setStreamCount(reader.readLong());
+        item.setPlaylistType(reader.readEnum(PLAYLIST_TYPES));
+        return item;
+    }
+
+    private static void writeCommentsInfoItem(@Nonnull final CodecWriter writer,
+                                              @Nonnull final CommentsInfoItem item) {
+        writer.writeString(item.getCommentId());
+        writer.writeString(item.getCommentText());
+        writer.writeString(item.getUploaderName());
+        writer.writeString(item.getUploaderAvatarUrl());
+        writer.writeString(item.getUploaderUrl());
+        writer.writeBoolean(item.isUploaderVerified());
+        writer.writeString(item.getTextualUploadDate());
+        writeDate(writer, item.getUploadDate());
+        writer.writeInt(item.getLikeCount());
+        writer.writeString(item.getTextualLikeCount());
+        writer.writeBoolean(item.isHeartedByUploader());
+        writer.writeBoolean(item.isPinned());
+        writer.writeInt(item.getStreamPosition());
+        writer.writeInt(item.getReplyCount());
+        writePage(writer, item.getReplies());
+    }
+
+    @Nonnull
+    private static CommentsInfoItem readCommentsInfoItem(@Nonnull final CodecReader reader,
+                                                         final int serviceId,
+                                                         final String url,
+                                                         final String name) throws IOException {
+        final CommentsInfoItem item = new CommentsInfoItem(serviceId, url, name);
+        item.setCommentId(reader.readString());
+        item.setCommentText(reader.readString());
+        item.setUploaderName(reader.readString());
+        item.setUploaderAvatarUrl(reader.readString());
+        item.setUploaderUrl(reader.readString());
+        item.setUploaderVerified(reader.readBoolean());
+        item.setTextualUploadDate(reader.readString());
+        item.setUploadDate(readDate(reader));
+        item.setLikeCount(reader.readInt());
+        item.setTextualLikeCount(reader.readString());
+        item.setHeartedByUploader(reader.readBoolean());
+        item.setPinned(reader.readBoolean());
+        item.setStreamPosition(reader.readInt());
+        item.setReplyCount(reader.readInt());
+        item.setReplies(readPage(reader));
+        return item;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Streams
+    //////////////////////////////////////////////////////////////////////////*/
+
+    private static void writeStreams(@Nonnull final CodecWriter writer,
+                                     @Nullable final List<? extends Stream> streams) {
+        writer.writeSize(streams);
+        if (streams == null) {
+            return;
+        }
+
+        for (final Stream stream : streams) {
+            if (stream instanceof AudioStream) {
+                writer.writeVarLong(STREAM_AUDIO);
+            } else if (stream instanceof VideoStream) {
+                writer.writeVarLong(STREAM_VIDEO);
+            } else if (stream instanceof SubtitlesStream) {
+                writer.writeVarLong(STREAM_SUBTITLES);
+            } else {
+                throw new IllegalArgumentException("Unsupported stream type: "
+                        + stream.getClass());
+            }
+
+            writer.writeString(stream.getId());
+            writer.writeString(stream.getContent());
+            writer.writeBoolean(stream.isUrl());
+            writer.writeEnum(stream.getFormat());
+            writer.writeEnum(stream.getDeliveryMethod());
+            writer.writeString(stream.getManifestUrl());
+
+            if (stream instanceof AudioStream) {
+                final AudioStream audioStream = (AudioStream) stream;
+                writer.writeInt(audioStream.getAverageBitrate());
+                writer.writeString(audioStream.getAudioTrackId());
+                writer.writeString(audioStream.getAudioTrackName());
+                writeItagItem(writer, audioStream.getItagItem());
+            } else if (stream instanceof VideoStream) {
+                final VideoStream videoStream = (VideoStream) stream;
+                writer.writeString(videoStream.getResolution());
+                writer.writeBoolean(videoStream.isVideoOnly());
+                writeItagItem(writer, videoStream.getItagItem());
+            } else {
+                final SubtitlesStream subtitlesStream = (SubtitlesStream) stream;
+                writer.writeString(subtitlesStream.getLanguageTag());
+                writer.writeBoolean(subtitlesStream.isAutoGenerated());
+            }
+        }
+    }
+
+    @Nullable
+    private static <S extends Stream> List<S> readStreams(@Nonnull final CodecReader reader,
+                                                          @Nonnull final Class<S> streamClass)
+            throws IOException {
+        final int size = reader.readSize();
+        if (size == -1) {
+            return null;
+        }
+
+        final List<S> streams = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final long streamType = reader.readVarLong();
+            final String id = reader.readString();
+            final String content = reader.readString();
+            final boolean isUrl = reader.readBoolean();
+            final MediaFormat format = reader.readEnum(MEDIA_FORMATS);
+            final DeliveryMethod deliveryMethod = reader.readEnum(DELIVERY_METHODS);
+            final String manifestUrl = reader.readString();
+
+            final Stream stream;
+            try {
+                if (streamType == STREAM_AUDIO) {
+                    stream = new AudioStream.Builder()
+                            .setId(id)
+                            .setContent(content, isUrl)
+                            .setMediaFormat(format)
+                            .setDeliveryMethod(deliveryMethod)
+                            .setManifestUrl(manifestUrl)
+                            .setAverageBitrate(reader.readInt())
+                            .setAudioTrackId(reader.readString())
+                            .setAudioTrackName(reader.readString())
+                            .setItagItem(readItagItem(reader))
+                            .build();
+                } else if (streamType == STREAM_VIDEO) {
+                    stream = new VideoStream.Builder()
+                            .setId(id)
+                            .setContent(content, isUrl)
+                            .setMediaFormat(format)
+                            .setDeliveryMethod(deliveryMethod)
+                            .setManifestUrl(manifestUrl)
+                            .setResolution(reader.readString())
+                            .setIsVideoOnly(reader.readBoolean())
+                            .setItagItem(readItagItem(reader))
+                            .build();
+                } else if (streamType == STREAM_SUBTITLES) {
+                    stream = new SubtitlesStream.Builder()
+                            .setId(id)
+                            .setContent(content, isUrl)
+                            .setMediaFormat(format)
+                            .setDeliveryMethod(deliveryMethod)
+                            .setManifestUrl(manifestUrl)
+                            .setLanguageCode(reader.readString())
+                            .setAutoGenerated(reader.readBoolean())
+                            .build();
+                } else {
+                    throw new StreamCorruptedException("Invalid stream type " + streamType);
+                }
+            } catch (final IllegalStateException | NullPointerException e) {
+                throw new StreamCorruptedException("Invalid stream: " + e.getMessage());
+            }
+
+            if (!streamClass.isInstance(stream)) {
+                throw new StreamCorruptedException("Expected " + streamClass.getSimpleName()
+                        + ", got " + stream.getClass().getSimpleName());
+            }
+            streams.add(streamClass.cast(stream));
+        }
+        return streams;
+    }
+
+    private static void writeItagItem(@Nonnull final CodecWriter writer,
+                                      @Nullable final ItagItem itagItem) {
+        writer.writeBoolean(itagItem != null);
+        if (itagItem == null) {
+            return;
+        }
+        writer.writeInt(itagItem.id);
+        writer.writeEnum(itagItem.itagType);
+        writer.writeEnum(itagItem.getMediaFormat());
+        writer.writeString(itagItem.getResolutionString());
+        writer.writeInt(itagItem.getFps());
+        writer.writeInt(itagItem.getAverageBitrate());
+        writer.writeInt(itagItem.getSampleRate());
+        writer.writeInt(itagItem.getAudioChannels());
+        writer.writeInt(itagItem.getBitrate());
+        writer.writeInt(itagItem.getWidth());
+        writer.writeInt(itagItem.getHeight());
+        writer.writeInt(itagItem.getInitStart());
+        writer.writeInt(itagItem.getInitEnd());
+        writer.writeInt(itagItem.getIndexStart());
+        writer.writeInt(itagItem.getIndexEnd());
+        writer.writeString(itagItem.getQuality());
+        writer.writeString(itagItem.getCodec());
+        writer.writeInt(itagItem.getTargetDurationSec());
+        writer.writeLong(itagItem.getApproxDurationMs());
+        writer.writeLong(itagItem.getContentLength());
+        writer.writeString(itagItem.getAudioTrackId());
+        writer.writeString(itagItem.getAudioTrackName());
+    }
+
+    @Nullable
+    private static ItagItem readItagItem(@Nonnull final CodecReader reader) throws IOException {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        final ItagItem itagItem = new ItagItem(reader.readInt(), reader.readEnum(ITAG_TYPES),
+                reader.readEnum(MEDIA_FORMATS), reader.readString(), reader.readInt());
+        itagItem.avgBitrate = reader.readInt();
+        itagItem.setSampleRate(reader.readInt());
+        itagItem.setAudioChannels(reader.readInt());
+        itagItem.setBitrate(reader.readInt());
+        itagItem.setWidth(reader.readInt());
+        itagItem.setHeight(reader.readInt());
+        itagItem.setInitStart(reader.readInt());
+        itagItem.setInitEnd(reader.readInt());
+        itagItem.setIndexStart(reader.readInt());
+        itagItem.setIndexEnd(reader.readInt());
+        itagItem.setQuality(reader.readString());
+        itagItem.setCodec(reader.readString());
+        itagItem.setTargetDurationSec(reader.readInt());
+        itagItem.setApproxDurationMs(reader.readLong());
+        itagItem.setContentLength(reader.readLong());
+        itagItem.setAudioTrackId(reader.readString());
+        itagItem.setAudioTrackName(reader.readString());
+        return itagItem;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Stream info
+    //////////////////////////////////////////////////////////////////////////*/
+
+    private static void writeStreamInfo(@Nonnull final CodecWriter writer,
+                                        @Nonnull final StreamInfo info) {
+        writer.writeInt(info.getServiceId());
+        writer.writeString(info.getUrl());
+        writer.writeString(info.getOriginalUrl());
+        writer.writeEnum(info.getStreamType());
+        writer.writeString(info.getId());
+        writer.writeString(info.getName());
+        writer.writeInt(info.getAgeLimit());
+
+        writer.writeString(info.getThumbnailUrl());
+        writer.writeString(info.getTextualUploadDate());
+        writeDate(writer, info.getUploadDate());
+        writer.writeLong(info.getDuration());
+        writeDescription(writer, info.getDescription());
+        writer.writeLong(info.getViewCount());
+        writer.writeLong(info.getLikeCount());
+        writer.writeLong(info.getDislikeCount());
+
+        writer.writeString(info.getUploaderName());
+        writer.writeString(info.getUploaderUrl());
+        writer.writeString(info.getUploaderAvatarUrl());
+        writer.writeBoolean(info.isUploaderVerified());
+        writer.writeLong(info.getUploaderSubscriberCount());
+        writer.writeString(info.getSubChannelName());
+        writer.writeString(info.getSubChannelUrl());
+        writer.writeString(info.getSubChannelAvatarUrl());
+
+        writeStreams(writer, info.getVideoStreams());
+        writeStreams(writer, info.getAudioStreams());
+        writeStreams(writer, info.getVideoOnlyStreams());
+        writer.writeString(info.getDashMpdUrl());
+        writer.writeString(info.getHlsUrl());
+        writeInfoItems(writer, info.getRelatedItems());
+        writer.writeLong(info.getStartPosition());
+        writeStreams(writer, info.getSubtitles());
+
+        writer.writeString(info.getHost());
+        writer.writeEnum(info.getPrivacy());
+        writer.writeString(info.getCategory());
+        writer.writeString(info.getLicence());
+        writer.writeString(info.getSupportInfo());
+        writeLocale(writer, info.getLanguageInfo());
+        writer.writeStringList(info.getTags());
+        writeStreamSegments(writer, info.getStreamSegments());
+        writeMetaInfo(writer, info.getMetaInfo());
+        writer.writeBoolean(info.isShortFormContent());
+        writePreviewFrames(writer, info.getPreviewFrames());
+    }
+
+    @Nonnull
+    private static StreamInfo readStreamInfo(@Nonnull final CodecReader reader)
+            throws IOException {
+        final int serviceId = reader.readInt();
+        final String url = reader.readString();
+        final String originalUrl = reader.readString();
+        final StreamType streamType = reader.readEnum(STREAM_TYPES);
+        final StreamInfo info = new StreamInfo(serviceId, url, originalUrl, streamType,
+                reader.readString(), reader.readString(), reader.readInt());
+
+        info.setThumbnailUrl(reader.readString());
+        info.setTextualUploadDate(reader.readString());
+        info.setUploadDate(readDate(reader));
+        info.setDuration(reader.readLong());
+        info.setDescription(readDescription(reader));
+        info.setViewCount(reader.readLong());
+        info.setLikeCount(reader.readLong());
+        info.setDislikeCount(reader.readLong());
+
+        info.setUploaderName(reader.readString());
+        info.setUploaderUrl(reader.readString());
+        info.setUploaderAvatarUrl(reader.readString());
+        info.setUploaderVerified(reader.readBoolean());
+        info.setUploaderSubscriberCount(reader.readLong());
+        info.setSubChannelName(reader.readString());
+        info.setSubChannelUrl(reader.readString());
+        info.setSubChannelAvatarUrl(reader.readString());
+
+        info.setVideoStreams(readStreams(reader, VideoStream.class));
+        info.setAudioStreams(readStreams(reader, AudioStream.class));
+        info.setVideoOnlyStreams(readStreams(reader, VideoStream.class));
+        info.setDashMpdUrl(reader.readString());
+        info.setHlsUrl(reader.readString());
+        info.setRelatedItems(readInfoItems(reader));
+        info.setStartPosition(reader.readLong());
+        info.setSubtitles(readStreams(reader, SubtitlesStream.class));
+
+        info.setHost(reader.readString());
+        info.setPrivacy(reader.readEnum(PRIVACIES));
+        info.setCategory(reader.readString());
+        info.setLicence(reader.readString());
+        info.setSupportInfo(reader.readString());
+        info.setLanguageInfo(readLocale(reader));
+        info.setTags(reader.readStringList());
+        info.setStreamSegments(readStreamSegments(reader));
+        info.setMetaInfo(readMetaInfo(reader));
+        info.setShortFormContent(reader.readBoolean());
+        info.setPreviewFrames(readPreviewFrames(reader));
+        return info;
+    }
+
+    private static void writeStreamSegments(@Nonnull final CodecWriter writer,
+                                            @Nullable final List<StreamSegment> segments) {
+        writer.writeSize(segments);
+        if (segments == null) {
+            return;
+        }
+        for (final StreamSegment segment : segments) {
+            writer.writeString(segment.getTitle());
+            writer.writeInt(segment.getStartTimeSeconds());
+            writer.writeString(segment.getChannelName());
+            writer.writeString(segment.getUrl());
+            writer.writeString(segment.getPreviewUrl());
+        }
+    }
+
+    @Nullable
+    private static List<StreamSegment> readStreamSegments(@Nonnull final CodecReader reader)
+            throws IOException {
+        final int size = reader.readSize();
+        if (size == -1) {
+            return null;
+        }
+        final List<StreamSegment> segments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final StreamSegment segment = new StreamSegment(reader.readString(),
+                    reader.readInt());
+            segment.setChannelName(reader.readString());
+            segment.setUrl(reader.readString());
+            segment.setPreviewUrl(reader.readString());
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    private static void writeMetaInfo(@Nonnull final CodecWriter writer,
+                                      @Nullable final List<MetaInfo> metaInfo) {
+        writer.writeSize(metaInfo);
+        if (metaInfo == null) {
+            return;
+        }
+        for (final MetaInfo info : metaInfo) {
+            writer.writeString(info.getTitle());
+            writeDescription(writer, info.getContent());
+            final List<String> urls = new ArrayList<>();
+            for (final URL url : info.getUrls()) {
+                urls.add(url.toString());
+            }
+            writer.writeStringList(urls);
+            writer.writeStringList(info.getUrlTexts());
+        }
+    }
+
+    @Nullable
+    private static List<MetaInfo> readMetaInfo(@Nonnull final CodecReader reader)
+            throws IOException {
+        final int size = reader.readSize();
+        if (size == -1) {
+            return null;
+        }
+        final List<MetaInfo> metaInfo = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final MetaInfo info = new MetaInfo();
+            info.setTitle(reader.readString());
+            info.setContent(readDescription(reader));
+            final List<URL> urls = new ArrayList<>();
+            final List<String> urlStrings = reader.readStringList();
+            if (urlStrings != null) {
+                for (final String url : urlStrings) {
+                    urls.add(new URL(url));
+                }
+            }
+            info.setUrls(urls);
+            info.setUrlTexts(reader.readStringList());
+            metaInfo.add(info);
+        }
+        return metaInfo;
+    }
+
+    private static void writePreviewFrames(@Nonnull final CodecWriter writer,
+                                           @Nullable final List<Frameset> framesets) {
+        writer.writeSize(framesets);
+        if (framesets == null) {
+            return;
+        }
+        for (final Frameset frameset : framesets) {
+            writer.writeStringList(frameset.getUrls());
+            writer.writeInt(frameset.getFrameWidth());
+            writer.writeInt(frameset.getFrameHeight());
+            writer.writeInt(frameset.getTotalCount());
+            writer.writeInt(frameset.getDurationPerFrame());
+            writer.writeInt(frameset.getFramesPerPageX());
+            writer.writeInt(frameset.getFramesPerPageY());
+        }
+    }
+
+    @Nullable
+    private static List<Frameset> readPreviewFrames(@Nonnull final CodecReader reader)
+            throws IOException {
+        final int size = reader.readSize();
+        if (size == -1) {
+            return null;
+        }
+        final List<Frameset> framesets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            framesets.add(new Frameset(reader.readStringList(), reader.readInt(),
+                    reader.readInt(), reader.readInt(), reader.readInt(), reader.readInt(),
+                    reader.readInt()));
+        }
+        return framesets;
+    }
+}
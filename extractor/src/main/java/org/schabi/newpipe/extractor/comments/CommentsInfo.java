@@ -4,7 +4,9 @@ import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.PageIterator;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.cache.InfoCache;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
@@ -26,6 +28,10 @@ public final class CommentsInfo extends ListInfo<CommentsInfoItem> {
 
     public static CommentsInfo getInfo(final StreamingService service, final String url)
             throws ExtractionException, IOException {
+        final InfoCache infoCache = NewPipe.getInfoCache();
+        if (infoCache != null) {
+            return infoCache.getCommentsInfo(service, url);
+        }
         return getInfo(service.getCommentsExtractor(url));
     }
 
@@ -74,6 +80,21 @@ public final class CommentsInfo extends ListInfo<CommentsInfoItem> {
         return service.getCommentsExtractor(url).getPage(page);
     }
 
+    /**
+     * Get an iterator over the pages following the given one, which fetches the next pages in
+     * the background while the current one is consumed.
+     *
+     * @param page the first page returned by the iterator
+     * @return a {@link PageIterator} which must be closed once not needed anymore
+     * @see PageIterator
+     */
+    public static PageIterator<CommentsInfoItem> getMoreItemsIterator(
+            final StreamingService service,
+            final String url,
+            final Page page) throws ExtractionException {
+        return new PageIterator<>(service.getCommentsExtractor(url), page);
+    }
+
     private transient CommentsExtractor commentsExtractor;
     private boolean commentsDisabled = false;
 
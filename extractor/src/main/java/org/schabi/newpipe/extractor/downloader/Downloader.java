@@ -2,6 +2,8 @@ package org.schabi.newpipe.extractor.downloader;
 
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionListener;
 import org.schabi.newpipe.extractor.localization.Localization;
 
 import javax.annotation.Nonnull;
@@ -72,7 +74,7 @@ public abstract class Downloader {
                         @Nullable final Map<String, List<String>> headers,
                         @Nullable final Localization localization)
             throws IOException, ReCaptchaException {
-        return execute(Request.newBuilder()
+        return executeAndReport(Request.newBuilder()
                 .get(url)
                 .headers(headers)
                 .localization(localization)
@@ -99,7 +101,7 @@ public abstract class Downloader {
      */
     public Response head(final String url, @Nullable final Map<String, List<String>> headers)
             throws IOException, ReCaptchaException {
-        return execute(Request.newBuilder()
+        return executeAndReport(Request.newBuilder()
                 .head(url)
                 .headers(headers)
                 .build());
@@ -138,7 +140,7 @@ public abstract class Downloader {
                          @Nullable final byte[] dataToSend,
                          @Nullable final Localization localization)
             throws IOException, ReCaptchaException {
-        return execute(Request.newBuilder()
+        return executeAndReport(Request.newBuilder()
                 .post(url, dataToSend)
                 .headers(headers)
                 .localization(localization)
@@ -148,8 +150,27 @@ public abstract class Downloader {
     /**
      * Do a request using the specified {@link Request} object.
      *
+     * <p>
+     * The requests made with the other methods of this class are reported to the
+     * {@link ExtractionListener}, if any.
+     * </p>
+     *
      * @return the result of the request
      */
     public abstract Response execute(@Nonnull Request request)
             throws IOException, ReCaptchaException;
+
+    private Response executeAndReport(@Nonnull final Request request)
+            throws IOException, ReCaptchaException {
+        final long startTime = ExtractionEvents.start();
+        final Response response;
+        try {
+            response = execute(request);
+        } catch (final IOException | ReCaptchaException | RuntimeException e) {
+            ExtractionEvents.reportRequest(request, null, startTime, e);
+            throw e;
+        }
+        ExtractionEvents.reportRequest(request, response, startTime, null);
+        return response;
+    }
 }
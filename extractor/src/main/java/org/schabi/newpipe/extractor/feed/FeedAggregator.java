@@ -0,0 +1,512 @@
+package org.schabi.newpipe.extractor.feed;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.channel.ChannelInfo;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
+import org.schabi.newpipe.extractor.utils.Utils;
+
+import java.net.MalformedURLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An engine refreshing the feeds of many channels, possibly from different services, at once.
+ *
+ * <p>
+ * The feed of each channel is got with the {@link FeedExtractor} of its service, such as the RSS
+ * feed of a YouTube channel. When the service has no feed extractor or when the feed could not be
+ * got, the {@link ChannelInfo channel} itself is used as a fallback, if this is enabled.
+ * </p>
+ *
+ * <p>
+ * Channels are fetched concurrently, with a limit on the total number of requests in flight and
+ * another one on the number of requests in flight for the same host. The items of all the
+ * channels are then merged in a single list, from the newest to the oldest, without duplicates.
+ * The latency, the source and the errors of each channel are reported with a
+ * {@link ChannelResult}.
+ * </p>
+ */
+public final class FeedAggregator {
+
+    /**
+     * Where the items of a channel have been got from.
+     */
+    public enum Source {
+        /**
+         * The {@link FeedExtractor} of the service.
+         */
+        FEED,
+
+        /**
+         * The {@link ChannelInfo} of the channel, used as a fallback.
+         */
+        CHANNEL
+    }
+
+    /**
+     * Options of a {@link FeedAggregator}.
+     */
+    public static final class Options {
+        private final int maxConcurrentRequests;
+        private final int maxConcurrentRequestsPerHost;
+        private final boolean channelFallbackEnabled;
+        @Nullable
+        private final Executor executor;
+
+        private Options(@Nonnull final Builder builder) {
+            this.maxConcurrentRequests = builder.maxConcurrentRequests;
+            this.maxConcurrentRequestsPerHost = builder.maxConcurrentRequestsPerHost;
+            this.channelFallbackEnabled = builder.channelFallbackEnabled;
+            this.executor = builder.executor;
+        }
+
+        @Nonnull
+        public static Options defaults() {
+            return new Builder().build();
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public int getMaxConcurrentRequestsPerHost() {
+            return maxConcurrentRequestsPerHost;
+        }
+
+        public boolean isChannelFallbackEnabled() {
+            return channelFallbackEnabled;
+        }
+
+        @Nullable
+        public Executor getExecutor() {
+            return executor;
+        }
+
+        public static final class Builder {
+            private int maxConcurrentRequests = 16;
+            private int maxConcurrentRequestsPerHost = 4;
+            private boolean channelFallbackEnabled = true;
+            @Nullable
+            private Executor executor;
+
+            /**
+             * Set the maximum number of channels fetched at the same time.
+             *
+             * @param maxConcurrentRequests a positive number, {@code 16} by default
+             * @return this builder
+             */
+            public Builder setMaxConcurrentRequests(final int maxConcurrentRequests) {
+                if (maxConcurrentRequests <= 0) {
+                    throw new IllegalArgumentException(
+                            "Invalid max concurrent requests: " + maxConcurrentRequests);
+                }
+                this.maxConcurrentRequests = maxConcurrentRequests;
+                return this;
+            }
+
+            /**
+             * Set the maximum number of channels with the same host fetched at the same time.
+             *
+             * @param maxConcurrentRequestsPerHost a positive number, {@code 4} by default
+             * @return this builder
+             */
+            public Builder setMaxConcurrentRequestsPerHost(final int maxConcurrentRequestsPerHost) {
+                if (maxConcurrentRequestsPerHost <= 0) {
+                    throw new IllegalArgumentException("Invalid max concurrent requests per host: "
+                            + maxConcurrentRequestsPerHost);
+                }
+                this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+                return this;
+            }
+
+            /**
+             * Set whether the {@link ChannelInfo} of a channel should be used when its feed
+             * could not be got.
+             *
+             * @param channelFallbackEnabled {@code true} by default
+             * @return this builder
+             */
+            public Builder setChannelFallbackEnabled(final boolean channelFallbackEnabled) {
+                this.channelFallbackEnabled = channelFallbackEnabled;
+                return this;
+            }
+
+            /**
+             * Set the executor on which channels are fetched. It is not shut down by the
+             * aggregator.
+             *
+             * @param executor an executor, or {@code null} to use {@link NewPipe#getExecutor()}
+             * @return this builder
+             */
+            public Builder setExecutor(@Nullable final Executor executor) {
+                this.executor = executor;
+                return this;
+            }
+
+            @Nonnull
+            public Options build() {
+                return new Options(this);
+            }
+        }
+    }
+
+    /**
+     * The result of the fetch of a channel.
+     */
+    public static final class ChannelResult {
+        @Nonnull
+        private final String url;
+        private final int serviceId;
+        @Nullable
+        private final String name;
+        @Nullable
+        private final Source source;
+        @Nonnull
+        private final List<StreamInfoItem> items;
+        @Nonnull
+        private final List<Throwable> errors;
+        private final long latencyNanos;
+
+        ChannelResult(@Nonnull final String url,
+                      final int serviceId,
+                      @Nullable final String name,
+                      @Nullable final Source source,
+                      @Nonnull final List<StreamInfoItem> items,
+                      @Nonnull final List<Throwable> errors,
+                      final long latencyNanos) {
+            this.url = url;
+            this.serviceId = serviceId;
+            this.name = name;
+            this.source = source;
+            this.items = Collections.unmodifiableList(items);
+            this.errors = Collections.unmodifiableList(errors);
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Nonnull
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return the ID of the service of the channel, or {@code -1} if no service can handle
+         * its URL
+         */
+        public int getServiceId() {
+            return serviceId;
+        }
+
+        @Nullable
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return where the items of the channel have been got from, or {@code null} if the
+         * channel could not be fetched
+         */
+        @Nullable
+        public Source getSource() {
+            return source;
+        }
+
+        @Nonnull
+        public List<StreamInfoItem> getItems() {
+            return items;
+        }
+
+        /**
+         * @return the errors which happened while fetching the channel, including the ones of
+         * its feed when the channel fallback has been used
+         */
+        @Nonnull
+        public List<Throwable> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return the time spent to fetch the channel, including its fallback, in nanoseconds
+         */
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        public boolean isSuccessful() {
+            return source != null;
+        }
+    }
+
+    /**
+     * The result of an aggregation.
+     */
+    public static final class Result {
+        @Nonnull
+        private final List<StreamInfoItem> items;
+        @Nonnull
+        private final List<ChannelResult> channelResults;
+
+        Result(@Nonnull final List<StreamInfoItem> items,
+               @Nonnull final List<ChannelResult> channelResults) {
+            this.items = Collections.unmodifiableList(items);
+            this.channelResults = Collections.unmodifiableList(channelResults);
+        }
+
+        /**
+         * @return the items of all the channels, from the newest to the oldest, the items
+         * without upload date being at the end
+         */
+        @Nonnull
+        public List<StreamInfoItem> getItems() {
+            return items;
+        }
+
+        /**
+         * @return the result of each channel, in the order of the channel URLs
+         */
+        @Nonnull
+        public List<ChannelResult> getChannelResults() {
+            return channelResults;
+        }
+
+        @Nonnull
+        public List<ChannelResult> getFailedChannels() {
+            final List<ChannelResult> failedChannels = new ArrayList<>();
+            for (final ChannelResult channelResult : channelResults) {
+                if (!channelResult.isSuccessful()) {
+                    failedChannels.add(channelResult);
+                }
+            }
+            return failedChannels;
+        }
+    }
+
+    private static final Comparator<StreamInfoItem> NEWEST_FIRST = Comparator.comparing(
+            (StreamInfoItem item) -> {
+                final DateWrapper uploadDate = item.getUploadDate();
+                return uploadDate == null ? null : uploadDate.offsetDateTime();
+            },
+            Comparator.nullsLast(Comparator.<OffsetDateTime>reverseOrder()));
+
+    @Nonnull
+    private final Options options;
+
+    public FeedAggregator(@Nonnull final Options options) {
+        this.options = Objects.requireNonNull(options, "options is null");
+    }
+
+    /**
+     * Fetch the given channels and merge their items.
+     *
+     * @param channelUrls the URLs of the channels, from any service
+     * @return the merged items and the result of each channel
+     * @throws InterruptedException if the current thread has been interrupted while waiting for
+     *                              the channels to be fetched
+     */
+    @Nonnull
+    public Result aggregate(@Nonnull final Collection<String> channelUrls)
+            throws InterruptedException {
+        final Aggregation aggregation = new Aggregation(new ArrayList<>(channelUrls),
+                options.getExecutor() != null ? options.getExecutor() : NewPipe.getExecutor());
+        final List<ChannelResult> channelResults = aggregation.run();
+        return new Result(merge(channelResults), channelResults);
+    }
+
+    /**
+     * Merge the items of channels, from the newest to the oldest, removing the items of a
+     * service with an URL which has been already seen.
+     */
+    @Nonnull
+    static List<StreamInfoItem> merge(@Nonnull final List<ChannelResult> channelResults) {
+        final Set<String> seenItems = new HashSet<>();
+        final List<StreamInfoItem> items = new ArrayList<>();
+        for (final ChannelResult channelResult : channelResults) {
+            for (final StreamInfoItem item : channelResult.getItems()) {
+                if (seenItems.add(item.getServiceId() + ":" + item.getUrl())) {
+                    items.add(item);
+                }
+            }
+        }
+        // The sort is stable, so items without upload date keep the order of their channels
+        items.sort(NEWEST_FIRST);
+        return items;
+    }
+
+    @Nonnull
+    private ChannelResult fetchChannel(@Nonnull final String url) {
+        final long startTime = System.nanoTime();
+        final List<Throwable> errors = new ArrayList<>();
+
+        final StreamingService service;
+        try {
+            service = NewPipe.getServiceByUrl(url);
+        } catch (final ExtractionException e) {
+            errors.add(e);
+            return new ChannelResult(url, -1, null, null, Collections.emptyList(), errors,
+                    System.nanoTime() - startTime);
+        }
+
+        try {
+            final FeedExtractor feedExtractor = service.getFeedExtractor(url);
+            if (feedExtractor != null) {
+                final FeedInfo feedInfo = FeedInfo.getInfo(feedExtractor);
+                errors.addAll(feedInfo.getErrors());
+                return new ChannelResult(url, service.getServiceId(), feedInfo.getName(),
+                        Source.FEED, feedInfo.getRelatedItems(), errors,
+                        System.nanoTime() - startTime);
+            } else if (!options.isChannelFallbackEnabled()) {
+                errors.add(new ExtractionException("Service \""
+                        + service.getServiceInfo().getName() + "\" doesn't support feeds"));
+            }
+        } catch (final Exception e) {
+            errors.add(e);
+        }
+
+        if (options.isChannelFallbackEnabled()) {
+            try {
+                final ChannelInfo channelInfo = ChannelInfo.getInfo(service, url);
+                errors.addAll(channelInfo.getErrors());
+                return new ChannelResult(url, service.getServiceId(), channelInfo.getName(),
+                        Source.CHANNEL, channelInfo.getRelatedItems(), errors,
+                        System.nanoTime() - startTime);
+            } catch (final Exception e) {
+                errors.add(e);
+            }
+        }
+
+        return new ChannelResult(url, service.getServiceId(), null, null,
+                Collections.emptyList(), errors, System.nanoTime() - startTime);
+    }
+
+    @Nonnull
+    private static String getHost(@Nonnull final String url) {
+        try {
+            return Utils.stringToURL(url).getHost();
+        } catch (final MalformedURLException e) {
+            return "";
+        }
+    }
+
+    /**
+     * The state of a single call to {@link #aggregate(Collection)}.
+     *
+     * <p>
+     * Each task submitted to the executor fetches a channel, then the next channel which can be
+     * fetched, if any, so that no task is submitted while holding the lock of the aggregation
+     * and executors running tasks on the submitting thread do not nest them.
+     * </p>
+     */
+    private final class Aggregation {
+        @Nonnull
+        private final List<String> channelUrls;
+        @Nonnull
+        private final String[] hosts;
+        @Nonnull
+        private final Executor executor;
+        @Nonnull
+        private final ChannelResult[] results;
+        private final Queue<Integer> pending = new ArrayDeque<>();
+        private final Map<String, Integer> requestsPerHost = new HashMap<>();
+        private int requestsInFlight = 0;
+        private int remaining;
+
+        Aggregation(@Nonnull final List<String> channelUrls, @Nonnull final Executor executor) {
+            this.channelUrls = channelUrls;
+            this.hosts = new String[channelUrls.size()];
+            this.executor = executor;
+            this.results = new ChannelResult[channelUrls.size()];
+            this.remaining = channelUrls.size();
+            for (int i = 0; i < channelUrls.size(); i++) {
+                hosts[i] = getHost(channelUrls.get(i));
+                pending.add(i);
+            }
+        }
+
+        @Nonnull
+        List<ChannelResult> run() throws InterruptedException {
+            final List<Integer> indexes;
+            synchronized (this) {
+                indexes = dispatch();
+            }
+            submit(indexes);
+
+            synchronized (this) {
+                while (remaining > 0) {
+                    wait();
+                }
+            }
+            return Arrays.asList(results);
+        }
+
+        private void submit(@Nonnull final List<Integer> indexes) {
+            for (final int index : indexes) {
+                ExtractorExecutors.executeOrRun(executor, () -> fetch(index));
+            }
+        }
+
+        /**
+         * Take the pending channels whose host has not reached its limit, while the total
+         * limit is not reached. Must be called while holding the lock of this aggregation.
+         *
+         * @return the indexes of the channels to fetch
+         */
+        @Nonnull
+        private List<Integer> dispatch() {
+            final List<Integer> indexes = new ArrayList<>();
+            final Iterator<Integer> iterator = pending.iterator();
+            while (requestsInFlight < options.getMaxConcurrentRequests() && iterator.hasNext()) {
+                final int index = iterator.next();
+                final int hostRequests = requestsPerHost.getOrDefault(hosts[index], 0);
+                if (hostRequests >= options.getMaxConcurrentRequestsPerHost()) {
+                    continue;
+                }
+
+                iterator.remove();
+                ++requestsInFlight;
+                requestsPerHost.put(hosts[index], hostRequests + 1);
+                indexes.add(index);
+            }
+            return indexes;
+        }
+
+        private void fetch(final int firstIndex) {
+            int index = firstIndex;
+            while (index >= 0) {
+                final ChannelResult result = fetchChannel(channelUrls.get(index));
+                final List<Integer> indexes;
+                synchronized (this) {
+                    results[index] = result;
+                    --requestsInFlight;
+                    requestsPerHost.merge(hosts[index], -1, Integer::sum);
+                    --remaining;
+                    indexes = dispatch();
+                    notifyAll();
+                }
+
+                // A completed channel frees a single slot, so there is usually one index at most
+                index = indexes.isEmpty() ? -1 : indexes.remove(0);
+                submit(indexes);
+            }
+        }
+    }
+}
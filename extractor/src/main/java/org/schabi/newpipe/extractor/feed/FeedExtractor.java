@@ -5,13 +5,92 @@ import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
 /**
  * This class helps to extract items from lightweight feeds that the services may provide.
  * <p>
  * YouTube is an example of a service that has this alternative available.
  */
 public abstract class FeedExtractor extends ListExtractor<StreamInfoItem> {
+    @Nullable
+    private FeedSyncState syncState;
+
     public FeedExtractor(final StreamingService service, final ListLinkHandler listLinkHandler) {
         super(service, listLinkHandler);
     }
+
+    /**
+     * Set the state of the feed after its last refresh, so that only the items published since
+     * then are returned. Extractors may also stop parsing the feed at the first known item and
+     * use conditional requests.
+     *
+     * <p>
+     * This must be called before fetching the page.
+     * </p>
+     *
+     * @param syncState the state of the last refresh, or {@code null} to get all the items
+     */
+    public void setSyncState(@Nullable final FeedSyncState syncState) {
+        this.syncState = syncState;
+    }
+
+    @Nullable
+    public FeedSyncState getSyncState() {
+        return syncState;
+    }
+
+    /**
+     * @return whether the service answered that the feed has not been modified since the last
+     * refresh, in which case there are no items and only the ID and the URL of the link handler
+     * are available
+     */
+    public boolean isNotModified() {
+        return false;
+    }
+
+    /**
+     * @return the {@code ETag} header of the feed response, if the service sends one
+     */
+    @Nullable
+    public String getResponseETag() {
+        return null;
+    }
+
+    /**
+     * @return the {@code Last-Modified} header of the feed response, if the service sends one
+     */
+    @Nullable
+    public String getResponseLastModified() {
+        return null;
+    }
+
+    /**
+     * Get the headers of a conditional request for the feed, built from the sync state.
+     *
+     * @return the {@code If-None-Match} and {@code If-Modified-Since} headers, or {@code null}
+     * if there is no sync state or if it has none of the needed values
+     */
+    @Nullable
+    protected Map<String, List<String>> getConditionalRequestHeaders() {
+        if (syncState == null
+                || (syncState.getETag() == null && syncState.getLastModified() == null)) {
+            return null;
+        }
+
+        final Map<String, List<String>> headers = new HashMap<>();
+        if (syncState.getETag() != null) {
+            headers.put("If-None-Match", Collections.singletonList(syncState.getETag()));
+        }
+        if (syncState.getLastModified() != null) {
+            headers.put("If-Modified-Since",
+                    Collections.singletonList(syncState.getLastModified()));
+        }
+        return headers;
+    }
 }
@@ -11,7 +11,12 @@ import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 import java.io.IOException;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public class FeedInfo extends ListInfo<StreamInfoItem> {
+    private boolean notModified = false;
+    @Nullable
+    private FeedSyncState syncState;
 
     public FeedInfo(final int serviceId,
                     final String id,
@@ -29,6 +34,24 @@ public class FeedInfo extends ListInfo<StreamInfoItem> {
 
     public static FeedInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
+        return getInfo(service, url, null);
+    }
+
+    /**
+     * Get the items of a feed published since its last refresh.
+     *
+     * @param service   the service of the feed
+     * @param url       the URL of the feed
+     * @param syncState the state of the feed after its last refresh, or {@code null} to get all
+     *                  the items
+     * @return the info of the feed, whose {@link #getSyncState() sync state} should be used for
+     * the next refresh
+     * @see FeedExtractor#setSyncState(FeedSyncState)
+     */
+    public static FeedInfo getInfo(final StreamingService service,
+                                   final String url,
+                                   @Nullable final FeedSyncState syncState)
+            throws IOException, ExtractionException {
         final FeedExtractor extractor = service.getFeedExtractor(url);
 
         if (extractor == null) {
@@ -36,6 +59,7 @@ public class FeedInfo extends ListInfo<StreamInfoItem> {
                     + "\" doesn't support FeedExtractor.");
         }
 
+        extractor.setSyncState(syncState);
         extractor.fetchPage();
         return getInfo(extractor);
     }
@@ -54,9 +78,46 @@ public class FeedInfo extends ListInfo<StreamInfoItem> {
 
         final InfoItemsPage<StreamInfoItem> itemsPage
                 = ExtractorHelper.getItemsPageOrLogError(info, extractor);
-        info.setRelatedItems(itemsPage.getItems());
-        info.setNextPage(itemsPage.getNextPage());
+        final FeedSyncState previousSyncState = extractor.getSyncState();
+        if (previousSyncState == null) {
+            info.setRelatedItems(itemsPage.getItems());
+            info.setNextPage(itemsPage.getNextPage());
+        } else {
+            // Extractors may not stop at the first known item by themselves
+            final List<StreamInfoItem> newItems =
+                    previousSyncState.getNewItems(itemsPage.getItems());
+            info.setRelatedItems(newItems);
+            info.setNextPage(newItems.size() < itemsPage.getItems().size()
+                    ? null : itemsPage.getNextPage());
+        }
 
+        info.setNotModified(extractor.isNotModified());
+        info.setSyncState(FeedSyncState.after(info.getRelatedItems(), previousSyncState,
+                extractor.getResponseETag(), extractor.getResponseLastModified()));
         return info;
     }
+
+    /**
+     * @return whether the service answered that the feed has not been modified since the last
+     * refresh, in which case there are no items and the name of the feed is not available
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    public void setNotModified(final boolean notModified) {
+        this.notModified = notModified;
+    }
+
+    /**
+     * @return the state of the feed after this refresh, to be given to the next one
+     */
+    @Nullable
+    public FeedSyncState getSyncState() {
+        return syncState;
+    }
+
+    public void setSyncState(@Nullable final FeedSyncState syncState) {
+        this.syncState = syncState;
+    }
 }
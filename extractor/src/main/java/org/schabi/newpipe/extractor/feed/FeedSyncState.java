@@ -0,0 +1,144 @@
+package org.schabi.newpipe.extractor.feed;
+
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The state of a feed after a refresh, used to only get the items published since this refresh
+ * on the next one.
+ *
+ * <p>
+ * Items of a feed are sorted from the newest to the oldest, so an item is considered as already
+ * known if it is the last seen item or if it has been uploaded before the last seen upload date.
+ * Items uploaded in the same second as the last seen item are only known if they are the last
+ * seen item, unless its URL is not known.
+ * Approximated upload dates (such as {@code 2 days ago}) are not compared, only the URL is used for
+ * items having such dates.
+ * </p>
+ *
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} values of the previous feed response are sent in
+ * {@code If-None-Match} and {@code If-Modified-Since} headers by extractors of endpoints supporting
+ * conditional requests, so that an unmodified feed is not downloaded and parsed again.
+ * </p>
+ */
+public final class FeedSyncState implements Serializable {
+    @Nullable
+    private final String lastSeenItemUrl;
+    @Nullable
+    private final OffsetDateTime lastSeenUploadDate;
+    @Nullable
+    private final String eTag;
+    @Nullable
+    private final String lastModified;
+
+    /**
+     * @param lastSeenItemUrl    the URL of the newest item already known
+     * @param lastSeenUploadDate the upload date of the newest item already known
+     * @param eTag               the {@code ETag} header of the last feed response
+     * @param lastModified       the {@code Last-Modified} header of the last feed response
+     */
+    public FeedSyncState(@Nullable final String lastSeenItemUrl,
+                         @Nullable final OffsetDateTime lastSeenUploadDate,
+                         @Nullable final String eTag,
+                         @Nullable final String lastModified) {
+        this.lastSeenItemUrl = lastSeenItemUrl;
+        this.lastSeenUploadDate = lastSeenUploadDate;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Build the state of a feed after a refresh.
+     *
+     * @param newItems     the new items got by the refresh, from the newest to the oldest
+     * @param previous     the state before the refresh, whose last seen item is kept if there
+     *                     are no new items
+     * @param eTag         the {@code ETag} header of the feed response
+     * @param lastModified the {@code Last-Modified} header of the feed response
+     * @return the new state of the feed
+     */
+    @Nonnull
+    public static FeedSyncState after(@Nonnull final List<StreamInfoItem> newItems,
+                                      @Nullable final FeedSyncState previous,
+                                      @Nullable final String eTag,
+                                      @Nullable final String lastModified) {
+        if (newItems.isEmpty()) {
+            return previous == null
+                    ? new FeedSyncState(null, null, eTag, lastModified)
+                    : new FeedSyncState(previous.lastSeenItemUrl, previous.lastSeenUploadDate,
+                            eTag, lastModified);
+        }
+
+        final StreamInfoItem newestItem = newItems.get(0);
+        final DateWrapper uploadDate = newestItem.getUploadDate();
+        return new FeedSyncState(newestItem.getUrl(),
+                uploadDate == null || uploadDate.isApproximation()
+                        ? null : uploadDate.offsetDateTime(),
+                eTag, lastModified);
+    }
+
+    @Nullable
+    public String getLastSeenItemUrl() {
+        return lastSeenItemUrl;
+    }
+
+    @Nullable
+    public OffsetDateTime getLastSeenUploadDate() {
+        return lastSeenUploadDate;
+    }
+
+    @Nullable
+    public String getETag() {
+        return eTag;
+    }
+
+    @Nullable
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @param url        the URL of an item
+     * @param uploadDate the upload date of the item, if known
+     * @return whether the item is the last seen one or has been uploaded before it
+     */
+    public boolean isKnown(@Nonnull final String url, @Nullable final DateWrapper uploadDate) {
+        if (url.equals(lastSeenItemUrl)) {
+            return true;
+        }
+        if (lastSeenUploadDate == null || uploadDate == null || uploadDate.isApproximation()) {
+            return false;
+        }
+        final OffsetDateTime date = uploadDate.offsetDateTime();
+        // The order of items uploaded in the same second is not known, so another item uploaded
+        // in the same second as the last seen one is new
+        return date.isBefore(lastSeenUploadDate)
+                || (lastSeenItemUrl == null && date.isEqual(lastSeenUploadDate));
+    }
+
+    /**
+     * Get the items before the first known one.
+     *
+     * @param items items from the newest to the oldest
+     * @return the new items
+     */
+    @Nonnull
+    public <T extends StreamInfoItem> List<T> getNewItems(@Nonnull final List<T> items) {
+        for (int i = 0; i < items.size(); i++) {
+            final T item = items.get(i);
+            if (isKnown(item.getUrl(), item.getUploadDate())) {
+                return new ArrayList<>(items.subList(0, i));
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,151 @@
+package org.schabi.newpipe.extractor.instrumentation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A timed phase of the extraction, reported to the {@link ExtractionListener}.
+ */
+public final class ExtractionEvent {
+
+    /**
+     * The kinds of phases which are reported.
+     */
+    public enum Phase {
+        /**
+         * {@link org.schabi.newpipe.extractor.Extractor#fetchPage()}, named after the class of
+         * the extractor. It includes the requests made by the extractor, which are also reported
+         * on their own.
+         */
+        FETCH_PAGE,
+
+        /**
+         * A request made with the {@link org.schabi.newpipe.extractor.downloader.Downloader},
+         * named after its URL without its query and fragment, so that the requests to the same
+         * endpoint share the same name.
+         */
+        REQUEST,
+
+        /**
+         * The parsing of a JSON response, named after the type of its root value, either
+         * {@code object} or {@code array}.
+         */
+        JSON_PARSING,
+
+        /**
+         * The deobfuscation of JavaScript protected values, named after the kind of value, either
+         * {@code signature} or {@code throttling parameter}.
+         */
+        DEOBFUSCATION,
+
+        /**
+         * The creation of a DASH manifest, named after the delivery method of the stream.
+         */
+        DASH_MANIFEST_CREATION,
+
+        /**
+         * The extraction of an optional field of a
+         * {@link org.schabi.newpipe.extractor.stream.StreamInfo}, named after its
+         * {@link org.schabi.newpipe.extractor.stream.StreamInfoField}.
+         */
+        OPTIONAL_FIELD,
+
+        /**
+         * An attempt of one of the ways to get a value which has fallbacks, or whose failure is
+         * ignored, named after the value and the way separated by a slash, such as
+         * {@code throttling function/lexer}. The first way is reported too, so that the events
+         * of a value show how often each way is taken and fails: a way failing more often than
+         * usual may indicate that the service changed.
+         */
+        FALLBACK
+    }
+
+    @Nonnull
+    private final Phase phase;
+    @Nonnull
+    private final String name;
+    private final int serviceId;
+    private final long durationNanos;
+    private final int responseCode;
+    private final long bytes;
+    @Nullable
+    private final Throwable error;
+
+    ExtractionEvent(@Nonnull final Phase phase,
+                    @Nonnull final String name,
+                    final int serviceId,
+                    final long durationNanos,
+                    final int responseCode,
+                    final long bytes,
+                    @Nullable final Throwable error) {
+        this.phase = phase;
+        this.name = name;
+        this.serviceId = serviceId;
+        this.durationNanos = durationNanos;
+        this.responseCode = responseCode;
+        this.bytes = bytes;
+        this.error = error;
+    }
+
+    @Nonnull
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return what the phase processed, as described by each {@link Phase}
+     */
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the ID of the service of the phase, or {@code -1} if it is not known
+     */
+    public int getServiceId() {
+        return serviceId;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return the HTTP response code of a {@link Phase#REQUEST request}, or {@code -1} for other
+     * phases and failed requests
+     */
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * @return the size in bytes of the response body of a {@link Phase#REQUEST request}, the
+     * number of characters of the parsed text for {@link Phase#JSON_PARSING}, or {@code -1} for
+     * other phases and failed requests
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the exception which made the phase fail, or {@code null} if it succeeded
+     */
+    @Nullable
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return "ExtractionEvent{phase=" + phase + ", name='" + name + '\''
+                + ", serviceId=" + serviceId + ", durationNanos=" + durationNanos
+                + ", responseCode=" + responseCode + ", bytes=" + bytes
+                + ", error=" + error + '}';
+    }
+}
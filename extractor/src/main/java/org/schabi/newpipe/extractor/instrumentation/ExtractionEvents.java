@@ -0,0 +1,247 @@
+package org.schabi.newpipe.extractor.instrumentation;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Utilities used by the extractor to report {@link ExtractionEvent}s to the
+ * {@link ExtractionListener}.
+ *
+ * <p>
+ * A phase is timed by calling {@link #start()} before it and one of the {@code report} methods
+ * after it. When no listener is set, {@link #start()} does not read the clock and the
+ * {@code report} methods return immediately, so that timing a phase costs a single volatile
+ * read.
+ * </p>
+ */
+public final class ExtractionEvents {
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private ExtractionEvents() {
+    }
+
+    /**
+     * @return the start time of a phase, to be given to a {@code report} method once the phase
+     * ended
+     */
+    public static long start() {
+        return NewPipe.getExtractionListener() == null ? NOT_TIMED : System.nanoTime();
+    }
+
+    public static void report(@Nonnull final Phase phase,
+                              @Nonnull final String name,
+                              final int serviceId,
+                              final long startTime) {
+        report(phase, name, serviceId, startTime, null);
+    }
+
+    public static void report(@Nonnull final Phase phase,
+                              @Nonnull final String name,
+                              final int serviceId,
+                              final long startTime,
+                              @Nullable final Throwable error) {
+        final ExtractionListener listener = NewPipe.getExtractionListener();
+        if (listener == null || startTime == NOT_TIMED) {
+            return;
+        }
+        notify(listener, new ExtractionEvent(phase, name, serviceId,
+                System.nanoTime() - startTime, -1, -1, error));
+    }
+
+    /**
+     * Report an attempt of one of the ways to get a value, see {@link Phase#FALLBACK}.
+     *
+     * @param value     what the attempt tried to get
+     * @param way       how the attempt tried to get it
+     * @param serviceId the ID of the service of the attempt
+     * @param startTime the time returned by {@link #start()} before the attempt
+     * @param error     the reason why the attempt failed, or {@code null} if it succeeded
+     */
+    public static void reportFallback(@Nonnull final String value,
+                                      @Nonnull final String way,
+                                      final int serviceId,
+                                      final long startTime,
+                                      @Nullable final Throwable error) {
+        final ExtractionListener listener = NewPipe.getExtractionListener();
+        if (listener == null || startTime == NOT_TIMED) {
+            return;
+        }
+        notify(listener, new ExtractionEvent(Phase.FALLBACK, value + "/" + way, serviceId,
+                System.nanoTime() - startTime, -1, -1, error));
+    }
+
+    /**
+     * Same as {@link #reportFallback(String, String, int, long, Throwable)}, for attempts which
+     * failed without an exception. The error is only created if there is a listener to report
+     * it to.
+     *
+     * @param successful whether the attempt got the value
+     * @param error      the supplier of the reason why the attempt failed, called only if it
+     *                   failed and the attempt is reported
+     */
+    public static void reportFallback(@Nonnull final String value,
+                                      @Nonnull final String way,
+                                      final int serviceId,
+                                      final long startTime,
+                                      final boolean successful,
+                                      @Nonnull final Supplier<? extends Throwable> error) {
+        if (NewPipe.getExtractionListener() == null || startTime == NOT_TIMED) {
+            return;
+        }
+        reportFallback(value, way, serviceId, startTime, successful ? null : error.get());
+    }
+
+    /**
+     * Report the parsing of a JSON text.
+     *
+     * @param rootType  the type of the root value, either {@code object} or {@code array}
+     * @param json      the parsed text
+     * @param startTime the time returned by {@link #start()} before parsing
+     * @param error     the exception thrown by the parser, or {@code null}
+     */
+    public static void reportJsonParsing(@Nonnull final String rootType,
+                                         @Nullable final String json,
+                                         final long startTime,
+                                         @Nullable final Throwable error) {
+        final ExtractionListener listener = NewPipe.getExtractionListener();
+        if (listener == null || startTime == NOT_TIMED) {
+            return;
+        }
+        notify(listener, new ExtractionEvent(Phase.JSON_PARSING, rootType, -1,
+                System.nanoTime() - startTime, -1, json == null ? -1 : json.length(), error));
+    }
+
+    /**
+     * Report a request made with a {@link org.schabi.newpipe.extractor.downloader.Downloader}.
+     *
+     * @param request   the request
+     * @param response  the response, or {@code null} if the request failed
+     * @param startTime the time returned by {@link #start()} before the request
+     * @param error     the exception which made the request fail, or {@code null}
+     */
+    public static void reportRequest(@Nonnull final Request request,
+                                     @Nullable final Response response,
+                                     final long startTime,
+                                     @Nullable final Throwable error) {
+        final ExtractionListener listener = NewPipe.getExtractionListener();
+        if (listener == null || startTime == NOT_TIMED) {
+            return;
+        }
+        final long durationNanos = System.nanoTime() - startTime;
+        notify(listener, new ExtractionEvent(Phase.REQUEST, getUrlTemplate(request.url()), -1,
+                durationNanos,
+                response == null ? -1 : response.responseCode(),
+                response == null ? -1 : getUtf8Length(response.responseBody()),
+                error));
+    }
+
+    private static void notify(@Nonnull final ExtractionListener listener,
+                               @Nonnull final ExtractionEvent event) {
+        try {
+            listener.onEvent(event);
+        } catch (final RuntimeException e) {
+            // A failing listener must not make the extraction fail
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Get the template of a URL, so that the requests to the same endpoint are reported with the
+     * same name, whatever the resources they request.
+     *
+     * <p>
+     * The query and the fragment are removed, and the path segments which look like IDs are
+     * replaced by {@code *}: the ones made only of digits, the ones longer than three
+     * characters containing a digit, such as video IDs or hashes, and the ones longer than 32
+     * characters, such as slugs. Short segments containing a digit, such as {@code v1}, are
+     * kept, as they usually are versions of an API.
+     * </p>
+     *
+     * @return the URL without its query, its fragment and the IDs of its path
+     */
+    @Nonnull
+    static String getUrlTemplate(@Nonnull final String url) {
+        int end = url.length();
+        final int queryStart = url.indexOf('?');
+        if (queryStart != -1) {
+            end = queryStart;
+        }
+        final int fragmentStart = url.indexOf('#');
+        if (fragmentStart != -1 && fragmentStart < end) {
+            end = fragmentStart;
+        }
+
+        final int schemeEnd = url.indexOf("://");
+        final int pathStart = url.indexOf('/', schemeEnd == -1 ? 0 : schemeEnd + 3);
+        if (pathStart == -1 || pathStart >= end) {
+            return url.substring(0, end);
+        }
+
+        final StringBuilder template = new StringBuilder(end).append(url, 0, pathStart);
+        int segmentStart = pathStart + 1;
+        while (segmentStart <= end) {
+            int segmentEnd = url.indexOf('/', segmentStart);
+            if (segmentEnd == -1 || segmentEnd > end) {
+                segmentEnd = end;
+            }
+            template.append('/');
+            if (isIdSegment(url, segmentStart, segmentEnd)) {
+                template.append('*');
+            } else {
+                template.append(url, segmentStart, segmentEnd);
+            }
+            segmentStart = segmentEnd + 1;
+        }
+        return template.toString();
+    }
+
+    private static boolean isIdSegment(@Nonnull final String url,
+                                       final int start,
+                                       final int end) {
+        final int length = end - start;
+        if (length == 0) {
+            return false;
+        } else if (length > 32) {
+            return true;
+        }
+
+        int digitCount = 0;
+        for (int i = start; i < end; i++) {
+            if (Character.isDigit(url.charAt(i))) {
+                ++digitCount;
+            }
+        }
+        return digitCount == length || (digitCount > 0 && length > 3);
+    }
+
+    private static long getUtf8Length(@Nullable final String text) {
+        if (text == null) {
+            return 0;
+        }
+
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                ++length;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                ++i;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,21 @@
+package org.schabi.newpipe.extractor.instrumentation;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A listener receiving an {@link ExtractionEvent} for each timed phase of the extraction, such
+ * as fetching the page of an extractor, a request, parsing JSON or deobfuscating a signature.
+ *
+ * <p>
+ * The listener is set with
+ * {@link org.schabi.newpipe.extractor.NewPipe#setExtractionListener(ExtractionListener)}. Events
+ * are reported on the threads where the phases ran, possibly on several threads at the same time,
+ * so implementations must be thread-safe and should return quickly. When no listener is set,
+ * phases are not timed and no event is created.
+ * </p>
+ *
+ * @see LatencyHistogramListener
+ */
+public interface ExtractionListener {
+    void onEvent(@Nonnull ExtractionEvent event);
+}
@@ -0,0 +1,228 @@
+package org.schabi.newpipe.extractor.instrumentation;
+
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An {@link ExtractionListener} aggregating the durations of the events in a latency
+ * {@link Histogram} for each {@link Phase}, and for each name of each phase.
+ *
+ * <p>
+ * Names are the URLs of requests, the classes of extractors, the optional fields, ... Some
+ * phases can have many different names, so the number of names per phase with a histogram is
+ * limited: the events of the other names are only aggregated in the histogram of their phase.
+ * </p>
+ */
+public final class LatencyHistogramListener implements ExtractionListener {
+    public static final int DEFAULT_MAX_NAMES_PER_PHASE = 64;
+
+    private final int maxNamesPerPhase;
+    private final Map<Phase, Histogram> histograms = new EnumMap<>(Phase.class);
+    private final Map<Phase, Map<String, Histogram>> namedHistograms = new EnumMap<>(Phase.class);
+
+    public LatencyHistogramListener() {
+        this(DEFAULT_MAX_NAMES_PER_PHASE);
+    }
+
+    /**
+     * @param maxNamesPerPhase the maximum number of names with a histogram for each phase, which
+     *                         can be {@code 0} to only have a histogram per phase
+     */
+    public LatencyHistogramListener(final int maxNamesPerPhase) {
+        if (maxNamesPerPhase < 0) {
+            throw new IllegalArgumentException("Invalid max names per phase: " + maxNamesPerPhase);
+        }
+        this.maxNamesPerPhase = maxNamesPerPhase;
+        for (final Phase phase : Phase.values()) {
+            histograms.put(phase, new Histogram());
+            namedHistograms.put(phase, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void onEvent(@Nonnull final ExtractionEvent event) {
+        final long durationNanos = event.getDurationNanos();
+        final boolean successful = event.isSuccessful();
+        histograms.get(event.getPhase()).record(durationNanos, successful);
+
+        final Map<String, Histogram> phaseHistograms = namedHistograms.get(event.getPhase());
+        Histogram histogram = phaseHistograms.get(event.getName());
+        if (histogram == null && phaseHistograms.size() < maxNamesPerPhase) {
+            histogram = phaseHistograms.computeIfAbsent(event.getName(), name -> new Histogram());
+        }
+        if (histogram != null) {
+            histogram.record(durationNanos, successful);
+        }
+    }
+
+    /**
+     * @param phase a phase
+     * @return the histogram of all the events of the phase
+     */
+    @Nonnull
+    public Histogram getHistogram(@Nonnull final Phase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * @param phase a phase
+     * @return a view of the histograms of the phase, by name
+     */
+    @Nonnull
+    public Map<String, Histogram> getHistograms(@Nonnull final Phase phase) {
+        return Collections.unmodifiableMap(namedHistograms.get(phase));
+    }
+
+    /**
+     * Forget all the events recorded.
+     */
+    public void reset() {
+        for (final Phase phase : Phase.values()) {
+            histograms.get(phase).reset();
+            namedHistograms.get(phase).clear();
+        }
+    }
+
+    /**
+     * A thread-safe histogram of durations, with a bucket for each power of two of nanoseconds.
+     * Its values are read without stopping the recording, so they may be slightly inconsistent
+     * with each other while events are recorded.
+     */
+    public static final class Histogram {
+        private static final int BUCKET_COUNT = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong errorCount = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Histogram() {
+        }
+
+        void record(final long durationNanos, final boolean successful) {
+            final long nanos = Math.max(durationNanos, 0);
+            buckets.incrementAndGet(getBucket(nanos));
+            count.incrementAndGet();
+            if (!successful) {
+                errorCount.incrementAndGet();
+            }
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            errorCount.set(0);
+            totalNanos.set(0);
+            maxNanos.set(0);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * @return the number of events of failed phases
+         */
+        public long getErrorCount() {
+            return errorCount.get();
+        }
+
+        /**
+         * @return the ratio of events of failed phases, or {@code 0} if there is no event
+         */
+        public double getErrorRate() {
+            final long currentCount = count.get();
+            return currentCount == 0 ? 0 : (double) errorCount.get() / currentCount;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * @return the mean duration, or {@code 0} if there is no event
+         */
+        public long getMeanNanos() {
+            final long currentCount = count.get();
+            return currentCount == 0 ? 0 : totalNanos.get() / currentCount;
+        }
+
+        /**
+         * Get an upper bound of a percentile of the durations, which is at most twice the actual
+         * percentile.
+         *
+         * @param percentile a percentile, between {@code 0} and {@code 100}
+         * @return the upper bound of the bucket containing the percentile, or {@code 0} if there
+         * is no event
+         */
+        public long getPercentileNanos(final double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Invalid percentile: " + percentile);
+            }
+
+            long total = 0;
+            final long[] bucketCounts = getBucketCounts();
+            for (final long bucketCount : bucketCounts) {
+                total += bucketCount;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+
+            long cumulativeCount = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                cumulativeCount += bucketCounts[i];
+                if (cumulativeCount >= rank) {
+                    return Math.min(getBucketUpperBoundNanos(i), maxNanos.get());
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return the number of events of each bucket, the bucket {@code i} containing the
+         * durations from {@code 2^i} to {@code 2^(i+1) - 1} nanoseconds, except the first one
+         * which also contains the durations of {@code 0} nanoseconds
+         */
+        @Nonnull
+        public long[] getBucketCounts() {
+            final long[] bucketCounts = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                bucketCounts[i] = buckets.get(i);
+            }
+            return bucketCounts;
+        }
+
+        private static int getBucket(final long nanos) {
+            return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+        }
+
+        private static long getBucketUpperBoundNanos(final int bucket) {
+            return bucket >= 62 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return "Histogram{count=" + getCount() + ", errorCount=" + getErrorCount()
+                    + ", meanNanos=" + getMeanNanos() + ", p50Nanos=" + getPercentileNanos(50)
+                    + ", p99Nanos=" + getPercentileNanos(99) + ", maxNanos=" + getMaxNanos()
+                    + '}';
+        }
+    }
+}
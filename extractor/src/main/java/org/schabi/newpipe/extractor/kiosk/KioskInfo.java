@@ -24,7 +24,9 @@ import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.PageIterator;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.cache.InfoCache;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
@@ -43,12 +45,30 @@ public final class KioskInfo extends ListInfo<StreamInfoItem> {
         return service.getKioskList().getExtractorByUrl(url, page).getPage(page);
     }
 
+    /**
+     * Get an iterator over the pages following the given one, which fetches the next pages in
+     * the background while the current one is consumed.
+     *
+     * @param page the first page returned by the iterator
+     * @return a {@link PageIterator} which must be closed once not needed anymore
+     * @see PageIterator
+     */
+    public static PageIterator<StreamInfoItem> getMoreItemsIterator(
+            final StreamingService service, final String url, final Page page)
+            throws IOException, ExtractionException {
+        return new PageIterator<>(service.getKioskList().getExtractorByUrl(url, page), page);
+    }
+
     public static KioskInfo getInfo(final String url) throws IOException, ExtractionException {
         return getInfo(NewPipe.getServiceByUrl(url), url);
     }
 
     public static KioskInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
+        final InfoCache infoCache = NewPipe.getInfoCache();
+        if (infoCache != null) {
+            return infoCache.getKioskInfo(service, url);
+        }
         final KioskExtractor extractor = service.getKioskList().getExtractorByUrl(url, null);
         extractor.fetchPage();
         return getInfo(extractor);
@@ -4,7 +4,9 @@ import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.PageIterator;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.cache.InfoCache;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
@@ -64,6 +66,10 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
 
     public static PlaylistInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
+        final InfoCache infoCache = NewPipe.getInfoCache();
+        if (infoCache != null) {
+            return infoCache.getPlaylistInfo(service, url);
+        }
         final PlaylistExtractor extractor = service.getPlaylistExtractor(url);
         extractor.fetchPage();
         return getInfo(extractor);
@@ -76,6 +82,21 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
         return service.getPlaylistExtractor(url).getPage(page);
     }
 
+    /**
+     * Get an iterator over the pages following the given one, which fetches the next pages in
+     * the background while the current one is consumed.
+     *
+     * @param page the first page returned by the iterator
+     * @return a {@link PageIterator} which must be closed once not needed anymore
+     * @see PageIterator
+     */
+    public static PageIterator<StreamInfoItem> getMoreItemsIterator(
+            final StreamingService service,
+            final String url,
+            final Page page) throws ExtractionException {
+        return new PageIterator<>(service.getPlaylistExtractor(url), page);
+    }
+
     /**
      * Get PlaylistInfo from PlaylistExtractor
      *
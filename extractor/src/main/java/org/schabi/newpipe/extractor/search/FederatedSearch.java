@@ -0,0 +1,488 @@
+package org.schabi.newpipe.extractor.search;
+
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A search on several services at once.
+ *
+ * <p>
+ * The {@link SearchInfo} of each service is got concurrently. Each service has a deadline,
+ * after which the search does not wait for it anymore: its result is reported as timed out and
+ * the search returns the results of the other services, so that a slow service does not delay
+ * the whole search.
+ * </p>
+ *
+ * <p>
+ * The result of each service can be received as soon as it is available with a listener, and
+ * the items of all services are merged either in the order in which the services answered or
+ * interleaved by rank.
+ * </p>
+ */
+public final class FederatedSearch {
+
+    /**
+     * How the items of the services are merged.
+     */
+    public enum Order {
+        /**
+         * The items of the services in the order in which the services answered.
+         */
+        ARRIVAL,
+
+        /**
+         * The first item of each service, then the second item of each service, and so on, the
+         * services being in the order in which they have been given.
+         */
+        INTERLEAVED
+    }
+
+    /**
+     * Options of a {@link FederatedSearch}.
+     */
+    public static final class Options {
+        private final long timeoutMillis;
+        @Nonnull
+        private final Map<Integer, Long> serviceTimeoutsMillis;
+        @Nonnull
+        private final Order order;
+        @Nullable
+        private final Executor executor;
+
+        private Options(@Nonnull final Builder builder) {
+            this.timeoutMillis = builder.timeoutMillis;
+            this.serviceTimeoutsMillis = new HashMap<>(builder.serviceTimeoutsMillis);
+            this.order = builder.order;
+            this.executor = builder.executor;
+        }
+
+        @Nonnull
+        public static Options defaults() {
+            return new Builder().build();
+        }
+
+        public long getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        /**
+         * @param serviceId the ID of a service
+         * @return the time after which the search does not wait for this service anymore
+         */
+        public long getTimeoutMillis(final int serviceId) {
+            return serviceTimeoutsMillis.getOrDefault(serviceId, timeoutMillis);
+        }
+
+        @Nonnull
+        public Order getOrder() {
+            return order;
+        }
+
+        @Nullable
+        public Executor getExecutor() {
+            return executor;
+        }
+
+        public static final class Builder {
+            private long timeoutMillis = 10_000;
+            private final Map<Integer, Long> serviceTimeoutsMillis = new HashMap<>();
+            @Nonnull
+            private Order order = Order.INTERLEAVED;
+            @Nullable
+            private Executor executor;
+
+            /**
+             * Set the time after which the search does not wait for a service anymore.
+             *
+             * @param timeoutMillis a positive number of milliseconds, {@code 10000} by default
+             * @return this builder
+             */
+            public Builder setTimeoutMillis(final long timeoutMillis) {
+                if (timeoutMillis <= 0) {
+                    throw new IllegalArgumentException("Invalid timeout: " + timeoutMillis);
+                }
+                this.timeoutMillis = timeoutMillis;
+                return this;
+            }
+
+            /**
+             * Set the time after which the search does not wait for a specific service anymore,
+             * instead of the one set with {@link #setTimeoutMillis(long)}.
+             *
+             * @param serviceId     the ID of the service
+             * @param timeoutMillis a positive number of milliseconds
+             * @return this builder
+             */
+            public Builder setTimeoutMillis(final int serviceId, final long timeoutMillis) {
+                if (timeoutMillis <= 0) {
+                    throw new IllegalArgumentException("Invalid timeout: " + timeoutMillis);
+                }
+                serviceTimeoutsMillis.put(serviceId, timeoutMillis);
+                return this;
+            }
+
+            /**
+             * @param order how the items of the services are merged,
+             *              {@link Order#INTERLEAVED} by default
+             * @return this builder
+             */
+            public Builder setOrder(@Nonnull final Order order) {
+                this.order = Objects.requireNonNull(order, "order is null");
+                return this;
+            }
+
+            /**
+             * Set the executor on which the services are searched. It is not shut down by the
+             * search.
+             *
+             * <p>
+             * Services whose tasks have not started before their deadline are not searched. With
+             * an executor running tasks on the current thread, services are searched one after
+             * the other and their deadlines are only checked once they have all been searched.
+             * </p>
+             *
+             * @param executor an executor, or {@code null} to use {@link NewPipe#getExecutor()}
+             * @return this builder
+             */
+            public Builder setExecutor(@Nullable final Executor executor) {
+                this.executor = executor;
+                return this;
+            }
+
+            @Nonnull
+            public Options build() {
+                return new Options(this);
+            }
+        }
+    }
+
+    /**
+     * The result of the search on a service.
+     */
+    public static final class ServiceResult {
+        private final int serviceId;
+        @Nullable
+        private final SearchInfo searchInfo;
+        @Nonnull
+        private final List<Throwable> errors;
+        private final boolean timedOut;
+        private final long latencyNanos;
+
+        ServiceResult(final int serviceId,
+                      @Nullable final SearchInfo searchInfo,
+                      @Nonnull final List<Throwable> errors,
+                      final boolean timedOut,
+                      final long latencyNanos) {
+            this.serviceId = serviceId;
+            this.searchInfo = searchInfo;
+            this.errors = Collections.unmodifiableList(errors);
+            this.timedOut = timedOut;
+            this.latencyNanos = latencyNanos;
+        }
+
+        public int getServiceId() {
+            return serviceId;
+        }
+
+        /**
+         * @return the search info of the service, or {@code null} if it could not be got
+         */
+        @Nullable
+        public SearchInfo getSearchInfo() {
+            return searchInfo;
+        }
+
+        /**
+         * @return the items of the first page of the search on the service
+         */
+        @Nonnull
+        public List<InfoItem> getItems() {
+            return searchInfo == null ? Collections.emptyList() : searchInfo.getRelatedItems();
+        }
+
+        /**
+         * @return the errors which happened while searching the service, including the ones of
+         * its search info
+         */
+        @Nonnull
+        public List<Throwable> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return whether the service did not answer before its deadline
+         */
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * @return the time spent to search the service, or its timeout if it did not answer
+         * before its deadline, in nanoseconds
+         */
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        public boolean isSuccessful() {
+            return searchInfo != null;
+        }
+    }
+
+    /**
+     * The result of a federated search.
+     */
+    public static final class Result {
+        @Nonnull
+        private final List<InfoItem> items;
+        @Nonnull
+        private final List<ServiceResult> serviceResults;
+
+        Result(@Nonnull final List<InfoItem> items,
+               @Nonnull final List<ServiceResult> serviceResults) {
+            this.items = Collections.unmodifiableList(items);
+            this.serviceResults = Collections.unmodifiableList(serviceResults);
+        }
+
+        /**
+         * @return the items of all the services, merged in the order of the options
+         */
+        @Nonnull
+        public List<InfoItem> getItems() {
+            return items;
+        }
+
+        /**
+         * @return the result of each service, in the order in which the services answered, the
+         * timed out services being at the end
+         */
+        @Nonnull
+        public List<ServiceResult> getServiceResults() {
+            return serviceResults;
+        }
+
+        @Nonnull
+        public List<ServiceResult> getFailedServices() {
+            final List<ServiceResult> failedServices = new ArrayList<>();
+            for (final ServiceResult serviceResult : serviceResults) {
+                if (!serviceResult.isSuccessful()) {
+                    failedServices.add(serviceResult);
+                }
+            }
+            return failedServices;
+        }
+    }
+
+    @Nonnull
+    private final Options options;
+
+    public FederatedSearch(@Nonnull final Options options) {
+        this.options = Objects.requireNonNull(options, "options is null");
+    }
+
+    /**
+     * Search the given services with the default content filter of each service.
+     *
+     * @param services the services to search
+     * @param query    the search string
+     * @return the merged items and the result of each service
+     * @throws InterruptedException if the current thread has been interrupted while waiting for
+     *                              the services
+     * @see #search(Collection, String, Consumer)
+     */
+    @Nonnull
+    public Result search(@Nonnull final Collection<StreamingService> services,
+                         @Nonnull final String query) throws InterruptedException {
+        return search(services, query, null);
+    }
+
+    /**
+     * Search the given services with the default content filter of each service.
+     *
+     * @param services the services to search
+     * @param query    the search string
+     * @param listener a listener receiving the result of each service on the current thread as
+     *                 soon as it is available, or {@code null}
+     * @return the merged items and the result of each service
+     * @throws InterruptedException if the current thread has been interrupted while waiting for
+     *                              the services
+     */
+    @Nonnull
+    public Result search(@Nonnull final Collection<StreamingService> services,
+                         @Nonnull final String query,
+                         @Nullable final Consumer<ServiceResult> listener)
+            throws InterruptedException {
+        // Search each service only once
+        final Map<Integer, StreamingService> servicesById = new LinkedHashMap<>();
+        for (final StreamingService service : services) {
+            servicesById.putIfAbsent(service.getServiceId(), service);
+        }
+        final List<StreamingService> serviceList = new ArrayList<>(servicesById.values());
+        if (serviceList.isEmpty()) {
+            return new Result(Collections.emptyList(), Collections.emptyList());
+        }
+
+        final Executor executor =
+                options.getExecutor() != null ? options.getExecutor() : NewPipe.getExecutor();
+
+        final long startTime = System.nanoTime();
+        final BlockingQueue<ServiceResult> answers = new LinkedBlockingQueue<>();
+        final Map<Integer, Future<?>> pending = new HashMap<>();
+        try {
+            for (final StreamingService service : serviceList) {
+                final FutureTask<Void> task = new FutureTask<>(
+                        () -> answers.add(searchService(service, query)), null);
+                pending.put(service.getServiceId(), task);
+                ExtractorExecutors.executeOrRun(executor, task);
+            }
+
+            final List<ServiceResult> serviceResults = new ArrayList<>();
+            while (!pending.isEmpty()) {
+                final long now = System.nanoTime();
+                expireServices(pending, startTime, now, serviceResults, listener);
+                if (pending.isEmpty()) {
+                    break;
+                }
+
+                final ServiceResult answer = answers.poll(
+                        getNextDeadline(pending, startTime) - now, TimeUnit.NANOSECONDS);
+                if (answer != null && pending.remove(answer.getServiceId()) != null) {
+                    serviceResults.add(answer);
+                    if (listener != null) {
+                        listener.accept(answer);
+                    }
+                }
+            }
+
+            return new Result(merge(serviceList, serviceResults, options.getOrder()),
+                    serviceResults);
+        } finally {
+            pending.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Report the pending services whose deadline is passed as timed out.
+     */
+    private void expireServices(@Nonnull final Map<Integer, Future<?>> pending,
+                                final long startTime,
+                                final long now,
+                                @Nonnull final List<ServiceResult> serviceResults,
+                                @Nullable final Consumer<ServiceResult> listener) {
+        final List<Integer> expiredServices = new ArrayList<>();
+        for (final int serviceId : pending.keySet()) {
+            if (now - startTime >= getTimeoutNanos(serviceId)) {
+                expiredServices.add(serviceId);
+            }
+        }
+
+        for (final int serviceId : expiredServices) {
+            pending.remove(serviceId).cancel(true);
+            final ServiceResult result = new ServiceResult(serviceId, null,
+                    Collections.singletonList(new TimeoutException("Service " + serviceId
+                            + " did not answer in " + options.getTimeoutMillis(serviceId) + " ms")),
+                    true, getTimeoutNanos(serviceId));
+            serviceResults.add(result);
+            if (listener != null) {
+                listener.accept(result);
+            }
+        }
+    }
+
+    private long getNextDeadline(@Nonnull final Map<Integer, Future<?>> pending,
+                                 final long startTime) {
+        long nextDeadline = Long.MAX_VALUE;
+        for (final int serviceId : pending.keySet()) {
+            nextDeadline = Math.min(nextDeadline, startTime + getTimeoutNanos(serviceId));
+        }
+        return nextDeadline;
+    }
+
+    private long getTimeoutNanos(final int serviceId) {
+        return TimeUnit.MILLISECONDS.toNanos(options.getTimeoutMillis(serviceId));
+    }
+
+    @Nonnull
+    private static ServiceResult searchService(@Nonnull final StreamingService service,
+                                               @Nonnull final String query) {
+        final long startTime = System.nanoTime();
+        try {
+            final SearchInfo searchInfo = SearchInfo.getInfo(service,
+                    service.getSearchQHFactory().fromQuery(query));
+            return new ServiceResult(service.getServiceId(), searchInfo,
+                    new ArrayList<>(searchInfo.getErrors()), false,
+                    System.nanoTime() - startTime);
+        } catch (final Exception e) {
+            return new ServiceResult(service.getServiceId(), null,
+                    Collections.singletonList(e), false, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Merge the items of the services.
+     *
+     * @param services       the services, in the order used to interleave their items
+     * @param serviceResults the results of the services, in the order in which they answered
+     * @param order          how the items are merged
+     * @return the merged items
+     */
+    @Nonnull
+    static List<InfoItem> merge(@Nonnull final List<StreamingService> services,
+                                @Nonnull final List<ServiceResult> serviceResults,
+                                @Nonnull final Order order) {
+        final List<InfoItem> items = new ArrayList<>();
+        if (order == Order.ARRIVAL) {
+            for (final ServiceResult serviceResult : serviceResults) {
+                items.addAll(serviceResult.getItems());
+            }
+            return items;
+        }
+
+        final Map<Integer, ServiceResult> resultsByService = new HashMap<>();
+        for (final ServiceResult serviceResult : serviceResults) {
+            resultsByService.put(serviceResult.getServiceId(), serviceResult);
+        }
+        final List<List<InfoItem>> serviceItems = new ArrayList<>();
+        for (final StreamingService service : services) {
+            final ServiceResult serviceResult = resultsByService.get(service.getServiceId());
+            if (serviceResult != null) {
+                serviceItems.add(serviceResult.getItems());
+            }
+        }
+
+        for (int rank = 0; ; rank++) {
+            boolean added = false;
+            for (final List<InfoItem> itemsOfService : serviceItems) {
+                if (rank < itemsOfService.size()) {
+                    items.add(itemsOfService.get(rank));
+                    added = true;
+                }
+            }
+            if (!added) {
+                return items;
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.MetaInfo;
 import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.PageIterator;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
@@ -81,6 +82,20 @@ public class SearchInfo extends ListInfo<InfoItem> {
         return service.getSearchExtractor(query).getPage(page);
     }
 
+    /**
+     * Get an iterator over the pages following the given one, which fetches the next pages in
+     * the background while the current one is consumed.
+     *
+     * @param page the first page returned by the iterator
+     * @return a {@link PageIterator} which must be closed once not needed anymore
+     * @see PageIterator
+     */
+    public static PageIterator<InfoItem> getMoreItemsIterator(final StreamingService service,
+                                                              final SearchQueryHandler query,
+                                                              final Page page) {
+        return new PageIterator<>(service.getSearchExtractor(query), page);
+    }
+
     // Getter
     public String getSearchString() {
         return this.searchString;
@@ -135,7 +135,7 @@ public class BandcampChannelExtractor extends ChannelExtractor {
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
-        channelInfo = BandcampExtractorHelper.getArtistDetails(getId());
+        channelInfo = BandcampExtractorHelper.getArtistDetails(getDownloader(), getId());
     }
 
     @Nonnull
@@ -10,6 +10,7 @@ import com.grack.nanojson.JsonWriter;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
@@ -20,6 +21,7 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public final class BandcampExtractorHelper {
@@ -59,10 +61,19 @@ public final class BandcampExtractorHelper {
      * More technical info.</a>
      */
     public static JsonObject getArtistDetails(final String id) throws ParsingException {
+        return getArtistDetails(NewPipe.getDownloader(), id);
+    }
+
+    /**
+     * Same as {@link #getArtistDetails(String)}, with the given downloader instead of the one of
+     * the default context.
+     */
+    public static JsonObject getArtistDetails(@Nonnull final Downloader downloader,
+                                              final String id) throws ParsingException {
         try {
             return
                     JsonParser.object().from(
-                            NewPipe.getDownloader().post(
+                            downloader.post(
                                     BASE_API_URL + "/mobile/22/band_details",
                                     null,
                                     JsonWriter.string()
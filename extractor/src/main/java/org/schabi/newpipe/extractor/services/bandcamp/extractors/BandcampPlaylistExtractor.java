@@ -11,6 +11,7 @@ import com.grack.nanojson.JsonParserException;
 
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.downloader.Downloader;
@@ -20,10 +21,17 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.playlist.PlaylistExtractor;
 import org.schabi.newpipe.extractor.services.bandcamp.extractors.streaminfoitem.BandcampPlaylistStreamInfoItemExtractor;
+import org.schabi.newpipe.extractor.stream.LazyStreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import javax.annotation.Nonnull;
 
@@ -40,6 +48,7 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
     private JsonObject albumJson;
     private JsonArray trackInfo;
     private String name;
+    private boolean lazyCoverArts = false;
 
     public BandcampPlaylistExtractor(final StreamingService service,
                                      final ListLinkHandler linkHandler) {
@@ -108,29 +117,102 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
         return trackInfo.size();
     }
 
+    /**
+     * Set whether the cover arts of the tracks are only requested when they are read.
+     *
+     * <p>
+     * The cover art of a track is only on its page. By default, for albums with less than
+     * {@link #MAXIMUM_INDIVIDUAL_COVER_ARTS} tracks, the pages of all tracks are requested
+     * concurrently by {@link #getInitialPage()}. With lazy cover arts, the album costs a single
+     * request as long as no thumbnail is read, but the items are {@link LazyStreamInfoItem}s
+     * doing I/O in a getter:
+     * </p>
+     * <ul>
+     *     <li>{@link StreamInfoItem#getThumbnailUrl()} requests the page of the track on the
+     *     thread reading it, which must not be one which cannot block, such as the UI thread;
+     *     </li>
+     *     <li>serializing an item requests the page of its track if its thumbnail has not been
+     *     read yet;</li>
+     *     <li>the failures to get a cover art are in the {@link LazyStreamInfoItem#getErrors()
+     *     errors of its item}, not in the errors of the page.</li>
+     * </ul>
+     *
+     * @param lazyCoverArts whether the cover arts of the tracks are only requested when they
+     *                      are read, {@code false} by default
+     */
+    public void setLazyCoverArts(final boolean lazyCoverArts) {
+        this.lazyCoverArts = lazyCoverArts;
+    }
+
+    /**
+     * Get the tracks of the album.
+     *
+     * <p>
+     * For albums with less than {@link #MAXIMUM_INDIVIDUAL_COVER_ARTS} tracks, the pages of the
+     * tracks are requested concurrently to get their cover arts, unless
+     * {@link #setLazyCoverArts(boolean) lazy cover arts} are enabled.
+     * </p>
+     */
     @Nonnull
     @Override
-    public InfoItemsPage<StreamInfoItem> getInitialPage() throws ExtractionException {
+    public InfoItemsPage<StreamInfoItem> getInitialPage() throws IOException, ExtractionException {
 
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-
-        for (int i = 0; i < trackInfo.size(); i++) {
-            final JsonObject track = trackInfo.getObject(i);
-
-            if (trackInfo.size() < MAXIMUM_INDIVIDUAL_COVER_ARTS) {
-                // Load cover art of every track individually
-                collector.commit(new BandcampPlaylistStreamInfoItemExtractor(
-                        track, getUploaderUrl(), getService()));
-            } else {
+        if (trackInfo.size() >= MAXIMUM_INDIVIDUAL_COVER_ARTS) {
+            for (int i = 0; i < trackInfo.size(); i++) {
                 // Pretend every track has the same cover art as the album
                 collector.commit(new BandcampPlaylistStreamInfoItemExtractor(
-                        track, getUploaderUrl(), getThumbnailUrl()));
+                        trackInfo.getObject(i), getUploaderUrl(), getThumbnailUrl()));
             }
+            return new InfoItemsPage<>(collector, null);
+        }
+
+        // Load cover art of every track individually
+        final List<BandcampPlaylistStreamInfoItemExtractor> extractors = new ArrayList<>();
+        for (int i = 0; i < trackInfo.size(); i++) {
+            extractors.add(new BandcampPlaylistStreamInfoItemExtractor(
+                    trackInfo.getObject(i), getUploaderUrl(), getDownloader()));
+        }
+        if (lazyCoverArts) {
+            collector.setLazy(true);
+        } else {
+            fetchCoverArts(extractors);
         }
+        extractors.forEach(collector::commit);
 
         return new InfoItemsPage<>(collector, null);
     }
 
+    /**
+     * Request the pages of the tracks concurrently, so that their cover arts are known when their
+     * items are committed. The item extractors keep their failures, which are then added to the
+     * errors of the page.
+     */
+    private static void fetchCoverArts(
+            @Nonnull final List<BandcampPlaylistStreamInfoItemExtractor> extractors)
+            throws InterruptedIOException {
+        final List<FutureTask<String>> tasks = new ArrayList<>();
+        for (final BandcampPlaylistStreamInfoItemExtractor extractor : extractors) {
+            final FutureTask<String> task = new FutureTask<>(extractor::getThumbnailUrl);
+            tasks.add(task);
+            ExtractorExecutors.executeOrRun(NewPipe.getExecutor(), task);
+        }
+
+        try {
+            for (final FutureTask<String> task : tasks) {
+                try {
+                    task.get();
+                } catch (final ExecutionException ignored) {
+                    // Thrown again by the item extractor when its item is committed
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tasks.forEach(task -> task.cancel(true));
+            throw new InterruptedIOException("Interrupted while requesting the cover arts");
+        }
+    }
+
     @Override
     public InfoItemsPage<StreamInfoItem> getPage(final Page page) {
         return null;
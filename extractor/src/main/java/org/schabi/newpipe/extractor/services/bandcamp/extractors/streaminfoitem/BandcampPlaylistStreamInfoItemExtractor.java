@@ -2,10 +2,15 @@
 
 package org.schabi.newpipe.extractor.services.bandcamp.extractors.streaminfoitem;
 
+import static org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampExtractorHelper.getImageUrl;
+import static org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampStreamExtractor.getAlbumInfoJson;
+
 import com.grack.nanojson.JsonObject;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 
 import javax.annotation.Nullable;
@@ -16,7 +21,12 @@ public class BandcampPlaylistStreamInfoItemExtractor extends BandcampStreamInfoI
 
     private final JsonObject track;
     private String substituteCoverUrl;
+    private Downloader downloader;
     private final StreamingService service;
+    // The cover art read from the page of the track with the downloader, or the reason why it
+    // could not be read, kept so that the page is requested at most once
+    private String trackPageCoverUrl;
+    private ParsingException trackPageCoverError;
 
     public BandcampPlaylistStreamInfoItemExtractor(final JsonObject track,
                                                    final String uploaderUrl,
@@ -33,6 +43,17 @@ public class BandcampPlaylistStreamInfoItemExtractor extends BandcampStreamInfoI
         this.substituteCoverUrl = substituteCoverUrl;
     }
 
+    /**
+     * @param downloader the downloader requesting the page of the track, of which only the album
+     *                   info JSON is parsed, when the thumbnail is first read
+     */
+    public BandcampPlaylistStreamInfoItemExtractor(final JsonObject track,
+                                                   final String uploaderUrl,
+                                                   final Downloader downloader) {
+        this(track, uploaderUrl, (StreamingService) null);
+        this.downloader = downloader;
+    }
+
     @Override
     public String getName() {
         return track.getString("title");
@@ -63,13 +84,16 @@ public class BandcampPlaylistStreamInfoItemExtractor extends BandcampStreamInfoI
     }
 
     /**
-     * Each track can have its own cover art. Therefore, unless a substitute is provided,
-     * the thumbnail is extracted using a stream extractor.
+     * Each track can have its own cover art. Therefore, unless a substitute is provided, the
+     * thumbnail is extracted from the page of the track, with the downloader if one is provided,
+     * or using a stream extractor.
      */
     @Override
     public String getThumbnailUrl() throws ParsingException {
         if (substituteCoverUrl != null) {
             return substituteCoverUrl;
+        } else if (downloader != null) {
+            return getTrackPageCoverUrl();
         } else {
             try {
                 final StreamExtractor extractor = service.getStreamExtractor(getUrl());
@@ -80,4 +104,24 @@ public class BandcampPlaylistStreamInfoItemExtractor extends BandcampStreamInfoI
             }
         }
     }
+
+    private synchronized String getTrackPageCoverUrl() throws ParsingException {
+        if (trackPageCoverUrl == null && trackPageCoverError == null) {
+            try {
+                final JsonObject trackJson = getAlbumInfoJson(
+                        downloader.get(getUrl()).responseBody());
+                trackPageCoverUrl = trackJson.isNull("art_id")
+                        ? "" : getImageUrl(trackJson.getLong("art_id"), true);
+            } catch (final ParsingException e) {
+                trackPageCoverError = e;
+            } catch (final IOException | ReCaptchaException e) {
+                trackPageCoverError =
+                        new ParsingException("could not download cover art location", e);
+            }
+        }
+        if (trackPageCoverError != null) {
+            throw trackPageCoverError;
+        }
+        return trackPageCoverUrl;
+    }
 }
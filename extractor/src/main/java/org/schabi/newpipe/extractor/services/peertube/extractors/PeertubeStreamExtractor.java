@@ -9,7 +9,6 @@ import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 
 import org.schabi.newpipe.extractor.MediaFormat;
-import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.downloader.Response;
@@ -100,7 +99,7 @@ public class PeertubeStreamExtractor extends StreamExtractor {
         }
         if (text.length() == 250 && text.substring(247).equals("...")) {
             // If description is shortened, get full description
-            final Downloader dl = NewPipe.getDownloader();
+            final Downloader dl = getDownloader();
             try {
                 final Response response = dl.get(baseUrl
                         + PeertubeStreamLinkHandlerFactory.VIDEO_API_ENDPOINT
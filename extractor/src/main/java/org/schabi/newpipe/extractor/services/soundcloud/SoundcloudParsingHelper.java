@@ -20,9 +20,11 @@ import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudChannelInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudStreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.Parser.RegexException;
@@ -34,29 +36,257 @@ import java.net.URL;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class SoundcloudParsingHelper {
-    private static String clientId;
     public static final String SOUNDCLOUD_API_V2_URL = "https://api-v2.soundcloud.com/";
+    private static final String CLIENT_ID_PATTERN = ",client_id:\"(.*?)\"";
+    private static final Pattern CLIENT_ID_PARAMETER_PATTERN =
+            Pattern.compile("[?&]client_id=([^&]*)");
+    /**
+     * How long a client ID, which was extracted again from the website after being rejected by
+     * the API, is not refreshed again when it is rejected. The API also responds with 401 or 403
+     * to requests which are rejected for other reasons, such as private or geo-restricted tracks,
+     * so such responses should not make the website be requested again each time.
+     */
+    private static final long CLIENT_ID_REFRESH_COOLDOWN_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    @Nullable
+    private static volatile String clientId;
+    @Nullable
+    private static volatile ClientIdStore clientIdStore;
+    private static final Object CLIENT_ID_LOCK = new Object();
+    // Guarded by CLIENT_ID_LOCK
+    @Nullable
+    private static FutureTask<String> clientIdRefresh;
+    // Guarded by CLIENT_ID_LOCK, the client ID which the last refresh extracted again after it
+    // was rejected, and when it did so
+    @Nullable
+    private static String confirmedClientId;
+    private static long confirmedClientIdTime;
+
+    /**
+     * A store keeping the client ID across restarts, so that it does not need to be extracted
+     * again from the website each time the application starts.
+     *
+     * @see #setClientIdStore(ClientIdStore)
+     */
+    public interface ClientIdStore {
+        /**
+         * @return the stored client ID, or {@code null} if there is none
+         */
+        @Nullable
+        String load() throws IOException;
+
+        void save(@Nonnull String clientId) throws IOException;
+    }
 
     private SoundcloudParsingHelper() {
     }
 
-    public static synchronized String clientId() throws ExtractionException, IOException {
-        if (!isNullOrEmpty(clientId)) {
-            return clientId;
+    /**
+     * Get the client ID used to request the API.
+     *
+     * <p>
+     * Once known, the client ID is read without any locking. Otherwise, it is loaded from the
+     * {@link #setClientIdStore(ClientIdStore) client ID store}, if any, or extracted from the
+     * scripts of the website, once for all the threads requesting it at the same time.
+     * </p>
+     *
+     * @return the client ID
+     */
+    @Nonnull
+    public static String clientId() throws ExtractionException, IOException {
+        final String currentClientId = clientId;
+        if (!isNullOrEmpty(currentClientId)) {
+            return currentClientId;
+        }
+        return refreshClientId(null);
+    }
+
+    /**
+     * Set the store keeping the client ID across restarts. Failures to load or save the client
+     * ID are ignored, as it can still be extracted from the website.
+     *
+     * @param store the store, or {@code null} to not keep the client ID, which is the default
+     */
+    public static void setClientIdStore(@Nullable final ClientIdStore store) {
+        clientIdStore = store;
+    }
+
+    /**
+     * Request a URL of the API with a client ID in its {@code client_id} parameter.
+     *
+     * <p>
+     * If the API rejects the client ID with an HTTP 401 or 403 response, a new client ID is
+     * extracted, once for all the threads which got such a response, and the URL is requested
+     * again with it. If no new client ID could be extracted, the rejected response is returned.
+     * If the website still provides the rejected client ID, it is not extracted again when it
+     * is rejected in the next minutes, as the API rejected the request for another reason.
+     * </p>
+     *
+     * @param downloader   the downloader used to request the URL
+     * @param url          the URL to request
+     * @param localization the localization of the request
+     * @return the response to the request
+     */
+    @Nonnull
+    public static Response getWithClientId(@Nonnull final Downloader downloader,
+                                           @Nonnull final String url,
+                                           @Nullable final Localization localization)
+            throws IOException, ReCaptchaException {
+        final Response response = downloader.get(url, localization);
+        if (response.responseCode() != 401 && response.responseCode() != 403) {
+            return response;
+        }
+
+        final Matcher matcher = CLIENT_ID_PARAMETER_PATTERN.matcher(url);
+        if (!matcher.find()) {
+            return response;
+        }
+        final String rejectedClientId = matcher.group(1);
+
+        final String newClientId;
+        try {
+            newClientId = refreshClientId(rejectedClientId);
+        } catch (final ExtractionException | IOException e) {
+            return response;
+        }
+        if (newClientId.equals(rejectedClientId)) {
+            return response;
+        }
+        return downloader.get(url.substring(0, matcher.start(1)) + newClientId
+                + url.substring(matcher.end(1)), localization);
+    }
+
+    /**
+     * Same as {@link #getWithClientId(Downloader, String, Localization)}, with the preferred
+     * localization of the default context.
+     */
+    @Nonnull
+    public static Response getWithClientId(@Nonnull final Downloader downloader,
+                                           @Nonnull final String url)
+            throws IOException, ReCaptchaException {
+        return getWithClientId(downloader, url, NewPipe.getPreferredLocalization());
+    }
+
+    /**
+     * Get a client ID other than the rejected one, waiting for the refresh run by another thread
+     * if there is one, or running it otherwise.
+     *
+     * @param rejectedClientId the client ID rejected by the API, or {@code null} if there was
+     *                         no client ID yet
+     * @return the new client ID
+     */
+    @Nonnull
+    private static String refreshClientId(@Nullable final String rejectedClientId)
+            throws ExtractionException, IOException {
+        final FutureTask<String> refresh;
+        final boolean runRefresh;
+        synchronized (CLIENT_ID_LOCK) {
+            final String currentClientId = clientId;
+            if (!isNullOrEmpty(currentClientId) && !currentClientId.equals(rejectedClientId)) {
+                // Already refreshed by another thread
+                return currentClientId;
+            }
+            if (rejectedClientId != null && rejectedClientId.equals(confirmedClientId)
+                    && System.nanoTime() - confirmedClientIdTime
+                    < CLIENT_ID_REFRESH_COOLDOWN_NANOS) {
+                // Recently extracted again from the website, which still provides it
+                return rejectedClientId;
+            }
+
+            runRefresh = clientIdRefresh == null;
+            if (runRefresh) {
+                clientIdRefresh = new FutureTask<>(() -> loadOrExtractClientId(rejectedClientId));
+            }
+            refresh = clientIdRefresh;
         }
 
+        if (runRefresh) {
+            try {
+                refresh.run();
+            } finally {
+                synchronized (CLIENT_ID_LOCK) {
+                    clientIdRefresh = null;
+                }
+            }
+        }
+
+        try {
+            return refresh.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the client ID", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ExtractionException) {
+                throw (ExtractionException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ExtractionException("Couldn't extract client id", cause);
+        }
+    }
+
+    @Nonnull
+    private static String loadOrExtractClientId(@Nullable final String rejectedClientId)
+            throws ExtractionException, IOException {
+        final ClientIdStore store = clientIdStore;
+        if (store != null && rejectedClientId == null) {
+            try {
+                final String storedClientId = store.load();
+                if (!isNullOrEmpty(storedClientId)) {
+                    clientId = storedClientId;
+                    return storedClientId;
+                }
+            } catch (final IOException ignored) {
+                // Extract it from the website instead
+            }
+        }
+
+        final String extractedClientId = extractClientId();
+        clientId = extractedClientId;
+        if (extractedClientId.equals(rejectedClientId)) {
+            synchronized (CLIENT_ID_LOCK) {
+                confirmedClientId = extractedClientId;
+                confirmedClientIdTime = System.nanoTime();
+            }
+        }
+        if (store != null) {
+            try {
+                store.save(extractedClientId);
+            } catch (final IOException ignored) {
+                // It will be extracted again on the next start
+            }
+        }
+        return extractedClientId;
+    }
+
+    /**
+     * Extract the client ID from the scripts of the website, which are requested concurrently.
+     * The one containing the client ID is usually the last one, so the scripts are searched
+     * from the last to the first one.
+     */
+    @Nonnull
+    private static String extractClientId() throws ExtractionException, IOException {
         final Downloader dl = NewPipe.getDownloader();
 
         final Response download = dl.get("https://soundcloud.com");
         final String responseBody = download.responseBody();
-        final String clientIdPattern = ",client_id:\"(.*?)\"";
 
         final Document doc = Jsoup.parse(responseBody);
         final Elements possibleScripts = doc.select(
@@ -67,23 +297,52 @@ public final class SoundcloudParsingHelper {
         final Map<String, List<String>> headers = Collections.singletonMap("Range",
                 Collections.singletonList("bytes=0-50000"));
 
+        final List<FutureTask<String>> scripts = new ArrayList<>();
         for (final Element element : possibleScripts) {
             final String srcUrl = element.attr("src");
             if (!isNullOrEmpty(srcUrl)) {
+                final FutureTask<String> script = new FutureTask<>(
+                        () -> dl.get(srcUrl, headers).responseBody());
+                scripts.add(script);
+                ExtractorExecutors.executeOrRun(NewPipe.getExecutor(), script);
+            }
+        }
+
+        try {
+            for (final FutureTask<String> script : scripts) {
                 try {
-                    clientId = Parser.matchGroup1(clientIdPattern, dl.get(srcUrl, headers)
-                            .responseBody());
-                    return clientId;
-                } catch (final RegexException ignored) {
+                    return Parser.matchGroup1(CLIENT_ID_PATTERN, script.get());
+                } catch (final RegexException | ExecutionException ignored) {
                     // Ignore it and proceed to try searching other script
                 }
             }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting the client id", e);
+        } finally {
+            scripts.forEach(script -> script.cancel(true));
         }
 
         // Officially give up
         throw new ExtractionException("Couldn't extract client id");
     }
 
+    /**
+     * <p>
+     * <b>Only used in tests.</b>
+     * </p>
+     *
+     * <p>
+     * Forget the client ID, so that it is loaded or extracted again when it is next needed.
+     * </p>
+     */
+    static void resetClientId() {
+        clientId = null;
+        synchronized (CLIENT_ID_LOCK) {
+            confirmedClientId = null;
+        }
+    }
+
     public static OffsetDateTime parseDateFrom(final String textualUploadDate)
             throws ParsingException {
         try {
@@ -111,8 +370,8 @@ public final class SoundcloudParsingHelper {
                 + "&client_id=" + clientId();
 
         try {
-            final String response = downloader.get(apiUrl, SoundCloud.getLocalization())
-                    .responseBody();
+            final String response = getWithClientId(downloader, apiUrl,
+                    SoundCloud.getLocalization()).responseBody();
             return JsonParser.object().from(response);
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
@@ -162,7 +421,7 @@ public final class SoundcloudParsingHelper {
             final String widgetUrl = "https://api-widget.soundcloud.com/resolve?url="
                     + Utils.encodeUrlUtf8(url.toString())
                     + "&format=json&client_id=" + SoundcloudParsingHelper.clientId();
-            final String response = NewPipe.getDownloader().get(widgetUrl,
+            final String response = getWithClientId(NewPipe.getDownloader(), widgetUrl,
                     SoundCloud.getLocalization()).responseBody();
             final JsonObject o = JsonParser.object().from(response);
             return String.valueOf(JsonUtils.getValue(o, "id"));
@@ -187,10 +446,22 @@ public final class SoundcloudParsingHelper {
                                                  final ChannelInfoItemsCollector collector,
                                                  final String apiUrl) throws IOException,
             ReCaptchaException, ParsingException {
-        String nextPageUrl = SoundcloudParsingHelper.getUsersFromApi(collector, apiUrl);
+        return getUsersFromApiMinItems(NewPipe.getDownloader(), minItems, collector, apiUrl);
+    }
+
+    /**
+     * Same as {@link #getUsersFromApiMinItems(int, ChannelInfoItemsCollector, String)}, with the
+     * given downloader instead of the one of the default context.
+     */
+    public static String getUsersFromApiMinItems(@Nonnull final Downloader downloader,
+                                                 final int minItems,
+                                                 final ChannelInfoItemsCollector collector,
+                                                 final String apiUrl) throws IOException,
+            ReCaptchaException, ParsingException {
+        String nextPageUrl = getUsersFromApi(downloader, collector, apiUrl);
 
         while (!nextPageUrl.isEmpty() && collector.getItems().size() < minItems) {
-            nextPageUrl = SoundcloudParsingHelper.getUsersFromApi(collector, nextPageUrl);
+            nextPageUrl = getUsersFromApi(downloader, collector, nextPageUrl);
         }
 
         return nextPageUrl;
@@ -204,8 +475,19 @@ public final class SoundcloudParsingHelper {
     public static String getUsersFromApi(final ChannelInfoItemsCollector collector,
                                          final String apiUrl) throws IOException,
             ReCaptchaException, ParsingException {
-        final String response = NewPipe.getDownloader().get(apiUrl, SoundCloud.getLocalization())
-                .responseBody();
+        return getUsersFromApi(NewPipe.getDownloader(), collector, apiUrl);
+    }
+
+    /**
+     * Same as {@link #getUsersFromApi(ChannelInfoItemsCollector, String)}, with the given
+     * downloader instead of the one of the default context.
+     */
+    public static String getUsersFromApi(@Nonnull final Downloader downloader,
+                                         final ChannelInfoItemsCollector collector,
+                                         final String apiUrl) throws IOException,
+            ReCaptchaException, ParsingException {
+        final String response = getWithClientId(downloader, apiUrl,
+                SoundCloud.getLocalization()).responseBody();
         final JsonObject responseObject;
 
         try {
@@ -248,10 +530,22 @@ public final class SoundcloudParsingHelper {
                                                    final StreamInfoItemsCollector collector,
                                                    final String apiUrl) throws IOException,
             ReCaptchaException, ParsingException {
-        String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(collector, apiUrl);
+        return getStreamsFromApiMinItems(NewPipe.getDownloader(), minItems, collector, apiUrl);
+    }
+
+    /**
+     * Same as {@link #getStreamsFromApiMinItems(int, StreamInfoItemsCollector, String)}, with the
+     * given downloader instead of the one of the default context.
+     */
+    public static String getStreamsFromApiMinItems(@Nonnull final Downloader downloader,
+                                                   final int minItems,
+                                                   final StreamInfoItemsCollector collector,
+                                                   final String apiUrl) throws IOException,
+            ReCaptchaException, ParsingException {
+        String nextPageUrl = getStreamsFromApi(downloader, collector, apiUrl);
 
         while (!nextPageUrl.isEmpty() && collector.getItems().size() < minItems) {
-            nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(collector, nextPageUrl);
+            nextPageUrl = getStreamsFromApi(downloader, collector, nextPageUrl);
         }
 
         return nextPageUrl;
@@ -266,8 +560,20 @@ public final class SoundcloudParsingHelper {
                                            final String apiUrl,
                                            final boolean charts) throws IOException,
             ReCaptchaException, ParsingException {
-        final Response response = NewPipe.getDownloader().get(apiUrl, SoundCloud
-                .getLocalization());
+        return getStreamsFromApi(NewPipe.getDownloader(), collector, apiUrl, charts);
+    }
+
+    /**
+     * Same as {@link #getStreamsFromApi(StreamInfoItemsCollector, String, boolean)}, with the
+     * given downloader instead of the one of the default context.
+     */
+    public static String getStreamsFromApi(@Nonnull final Downloader downloader,
+                                           final StreamInfoItemsCollector collector,
+                                           final String apiUrl,
+                                           final boolean charts) throws IOException,
+            ReCaptchaException, ParsingException {
+        final Response response = getWithClientId(downloader, apiUrl,
+                SoundCloud.getLocalization());
         if (response.responseCode() >= 400) {
             throw new IOException("Could not get streams from API, HTTP " + response
                     .responseCode());
@@ -308,6 +614,13 @@ public final class SoundcloudParsingHelper {
         return getStreamsFromApi(collector, apiUrl, false);
     }
 
+    public static String getStreamsFromApi(@Nonnull final Downloader downloader,
+                                           final StreamInfoItemsCollector collector,
+                                           final String apiUrl) throws ReCaptchaException,
+            ParsingException, IOException {
+        return getStreamsFromApi(downloader, collector, apiUrl, false);
+    }
+
     @Nonnull
     public static String getUploaderUrl(final JsonObject object) {
         final String url = object.getObject("user").getString("permalink_url", "");
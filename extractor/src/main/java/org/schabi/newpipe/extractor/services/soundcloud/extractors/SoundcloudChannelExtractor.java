@@ -40,7 +40,8 @@ public class SoundcloudChannelExtractor extends ChannelExtractor {
         final String apiUrl = USERS_ENDPOINT + userId + "?client_id="
                 + SoundcloudParsingHelper.clientId();
 
-        final String response = downloader.get(apiUrl, getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getWithClientId(downloader, apiUrl,
+                getExtractorLocalization()).responseBody();
         try {
             user = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
@@ -116,8 +117,8 @@ public class SoundcloudChannelExtractor extends ChannelExtractor {
             final String apiUrl = USERS_ENDPOINT + getId() + "/tracks" + "?client_id="
                     + SoundcloudParsingHelper.clientId() + "&limit=20" + "&linked_partitioning=1";
 
-            final String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApiMinItems(15,
-                    streamInfoItemsCollector, apiUrl);
+            final String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApiMinItems(
+                    getDownloader(), 15, streamInfoItemsCollector, apiUrl);
 
             return new InfoItemsPage<>(streamInfoItemsCollector, new Page(nextPageUrl));
         } catch (final Exception e) {
@@ -133,8 +134,8 @@ public class SoundcloudChannelExtractor extends ChannelExtractor {
         }
 
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-        final String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApiMinItems(15, collector,
-                page.getUrl());
+        final String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApiMinItems(
+                getDownloader(), 15, collector, page.getUrl());
 
         return new InfoItemsPage<>(collector, new Page(nextPageUrl));
     }
@@ -43,8 +43,8 @@ public class SoundcloudChartsExtractor extends KioskExtractor<StreamInfoItem> {
         }
 
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-        final String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(collector,
-                page.getUrl(), true);
+        final String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(getDownloader(),
+                collector, page.getUrl(), true);
 
         return new InfoItemsPage<>(collector, new Page(nextPageUrl));
     }
@@ -72,13 +72,14 @@ public class SoundcloudChartsExtractor extends KioskExtractor<StreamInfoItem> {
 
         String nextPageUrl;
         try {
-            nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(collector,
+            nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(getDownloader(), collector,
                     apiUrlWithRegion == null ? apiUrl : apiUrlWithRegion, true);
         } catch (final IOException e) {
             // Request to other region may be geo-restricted.
             // See https://github.com/TeamNewPipe/NewPipeExtractor/issues/537.
             // We retry without the specified region.
-            nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(collector, apiUrl, true);
+            nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(getDownloader(), collector,
+                    apiUrl, true);
         }
 
         return new InfoItemsPage<>(collector, new Page(nextPageUrl));
@@ -5,7 +5,6 @@ import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 
-import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.comments.CommentsExtractor;
@@ -21,6 +20,7 @@ import java.io.IOException;
 
 import javax.annotation.Nonnull;
 
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 public class SoundcloudCommentsExtractor extends CommentsExtractor {
@@ -33,8 +33,8 @@ public class SoundcloudCommentsExtractor extends CommentsExtractor {
     @Override
     public InfoItemsPage<CommentsInfoItem> getInitialPage() throws ExtractionException,
             IOException {
-        final Downloader downloader = NewPipe.getDownloader();
-        final Response response = downloader.get(getUrl());
+        final Downloader downloader = getDownloader();
+        final Response response = getWithClientId(downloader, getUrl());
 
         final JsonObject json;
         try {
@@ -58,8 +58,8 @@ public class SoundcloudCommentsExtractor extends CommentsExtractor {
             throw new IllegalArgumentException("Page doesn't contain an URL");
         }
 
-        final Downloader downloader = NewPipe.getDownloader();
-        final Response response = downloader.get(page.getUrl());
+        final Downloader downloader = getDownloader();
+        final Response response = getWithClientId(downloader, page.getUrl());
 
         final JsonObject json;
         try {
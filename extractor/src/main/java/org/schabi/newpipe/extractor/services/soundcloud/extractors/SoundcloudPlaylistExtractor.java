@@ -15,6 +15,7 @@ import org.schabi.newpipe.extractor.playlist.PlaylistExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
@@ -22,15 +23,21 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
     private static final int STREAMS_PER_REQUESTED_PAGE = 15;
+    private static final int MAX_CONCURRENT_REQUESTS = 16;
 
     private String playlistId;
     private JsonObject playlist;
+    private boolean fetchAll = false;
 
     public SoundcloudPlaylistExtractor(final StreamingService service,
                                        final ListLinkHandler linkHandler) {
@@ -45,7 +52,8 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
         final String apiUrl = SOUNDCLOUD_API_V2_URL + "playlists/" + playlistId + "?client_id="
                 + SoundcloudParsingHelper.clientId() + "&representation=compact";
 
-        final String response = downloader.get(apiUrl, getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getWithClientId(downloader, apiUrl,
+                getExtractorLocalization()).responseBody();
         try {
             playlist = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
@@ -141,7 +149,31 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
                     }
                 });
 
-        return new InfoItemsPage<>(streamInfoItemsCollector, new Page(ids));
+        if (!fetchAll || ids.isEmpty()) {
+            return new InfoItemsPage<>(streamInfoItemsCollector, new Page(ids));
+        }
+        return fetchAllStreams(streamInfoItemsCollector, ids);
+    }
+
+    /**
+     * Set whether {@link #getInitialPage()} should return all the streams of the playlist.
+     *
+     * <p>
+     * By default, the initial page only contains the streams whose full info is returned with
+     * the playlist, and the other ones are requested {@value #STREAMS_PER_REQUESTED_PAGE} at a
+     * time with {@link #getPage(Page)}. When fetching all streams, the IDs of these streams are
+     * split in chunks which are requested concurrently, and the initial page contains all the
+     * streams of the playlist in their order, without next page.
+     * </p>
+     *
+     * @param fetchAll whether all the streams should be fetched with the initial page
+     */
+    public void setFetchAll(final boolean fetchAll) {
+        this.fetchAll = fetchAll;
+    }
+
+    public boolean isFetchAll() {
+        return fetchAll;
     }
 
     @Override
@@ -162,12 +194,78 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
             nextIds = page.getIds().subList(STREAMS_PER_REQUESTED_PAGE, page.getIds().size());
         }
 
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        collectStreams(currentIds, collector);
+        return new InfoItemsPage<>(collector, new Page(nextIds));
+    }
+
+    /**
+     * Request the streams with the given IDs in chunks of {@value #STREAMS_PER_REQUESTED_PAGE}
+     * streams, requested concurrently, and add them after the streams of the initial page.
+     *
+     * @param initialCollector the collector of the streams of the initial page
+     * @param ids              the IDs of the streams which are not in the initial page
+     * @return a page with all the streams and all the errors, in the order of the playlist
+     */
+    @Nonnull
+    private InfoItemsPage<StreamInfoItem> fetchAllStreams(
+            @Nonnull final StreamInfoItemsCollector initialCollector,
+            @Nonnull final List<String> ids) {
+        final List<StreamInfoItem> items = new ArrayList<>(initialCollector.getItems());
+        final List<Throwable> errors = new ArrayList<>(initialCollector.getErrors());
+
+        final List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += STREAMS_PER_REQUESTED_PAGE) {
+            chunks.add(ids.subList(i, Math.min(i + STREAMS_PER_REQUESTED_PAGE, ids.size())));
+        }
+
+        final Executor executor =
+                ExtractorExecutors.limit(NewPipe.getExecutor(), MAX_CONCURRENT_REQUESTS);
+        final List<Future<StreamInfoItemsCollector>> futures = new ArrayList<>();
+        try {
+            for (final List<String> chunk : chunks) {
+                final FutureTask<StreamInfoItemsCollector> future = new FutureTask<>(() -> {
+                    final StreamInfoItemsCollector collector =
+                            new StreamInfoItemsCollector(getServiceId());
+                    collectStreams(chunk, collector);
+                    return collector;
+                });
+                futures.add(future);
+                ExtractorExecutors.executeOrRun(executor, future);
+            }
+
+            // Reassemble the chunks in the order of the playlist
+            for (final Future<StreamInfoItemsCollector> future : futures) {
+                try {
+                    final StreamInfoItemsCollector collector = future.get();
+                    items.addAll(collector.getItems());
+                    errors.addAll(collector.getErrors());
+                } catch (final ExecutionException e) {
+                    errors.add(e.getCause());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add(e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return new InfoItemsPage<>(items, null, errors);
+    }
+
+    /**
+     * Request the streams with the given IDs and commit them to the collector in the order of
+     * the IDs.
+     */
+    private void collectStreams(@Nonnull final List<String> currentIds,
+                                @Nonnull final StreamInfoItemsCollector collector)
+            throws IOException, ExtractionException {
         final String currentPageUrl = SOUNDCLOUD_API_V2_URL + "tracks?client_id="
                 + SoundcloudParsingHelper.clientId() + "&ids=" + String.join(",", currentIds);
 
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-        final String response = NewPipe.getDownloader().get(currentPageUrl,
-                getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getWithClientId(getDownloader(),
+                currentPageUrl, getExtractorLocalization()).responseBody();
 
         try {
             final JsonArray tracks = JsonParser.array().from(response);
@@ -196,7 +294,5 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
         }
-
-        return new InfoItemsPage<>(collector, new Page(nextIds));
     }
 }
@@ -1,6 +1,7 @@
 package org.schabi.newpipe.extractor.services.soundcloud.extractors;
 
 import static org.schabi.newpipe.extractor.services.soundcloud.linkHandler.SoundcloudSearchQueryHandlerFactory.ITEMS_PER_PAGE;
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 import com.grack.nanojson.JsonArray;
@@ -75,8 +76,8 @@ public class SoundcloudSearchExtractor extends SearchExtractor {
         final Downloader dl = getDownloader();
         final JsonArray searchCollection;
         try {
-            final String response = dl.get(page.getUrl(), getExtractorLocalization())
-                    .responseBody();
+            final String response = getWithClientId(dl, page.getUrl(),
+                    getExtractorLocalization()).responseBody();
             searchCollection = JsonParser.object().from(response).getArray("collection");
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
@@ -93,7 +94,8 @@ public class SoundcloudSearchExtractor extends SearchExtractor {
         final Downloader dl = getDownloader();
         final String url = getUrl();
         try {
-            final String response = dl.get(url, getExtractorLocalization()).responseBody();
+            final String response = getWithClientId(dl, url, getExtractorLocalization())
+                    .responseBody();
             initialSearchCollection = JsonParser.object().from(response).getArray("collection");
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
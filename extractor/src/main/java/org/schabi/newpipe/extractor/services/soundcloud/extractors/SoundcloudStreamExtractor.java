@@ -2,6 +2,7 @@ package org.schabi.newpipe.extractor.services.soundcloud.extractors;
 
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.clientId;
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 import static org.schabi.newpipe.extractor.stream.AudioStream.UNKNOWN_BITRATE;
 import static org.schabi.newpipe.extractor.stream.Stream.ID_UNKNOWN;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
@@ -28,9 +29,11 @@ import org.schabi.newpipe.extractor.stream.DeliveryMethod;
 import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.Stream;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoField;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.schabi.newpipe.extractor.stream.VideoStream;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
@@ -38,6 +41,9 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -45,6 +51,10 @@ import javax.annotation.Nullable;
 public class SoundcloudStreamExtractor extends StreamExtractor {
     private JsonObject track;
     private boolean isAvailable = true;
+    @Nullable
+    private List<AudioStream> prefetchedAudioStreams;
+    @Nullable
+    private StreamInfoItemsCollector prefetchedRelatedItems;
 
     public SoundcloudStreamExtractor(final StreamingService service,
                                      final LinkHandler linkHandler) {
@@ -159,8 +169,58 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
         return SoundcloudParsingHelper.getAvatarUrl(track);
     }
 
+    @Override
+    public boolean prefetchRequestedFields() throws IOException, ExtractionException {
+        assertPageFetched();
+
+        boolean prefetched = true;
+        try {
+            prefetchedAudioStreams = getAudioStreams(null, true);
+        } catch (final ExtractionException e) {
+            // The audio streams will be requested again by getAudioStreams()
+            prefetched = false;
+        }
+
+        if (isFieldRequested(StreamInfoField.RELATED_ITEMS)) {
+            try {
+                prefetchedRelatedItems = getRelatedItems();
+            } catch (final IOException | ExtractionException e) {
+                // The related items will be requested again by getRelatedItems()
+                prefetched = false;
+            }
+        }
+        return prefetched;
+    }
+
     @Override
     public List<AudioStream> getAudioStreams() throws ExtractionException {
+        if (prefetchedAudioStreams != null) {
+            return prefetchedAudioStreams;
+        }
+        return getAudioStreams(null, true);
+    }
+
+    /**
+     * Get the audio streams of the track in the given format.
+     *
+     * <p>
+     * Contrary to {@link #getAudioStreams()}, only the URLs of the transcodings in this format
+     * are requested, and the downloadable file is not added.
+     * </p>
+     *
+     * @param mediaFormat the format of the audio streams to get
+     * @return the audio streams in the given format
+     */
+    @Nonnull
+    public List<AudioStream> getAudioStreams(@Nonnull final MediaFormat mediaFormat)
+            throws ExtractionException {
+        return getAudioStreams(mediaFormat, false);
+    }
+
+    @Nonnull
+    private List<AudioStream> getAudioStreams(@Nullable final MediaFormat mediaFormat,
+                                              final boolean withDownloadableFile)
+            throws ExtractionException {
         final List<AudioStream> audioStreams = new ArrayList<>();
 
         // Streams can be streamable and downloadable - or explicitly not.
@@ -171,14 +231,26 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
         }
 
         try {
+            // Request the download URL while the transcoding URLs are requested
+            final FutureTask<String> downloadUrl;
+            if (withDownloadableFile && isDownloadable()) {
+                final String trackId = getId();
+                downloadUrl = new FutureTask<>(() -> getDownloadUrl(trackId));
+                ExtractorExecutors.executeOrRun(NewPipe.getExecutor(), downloadUrl);
+            } else {
+                downloadUrl = null;
+            }
+
             final JsonArray transcodings = track.getObject("media").getArray("transcodings");
             if (!isNullOrEmpty(transcodings)) {
                 // Get information about what stream formats are available
                 extractAudioStreams(transcodings, checkMp3ProgressivePresence(transcodings),
-                        audioStreams);
+                        mediaFormat, audioStreams);
             }
 
-            extractDownloadableFileIfAvailable(audioStreams);
+            if (downloadUrl != null) {
+                addDownloadableFile(downloadUrl, audioStreams);
+            }
         } catch (final NullPointerException e) {
             throw new ExtractionException("Could not get audio streams", e);
         }
@@ -199,7 +271,7 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
     private String getTranscodingUrl(final String endpointUrl)
             throws IOException, ExtractionException {
         final String apiStreamUrl = endpointUrl + "?client_id=" + clientId();
-        final String response = NewPipe.getDownloader().get(apiStreamUrl).responseBody();
+        final String response = getWithClientId(getDownloader(), apiStreamUrl).responseBody();
         final JsonObject urlObject;
         try {
             urlObject = JsonParser.object().from(response);
@@ -213,8 +285,8 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
     @Nullable
     private String getDownloadUrl(@Nonnull final String trackId)
             throws IOException, ExtractionException {
-        final String response = NewPipe.getDownloader().get(SOUNDCLOUD_API_V2_URL + "tracks/"
-                + trackId + "/download" + "?client_id=" + clientId()).responseBody();
+        final String response = getWithClientId(getDownloader(), SOUNDCLOUD_API_V2_URL
+                + "tracks/" + trackId + "/download" + "?client_id=" + clientId()).responseBody();
 
         final JsonObject downloadJsonObject;
         try {
@@ -229,9 +301,27 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
         return null;
     }
 
+    /**
+     * Add the audio streams of the given transcodings.
+     *
+     * <p>
+     * The transcodings which would not be added are skipped before requesting their URL, and
+     * the URLs of the others are requested concurrently: the first one on the current thread,
+     * the other ones on {@link NewPipe#getExecutor()}.
+     * </p>
+     *
+     * @param transcodings            the transcodings of the track
+     * @param mp3ProgressiveInStreams whether there is a progressive MP3 transcoding
+     * @param mediaFormat             the format of the audio streams to add, or {@code null} to
+     *                                add all the supported formats
+     * @param audioStreams            the audio streams to which the streams are added
+     */
     private void extractAudioStreams(@Nonnull final JsonArray transcodings,
                                      final boolean mp3ProgressiveInStreams,
+                                     @Nullable final MediaFormat mediaFormat,
                                      final List<AudioStream> audioStreams) {
+        final List<AudioStream.Builder> builders = new ArrayList<>();
+        final List<FutureTask<String>> urls = new ArrayList<>();
         transcodings.stream()
                 .filter(JsonObject.class::isInstance)
                 .map(JsonObject.class::cast)
@@ -241,47 +331,84 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
                         return;
                     }
 
-                    try {
-                        final String preset = transcoding.getString("preset", ID_UNKNOWN);
-                        final String protocol = transcoding.getObject("format")
-                                .getString("protocol");
-                        final AudioStream.Builder builder = new AudioStream.Builder()
-                                .setId(preset);
-
-                        final boolean isHls = protocol.equals("hls");
-                        if (isHls) {
-                            builder.setDeliveryMethod(DeliveryMethod.HLS);
-                        }
-
-                        builder.setContent(getTranscodingUrl(url), true);
-
-                        if (preset.contains("mp3")) {
-                            // Don't add the MP3 HLS stream if there is a progressive stream
-                            // present because both have the same bitrate
-                            if (mp3ProgressiveInStreams && isHls) {
-                                return;
-                            }
-
-                            builder.setMediaFormat(MediaFormat.MP3);
-                            builder.setAverageBitrate(128);
-                        } else if (preset.contains("opus")) {
-                            builder.setMediaFormat(MediaFormat.OPUS);
-                            builder.setAverageBitrate(64);
-                            builder.setDeliveryMethod(DeliveryMethod.HLS);
-                        } else {
-                            // Unknown format, skip to the next audio stream
-                            return;
-                        }
-
-                        final AudioStream audioStream = builder.build();
-                        if (!Stream.containSimilarStream(audioStream, audioStreams)) {
-                            audioStreams.add(audioStream);
-                        }
-                    } catch (final ExtractionException | IOException ignored) {
-                        // Something went wrong when trying to get and add this audio stream,
-                        // skip to the next one
+                    final AudioStream.Builder builder = createAudioStreamBuilder(transcoding,
+                            mp3ProgressiveInStreams, mediaFormat);
+                    if (builder != null) {
+                        builders.add(builder);
+                        urls.add(new FutureTask<>(() -> getTranscodingUrl(url)));
                     }
                 });
+
+        if (urls.isEmpty()) {
+            return;
+        }
+        for (int i = 1; i < urls.size(); i++) {
+            ExtractorExecutors.executeOrRun(NewPipe.getExecutor(), urls.get(i));
+        }
+        urls.get(0).run();
+
+        for (int i = 0; i < builders.size(); i++) {
+            try {
+                final AudioStream audioStream = builders.get(i)
+                        .setContent(urls.get(i).get(), true)
+                        .build();
+                if (!Stream.containSimilarStream(audioStream, audioStreams)) {
+                    audioStreams.add(audioStream);
+                }
+            } catch (final ExecutionException ignored) {
+                // Something went wrong when trying to get and add this audio stream,
+                // skip to the next one
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                urls.forEach(url -> url.cancel(true));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Create the builder of the audio stream of a transcoding, without its content.
+     *
+     * @return the builder, or {@code null} if the stream of the transcoding should not be added
+     */
+    @Nullable
+    private static AudioStream.Builder createAudioStreamBuilder(
+            @Nonnull final JsonObject transcoding,
+            final boolean mp3ProgressiveInStreams,
+            @Nullable final MediaFormat mediaFormat) {
+        final String preset = transcoding.getString("preset", ID_UNKNOWN);
+        final String protocol = transcoding.getObject("format").getString("protocol");
+        final AudioStream.Builder builder = new AudioStream.Builder()
+                .setId(preset);
+
+        final boolean isHls = protocol.equals("hls");
+        if (isHls) {
+            builder.setDeliveryMethod(DeliveryMethod.HLS);
+        }
+
+        final MediaFormat format;
+        if (preset.contains("mp3")) {
+            // Don't add the MP3 HLS stream if there is a progressive stream
+            // present because both have the same bitrate
+            if (mp3ProgressiveInStreams && isHls) {
+                return null;
+            }
+
+            format = MediaFormat.MP3;
+            builder.setAverageBitrate(128);
+        } else if (preset.contains("opus")) {
+            format = MediaFormat.OPUS;
+            builder.setAverageBitrate(64);
+            builder.setDeliveryMethod(DeliveryMethod.HLS);
+        } else {
+            // Unknown format, skip to the next audio stream
+            return null;
+        }
+
+        if (mediaFormat != null && mediaFormat != format) {
+            return null;
+        }
+        return builder.setMediaFormat(format);
     }
 
     /**
@@ -300,20 +427,35 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
      * @param audioStreams the audio streams to which the downloadable file is added
      */
     public void extractDownloadableFileIfAvailable(final List<AudioStream> audioStreams) {
-        if (track.getBoolean("downloadable") && track.getBoolean("has_downloads_left")) {
-            try {
-                final String downloadUrl = getDownloadUrl(getId());
-                if (!isNullOrEmpty(downloadUrl)) {
-                    audioStreams.add(new AudioStream.Builder()
-                            .setId("original-format")
-                            .setContent(downloadUrl, true)
-                            .setAverageBitrate(UNKNOWN_BITRATE)
-                            .build());
-                }
-            } catch (final Exception ignored) {
-                // If something went wrong when trying to get the download URL, ignore the
-                // exception throw because this "stream" is not necessary to play the track
+        if (isDownloadable()) {
+            final String trackId = getId();
+            final FutureTask<String> downloadUrl = new FutureTask<>(() -> getDownloadUrl(trackId));
+            downloadUrl.run();
+            addDownloadableFile(downloadUrl, audioStreams);
+        }
+    }
+
+    private boolean isDownloadable() {
+        return track.getBoolean("downloadable") && track.getBoolean("has_downloads_left");
+    }
+
+    private static void addDownloadableFile(@Nonnull final Future<String> downloadUrlFuture,
+                                            final List<AudioStream> audioStreams) {
+        try {
+            final String downloadUrl = downloadUrlFuture.get();
+            if (!isNullOrEmpty(downloadUrl)) {
+                audioStreams.add(new AudioStream.Builder()
+                        .setId("original-format")
+                        .setContent(downloadUrl, true)
+                        .setAverageBitrate(UNKNOWN_BITRATE)
+                        .build());
             }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            downloadUrlFuture.cancel(true);
+        } catch (final Exception ignored) {
+            // If something went wrong when trying to get the download URL, ignore the
+            // exception throw because this "stream" is not necessary to play the track
         }
     }
 
@@ -343,12 +485,16 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
     @Nullable
     @Override
     public StreamInfoItemsCollector getRelatedItems() throws IOException, ExtractionException {
+        if (prefetchedRelatedItems != null) {
+            return prefetchedRelatedItems;
+        }
+
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
 
         final String apiUrl = SOUNDCLOUD_API_V2_URL + "tracks/" + urlEncode(getId())
                 + "/related?client_id=" + urlEncode(clientId());
 
-        SoundcloudParsingHelper.getStreamsFromApi(collector, apiUrl);
+        SoundcloudParsingHelper.getStreamsFromApi(getDownloader(), collector, apiUrl);
         return collector;
     }
 
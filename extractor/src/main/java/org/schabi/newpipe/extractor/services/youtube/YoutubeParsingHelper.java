@@ -21,6 +21,7 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
 import static org.schabi.newpipe.extractor.NewPipe.getDownloader;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
 import static org.schabi.newpipe.extractor.utils.Utils.HTTP;
 import static org.schabi.newpipe.extractor.utils.Utils.HTTPS;
 import static org.schabi.newpipe.extractor.utils.Utils.getStringResultFromRegexArray;
@@ -35,12 +36,14 @@ import com.grack.nanojson.JsonParserException;
 import com.grack.nanojson.JsonWriter;
 
 import org.schabi.newpipe.extractor.MetaInfo;
+import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.AccountTerminatedException;
 import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
@@ -683,18 +686,14 @@ public final class YoutubeParsingHelper {
         // Always extract the latest client version, by trying first to extract it from the
         // JavaScript service worker, then from HTML search results page as a fallback, to prevent
         // fingerprinting based on the client version used
-        try {
-            extractClientVersionAndKeyFromSwJs();
-        } catch (final Exception e) {
-            extractClientVersionAndKeyFromHtmlSearchResultsPage();
-        }
+        extractClientVersionAndKey();
 
         if (keyAndVersionExtracted) {
             return clientVersion;
         }
 
         // Fallback to the hardcoded one if it is valid
-        if (areHardcodedClientVersionAndKeyValid()) {
+        if (useHardcodedClientVersionAndKey()) {
             clientVersion = HARDCODED_CLIENT_VERSION;
             return clientVersion;
         }
@@ -713,18 +712,14 @@ public final class YoutubeParsingHelper {
         // Always extract the key used by the website, by trying first to extract it from the
         // JavaScript service worker, then from HTML search results page as a fallback, to prevent
         // fingerprinting based on the key and/or invalid key issues
-        try {
-            extractClientVersionAndKeyFromSwJs();
-        } catch (final Exception e) {
-            extractClientVersionAndKeyFromHtmlSearchResultsPage();
-        }
+        extractClientVersionAndKey();
 
         if (keyAndVersionExtracted) {
             return key;
         }
 
         // Fallback to the hardcoded one if it's valid
-        if (areHardcodedClientVersionAndKeyValid()) {
+        if (useHardcodedClientVersionAndKey()) {
             key = HARDCODED_KEY;
             return key;
         }
@@ -732,9 +727,59 @@ public final class YoutubeParsingHelper {
         // The ANDROID API key is also valid with the WEB client so return it if we couldn't
         // extract the WEB API key. This can be used as a way to fingerprint the extractor in this
         // case
+        reportClientVersionAndKeyAttempt("android key", ExtractionEvents.start(), null);
         return ANDROID_YOUTUBE_KEY;
     }
 
+    /**
+     * Extract the client version and the key from the JavaScript service worker, or from the
+     * HTML search results page if it fails, reporting each attempt as a
+     * {@link org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase#FALLBACK
+     * fallback event}.
+     */
+    private static void extractClientVersionAndKey() throws IOException, ExtractionException {
+        long startTime = ExtractionEvents.start();
+        try {
+            extractClientVersionAndKeyFromSwJs();
+            reportClientVersionAndKeyAttempt("sw.js", startTime, null);
+            return;
+        } catch (final Exception e) {
+            reportClientVersionAndKeyAttempt("sw.js", startTime, e);
+        }
+
+        startTime = ExtractionEvents.start();
+        try {
+            extractClientVersionAndKeyFromHtmlSearchResultsPage();
+        } catch (final IOException | ExtractionException | RuntimeException e) {
+            reportClientVersionAndKeyAttempt("html search results page", startTime, e);
+            throw e;
+        }
+        reportClientVersionAndKeyAttempt("html search results page", startTime, null);
+    }
+
+    private static boolean useHardcodedClientVersionAndKey()
+            throws IOException, ExtractionException {
+        final long startTime = ExtractionEvents.start();
+        final boolean valid;
+        try {
+            valid = areHardcodedClientVersionAndKeyValid();
+        } catch (final IOException | ExtractionException | RuntimeException e) {
+            reportClientVersionAndKeyAttempt("hardcoded", startTime, e);
+            throw e;
+        }
+        ExtractionEvents.reportFallback("client version and key", "hardcoded",
+                YouTube.getServiceId(), startTime, valid,
+                () -> new ParsingException("Hardcoded client version and key are not valid"));
+        return valid;
+    }
+
+    private static void reportClientVersionAndKeyAttempt(@Nonnull final String way,
+                                                         final long startTime,
+                                                         @Nullable final Throwable error) {
+        ExtractionEvents.reportFallback("client version and key", way, YouTube.getServiceId(),
+                startTime, error);
+    }
+
     /**
      * <p>
      * <b>Only used in tests.</b>
@@ -1147,11 +1192,23 @@ public final class YoutubeParsingHelper {
                                                  final byte[] body,
                                                  final Localization localization)
             throws IOException, ExtractionException {
+        return getJsonPostResponse(getDownloader(), endpoint, body, localization);
+    }
+
+    /**
+     * Same as {@link #getJsonPostResponse(String, byte[], Localization)}, with the given
+     * downloader instead of the one of the default context.
+     */
+    public static JsonObject getJsonPostResponse(@Nonnull final Downloader downloader,
+                                                 final String endpoint,
+                                                 final byte[] body,
+                                                 final Localization localization)
+            throws IOException, ExtractionException {
         final Map<String, List<String>> headers = new HashMap<>();
         addClientInfoHeaders(headers);
         headers.put("Content-Type", singletonList("application/json"));
 
-        final Response response = getDownloader().post(YOUTUBEI_V1_URL + endpoint + "?key="
+        final Response response = downloader.post(YOUTUBEI_V1_URL + endpoint + "?key="
                 + getKey() + DISABLE_PRETTY_PRINT_PARAMETER, headers, body, localization);
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(response));
@@ -1162,7 +1219,21 @@ public final class YoutubeParsingHelper {
             final byte[] body,
             @Nonnull final Localization localization,
             @Nullable final String endPartOfUrlRequest) throws IOException, ExtractionException {
-        return getMobilePostResponse(endpoint, body, localization,
+        return getJsonAndroidPostResponse(getDownloader(), endpoint, body, localization,
+                endPartOfUrlRequest);
+    }
+
+    /**
+     * Same as {@link #getJsonAndroidPostResponse(String, byte[], Localization, String)}, with the
+     * given downloader instead of the one of the default context.
+     */
+    public static JsonObject getJsonAndroidPostResponse(
+            @Nonnull final Downloader downloader,
+            final String endpoint,
+            final byte[] body,
+            @Nonnull final Localization localization,
+            @Nullable final String endPartOfUrlRequest) throws IOException, ExtractionException {
+        return getMobilePostResponse(downloader, endpoint, body, localization,
                 getAndroidUserAgent(localization), ANDROID_YOUTUBE_KEY, endPartOfUrlRequest);
     }
 
@@ -1171,11 +1242,26 @@ public final class YoutubeParsingHelper {
             final byte[] body,
             @Nonnull final Localization localization,
             @Nullable final String endPartOfUrlRequest) throws IOException, ExtractionException {
-        return getMobilePostResponse(endpoint, body, localization, getIosUserAgent(localization),
-                IOS_YOUTUBE_KEY, endPartOfUrlRequest);
+        return getJsonIosPostResponse(getDownloader(), endpoint, body, localization,
+                endPartOfUrlRequest);
+    }
+
+    /**
+     * Same as {@link #getJsonIosPostResponse(String, byte[], Localization, String)}, with the
+     * given downloader instead of the one of the default context.
+     */
+    public static JsonObject getJsonIosPostResponse(
+            @Nonnull final Downloader downloader,
+            final String endpoint,
+            final byte[] body,
+            @Nonnull final Localization localization,
+            @Nullable final String endPartOfUrlRequest) throws IOException, ExtractionException {
+        return getMobilePostResponse(downloader, endpoint, body, localization,
+                getIosUserAgent(localization), IOS_YOUTUBE_KEY, endPartOfUrlRequest);
     }
 
     private static JsonObject getMobilePostResponse(
+            @Nonnull final Downloader downloader,
             final String endpoint,
             final byte[] body,
             @Nonnull final Localization localization,
@@ -1190,7 +1276,7 @@ public final class YoutubeParsingHelper {
         final String baseEndpointUrl = YOUTUBEI_V1_GAPIS_URL + endpoint + "?key=" + innerTubeApiKey
                 + DISABLE_PRETTY_PRINT_PARAMETER;
 
-        final Response response = getDownloader().post(isNullOrEmpty(endPartOfUrlRequest)
+        final Response response = downloader.post(isNullOrEmpty(endPartOfUrlRequest)
                         ? baseEndpointUrl : baseEndpointUrl + endPartOfUrlRequest,
                 headers, body, localization);
         return JsonUtils.toJsonObject(getValidJsonResponseBody(response));
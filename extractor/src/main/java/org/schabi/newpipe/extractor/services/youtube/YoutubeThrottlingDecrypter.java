@@ -1,6 +1,10 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
 import org.schabi.newpipe.extractor.utils.JavaScript;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.jsextractor.JavaScriptExtractor;
@@ -11,6 +15,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * YouTube's streaming URLs of HTML5 clients are protected with a cipher, which modifies their
@@ -126,13 +131,33 @@ public final class YoutubeThrottlingDecrypter {
     @Nonnull
     private static String parseDecodeFunction(final String playerJsCode, final String functionName)
             throws Parser.RegexException {
+        long startTime = ExtractionEvents.start();
         try {
-            return parseWithLexer(playerJsCode, functionName);
+            final String function = parseWithLexer(playerJsCode, functionName);
+            reportDecodeFunctionParsing("lexer", startTime, null);
+            return function;
         } catch (final Exception e) {
-            return parseWithRegex(playerJsCode, functionName);
+            reportDecodeFunctionParsing("lexer", startTime, e);
+        }
+
+        startTime = ExtractionEvents.start();
+        try {
+            final String function = parseWithRegex(playerJsCode, functionName);
+            reportDecodeFunctionParsing("regex", startTime, null);
+            return function;
+        } catch (final Parser.RegexException | RuntimeException e) {
+            reportDecodeFunctionParsing("regex", startTime, e);
+            throw e;
         }
     }
 
+    private static void reportDecodeFunctionParsing(@Nonnull final String way,
+                                                    final long startTime,
+                                                    @Nullable final Throwable error) {
+        ExtractionEvents.reportFallback("throttling function", way, YouTube.getServiceId(),
+                startTime, error);
+    }
+
     @Nonnull
     private static String parseWithRegex(final String playerJsCode, final String functionName)
             throws Parser.RegexException {
@@ -172,7 +197,17 @@ public final class YoutubeThrottlingDecrypter {
         if (N_PARAMS_CACHE.containsKey(nParam)) {
             return N_PARAMS_CACHE.get(nParam);
         }
-        final String decryptedNParam = JavaScript.run(function, functionName, nParam);
+        final long startTime = ExtractionEvents.start();
+        final String decryptedNParam;
+        try {
+            decryptedNParam = JavaScript.run(function, functionName, nParam);
+        } catch (final RuntimeException e) {
+            ExtractionEvents.report(Phase.DEOBFUSCATION, "throttling parameter",
+                    YouTube.getServiceId(), startTime, e);
+            throw e;
+        }
+        ExtractionEvents.report(Phase.DEOBFUSCATION, "throttling parameter",
+                YouTube.getServiceId(), startTime);
         N_PARAMS_CACHE.put(nParam, decryptedNParam);
         return decryptedNParam;
     }
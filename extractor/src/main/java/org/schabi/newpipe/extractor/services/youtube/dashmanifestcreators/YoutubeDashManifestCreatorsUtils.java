@@ -5,6 +5,8 @@ import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
 import org.schabi.newpipe.extractor.services.youtube.DeliveryType;
 import org.schabi.newpipe.extractor.services.youtube.ItagItem;
 import org.schabi.newpipe.extractor.utils.ManifestCreatorCache;
@@ -35,6 +37,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.addClientInfoHeaders;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getAndroidUserAgent;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getIosUserAgent;
@@ -425,6 +428,40 @@ public final class YoutubeDashManifestCreatorsUtils {
         }
     }
 
+    /**
+     * The creation of a DASH manifest.
+     */
+    interface ManifestCreation {
+        @Nonnull
+        String create() throws CreationException;
+    }
+
+    /**
+     * Create a DASH manifest, reporting the time spent to the
+     * {@link org.schabi.newpipe.extractor.instrumentation.ExtractionListener}, if any.
+     *
+     * @param deliveryType the delivery type of the stream
+     * @param creation     the creation of the manifest
+     * @return the manifest created
+     */
+    @Nonnull
+    static String createAndReport(@Nonnull final DeliveryType deliveryType,
+                                  @Nonnull final ManifestCreation creation)
+            throws CreationException {
+        final long startTime = ExtractionEvents.start();
+        final String manifest;
+        try {
+            manifest = creation.create();
+        } catch (final RuntimeException e) {
+            ExtractionEvents.report(Phase.DASH_MANIFEST_CREATION, deliveryType.name(),
+                    YouTube.getServiceId(), startTime, e);
+            throw e;
+        }
+        ExtractionEvents.report(Phase.DASH_MANIFEST_CREATION, deliveryType.name(),
+                YouTube.getServiceId(), startTime);
+        return manifest;
+    }
+
     /**
      * Convert a DASH manifest {@link Document doc} to a string and cache it.
      *
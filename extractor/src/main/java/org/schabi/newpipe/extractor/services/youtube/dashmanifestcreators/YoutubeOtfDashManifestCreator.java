@@ -5,6 +5,7 @@ import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SEGMENT_TIMELINE;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SQ_0;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.buildAndCacheResult;
+import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.createAndReport;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateDocumentAndDoCommonElementsGeneration;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTemplateElement;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTimelineElement;
@@ -103,6 +104,15 @@ public final class YoutubeOtfDashManifestCreator {
             @Nonnull final String otfBaseStreamingUrl,
             @Nonnull final ItagItem itagItem,
             final long durationSecondsFallback) throws CreationException {
+        return createAndReport(DeliveryType.OTF, () -> createFromOtfStreamingUrl(
+                otfBaseStreamingUrl, itagItem, durationSecondsFallback));
+    }
+
+    @Nonnull
+    private static String createFromOtfStreamingUrl(
+            @Nonnull final String otfBaseStreamingUrl,
+            @Nonnull final ItagItem itagItem,
+            final long durationSecondsFallback) throws CreationException {
         if (OTF_STREAMS_CACHE.containsKey(otfBaseStreamingUrl)) {
             return Objects.requireNonNull(OTF_STREAMS_CACHE.get(otfBaseStreamingUrl)).getSecond();
         }
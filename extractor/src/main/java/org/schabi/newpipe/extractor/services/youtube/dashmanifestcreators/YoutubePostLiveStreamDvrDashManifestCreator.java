@@ -5,6 +5,7 @@ import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SEGMENT_TIMELINE;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SQ_0;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.buildAndCacheResult;
+import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.createAndReport;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateDocumentAndDoCommonElementsGeneration;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTemplateElement;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTimelineElement;
@@ -112,6 +113,17 @@ public final class YoutubePostLiveStreamDvrDashManifestCreator {
             @Nonnull final ItagItem itagItem,
             final int targetDurationSec,
             final long durationSecondsFallback) throws CreationException {
+        return createAndReport(DeliveryType.LIVE, () -> createFromPostLiveStreamDvrStreamingUrl(
+                postLiveStreamDvrStreamingUrl, itagItem, targetDurationSec,
+                durationSecondsFallback));
+    }
+
+    @Nonnull
+    private static String createFromPostLiveStreamDvrStreamingUrl(
+            @Nonnull final String postLiveStreamDvrStreamingUrl,
+            @Nonnull final ItagItem itagItem,
+            final int targetDurationSec,
+            final long durationSecondsFallback) throws CreationException {
         if (POST_LIVE_DVR_STREAMS_CACHE.containsKey(postLiveStreamDvrStreamingUrl)) {
             return Objects.requireNonNull(
                     POST_LIVE_DVR_STREAMS_CACHE.get(postLiveStreamDvrStreamingUrl)).getSecond();
@@ -16,6 +16,7 @@ import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.REPRESENTATION;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SEGMENT_BASE;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.buildAndCacheResult;
+import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.createAndReport;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateDocumentAndDoCommonElementsGeneration;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.setAttribute;
 
@@ -82,6 +83,15 @@ public final class YoutubeProgressiveDashManifestCreator {
             @Nonnull final String progressiveStreamingBaseUrl,
             @Nonnull final ItagItem itagItem,
             final long durationSecondsFallback) throws CreationException {
+        return createAndReport(DeliveryType.PROGRESSIVE, () -> createFromProgressiveStreamingUrl(
+                progressiveStreamingBaseUrl, itagItem, durationSecondsFallback));
+    }
+
+    @Nonnull
+    private static String createFromProgressiveStreamingUrl(
+            @Nonnull final String progressiveStreamingBaseUrl,
+            @Nonnull final ItagItem itagItem,
+            final long durationSecondsFallback) throws CreationException {
         if (PROGRESSIVE_STREAMS_CACHE.containsKey(progressiveStreamingBaseUrl)) {
             return Objects.requireNonNull(
                     PROGRESSIVE_STREAMS_CACHE.get(progressiveStreamingBaseUrl)).getSecond();
@@ -100,8 +100,8 @@ public class YoutubeChannelExtractor extends ChannelExtractor {
                             .done())
                     .getBytes(StandardCharsets.UTF_8);
 
-            final JsonObject jsonResponse = getJsonPostResponse("navigation/resolve_url",
-                    body, getExtractorLocalization());
+            final JsonObject jsonResponse = getJsonPostResponse(downloader,
+                    "navigation/resolve_url", body, getExtractorLocalization());
 
             if (!isNullOrEmpty(jsonResponse.getObject("error"))) {
                 final JsonObject errorJsonObject = jsonResponse.getObject("error");
@@ -148,7 +148,7 @@ public class YoutubeChannelExtractor extends ChannelExtractor {
                             .done())
                     .getBytes(StandardCharsets.UTF_8);
 
-            final JsonObject jsonResponse = getJsonPostResponse("browse", body,
+            final JsonObject jsonResponse = getJsonPostResponse(downloader, "browse", body,
                     getExtractorLocalization());
 
             if (!isNullOrEmpty(jsonResponse.getObject("error"))) {
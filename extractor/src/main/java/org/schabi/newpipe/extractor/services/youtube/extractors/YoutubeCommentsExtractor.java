@@ -187,7 +187,8 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
                     .done())
                 .getBytes(StandardCharsets.UTF_8);
 
-        final JsonObject ajaxJson = getJsonPostResponse("next", body, localization);
+        final JsonObject ajaxJson = getJsonPostResponse(getDownloader(), "next", body,
+                localization);
 
         final CommentsInfoItemsCollector collector = new CommentsInfoItemsCollector(
                 getServiceId());
@@ -260,7 +261,7 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
                     .done())
                 .getBytes(StandardCharsets.UTF_8);
 
-        nextResponse = getJsonPostResponse("next", body, localization);
+        nextResponse = getJsonPostResponse(downloader, "next", body, localization);
     }
 
 
@@ -0,0 +1,114 @@
+package org.schabi.newpipe.extractor.services.youtube.extractors;
+
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link StreamInfoItemExtractor} of an entry of a YouTube feed read by
+ * {@link YoutubeFeedParser}, which returns the same values as {@link YoutubeFeedInfoItemExtractor}.
+ */
+public class YoutubeFeedEntryInfoItemExtractor implements StreamInfoItemExtractor {
+    private final YoutubeFeedParser.Entry entry;
+
+    public YoutubeFeedEntryInfoItemExtractor(@Nonnull final YoutubeFeedParser.Entry entry) {
+        this.entry = entry;
+    }
+
+    @Override
+    public StreamType getStreamType() {
+        // It is not possible to determine the stream type using the feed endpoint.
+        // All entries are considered a video stream.
+        return StreamType.VIDEO_STREAM;
+    }
+
+    @Override
+    public boolean isAd() {
+        return false;
+    }
+
+    @Override
+    public long getDuration() {
+        // Not available when fetching through the feed endpoint.
+        return -1;
+    }
+
+    @Override
+    public long getViewCount() throws ParsingException {
+        return Long.parseLong(require(entry.getViews(), "view count"));
+    }
+
+    @Override
+    public String getUploaderName() throws ParsingException {
+        return require(entry.getAuthorName(), "uploader name");
+    }
+
+    @Override
+    public String getUploaderUrl() throws ParsingException {
+        return require(entry.getAuthorUri(), "uploader url");
+    }
+
+    @Nullable
+    @Override
+    public String getUploaderAvatarUrl() throws ParsingException {
+        return null;
+    }
+
+    @Override
+    public boolean isUploaderVerified() throws ParsingException {
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public String getTextualUploadDate() throws ParsingException {
+        return require(entry.getPublished(), "textual upload date");
+    }
+
+    @Nullable
+    @Override
+    public DateWrapper getUploadDate() throws ParsingException {
+        final String textualUploadDate = getTextualUploadDate();
+        try {
+            return new DateWrapper(OffsetDateTime.parse(textualUploadDate));
+        } catch (final DateTimeParseException e) {
+            throw new ParsingException("Could not parse date (\"" + textualUploadDate + "\")",
+                    e);
+        }
+    }
+
+    @Override
+    public String getName() throws ParsingException {
+        return require(entry.getTitle(), "name");
+    }
+
+    @Override
+    public String getUrl() throws ParsingException {
+        return require(entry.getLink(), "url");
+    }
+
+    @Override
+    public String getThumbnailUrl() throws ParsingException {
+        // The hqdefault thumbnail has some black bars at the top and at the bottom, while the
+        // mqdefault doesn't, so return the mqdefault one. It should always exist, according to
+        // https://stackoverflow.com/a/20542029/9481500.
+        return require(entry.getThumbnailUrl(), "thumbnail url")
+                .replace("hqdefault", "mqdefault");
+    }
+
+    @Nonnull
+    private static String require(@Nullable final String value, @Nonnull final String name)
+            throws ParsingException {
+        if (value == null) {
+            throw new ParsingException("Could not get " + name);
+        }
+        return value;
+    }
+}
@@ -11,22 +11,39 @@ import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.feed.FeedExtractor;
+import org.schabi.newpipe.extractor.feed.FeedSyncState;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 
 import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class YoutubeFeedExtractor extends FeedExtractor {
     public YoutubeFeedExtractor(final StreamingService service, final ListLinkHandler linkHandler) {
         super(service, linkHandler);
     }
 
+    /**
+     * The feed read by {@link YoutubeFeedParser}, or {@code null} if it could not be read by it,
+     * in which case {@link #document} is used.
+     */
+    @Nullable
+    private YoutubeFeedParser.Feed feed;
     private Document document;
+    private boolean notModified;
+    @Nullable
+    private String responseETag;
+    @Nullable
+    private String responseLastModified;
 
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
@@ -34,21 +51,71 @@ public class YoutubeFeedExtractor extends FeedExtractor {
         final String channelIdOrUser = getLinkHandler().getId();
         final String feedUrl = YoutubeParsingHelper.getFeedUrlFrom(channelIdOrUser);
 
-        final Response response = downloader.get(feedUrl);
+        final Response response = downloader.get(feedUrl, getConditionalRequestHeaders());
         if (response.responseCode() == 404) {
             throw new ContentNotAvailableException("Could not get feed: 404 - not found");
         }
-        document = Jsoup.parse(response.responseBody());
+
+        feed = null;
+        document = null;
+        notModified = response.responseCode() == 304;
+        final FeedSyncState syncState = getSyncState();
+        responseETag = response.getHeader("ETag");
+        responseLastModified = response.getHeader("Last-Modified");
+        if (notModified) {
+            // Validators are not always sent again with a 304 response
+            if (responseETag == null && syncState != null) {
+                responseETag = syncState.getETag();
+            }
+            if (responseLastModified == null && syncState != null) {
+                responseLastModified = syncState.getLastModified();
+            }
+            return;
+        }
+
+        try {
+            // Stop parsing at the first known entry, as entries are sorted from the newest to the
+            // oldest one
+            final YoutubeFeedParser.Feed parsedFeed = YoutubeFeedParser.parse(
+                    response.responseBody(), syncState == null ? null
+                            : entry -> isKnownEntry(syncState, entry));
+            if (parsedFeed.getChannelId() != null && parsedFeed.getAuthorName() != null
+                    && parsedFeed.getAuthorUri() != null) {
+                feed = parsedFeed;
+            }
+        } catch (final ParsingException ignored) {
+            // The feed is not well-formed XML, let Jsoup parse it leniently
+        }
+
+        if (feed == null) {
+            document = Jsoup.parse(response.responseBody());
+        }
     }
 
     @Nonnull
     @Override
     public ListExtractor.InfoItemsPage<StreamInfoItem> getInitialPage() {
-        final Elements entries = document.select("feed > entry");
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        if (notModified) {
+            return new InfoItemsPage<>(collector, null);
+        }
+
+        if (feed != null) {
+            for (final YoutubeFeedParser.Entry entry : feed.getEntries()) {
+                collector.commit(new YoutubeFeedEntryInfoItemExtractor(entry));
+            }
+            return new InfoItemsPage<>(collector, null);
+        }
 
+        final FeedSyncState syncState = getSyncState();
+        final Elements entries = document.select("feed > entry");
         for (final Element entryElement : entries) {
-            collector.commit(new YoutubeFeedInfoItemExtractor(entryElement));
+            final YoutubeFeedInfoItemExtractor itemExtractor =
+                    new YoutubeFeedInfoItemExtractor(entryElement);
+            if (syncState != null && isKnownItem(syncState, itemExtractor)) {
+                break;
+            }
+            collector.commit(itemExtractor);
         }
 
         return new InfoItemsPage<>(collector, null);
@@ -57,18 +124,36 @@ public class YoutubeFeedExtractor extends FeedExtractor {
     @Nonnull
     @Override
     public String getId() {
+        if (notModified) {
+            return getLinkHandler().getId();
+        }
+        if (feed != null) {
+            return feed.getChannelId();
+        }
         return document.getElementsByTag("yt:channelId").first().text();
     }
 
     @Nonnull
     @Override
     public String getUrl() {
+        if (notModified) {
+            return getLinkHandler().getUrl();
+        }
+        if (feed != null) {
+            return feed.getAuthorUri();
+        }
         return document.select("feed > author > uri").first().text();
     }
 
     @Nonnull
     @Override
     public String getName() {
+        if (notModified) {
+            return "";
+        }
+        if (feed != null) {
+            return feed.getAuthorName();
+        }
         return document.select("feed > author > name").first().text();
     }
 
@@ -76,4 +161,50 @@ public class YoutubeFeedExtractor extends FeedExtractor {
     public InfoItemsPage<StreamInfoItem> getPage(final Page page) {
         return InfoItemsPage.emptyPage();
     }
+
+    @Override
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    @Nullable
+    @Override
+    public String getResponseETag() {
+        return responseETag;
+    }
+
+    @Nullable
+    @Override
+    public String getResponseLastModified() {
+        return responseLastModified;
+    }
+
+    private static boolean isKnownEntry(@Nonnull final FeedSyncState syncState,
+                                        @Nonnull final YoutubeFeedParser.Entry entry) {
+        return entry.getLink() != null
+                && syncState.isKnown(entry.getLink(), parseDate(entry.getPublished()));
+    }
+
+    private static boolean isKnownItem(@Nonnull final FeedSyncState syncState,
+                                       @Nonnull final YoutubeFeedInfoItemExtractor itemExtractor) {
+        try {
+            return syncState.isKnown(itemExtractor.getUrl(),
+                    parseDate(itemExtractor.getTextualUploadDate()));
+        } catch (final Exception e) {
+            // Let the collector report the error of the item
+            return false;
+        }
+    }
+
+    @Nullable
+    private static DateWrapper parseDate(@Nullable final String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return new DateWrapper(OffsetDateTime.parse(date));
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,425 @@
+package org.schabi.newpipe.extractor.services.youtube.extractors;
+
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+/**
+ * A streaming parser of the Atom feeds of YouTube channels.
+ *
+ * <p>
+ * Instead of building a DOM of the whole feed and running selectors on it, the feed is read in a
+ * single pass with a SAX parser (StAX is not available on Android), keeping only the values used
+ * by {@link YoutubeFeedExtractor} and {@link YoutubeFeedEntryInfoItemExtractor}.
+ * </p>
+ *
+ * <p>
+ * The values are the same as the ones got from a Jsoup document by {@link YoutubeFeedExtractor}
+ * and {@link YoutubeFeedInfoItemExtractor}: the first matching element is used and texts are
+ * trimmed and have their whitespace normalized like {@link org.jsoup.nodes.Element#text()} does.
+ * </p>
+ */
+public final class YoutubeFeedParser {
+
+    private static final String FEED = "feed";
+    private static final String ENTRY = "entry";
+    private static final String AUTHOR = "author";
+    private static final String NAME = "name";
+    private static final String URI = "uri";
+
+    private YoutubeFeedParser() {
+    }
+
+    /**
+     * The values of a feed.
+     */
+    public static final class Feed {
+        @Nullable
+        private String channelId;
+        @Nullable
+        private String authorName;
+        @Nullable
+        private String authorUri;
+        private final List<Entry> entries = new ArrayList<>();
+
+        /**
+         * @return the text of the first {@code yt:channelId} element, or {@code null}
+         */
+        @Nullable
+        public String getChannelId() {
+            return channelId;
+        }
+
+        /**
+         * @return the text of the first {@code feed > author > name} element, or {@code null}
+         */
+        @Nullable
+        public String getAuthorName() {
+            return authorName;
+        }
+
+        /**
+         * @return the text of the first {@code feed > author > uri} element, or {@code null}
+         */
+        @Nullable
+        public String getAuthorUri() {
+            return authorUri;
+        }
+
+        /**
+         * @return the {@code feed > entry} elements, in the order of the feed
+         */
+        @Nonnull
+        public List<Entry> getEntries() {
+            return Collections.unmodifiableList(entries);
+        }
+    }
+
+    /**
+     * The values of an entry of a feed. Each value is {@code null} if the corresponding element
+     * is missing, and an attribute value is empty if the element has no such attribute.
+     */
+    public static final class Entry {
+        @Nullable
+        private String title;
+        @Nullable
+        private String link;
+        @Nullable
+        private String published;
+        @Nullable
+        private String authorName;
+        @Nullable
+        private String authorUri;
+        @Nullable
+        private String views;
+        @Nullable
+        private String thumbnailUrl;
+
+        /**
+         * @return the text of the first {@code title} element
+         */
+        @Nullable
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * @return the {@code href} attribute of the first {@code link} element
+         */
+        @Nullable
+        public String getLink() {
+            return link;
+        }
+
+        /**
+         * @return the text of the first {@code published} element
+         */
+        @Nullable
+        public String getPublished() {
+            return published;
+        }
+
+        /**
+         * @return the text of the first {@code author > name} element
+         */
+        @Nullable
+        public String getAuthorName() {
+            return authorName;
+        }
+
+        /**
+         * @return the text of the first {@code author > uri} element
+         */
+        @Nullable
+        public String getAuthorUri() {
+            return authorUri;
+        }
+
+        /**
+         * @return the {@code views} attribute of the first {@code media:statistics} element
+         */
+        @Nullable
+        public String getViews() {
+            return views;
+        }
+
+        /**
+         * @return the {@code url} attribute of the first {@code media:thumbnail} element
+         */
+        @Nullable
+        public String getThumbnailUrl() {
+            return thumbnailUrl;
+        }
+    }
+
+    /**
+     * Parse a feed.
+     *
+     * @param xml the body of the feed response
+     * @return the values of the feed
+     * @throws ParsingException if the feed is not well-formed XML
+     */
+    @Nonnull
+    public static Feed parse(@Nonnull final String xml) throws ParsingException {
+        return parse(xml, null);
+    }
+
+    /**
+     * Parse a feed until an already known entry is found.
+     *
+     * @param xml          the body of the feed response
+     * @param isKnownEntry a predicate telling whether an entry is already known, in which case
+     *                     this entry and the next ones are not parsed, or {@code null} to parse
+     *                     all the entries
+     * @return the values of the feed
+     * @throws ParsingException if the feed is not well-formed XML
+     */
+    @Nonnull
+    public static Feed parse(@Nonnull final String xml,
+                             @Nullable final Predicate<Entry> isKnownEntry)
+            throws ParsingException {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        try {
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        } catch (final Exception ignored) {
+            // Ignore exceptions as disabling external entities is not supported by all
+            // platforms
+        }
+
+        final FeedHandler handler = new FeedHandler(isKnownEntry);
+        try {
+            final SAXParser parser = factory.newSAXParser();
+            parser.parse(new InputSource(new StringReader(xml)), handler);
+        } catch (final KnownEntryFoundException ignored) {
+            // Parsing has been stopped on purpose
+        } catch (final ParserConfigurationException | SAXException | IOException e) {
+            throw new ParsingException("Could not parse feed", e);
+        }
+        return handler.feed;
+    }
+
+    /**
+     * Normalize the whitespace of a text like Jsoup does in {@link org.jsoup.nodes.Element#text()}:
+     * whitespace sequences are replaced by a single space, zero-width spaces and soft hyphens are
+     * removed and the result is trimmed.
+     */
+    @Nonnull
+    static String normalizeWhitespace(@Nonnull final CharSequence text) {
+        final StringBuilder builder = new StringBuilder(text.length());
+        boolean lastWasWhitespace = false;
+        boolean reachedNonWhitespace = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == 160) {
+                if (!reachedNonWhitespace || lastWasWhitespace) {
+                    continue;
+                }
+                builder.append(' ');
+                lastWasWhitespace = true;
+            } else if (c != 8203 && c != 173) {
+                builder.append(c);
+                lastWasWhitespace = false;
+                reachedNonWhitespace = true;
+            }
+        }
+        return builder.toString().trim();
+    }
+
+    /**
+     * Thrown by {@link FeedHandler} to stop parsing when a known entry has been found.
+     */
+    private static final class KnownEntryFoundException extends SAXException {
+    }
+
+    private static final class FeedHandler extends DefaultHandler {
+        private final Feed feed = new Feed();
+        @Nullable
+        private final Predicate<Entry> isKnownEntry;
+        /**
+         * The names of the elements from the root to the current one.
+         */
+        private final List<String> path = new ArrayList<>();
+        @Nullable
+        private Entry entry;
+        /**
+         * The text of the element being read, or {@code null} if its text is not needed.
+         */
+        @Nullable
+        private StringBuilder text;
+        private int textDepth;
+
+        FeedHandler(@Nullable final Predicate<Entry> isKnownEntry) {
+            this.isKnownEntry = isKnownEntry;
+        }
+
+        @Override
+        public void startElement(final String uri,
+                                 final String localName,
+                                 final String qName,
+                                 final Attributes attributes) {
+            final String parent = path.isEmpty() ? null : path.get(path.size() - 1);
+            path.add(qName);
+
+            if (entry == null) {
+                if (ENTRY.equals(qName) && FEED.equals(parent)) {
+                    entry = new Entry();
+                } else if (isTextNeeded(qName, parent)) {
+                    startText();
+                }
+                return;
+            }
+
+            switch (qName) {
+                case "link":
+                    if (entry.link == null) {
+                        entry.link = getAttribute(attributes, "href");
+                    }
+                    break;
+                case "media:statistics":
+                    if (entry.views == null) {
+                        entry.views = getAttribute(attributes, "views");
+                    }
+                    break;
+                case "media:thumbnail":
+                    if (entry.thumbnailUrl == null) {
+                        entry.thumbnailUrl = getAttribute(attributes, "url");
+                    }
+                    break;
+                default:
+                    if (isTextNeeded(qName, parent)) {
+                        startText();
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            if (text != null) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName)
+                throws SAXException {
+            final int depth = path.size();
+            path.remove(depth - 1);
+            final String parent = path.isEmpty() ? null : path.get(path.size() - 1);
+
+            if (text != null && depth == textDepth) {
+                // Like in HTML, Jsoup preserves the whitespace of title elements
+                setText(qName, "title".equals(qName)
+                        ? text.toString().trim()
+                        : normalizeWhitespace(text));
+                text = null;
+            }
+
+            if (entry != null && ENTRY.equals(qName) && FEED.equals(parent)) {
+                if (isKnownEntry != null && isKnownEntry.test(entry)) {
+                    throw new KnownEntryFoundException();
+                }
+                feed.entries.add(entry);
+                entry = null;
+            }
+        }
+
+        /**
+         * @return whether the text of an element with the given name and parent is needed and
+         * has not been set yet
+         */
+        private boolean isTextNeeded(@Nonnull final String qName, @Nullable final String parent) {
+            if (text != null) {
+                // The text of an ancestor is being read
+                return false;
+            }
+            if (entry == null) {
+                switch (qName) {
+                    case "yt:channelId":
+                        return feed.channelId == null;
+                    case NAME:
+                        return feed.authorName == null && isFeedAuthorChild(parent);
+                    case URI:
+                        return feed.authorUri == null && isFeedAuthorChild(parent);
+                    default:
+                        return false;
+                }
+            }
+            switch (qName) {
+                case "yt:channelId":
+                    return feed.channelId == null;
+                case "title":
+                    return entry.title == null;
+                case "published":
+                    return entry.published == null;
+                case NAME:
+                    return entry.authorName == null && AUTHOR.equals(parent);
+                case URI:
+                    return entry.authorUri == null && AUTHOR.equals(parent);
+                default:
+                    return false;
+            }
+        }
+
+        private void setText(@Nonnull final String qName, @Nonnull final String value) {
+            if ("yt:channelId".equals(qName)) {
+                feed.channelId = value;
+            } else if (entry == null) {
+                if (NAME.equals(qName)) {
+                    feed.authorName = value;
+                } else if (URI.equals(qName)) {
+                    feed.authorUri = value;
+                }
+            } else {
+                switch (qName) {
+                    case "title":
+                        entry.title = value;
+                        break;
+                    case "published":
+                        entry.published = value;
+                        break;
+                    case NAME:
+                        entry.authorName = value;
+                        break;
+                    case URI:
+                        entry.authorUri = value;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private boolean isFeedAuthorChild(@Nullable final String parent) {
+            return AUTHOR.equals(parent) && path.size() == 3 && FEED.equals(path.get(0));
+        }
+
+        private void startText() {
+            text = new StringBuilder();
+            textDepth = path.size();
+        }
+
+        @Nonnull
+        private static String getAttribute(@Nonnull final Attributes attributes,
+                                           @Nonnull final String name) {
+            final String value = attributes.getValue(name);
+            return value == null ? "" : value;
+        }
+    }
+}
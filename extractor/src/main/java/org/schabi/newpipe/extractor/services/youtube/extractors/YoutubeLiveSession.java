@@ -0,0 +1,403 @@
+package org.schabi.newpipe.extractor.services.youtube.extractors;
+
+import com.grack.nanojson.JsonObject;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A session following the state of a YouTube livestream.
+ *
+ * <p>
+ * Instead of calling {@link org.schabi.newpipe.extractor.stream.StreamInfo#getInfo(String)
+ * StreamInfo.getInfo} again and again, which requests every endpoint used by
+ * {@link YoutubeStreamExtractor} (including the {@code next} one), a session only requests a
+ * single player response on each poll (see
+ * {@link YoutubeStreamExtractor#fetchLivePlayerResponse()}), compares it with the previous
+ * {@link Snapshot snapshot} and notifies its {@link Listener listener} of the changes.
+ * </p>
+ *
+ * <p>
+ * When nothing changed between two polls, the polling interval is multiplied by the back-off
+ * factor, up to the maximum polling interval. It is reset to the minimum interval as soon as a
+ * change is detected.
+ * </p>
+ *
+ * <p>
+ * Polls can be scheduled by the session itself with {@link #start(ScheduledExecutorService)} or
+ * be run manually with {@link #poll()}. Polling stops when the livestream ended or when the
+ * session is {@link #close() closed}.
+ * </p>
+ */
+public final class YoutubeLiveSession implements Closeable {
+
+    /**
+     * The default minimum polling interval, in milliseconds.
+     */
+    public static final long DEFAULT_MIN_INTERVAL_MS = 15_000;
+
+    /**
+     * The default maximum polling interval, in milliseconds.
+     */
+    public static final long DEFAULT_MAX_INTERVAL_MS = 120_000;
+
+    /**
+     * The default factor by which the polling interval is multiplied when nothing changed.
+     */
+    public static final double DEFAULT_BACK_OFF_FACTOR = 2;
+
+    /**
+     * Listener of the changes detected by a {@link YoutubeLiveSession}.
+     *
+     * <p>
+     * All methods do nothing by default and are called on the thread running the poll.
+     * </p>
+     */
+    public interface Listener {
+
+        /**
+         * Called when the HLS manifest URL of the livestream changed.
+         *
+         * @param hlsUrl the new HLS manifest URL, which may be empty
+         */
+        default void onHlsUrlChanged(@Nonnull final String hlsUrl) {
+        }
+
+        /**
+         * Called when the DASH manifest URL of the livestream changed.
+         *
+         * @param dashMpdUrl the new DASH manifest URL, which may be empty
+         */
+        default void onDashMpdUrlChanged(@Nonnull final String dashMpdUrl) {
+        }
+
+        /**
+         * Called when the view count of the livestream changed.
+         *
+         * @param viewCount the new view count
+         */
+        default void onViewCountChanged(final long viewCount) {
+        }
+
+        /**
+         * Called once, when the livestream ended or is not available anymore.
+         */
+        default void onEnded() {
+        }
+
+        /**
+         * Called when a poll failed. The session keeps polling with its current interval.
+         *
+         * @param e the exception thrown while polling
+         */
+        default void onError(@Nonnull final Exception e) {
+        }
+    }
+
+    /**
+     * An immutable state of a livestream, built from a player response.
+     */
+    public static final class Snapshot {
+        @Nonnull
+        private final String hlsUrl;
+        @Nonnull
+        private final String dashMpdUrl;
+        private final long viewCount;
+        private final boolean ended;
+
+        Snapshot(@Nonnull final String hlsUrl,
+                 @Nonnull final String dashMpdUrl,
+                 final long viewCount,
+                 final boolean ended) {
+            this.hlsUrl = hlsUrl;
+            this.dashMpdUrl = dashMpdUrl;
+            this.viewCount = viewCount;
+            this.ended = ended;
+        }
+
+        /**
+         * Build a snapshot from a player response.
+         *
+         * <p>
+         * As the client used to poll a livestream may not return every manifest type (e.g. the
+         * iOS client has no DASH manifest), the URLs of the previous snapshot are kept for the
+         * manifests missing in the player response.
+         * </p>
+         */
+        @Nonnull
+        static Snapshot fromPlayerResponse(@Nonnull final JsonObject playerResponse,
+                                           @Nullable final Snapshot previous) {
+            final JsonObject streamingData = playerResponse.getObject("streamingData");
+            final JsonObject videoDetails = playerResponse.getObject("videoDetails");
+            final String status = playerResponse.getObject("playabilityStatus")
+                    .getString("status", "");
+
+            long viewCount = -1;
+            try {
+                viewCount = Long.parseLong(videoDetails.getString("viewCount", "-1"));
+            } catch (final NumberFormatException ignored) {
+            }
+
+            final String fallbackHlsUrl = previous == null ? "" : previous.hlsUrl;
+            final String fallbackDashMpdUrl = previous == null ? "" : previous.dashMpdUrl;
+
+            return new Snapshot(
+                    streamingData.getString("hlsManifestUrl", fallbackHlsUrl),
+                    streamingData.getString("dashManifestUrl", fallbackDashMpdUrl),
+                    viewCount,
+                    !status.equalsIgnoreCase("ok")
+                            || !videoDetails.getBoolean("isLive", false));
+        }
+
+        @Nonnull
+        public String getHlsUrl() {
+            return hlsUrl;
+        }
+
+        @Nonnull
+        public String getDashMpdUrl() {
+            return dashMpdUrl;
+        }
+
+        /**
+         * @return the view count of the livestream, or {@code -1} if it is unknown
+         */
+        public long getViewCount() {
+            return viewCount;
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+    }
+
+    @Nonnull
+    private final YoutubeStreamExtractor extractor;
+    @Nonnull
+    private final Listener listener;
+
+    private long minIntervalMs = DEFAULT_MIN_INTERVAL_MS;
+    private long maxIntervalMs = DEFAULT_MAX_INTERVAL_MS;
+    private double backOffFactor = DEFAULT_BACK_OFF_FACTOR;
+
+    @Nonnull
+    private Snapshot snapshot;
+    private long currentIntervalMs;
+    private boolean closed = false;
+    @Nullable
+    private ScheduledExecutorService scheduler;
+    @Nullable
+    private ScheduledFuture<?> scheduledPoll;
+
+    /**
+     * Create a session for a livestream.
+     *
+     * @param extractor a {@link YoutubeStreamExtractor} on which the page has been already
+     *                  fetched and which extracts a {@link StreamType#LIVE_STREAM livestream}
+     * @param listener  the listener which will be notified of changes
+     * @throws ExtractionException if the content of the extractor is not a livestream
+     */
+    public YoutubeLiveSession(@Nonnull final YoutubeStreamExtractor extractor,
+                              @Nonnull final Listener listener) throws ExtractionException {
+        this.extractor = Objects.requireNonNull(extractor, "extractor is null");
+        this.listener = Objects.requireNonNull(listener, "listener is null");
+
+        if (extractor.getStreamType() != StreamType.LIVE_STREAM) {
+            throw new ExtractionException("Content is not a livestream");
+        }
+
+        this.snapshot = new Snapshot(extractor.getHlsUrl(), extractor.getDashMpdUrl(),
+                Snapshot.fromPlayerResponse(extractor.getPlayerResponse(), null)
+                        .getViewCount(),
+                false);
+        this.currentIntervalMs = minIntervalMs;
+    }
+
+    /**
+     * Set the bounds of the polling interval.
+     *
+     * @param min the interval used after a change has been detected, in milliseconds
+     * @param max the maximum interval reached when nothing changes, in milliseconds
+     */
+    public synchronized void setPollingInterval(final long min, final long max) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("Invalid polling interval: min = " + min
+                    + ", max = " + max);
+        }
+        this.minIntervalMs = min;
+        this.maxIntervalMs = max;
+        this.currentIntervalMs = min;
+    }
+
+    /**
+     * Set the factor by which the polling interval is multiplied when nothing changed.
+     *
+     * @param backOffFactor a factor greater than or equal to {@code 1}
+     */
+    public synchronized void setBackOffFactor(final double backOffFactor) {
+        if (backOffFactor < 1) {
+            throw new IllegalArgumentException("Invalid back-off factor: " + backOffFactor);
+        }
+        this.backOffFactor = backOffFactor;
+    }
+
+    /**
+     * Start polling the livestream periodically on the given scheduler.
+     *
+     * <p>
+     * The scheduler is not shut down by the session.
+     * </p>
+     *
+     * @param executorService the scheduler which will run polls
+     */
+    public synchronized void start(@Nonnull final ScheduledExecutorService executorService) {
+        if (closed) {
+            throw new IllegalStateException("Session is closed");
+        }
+        if (scheduler != null) {
+            throw new IllegalStateException("Session is already started");
+        }
+        scheduler = executorService;
+        scheduleNextPoll();
+    }
+
+    /**
+     * Request the player response of the livestream once, compare it with the last snapshot and
+     * notify the listener of the differences.
+     *
+     * <p>
+     * The request is made without holding the lock of the session, so that its other methods
+     * do not wait for it. If the session is closed during the request, its response is ignored:
+     * the listener is not notified and the last snapshot is returned.
+     * </p>
+     *
+     * @return the new snapshot of the livestream, or the last one if the session has been closed
+     * during the request
+     */
+    @Nonnull
+    public Snapshot poll() throws IOException, ExtractionException {
+        if (isClosed()) {
+            throw new IllegalStateException("Session is closed");
+        }
+
+        final JsonObject playerResponse = extractor.fetchLivePlayerResponse();
+        if (playerResponse.isEmpty()) {
+            throw new ParsingException("Could not get player response");
+        }
+
+        synchronized (this) {
+            if (closed) {
+                return snapshot;
+            }
+            final Snapshot newSnapshot = Snapshot.fromPlayerResponse(playerResponse, snapshot);
+            final boolean changed = dispatchChanges(snapshot, newSnapshot);
+            snapshot = newSnapshot;
+
+            currentIntervalMs = changed
+                    ? minIntervalMs
+                    : Math.min(maxIntervalMs, (long) (currentIntervalMs * backOffFactor));
+
+            if (newSnapshot.isEnded()) {
+                close();
+            }
+            return newSnapshot;
+        }
+    }
+
+    /**
+     * @return the last snapshot of the livestream
+     */
+    @Nonnull
+    public synchronized Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return the interval which will be waited before the next scheduled poll, in milliseconds
+     */
+    public synchronized long getCurrentIntervalMs() {
+        return currentIntervalMs;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stop polling the livestream. A poll being run is not interrupted.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (scheduledPoll != null) {
+            scheduledPoll.cancel(false);
+            scheduledPoll = null;
+        }
+    }
+
+    private boolean dispatchChanges(@Nonnull final Snapshot oldSnapshot,
+                                    @Nonnull final Snapshot newSnapshot) {
+        boolean changed = false;
+
+        if (!newSnapshot.isEnded()) {
+            if (!oldSnapshot.getHlsUrl().equals(newSnapshot.getHlsUrl())) {
+                listener.onHlsUrlChanged(newSnapshot.getHlsUrl());
+                changed = true;
+            }
+            if (!oldSnapshot.getDashMpdUrl().equals(newSnapshot.getDashMpdUrl())) {
+                listener.onDashMpdUrlChanged(newSnapshot.getDashMpdUrl());
+                changed = true;
+            }
+        }
+
+        if (newSnapshot.getViewCount() != -1
+                && oldSnapshot.getViewCount() != newSnapshot.getViewCount()) {
+            listener.onViewCountChanged(newSnapshot.getViewCount());
+            changed = true;
+        }
+
+        if (newSnapshot.isEnded() && !oldSnapshot.isEnded()) {
+            listener.onEnded();
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    private void runScheduledPoll() {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            poll();
+        } catch (final Exception e) {
+            synchronized (this) {
+                // The poll may have failed because the session has been closed meanwhile
+                if (!closed) {
+                    listener.onError(e);
+                }
+            }
+        }
+        synchronized (this) {
+            scheduleNextPoll();
+        }
+    }
+
+    private void scheduleNextPoll() {
+        if (!closed && scheduler != null) {
+            scheduledPoll = scheduler.schedule(this::runScheduledPoll, currentIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+}
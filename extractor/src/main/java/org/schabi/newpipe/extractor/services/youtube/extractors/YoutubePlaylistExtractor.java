@@ -74,7 +74,7 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
                         .done())
                 .getBytes(StandardCharsets.UTF_8);
 
-        browseResponse = getJsonPostResponse("browse", body, localization);
+        browseResponse = getJsonPostResponse(downloader, "browse", body, localization);
         YoutubeParsingHelper.defaultAlertsCheck(browseResponse);
         isNewPlaylistInterface = checkIfResponseIsNewPlaylistInterface();
     }
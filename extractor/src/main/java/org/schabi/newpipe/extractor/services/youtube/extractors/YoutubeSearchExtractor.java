@@ -92,7 +92,7 @@ public class YoutubeSearchExtractor extends SearchExtractor {
 
         final byte[] body = JsonWriter.string(jsonBody.done()).getBytes(StandardCharsets.UTF_8);
 
-        initialData = getJsonPostResponse("search", body, localization);
+        initialData = getJsonPostResponse(downloader, "search", body, localization);
     }
 
     @Nonnull
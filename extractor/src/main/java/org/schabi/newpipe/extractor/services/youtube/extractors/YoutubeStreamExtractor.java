@@ -60,6 +60,8 @@ import org.schabi.newpipe.extractor.exceptions.PaidContentException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.PrivateContentException;
 import org.schabi.newpipe.extractor.exceptions.YoutubeMusicPremiumContentException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
 import org.schabi.newpipe.extractor.linkhandler.LinkHandler;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
@@ -77,6 +79,7 @@ import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.Frameset;
 import org.schabi.newpipe.extractor.stream.Stream;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoField;
 import org.schabi.newpipe.extractor.stream.StreamSegment;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.schabi.newpipe.extractor.stream.SubtitlesStream;
@@ -87,17 +90,23 @@ import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -127,7 +136,16 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     private static boolean isIosClientFetchForced = false;
 
     private JsonObject playerResponse;
-    private JsonObject nextResponse;
+
+    /**
+     * The response of the {@code next} endpoint, which is only fetched when one of the getters
+     * which need it is called for the first time (see {@link #getNextResponse()}).
+     */
+    @Nullable
+    private volatile JsonObject nextResponse;
+    @Nullable
+    private volatile ParsingException nextResponseException;
+    private final Object nextResponseLock = new Object();
 
     @Nullable
     private JsonObject html5StreamingData;
@@ -150,6 +168,16 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     private String androidCpn;
     private String iosCpn;
 
+    // Deobfuscated signatures of all the formats of the content, mapped by their obfuscated
+    // values; filled once by deobfuscateAllSignatures() before building streams
+    @Nullable
+    private Map<String, String> deobfuscatedSignatures;
+    // The failure of deobfuscateAllSignatures(), thrown again for the next formats instead of
+    // running the deobfuscation of all the signatures again
+    @Nullable
+    private ParsingException deobfuscationException;
+    private long deobfuscationTimeNanos = 0;
+
     public YoutubeStreamExtractor(final StreamingService service, final LinkHandler linkHandler) {
         super(service, linkHandler);
     }
@@ -315,35 +343,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
 
     @Override
     public int getAgeLimit() throws ParsingException {
-        if (ageLimit != -1) {
-            return ageLimit;
-        }
-
-        final boolean ageRestricted = getVideoSecondaryInfoRenderer()
-                .getObject("metadataRowContainer")
-                .getObject("metadataRowContainerRenderer")
-                .getArray("rows")
-                .stream()
-                // Only JsonObjects allowed
-                .filter(JsonObject.class::isInstance)
-                .map(JsonObject.class::cast)
-                .flatMap(metadataRow -> metadataRow
-                        .getObject("metadataRowRenderer")
-                        .getArray("contents")
-                        .stream()
-                        // Only JsonObjects allowed
-                        .filter(JsonObject.class::isInstance)
-                        .map(JsonObject.class::cast))
-                .flatMap(content -> content
-                        .getArray("runs")
-                        .stream()
-                        // Only JsonObjects allowed
-                        .filter(JsonObject.class::isInstance)
-                        .map(JsonObject.class::cast))
-                .map(run -> run.getString("text", ""))
-                .anyMatch(rowText -> rowText.contains("Age-restricted"));
-
-        ageLimit = ageRestricted ? 18 : NO_AGE_LIMIT;
+        assertPageFetched();
         return ageLimit;
     }
 
@@ -589,8 +589,8 @@ public class YoutubeStreamExtractor extends StreamExtractor {
 
     @Override
     public long getUploaderSubscriberCount() throws ParsingException {
-        final JsonObject videoOwnerRenderer = JsonUtils.getObject(videoSecondaryInfoRenderer,
-                "owner.videoOwnerRenderer");
+        final JsonObject videoOwnerRenderer = JsonUtils.getObject(
+                getVideoSecondaryInfoRenderer(), "owner.videoOwnerRenderer");
         if (!videoOwnerRenderer.has("subscriberCountText")) {
             return UNKNOWN_SUBSCRIBER_COUNT;
         }
@@ -753,7 +753,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         try {
             final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
 
-            final JsonArray results = nextResponse
+            final JsonArray results = getNextResponse()
                     .getObject("contents")
                     .getObject("twoColumnWatchNextResults")
                     .getObject("secondaryResults")
@@ -823,6 +823,18 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             "\\bc\\s*&&\\s*d\\.set\\([^,]+\\s*,\\s*(:encodeURIComponent\\s*\\()([a-zA-Z0-9$]+)\\("
     };
     private static final String STS_REGEX = "signatureTimestamp[=:](\\d+)";
+    /**
+     * The optional fields which need the response of the {@code next} endpoint to be extracted.
+     */
+    private static final Set<StreamInfoField> NEXT_RESPONSE_FIELDS = EnumSet.of(
+            StreamInfoField.UPLOADER,
+            StreamInfoField.DESCRIPTION,
+            StreamInfoField.VIEW_COUNT,
+            StreamInfoField.LIKE_COUNT,
+            StreamInfoField.LICENCE,
+            StreamInfoField.STREAM_SEGMENTS,
+            StreamInfoField.META_INFO,
+            StreamInfoField.RELATED_ITEMS);
 
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
@@ -834,10 +846,18 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         final ContentCountry contentCountry = getExtractorContentCountry();
         html5Cpn = generateContentPlaybackNonce();
 
-        playerResponse = getJsonPostResponse(PLAYER,
-                createDesktopPlayerBody(localization, contentCountry, videoId, sts, false,
-                        html5Cpn),
-                localization);
+        final long webStartTime = ExtractionEvents.start();
+        try {
+            playerResponse = getJsonPostResponse(downloader, PLAYER,
+                    createDesktopPlayerBody(localization, contentCountry, videoId, sts, false,
+                            html5Cpn),
+                    localization);
+        } catch (final IOException | ExtractionException | RuntimeException e) {
+            reportPlayerFetch("web", webStartTime, e);
+            throw e;
+        }
+        reportPlayerFetch("web", webStartTime,
+                playerResponse != null && playerResponse.has(STREAMING_DATA));
 
         // Save the playerResponse from the player endpoint of the desktop internal API because
         // there can be restrictions on the embedded player.
@@ -857,9 +877,12 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         setStreamType();
 
         if (!playerResponse.has(STREAMING_DATA)) {
+            final long startTime = ExtractionEvents.start();
             try {
                 fetchTvHtml5EmbedJsonPlayer(contentCountry, localization, videoId);
-            } catch (final Exception ignored) {
+                reportPlayerFetch("tvhtml5 embed", startTime, html5StreamingData != null);
+            } catch (final Exception e) {
+                reportPlayerFetch("tvhtml5 embed", startTime, e);
             }
         }
 
@@ -881,39 +904,115 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         playerMicroFormatRenderer = youtubePlayerResponse.getObject("microformat")
                 .getObject("playerMicroformatRenderer");
 
-        final byte[] body = JsonWriter.string(
-                prepareDesktopJsonBuilder(localization, contentCountry)
-                        .value(VIDEO_ID, videoId)
-                        .value(CONTENT_CHECK_OK, true)
-                        .value(RACY_CHECK_OK, true)
-                        .done())
-                .getBytes(StandardCharsets.UTF_8);
-        nextResponse = getJsonPostResponse(NEXT, body, localization);
+        // The age limit is taken from the playability status of the player response, whatever
+        // the requested fields are, as the next response is not always fetched (see
+        // getNextResponse())
+        ageLimit = isAgeRestricted ? 18 : NO_AGE_LIMIT;
 
         // streamType can only have LIVE_STREAM, POST_LIVE_STREAM and VIDEO_STREAM values (see
         // setStreamType()), so this block will be run only for POST_LIVE_STREAM and VIDEO_STREAM
         // values if fetching of the ANDROID client is not forced
         if ((!isAgeRestricted && streamType != StreamType.LIVE_STREAM)
                 || isAndroidClientFetchForced) {
+            final long startTime = ExtractionEvents.start();
             try {
                 fetchAndroidMobileJsonPlayer(contentCountry, localization, videoId);
-            } catch (final Exception ignored) {
+                reportPlayerFetch("android", startTime, androidStreamingData != null);
+            } catch (final Exception e) {
                 // Ignore exceptions related to ANDROID client fetch or parsing, as it is not
                 // compulsory to play contents
+                reportPlayerFetch("android", startTime, e);
             }
         }
 
         if ((!isAgeRestricted && streamType == StreamType.LIVE_STREAM)
                 || isIosClientFetchForced) {
+            final long startTime = ExtractionEvents.start();
             try {
                 fetchIosMobileJsonPlayer(contentCountry, localization, videoId);
-            } catch (final Exception ignored) {
+                reportPlayerFetch("ios", startTime, iosStreamingData != null);
+            } catch (final Exception e) {
                 // Ignore exceptions related to IOS client fetch or parsing, as it is not
                 // compulsory to play contents
+                reportPlayerFetch("ios", startTime, e);
             }
         }
     }
 
+    /**
+     * Report the fetch of the player response of a client as a
+     * {@link Phase#FALLBACK fallback event}, failed if it has no streaming data.
+     */
+    private void reportPlayerFetch(@Nonnull final String client,
+                                   final long startTime,
+                                   final boolean hasStreamingData) {
+        ExtractionEvents.reportFallback("player", client, getServiceId(), startTime,
+                hasStreamingData, () -> new ParsingException(
+                        "Could not get streaming data of the " + client + " client"));
+    }
+
+    private void reportPlayerFetch(@Nonnull final String client,
+                                   final long startTime,
+                                   @Nullable final Throwable error) {
+        ExtractionEvents.reportFallback("player", client, getServiceId(), startTime, error);
+    }
+
+    /**
+     * Drop the responses of the player and next endpoints and the objects taken from them. Only
+     * the values which are cheap to keep, such as the stream type and the age limit, are kept.
+     */
+    @Override
+    protected void onRelease() {
+        playerResponse = null;
+        synchronized (nextResponseLock) {
+            nextResponse = null;
+            nextResponseException = null;
+        }
+        html5StreamingData = null;
+        androidStreamingData = null;
+        iosStreamingData = null;
+        videoPrimaryInfoRenderer = null;
+        videoSecondaryInfoRenderer = null;
+        playerMicroFormatRenderer = null;
+        deobfuscatedSignatures = null;
+        deobfuscationException = null;
+    }
+
+    @Override
+    public boolean prefetchRequestedFields() throws IOException, ExtractionException {
+        assertPageFetched();
+
+        if (isNextResponseNeeded()) {
+            try {
+                getNextResponse();
+            } catch (final ParsingException ignored) {
+                // The failure is kept and thrown by the getters using the next response
+            }
+        }
+
+        // The player code is needed to deobfuscate signatures and throttling parameters
+        try {
+            YoutubeJavaScriptExtractor.extractJavaScriptCode(getId());
+        } catch (final ParsingException e) {
+            // The player code will be requested again by the getters of the streams
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the response of the {@code next} endpoint is needed by one of the requested fields.
+     *
+     * <p>
+     * This response is only used by optional data, so the age limit can be determined without
+     * it when none of these fields has been requested (see
+     * {@link #setRequestedFields(java.util.Set)}).
+     * </p>
+     */
+    private boolean isNextResponseNeeded() {
+        return NEXT_RESPONSE_FIELDS.stream().anyMatch(this::isFieldRequested);
+    }
+
     private void checkPlayabilityStatus(final JsonObject youtubePlayerResponse,
                                         @Nonnull final JsonObject playabilityStatus)
             throws ParsingException {
@@ -993,7 +1092,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                         .done())
                 .getBytes(StandardCharsets.UTF_8);
 
-        final JsonObject androidPlayerResponse = getJsonAndroidPostResponse(PLAYER,
+        final JsonObject androidPlayerResponse = getJsonAndroidPostResponse(getDownloader(), PLAYER,
                 mobileBody, localization, "&t=" + generateTParameter()
                         + "&id=" + videoId);
 
@@ -1028,7 +1127,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                         .done())
                 .getBytes(StandardCharsets.UTF_8);
 
-        final JsonObject iosPlayerResponse = getJsonIosPostResponse(PLAYER,
+        final JsonObject iosPlayerResponse = getJsonIosPostResponse(getDownloader(), PLAYER,
                 mobileBody, localization, "&t=" + generateTParameter()
                         + "&id=" + videoId);
 
@@ -1063,7 +1162,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         // Because a cpn is unique to each request, we need to generate it again
         html5Cpn = generateContentPlaybackNonce();
 
-        final JsonObject tvHtml5EmbedPlayerResponse = getJsonPostResponse(PLAYER,
+        final JsonObject tvHtml5EmbedPlayerResponse = getJsonPostResponse(getDownloader(), PLAYER,
                 createDesktopPlayerBody(localization, contentCountry, videoId, sts, true,
                         html5Cpn), localization);
         final JsonObject streamingData = tvHtml5EmbedPlayerResponse.getObject(
@@ -1187,30 +1286,251 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     }
 
     private String deobfuscateSignature(final String obfuscatedSig) throws ParsingException {
+        final Map<String, String> signatures = deobfuscateAllSignatures();
+        final String deobfuscatedSig = signatures.get(obfuscatedSig);
+        if (deobfuscatedSig != null) {
+            return deobfuscatedSig;
+        }
+
+        // Should not happen, as all signatures of the content are deobfuscated at once
+        final Map<String, String> result = deobfuscateSignatures(
+                Collections.singletonList(obfuscatedSig));
+        return Objects.requireNonNull(result.get(obfuscatedSig));
+    }
+
+    /**
+     * Deobfuscate the signatures of all the formats and adaptive formats of the content at once,
+     * if this has not been done yet.
+     *
+     * <p>
+     * This avoids entering Rhino, initializing its standard objects and evaluating the
+     * deobfuscation code for each format using a {@code signatureCipher}. If the deobfuscation
+     * fails, its exception is thrown again for the next formats without deobfuscating them.
+     * </p>
+     *
+     * @return the deobfuscated signatures, mapped by their obfuscated values
+     */
+    @Nonnull
+    private synchronized Map<String, String> deobfuscateAllSignatures() throws ParsingException {
+        if (deobfuscatedSignatures != null) {
+            return deobfuscatedSignatures;
+        } else if (deobfuscationException != null) {
+            throw deobfuscationException;
+        }
+
+        final Set<String> obfuscatedSignatures = new LinkedHashSet<>();
+        for (final JsonObject streamingData : Arrays.asList(androidStreamingData,
+                html5StreamingData, iosStreamingData)) {
+            if (streamingData == null) {
+                continue;
+            }
+            for (final String formatsKey : Arrays.asList(FORMATS, ADAPTIVE_FORMATS)) {
+                for (final Object format : streamingData.getArray(formatsKey)) {
+                    if (!(format instanceof JsonObject)) {
+                        continue;
+                    }
+                    final JsonObject formatData = (JsonObject) format;
+                    if (formatData.has("url")) {
+                        continue;
+                    }
+                    final String cipherString = formatData.has(CIPHER)
+                            ? formatData.getString(CIPHER)
+                            : formatData.getString(SIGNATURE_CIPHER);
+                    if (cipherString == null) {
+                        continue;
+                    }
+                    try {
+                        final String obfuscatedSig = Parser.compatParseMap(cipherString).get("s");
+                        if (obfuscatedSig != null) {
+                            obfuscatedSignatures.add(obfuscatedSig);
+                        }
+                    } catch (final UnsupportedEncodingException ignored) {
+                        // The format will be skipped when building its stream
+                    }
+                }
+            }
+        }
+
+        try {
+            deobfuscatedSignatures = obfuscatedSignatures.isEmpty()
+                    ? Collections.emptyMap()
+                    : deobfuscateSignatures(obfuscatedSignatures);
+        } catch (final ParsingException e) {
+            deobfuscationException = e;
+            throw e;
+        }
+        return deobfuscatedSignatures;
+    }
+
+    /**
+     * Deobfuscate the given signatures in a single JavaScript context, evaluating the
+     * deobfuscation code only once.
+     *
+     * @param obfuscatedSignatures the signatures to deobfuscate
+     * @return the deobfuscated signatures, mapped by their obfuscated values
+     */
+    @Nonnull
+    private synchronized Map<String, String> deobfuscateSignatures(
+            @Nonnull final Collection<String> obfuscatedSignatures) throws ParsingException {
         final String deobfuscationCode = getDeobfuscationCode();
+        final long startTime = System.nanoTime();
 
+        final Map<String, String> result = new HashMap<>();
         final Context context = Context.enter();
         context.setOptimizationLevel(-1);
-        final Object result;
         try {
             final ScriptableObject scope = context.initSafeStandardObjects();
             context.evaluateString(scope, deobfuscationCode, "deobfuscationCode", 1, null);
             final Function deobfuscateFunc = (Function) scope.get(DEOBFUSCATION_FUNC_NAME, scope);
-            result = deobfuscateFunc.call(context, scope, scope, new Object[]{obfuscatedSig});
+            for (final String obfuscatedSig : obfuscatedSignatures) {
+                final Object deobfuscatedSig = deobfuscateFunc.call(context, scope, scope,
+                        new Object[]{obfuscatedSig});
+                result.put(obfuscatedSig, Objects.toString(deobfuscatedSig, ""));
+            }
         } catch (final Exception e) {
+            ExtractionEvents.report(Phase.DEOBFUSCATION, "signature", getServiceId(), startTime,
+                    e);
             throw new DeobfuscateException("Could not get deobfuscate signature", e);
         } finally {
             Context.exit();
+            deobfuscationTimeNanos += System.nanoTime() - startTime;
         }
-        return Objects.toString(result, "");
+        ExtractionEvents.report(Phase.DEOBFUSCATION, "signature", getServiceId(), startTime);
+        return result;
+    }
+
+    /**
+     * Get the time spent to deobfuscate the signatures of the streams of this content.
+     *
+     * <p>
+     * This includes entering the JavaScript engine and evaluating the deobfuscation code, but not
+     * the download and the parsing of the player code. It is {@code 0} if the streams have not
+     * been built yet or if none of them has an obfuscated signature.
+     * </p>
+     *
+     * @return the time spent in signature deobfuscation, in nanoseconds
+     */
+    public synchronized long getDeobfuscationTimeNanos() {
+        return deobfuscationTimeNanos;
+    }
+
+    /**
+     * Fetch a fresh player response of the current content, using the only client needed to get
+     * its manifests.
+     *
+     * <p>
+     * This is used by {@link YoutubeLiveSession} to follow the state of a livestream: the
+     * {@code next} endpoint and the other clients used in {@link #onFetchPage(Downloader)} are
+     * not requested again.
+     * </p>
+     *
+     * <p>
+     * The iOS client is used if its streaming data was available when fetching the page, because
+     * its HLS manifest has separated audio and video streams; the desktop client is used
+     * otherwise.
+     * </p>
+     *
+     * @return the new player response
+     */
+    @Nonnull
+    JsonObject fetchLivePlayerResponse() throws IOException, ExtractionException {
+        assertPageFetched();
+
+        final String videoId = getId();
+        final Localization localization = getExtractorLocalization();
+        final ContentCountry contentCountry = getExtractorContentCountry();
+
+        if (iosStreamingData != null) {
+            final byte[] mobileBody = JsonWriter.string(
+                    prepareIosMobileJsonBuilder(localization, contentCountry)
+                            .value(VIDEO_ID, videoId)
+                            .value(CPN, iosCpn)
+                            .value(CONTENT_CHECK_OK, true)
+                            .value(RACY_CHECK_OK, true)
+                            .done())
+                    .getBytes(StandardCharsets.UTF_8);
+            return getJsonIosPostResponse(getDownloader(), PLAYER, mobileBody, localization,
+                    "&t=" + generateTParameter() + "&id=" + videoId);
+        }
+
+        initStsFromPlayerJsIfNeeded();
+        return getJsonPostResponse(getDownloader(), PLAYER,
+                createDesktopPlayerBody(localization, contentCountry, videoId, sts, false,
+                        html5Cpn),
+                localization);
+    }
+
+    /**
+     * @return the player response got when fetching the page
+     */
+    @Nonnull
+    JsonObject getPlayerResponse() {
+        assertPageFetched();
+        return playerResponse;
     }
 
     /*//////////////////////////////////////////////////////////////////////////
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
 
+    /**
+     * Get the response of the {@code next} endpoint, fetching it if this has not been done yet.
+     *
+     * <p>
+     * This response only feeds optional data (likes, description, uploader details, related
+     * items, meta info, ...), so it is not fetched in {@link #onFetchPage(Downloader)}: callers
+     * which only need streams avoid a request. It is fetched at most once per extractor, even
+     * when getters are called from several threads; if the fetch failed, the same exception is
+     * thrown on every call.
+     * </p>
+     *
+     * @return the response of the {@code next} endpoint
+     * @throws ParsingException if the response could not be fetched or parsed
+     */
+    @Nonnull
+    private JsonObject getNextResponse() throws ParsingException {
+        assertPageFetched();
+
+        JsonObject response = nextResponse;
+        if (response != null) {
+            return response;
+        }
+
+        synchronized (nextResponseLock) {
+            response = nextResponse;
+            if (response != null) {
+                return response;
+            }
+            if (nextResponseException != null) {
+                throw nextResponseException;
+            }
+
+            try {
+                response = fetchNextResponse();
+            } catch (final IOException | ExtractionException e) {
+                nextResponseException = new ParsingException("Could not get next response", e);
+                throw nextResponseException;
+            }
+            nextResponse = response;
+            return response;
+        }
+    }
+
     @Nonnull
-    private JsonObject getVideoPrimaryInfoRenderer() {
+    private JsonObject fetchNextResponse() throws IOException, ExtractionException {
+        final Localization localization = getExtractorLocalization();
+        final byte[] body = JsonWriter.string(
+                prepareDesktopJsonBuilder(localization, getExtractorContentCountry())
+                        .value(VIDEO_ID, getId())
+                        .value(CONTENT_CHECK_OK, true)
+                        .value(RACY_CHECK_OK, true)
+                        .done())
+                .getBytes(StandardCharsets.UTF_8);
+        return getJsonPostResponse(getDownloader(), NEXT, body, localization);
+    }
+
+    @Nonnull
+    private JsonObject getVideoPrimaryInfoRenderer() throws ParsingException {
         if (videoPrimaryInfoRenderer != null) {
             return videoPrimaryInfoRenderer;
         }
@@ -1220,7 +1540,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     }
 
     @Nonnull
-    private JsonObject getVideoSecondaryInfoRenderer() {
+    private JsonObject getVideoSecondaryInfoRenderer() throws ParsingException {
         if (videoSecondaryInfoRenderer != null) {
             return videoSecondaryInfoRenderer;
         }
@@ -1230,8 +1550,9 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     }
 
     @Nonnull
-    private JsonObject getVideoInfoRenderer(@Nonnull final String videoRendererName) {
-        return nextResponse.getObject("contents")
+    private JsonObject getVideoInfoRenderer(@Nonnull final String videoRendererName)
+            throws ParsingException {
+        return getNextResponse().getObject("contents")
                 .getObject("twoColumnWatchNextResults")
                 .getObject("results")
                 .getObject("results")
@@ -1616,11 +1937,12 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     @Override
     public List<StreamSegment> getStreamSegments() throws ParsingException {
 
-        if (!nextResponse.has("engagementPanels")) {
+        final JsonObject theNextResponse = getNextResponse();
+        if (!theNextResponse.has("engagementPanels")) {
             return Collections.emptyList();
         }
 
-        final JsonArray segmentsArray = nextResponse.getArray("engagementPanels")
+        final JsonArray segmentsArray = theNextResponse.getArray("engagementPanels")
                 .stream()
                 // Check if object is a JsonObject
                 .filter(JsonObject.class::isInstance)
@@ -1689,7 +2011,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     @Nonnull
     @Override
     public List<MetaInfo> getMetaInfo() throws ParsingException {
-        return YoutubeParsingHelper.getMetaInfo(nextResponse
+        return YoutubeParsingHelper.getMetaInfo(getNextResponse()
                 .getObject("contents")
                 .getObject("twoColumnWatchNextResults")
                 .getObject("results")
@@ -64,7 +64,7 @@ public class YoutubeTrendingExtractor extends KioskExtractor<StreamInfoItem> {
                 .getBytes(StandardCharsets.UTF_8);
         // @formatter:on
 
-        initialData = getJsonPostResponse("browse", body, getExtractorLocalization());
+        initialData = getJsonPostResponse(downloader, "browse", body, getExtractorLocalization());
     }
 
     @Override
@@ -0,0 +1,337 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.utils.StringPool;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link StreamInfoItem} whose optional information is extracted from its
+ * {@link StreamInfoItemExtractor} on first access, instead of when the item is collected.
+ *
+ * <p>
+ * Only the URL, the name and the stream type are extracted when the item is created, which
+ * avoids parsing values such as upload dates and view counts of items whose caller only displays
+ * names. Each value is extracted at most once, and a value which could not be extracted keeps
+ * the default value of {@link StreamInfoItem}, the error being kept by the item (see
+ * {@link #getErrors()}): values may be extracted long after the page of the item has been
+ * built, and from any thread, so their errors are not added to the errors of the page.
+ * </p>
+ *
+ * <p>
+ * As long as it is not {@link #materialize() materialized}, the item keeps a reference to its
+ * extractor, and thus to the data of the page it has been extracted from. Items are materialized
+ * before being serialized.
+ * </p>
+ *
+ * @see StreamInfoItemsCollector#setLazy(boolean)
+ */
+public final class LazyStreamInfoItem extends StreamInfoItem {
+    private static final int DURATION = 1;
+    private static final int UPLOADER_NAME = 1 << 1;
+    private static final int TEXTUAL_UPLOAD_DATE = 1 << 2;
+    private static final int UPLOAD_DATE = 1 << 3;
+    private static final int VIEW_COUNT = 1 << 4;
+    private static final int THUMBNAIL_URL = 1 << 5;
+    private static final int UPLOADER_URL = 1 << 6;
+    private static final int UPLOADER_AVATAR_URL = 1 << 7;
+    private static final int UPLOADER_VERIFIED = 1 << 8;
+    private static final int SHORT_DESCRIPTION = 1 << 9;
+    private static final int SHORT_FORM_CONTENT = 1 << 10;
+    private static final int ALL_FIELDS = (1 << 11) - 1;
+
+    @Nullable
+    private transient StreamInfoItemExtractor extractor;
+    @Nullable
+    private transient List<Throwable> errors;
+    @Nullable
+    private transient StringPool stringPool;
+    /**
+     * The fields which have been extracted or set, as a combination of the constants above.
+     */
+    private int loadedFields;
+
+    LazyStreamInfoItem(final int serviceId,
+                       final String url,
+                       final String name,
+                       final StreamType streamType,
+                       @Nonnull final StreamInfoItemExtractor extractor,
+                       @Nullable final StringPool stringPool) {
+        super(serviceId, url, name, streamType);
+        this.extractor = extractor;
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * Extract all the values which have not been extracted yet and release the extractor.
+     *
+     * @return this item
+     */
+    @Nonnull
+    public synchronized LazyStreamInfoItem materialize() {
+        loadAll();
+        extractor = null;
+        stringPool = null;
+        return this;
+    }
+
+    /**
+     * {@link #materialize() Materialize} the lazy stream items of a list, so that the list does
+     * not keep their extractors, and the data from which they extract values, in memory.
+     *
+     * @param items a list of items, of any type
+     */
+    public static void materializeAll(@Nullable final Collection<? extends InfoItem> items) {
+        if (items == null) {
+            return;
+        }
+        for (final InfoItem item : items) {
+            if (item instanceof LazyStreamInfoItem) {
+                ((LazyStreamInfoItem) item).materialize();
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the errors which happened while extracting the values accessed so far;
+     * they are not serialized
+     */
+    @Nonnull
+    public synchronized List<Throwable> getErrors() {
+        return errors == null ? Collections.emptyList() : new ArrayList<>(errors);
+    }
+
+    /**
+     * @return whether all the values have been extracted and the extractor has been released
+     */
+    public synchronized boolean isMaterialized() {
+        return extractor == null;
+    }
+
+    private void loadAll() {
+        for (int field = 1; field < ALL_FIELDS; field <<= 1) {
+            load(field);
+        }
+    }
+
+    private synchronized void load(final int field) {
+        if (extractor == null || (loadedFields & field) != 0) {
+            return;
+        }
+        loadedFields |= field;
+
+        try {
+            switch (field) {
+                case DURATION:
+                    super.setDuration(extractor.getDuration());
+                    break;
+                case UPLOADER_NAME:
+                    super.setUploaderName(intern(extractor.getUploaderName()));
+                    break;
+                case TEXTUAL_UPLOAD_DATE:
+                    super.setTextualUploadDate(intern(extractor.getTextualUploadDate()));
+                    break;
+                case UPLOAD_DATE:
+                    super.setUploadDate(extractor.getUploadDate());
+                    break;
+                case VIEW_COUNT:
+                    super.setViewCount(extractor.getViewCount());
+                    break;
+                case THUMBNAIL_URL:
+                    super.setThumbnailUrl(extractor.getThumbnailUrl());
+                    break;
+                case UPLOADER_URL:
+                    super.setUploaderUrl(intern(extractor.getUploaderUrl()));
+                    break;
+                case UPLOADER_AVATAR_URL:
+                    super.setUploaderAvatarUrl(intern(extractor.getUploaderAvatarUrl()));
+                    break;
+                case UPLOADER_VERIFIED:
+                    super.setUploaderVerified(extractor.isUploaderVerified());
+                    break;
+                case SHORT_DESCRIPTION:
+                    super.setShortDescription(extractor.getShortDescription());
+                    break;
+                case SHORT_FORM_CONTENT:
+                    super.setShortFormContent(extractor.isShortFormContent());
+                    break;
+                default:
+                    break;
+            }
+        } catch (final Exception e) {
+            if (errors == null) {
+                errors = new ArrayList<>(1);
+            }
+            errors.add(e);
+        }
+    }
+
+    @Nullable
+    private String intern(@Nullable final String value) {
+        return stringPool == null ? value : stringPool.intern(value);
+    }
+
+    /**
+     * Mark a field as loaded, so that a value which has been set is not overridden by the
+     * extracted one.
+     */
+    private synchronized void markLoaded(final int field) {
+        loadedFields |= field;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        materialize();
+        out.defaultWriteObject();
+    }
+
+    @Override
+    public long getDuration() {
+        load(DURATION);
+        return super.getDuration();
+    }
+
+    @Override
+    public void setDuration(final long duration) {
+        markLoaded(DURATION);
+        super.setDuration(duration);
+    }
+
+    @Override
+    public String getUploaderName() {
+        load(UPLOADER_NAME);
+        return super.getUploaderName();
+    }
+
+    @Override
+    public void setUploaderName(final String uploaderName) {
+        markLoaded(UPLOADER_NAME);
+        super.setUploaderName(uploaderName);
+    }
+
+    @Nullable
+    @Override
+    public String getTextualUploadDate() {
+        load(TEXTUAL_UPLOAD_DATE);
+        return super.getTextualUploadDate();
+    }
+
+    @Override
+    public void setTextualUploadDate(final String textualUploadDate) {
+        markLoaded(TEXTUAL_UPLOAD_DATE);
+        super.setTextualUploadDate(textualUploadDate);
+    }
+
+    @Nullable
+    @Override
+    public DateWrapper getUploadDate() {
+        load(UPLOAD_DATE);
+        return super.getUploadDate();
+    }
+
+    @Override
+    public void setUploadDate(@Nullable final DateWrapper uploadDate) {
+        markLoaded(UPLOAD_DATE);
+        super.setUploadDate(uploadDate);
+    }
+
+    @Override
+    public long getViewCount() {
+        load(VIEW_COUNT);
+        return super.getViewCount();
+    }
+
+    @Override
+    public void setViewCount(final long viewCount) {
+        markLoaded(VIEW_COUNT);
+        super.setViewCount(viewCount);
+    }
+
+    @Override
+    public String getThumbnailUrl() {
+        load(THUMBNAIL_URL);
+        return super.getThumbnailUrl();
+    }
+
+    @Override
+    public void setThumbnailUrl(final String thumbnailUrl) {
+        markLoaded(THUMBNAIL_URL);
+        super.setThumbnailUrl(thumbnailUrl);
+    }
+
+    @Override
+    public String getUploaderUrl() {
+        load(UPLOADER_URL);
+        return super.getUploaderUrl();
+    }
+
+    @Override
+    public void setUploaderUrl(final String uploaderUrl) {
+        markLoaded(UPLOADER_URL);
+        super.setUploaderUrl(uploaderUrl);
+    }
+
+    @Nullable
+    @Override
+    public String getUploaderAvatarUrl() {
+        load(UPLOADER_AVATAR_URL);
+        return super.getUploaderAvatarUrl();
+    }
+
+    @Override
+    public void setUploaderAvatarUrl(final String uploaderAvatarUrl) {
+        markLoaded(UPLOADER_AVATAR_URL);
+        super.setUploaderAvatarUrl(uploaderAvatarUrl);
+    }
+
+    @Override
+    public boolean isUploaderVerified() {
+        load(UPLOADER_VERIFIED);
+        return super.isUploaderVerified();
+    }
+
+    @Override
+    public void setUploaderVerified(final boolean uploaderVerified) {
+        markLoaded(UPLOADER_VERIFIED);
+        super.setUploaderVerified(uploaderVerified);
+    }
+
+    @Override
+    public String getShortDescription() {
+        load(SHORT_DESCRIPTION);
+        return super.getShortDescription();
+    }
+
+    @Override
+    public void setShortDescription(final String shortDescription) {
+        markLoaded(SHORT_DESCRIPTION);
+        super.setShortDescription(shortDescription);
+    }
+
+    @Override
+    public boolean isShortFormContent() {
+        load(SHORT_FORM_CONTENT);
+        return super.isShortFormContent();
+    }
+
+    @Override
+    public void setShortFormContent(final boolean shortFormContent) {
+        markLoaded(SHORT_FORM_CONTENT);
+        super.setShortFormContent(shortFormContent);
+    }
+
+    @Override
+    public String toString() {
+        // StreamInfoItem.toString() reads some fields directly
+        loadAll();
+        return super.toString();
+    }
+}
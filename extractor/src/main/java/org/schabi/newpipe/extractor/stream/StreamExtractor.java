@@ -39,8 +39,11 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Scrapes information from a video/audio streaming service (eg, YouTube).
@@ -50,10 +53,95 @@ public abstract class StreamExtractor extends Extractor {
     public static final int NO_AGE_LIMIT = 0;
     public static final long UNKNOWN_SUBSCRIBER_COUNT = -1;
 
+    private Set<StreamInfoField> requestedFields = EnumSet.allOf(StreamInfoField.class);
+    private boolean releasedAfterExtraction = false;
+
     public StreamExtractor(final StreamingService service, final LinkHandler linkHandler) {
         super(service, linkHandler);
     }
 
+    /**
+     * Set the optional fields which will be read from this extractor.
+     *
+     * <p>
+     * This must be called before {@link #fetchPage()} to let the extractor skip network requests
+     * which are only needed by fields which have not been requested. All fields are requested by
+     * default.
+     * </p>
+     *
+     * <p>
+     * Getters of fields which have not been requested can still be called, but they may return
+     * incomplete or default values.
+     * </p>
+     *
+     * @param requestedFields the optional fields which will be read
+     */
+    public void setRequestedFields(@Nonnull final Set<StreamInfoField> requestedFields) {
+        Objects.requireNonNull(requestedFields, "requestedFields is null");
+        this.requestedFields = requestedFields.isEmpty()
+                ? EnumSet.noneOf(StreamInfoField.class)
+                : EnumSet.copyOf(requestedFields);
+    }
+
+    /**
+     * @return the optional fields which will be read from this extractor
+     * @see #setRequestedFields(Set)
+     */
+    @Nonnull
+    public Set<StreamInfoField> getRequestedFields() {
+        return Collections.unmodifiableSet(requestedFields);
+    }
+
+    /**
+     * Set whether {@link StreamInfo#getInfo(StreamExtractor, EnumSet)} should detach the
+     * {@link StreamInfo} from this extractor once it has been built: the values of the
+     * {@link LazyStreamInfoItem lazy} related items are extracted, and this extractor is
+     * {@link #release() released}, so that the raw responses are not kept in memory as long as
+     * this extractor or the items are referenced.
+     *
+     * @param releasedAfterExtraction whether this extractor should be released after the
+     *                                extraction of a {@link StreamInfo}, {@code false} by default
+     */
+    public void setReleasedAfterExtraction(final boolean releasedAfterExtraction) {
+        this.releasedAfterExtraction = releasedAfterExtraction;
+    }
+
+    /**
+     * @return whether this extractor is released after the extraction of a {@link StreamInfo}
+     * @see #setReleasedAfterExtraction(boolean)
+     */
+    public boolean isReleasedAfterExtraction() {
+        return releasedAfterExtraction;
+    }
+
+    /**
+     * Make the requests which the getters of the requested fields would otherwise make lazily,
+     * so that {@link StreamInfo#getInfo(StreamExtractor, EnumSet)} does not make any request
+     * afterwards. It must be called after {@link #fetchPage()}.
+     *
+     * <p>
+     * The failures of these requests are not thrown, but by the getters needing them, as if
+     * they had been made lazily. The default implementation does nothing and returns
+     * {@code false}, as the getters of extractors may make requests.
+     * </p>
+     *
+     * @return whether all the requests of the requested fields have been made, so that building
+     * a {@link StreamInfo} from this extractor does not make any request
+     * @see StreamInfoBatch
+     */
+    public boolean prefetchRequestedFields() throws IOException, ExtractionException {
+        return false;
+    }
+
+    /**
+     * @param field an optional field
+     * @return whether the given field will be read from this extractor
+     * @see #setRequestedFields(Set)
+     */
+    protected boolean isFieldRequested(@Nonnull final StreamInfoField field) {
+        return requestedFields.contains(field);
+    }
+
     /**
      * The original textual date provided by the service. Should be used as a fallback if
      * {@link #getUploadDate()} isn't provided by the service, or it fails for some reason.
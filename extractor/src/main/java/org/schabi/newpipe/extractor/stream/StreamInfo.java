@@ -5,17 +5,23 @@ import org.schabi.newpipe.extractor.InfoItem;
 import org.schabi.newpipe.extractor.MetaInfo;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.cache.InfoCache;
 import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
 import org.schabi.newpipe.extractor.exceptions.ContentNotSupportedException;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 
@@ -70,17 +76,53 @@ public class StreamInfo extends Info {
 
     public static StreamInfo getInfo(@Nonnull final StreamingService service,
                                      final String url) throws IOException, ExtractionException {
-        return getInfo(service.getStreamExtractor(url));
+        final InfoCache infoCache = NewPipe.getInfoCache();
+        if (infoCache != null) {
+            return infoCache.getStreamInfo(service, url);
+        }
+        final StreamExtractor extractor = service.getStreamExtractor(url);
+        extractor.setReleasedAfterExtraction(true);
+        return getInfo(extractor);
     }
 
     public static StreamInfo getInfo(@Nonnull final StreamExtractor extractor)
             throws ExtractionException, IOException {
+        return getInfo(extractor, EnumSet.allOf(StreamInfoField.class));
+    }
+
+    /**
+     * Get a {@link StreamInfo} in which only the requested optional fields are extracted.
+     *
+     * <p>
+     * The requested fields are passed to the extractor before fetching its page (see
+     * {@link StreamExtractor#setRequestedFields(java.util.Set)}), so that it can skip the work
+     * and the network requests only needed by other fields. The important data and the streams
+     * are always extracted.
+     * </p>
+     *
+     * <p>
+     * For instance, {@code EnumSet.noneOf(StreamInfoField.class)} can be used to only resolve
+     * playable URLs of a content.
+     * </p>
+     *
+     * @param extractor       the extractor to use, on which the page should not have been fetched
+     *                        yet
+     * @param requestedFields the optional fields to extract
+     * @return a {@link StreamInfo} in which unrequested optional fields have their default value
+     */
+    public static StreamInfo getInfo(@Nonnull final StreamExtractor extractor,
+                                     @Nonnull final EnumSet<StreamInfoField> requestedFields)
+            throws ExtractionException, IOException {
+        extractor.setRequestedFields(requestedFields);
         extractor.fetchPage();
         final StreamInfo streamInfo;
         try {
             streamInfo = extractImportantData(extractor);
             extractStreams(streamInfo, extractor);
-            extractOptionalData(streamInfo, extractor);
+            extractOptionalData(streamInfo, extractor, requestedFields);
+            if (extractor.isReleasedAfterExtraction()) {
+                LazyStreamInfoItem.materializeAll(streamInfo.getRelatedItems());
+            }
             return streamInfo;
 
         } catch (final ExtractionException e) {
@@ -97,6 +139,54 @@ public class StreamInfo extends Info {
             } else {
                 throw new ContentNotAvailableException(errorMessage, e);
             }
+        } finally {
+            if (extractor.isReleasedAfterExtraction()) {
+                extractor.release();
+            }
+        }
+    }
+
+    /**
+     * Extract the {@link StreamInfo}s of many URLs concurrently.
+     *
+     * <p>
+     * This method returns immediately; results are returned by the batch in completion order,
+     * with per-URL errors instead of failing the whole batch. See {@link StreamInfoBatch} for
+     * more details.
+     * </p>
+     *
+     * @param urls    the URLs of the streams, from any supported service
+     * @param options the options of the batch, see {@link StreamInfoBatch.Options#newBuilder()}
+     * @return the running batch, which must be {@link StreamInfoBatch#close() closed} if it is
+     *         not consumed entirely
+     */
+    @Nonnull
+    public static StreamInfoBatch getInfos(@Nonnull final Collection<String> urls,
+                                           @Nonnull final StreamInfoBatch.Options options) {
+        return StreamInfoBatch.start(urls, options);
+    }
+
+    /**
+     * Extract the {@link StreamInfo}s of many URLs concurrently and pass each result to the given
+     * callback as soon as its extraction completed.
+     *
+     * <p>
+     * This method blocks until all URLs have been processed. The callback is always called on
+     * the calling thread.
+     * </p>
+     *
+     * @param urls     the URLs of the streams, from any supported service
+     * @param options  the options of the batch, see {@link StreamInfoBatch.Options#newBuilder()}
+     * @param callback the callback receiving each result
+     * @see #getInfos(Collection, StreamInfoBatch.Options)
+     */
+    public static void getInfos(@Nonnull final Collection<String> urls,
+                                @Nonnull final StreamInfoBatch.Options options,
+                                @Nonnull final Consumer<StreamInfoBatch.Result> callback) {
+        try (StreamInfoBatch batch = StreamInfoBatch.start(urls, options)) {
+            while (batch.hasNext()) {
+                callback.accept(batch.next());
+            }
         }
     }
 
@@ -191,165 +281,115 @@ public class StreamInfo extends Info {
     }
 
     @SuppressWarnings("MethodLength")
-    private static void extractOptionalData(final StreamInfo streamInfo,
-                                            final StreamExtractor extractor) {
+    private static void extractOptionalData(
+            final StreamInfo streamInfo,
+            final StreamExtractor extractor,
+            @Nonnull final EnumSet<StreamInfoField> requestedFields) {
         /* ---- Optional data goes here: ---- */
         // If one of these fails, the frontend needs to handle that they are not available.
         // Exceptions are therefore not thrown into the frontend, but stored into the error list,
         // so the frontend can afterwards check where errors happened.
 
-        try {
-            streamInfo.setThumbnailUrl(extractor.getThumbnailUrl());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setDuration(extractor.getLength());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploaderName(extractor.getUploaderName());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploaderUrl(extractor.getUploaderUrl());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploaderAvatarUrl(extractor.getUploaderAvatarUrl());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploaderVerified(extractor.isUploaderVerified());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploaderSubscriberCount(extractor.getUploaderSubscriberCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
+        extractField(streamInfo, requestedFields, StreamInfoField.THUMBNAIL,
+                () -> streamInfo.setThumbnailUrl(extractor.getThumbnailUrl()));
+        extractField(streamInfo, requestedFields, StreamInfoField.DURATION,
+                () -> streamInfo.setDuration(extractor.getLength()));
+        extractField(streamInfo, requestedFields, StreamInfoField.UPLOADER,
+                () -> streamInfo.setUploaderName(extractor.getUploaderName()),
+                () -> streamInfo.setUploaderUrl(extractor.getUploaderUrl()),
+                () -> streamInfo.setUploaderAvatarUrl(extractor.getUploaderAvatarUrl()),
+                () -> streamInfo.setUploaderVerified(extractor.isUploaderVerified()),
+                () -> streamInfo.setUploaderSubscriberCount(
+                        extractor.getUploaderSubscriberCount()));
+
+        extractField(streamInfo, requestedFields, StreamInfoField.SUB_CHANNEL,
+                () -> streamInfo.setSubChannelName(extractor.getSubChannelName()),
+                () -> streamInfo.setSubChannelUrl(extractor.getSubChannelUrl()),
+                () -> streamInfo.setSubChannelAvatarUrl(extractor.getSubChannelAvatarUrl()));
+
+        extractField(streamInfo, requestedFields, StreamInfoField.DESCRIPTION,
+                () -> streamInfo.setDescription(extractor.getDescription()));
+        extractField(streamInfo, requestedFields, StreamInfoField.VIEW_COUNT,
+                () -> streamInfo.setViewCount(extractor.getViewCount()));
+        extractField(streamInfo, requestedFields, StreamInfoField.UPLOAD_DATE,
+                () -> streamInfo.setTextualUploadDate(extractor.getTextualUploadDate()),
+                () -> streamInfo.setUploadDate(extractor.getUploadDate()));
+        extractField(streamInfo, requestedFields, StreamInfoField.START_POSITION,
+                () -> streamInfo.setStartPosition(extractor.getTimeStamp()));
+        extractField(streamInfo, requestedFields, StreamInfoField.LIKE_COUNT,
+                () -> streamInfo.setLikeCount(extractor.getLikeCount()));
+        extractField(streamInfo, requestedFields, StreamInfoField.DISLIKE_COUNT,
+                () -> streamInfo.setDislikeCount(extractor.getDislikeCount()));
+        extractField(streamInfo, requestedFields, StreamInfoField.SUBTITLES,
+                () -> streamInfo.setSubtitles(extractor.getSubtitlesDefault()));
 
-        try {
-            streamInfo.setSubChannelName(extractor.getSubChannelName());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setSubChannelUrl(extractor.getSubChannelUrl());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setSubChannelAvatarUrl(extractor.getSubChannelAvatarUrl());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
+        // Additional info
+        extractField(streamInfo, requestedFields, StreamInfoField.HOST,
+                () -> streamInfo.setHost(extractor.getHost()));
+        extractField(streamInfo, requestedFields, StreamInfoField.PRIVACY,
+                () -> streamInfo.setPrivacy(extractor.getPrivacy()));
+        extractField(streamInfo, requestedFields, StreamInfoField.CATEGORY,
+                () -> streamInfo.setCategory(extractor.getCategory()));
+        extractField(streamInfo, requestedFields, StreamInfoField.LICENCE,
+                () -> streamInfo.setLicence(extractor.getLicence()));
+        extractField(streamInfo, requestedFields, StreamInfoField.LANGUAGE_INFO,
+                () -> streamInfo.setLanguageInfo(extractor.getLanguageInfo()));
+        extractField(streamInfo, requestedFields, StreamInfoField.TAGS,
+                () -> streamInfo.setTags(extractor.getTags()));
+        extractField(streamInfo, requestedFields, StreamInfoField.SUPPORT_INFO,
+                () -> streamInfo.setSupportInfo(extractor.getSupportInfo()));
+        extractField(streamInfo, requestedFields, StreamInfoField.STREAM_SEGMENTS,
+                () -> streamInfo.setStreamSegments(extractor.getStreamSegments()));
+        extractField(streamInfo, requestedFields, StreamInfoField.META_INFO,
+                () -> streamInfo.setMetaInfo(extractor.getMetaInfo()));
+        extractField(streamInfo, requestedFields, StreamInfoField.PREVIEW_FRAMES,
+                () -> streamInfo.setPreviewFrames(extractor.getFrames()));
+        extractField(streamInfo, requestedFields, StreamInfoField.SHORT_FORM_CONTENT,
+                () -> streamInfo.setShortFormContent(extractor.isShortFormContent()));
+
+        extractField(streamInfo, requestedFields, StreamInfoField.RELATED_ITEMS,
+                () -> streamInfo.setRelatedItems(
+                        ExtractorHelper.getRelatedItemsOrLogError(streamInfo, extractor)));
+    }
 
-        try {
-            streamInfo.setDescription(extractor.getDescription());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setViewCount(extractor.getViewCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setTextualUploadDate(extractor.getTextualUploadDate());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploadDate(extractor.getUploadDate());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setStartPosition(extractor.getTimeStamp());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setLikeCount(extractor.getLikeCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setDislikeCount(extractor.getDislikeCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setSubtitles(extractor.getSubtitlesDefault());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
+    /**
+     * A part of an optional field, extracting a value and setting it on the stream info.
+     */
+    @FunctionalInterface
+    private interface FieldPart {
+        void extract() throws Exception;
+    }
 
-        // Additional info
-        try {
-            streamInfo.setHost(extractor.getHost());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setPrivacy(extractor.getPrivacy());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setCategory(extractor.getCategory());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setLicence(extractor.getLicence());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setLanguageInfo(extractor.getLanguageInfo());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setTags(extractor.getTags());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setSupportInfo(extractor.getSupportInfo());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setStreamSegments(extractor.getStreamSegments());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setMetaInfo(extractor.getMetaInfo());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setPreviewFrames(extractor.getFrames());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setShortFormContent(extractor.isShortFormContent());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+    /**
+     * Extract an optional field if it is requested, and report its extraction.
+     *
+     * <p>
+     * Each part of the field is extracted even if the previous ones failed, their exceptions
+     * being added to the errors of the stream info. The extraction is reported as failed with the
+     * last error added to the stream info meanwhile, if any.
+     * </p>
+     */
+    private static void extractField(@Nonnull final StreamInfo streamInfo,
+                                     @Nonnull final EnumSet<StreamInfoField> requestedFields,
+                                     @Nonnull final StreamInfoField field,
+                                     @Nonnull final FieldPart... parts) {
+        if (!requestedFields.contains(field)) {
+            return;
+        }
+
+        final long startTime = ExtractionEvents.start();
+        final int errorCount = streamInfo.getErrors().size();
+        for (final FieldPart part : parts) {
+            try {
+                part.extract();
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
 
-        streamInfo.setRelatedItems(ExtractorHelper.getRelatedItemsOrLogError(streamInfo,
-                extractor));
+        final List<Throwable> errors = streamInfo.getErrors();
+        ExtractionEvents.report(Phase.OPTIONAL_FIELD, field.name(), streamInfo.getServiceId(),
+                startTime, errors.size() > errorCount ? errors.get(errors.size() - 1) : null);
     }
 
     private StreamType streamType;
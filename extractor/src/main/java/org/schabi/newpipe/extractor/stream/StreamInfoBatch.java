@@ -0,0 +1,546 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.utils.ExtractorExecutors;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A pipeline extracting {@link StreamInfo}s of many URLs concurrently.
+ *
+ * <p>
+ * Each URL goes through two stages:
+ * <ol>
+ *     <li>the network stage, run on the I/O executor, which creates the {@link StreamExtractor}
+ *     of the URL, fetches its page and makes the requests of the requested fields (see
+ *     {@link StreamExtractor#prefetchRequestedFields()}); at most
+ *     {@link Options#getMaxConcurrentRequests()} extractions are in this stage at the same
+ *     time;</li>
+ *     <li>the parsing stage, run on the CPU executor, which builds the {@link StreamInfo} from
+ *     the extractor (see {@link StreamInfo#getInfo(StreamExtractor, EnumSet)}).</li>
+ * </ol>
+ * </p>
+ *
+ * <p>
+ * The extractors which cannot make all their requests in the network stage may still make
+ * requests while building the {@link StreamInfo}: their extractions count against
+ * {@link Options#getMaxConcurrentRequests()} until their parsing stage completed, so that this
+ * limit is always respected.
+ * </p>
+ *
+ * <p>
+ * URLs are grouped by service. The first URL of each service is extracted alone, before the
+ * other URLs of the same service are released: this lets the state shared by the extractors of a
+ * service (client versions, API keys, player code, ...) be fetched once instead of being fetched
+ * concurrently by every extraction.
+ * </p>
+ *
+ * <p>
+ * Results are returned as soon as each extraction completes, in completion order. An extraction
+ * failure is reported in the {@link Result} of its URL and does not fail the batch.
+ * </p>
+ *
+ * @see StreamInfo#getInfos(Collection, Options)
+ * @see StreamInfo#getInfos(Collection, Options, Consumer)
+ */
+public final class StreamInfoBatch implements Iterator<StreamInfoBatch.Result>, Closeable {
+
+    /**
+     * Options of a {@link StreamInfoBatch}, created with {@link #newBuilder()}.
+     */
+    public static final class Options {
+        private final int maxConcurrentRequests;
+        private final int parsingThreads;
+        @Nullable
+        private final Executor ioExecutor;
+        @Nullable
+        private final Executor cpuExecutor;
+        @Nonnull
+        private final EnumSet<StreamInfoField> requestedFields;
+
+        private Options(@Nonnull final Builder builder) {
+            this.maxConcurrentRequests = builder.maxConcurrentRequests;
+            this.parsingThreads = builder.parsingThreads;
+            this.ioExecutor = builder.ioExecutor;
+            this.cpuExecutor = builder.cpuExecutor;
+            this.requestedFields = builder.requestedFields;
+        }
+
+        @Nonnull
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @return the default options
+         */
+        @Nonnull
+        public static Options defaults() {
+            return newBuilder().build();
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public int getParsingThreads() {
+            return parsingThreads;
+        }
+
+        @Nullable
+        public Executor getIoExecutor() {
+            return ioExecutor;
+        }
+
+        @Nullable
+        public Executor getCpuExecutor() {
+            return cpuExecutor;
+        }
+
+        @Nonnull
+        public EnumSet<StreamInfoField> getRequestedFields() {
+            return EnumSet.copyOf(requestedFields);
+        }
+
+        public static final class Builder {
+            private int maxConcurrentRequests = 8;
+            private int parsingThreads = Runtime.getRuntime().availableProcessors();
+            @Nullable
+            private Executor ioExecutor;
+            @Nullable
+            private Executor cpuExecutor;
+            @Nonnull
+            private EnumSet<StreamInfoField> requestedFields = EnumSet.allOf(StreamInfoField.class);
+
+            private Builder() {
+            }
+
+            /**
+             * Set the maximum number of extractions which can make requests at the same time,
+             * i.e. which are in their network stage, or in their parsing stage if their
+             * extractor could not make all its requests in the network stage.
+             *
+             * <p>
+             * The default value is {@code 8}.
+             * </p>
+             */
+            public Builder setMaxConcurrentRequests(final int maxConcurrentRequests) {
+                if (maxConcurrentRequests < 1) {
+                    throw new IllegalArgumentException(
+                            "maxConcurrentRequests must be positive: " + maxConcurrentRequests);
+                }
+                this.maxConcurrentRequests = maxConcurrentRequests;
+                return this;
+            }
+
+            /**
+             * Set the maximum number of extractions in their parsing stage at the same time on
+             * the default CPU executor. This value is ignored if a CPU executor is provided with
+             * {@link #setCpuExecutor(Executor)}.
+             *
+             * <p>
+             * The default value is the number of available processors.
+             * </p>
+             */
+            public Builder setParsingThreads(final int parsingThreads) {
+                if (parsingThreads < 1) {
+                    throw new IllegalArgumentException(
+                            "parsingThreads must be positive: " + parsingThreads);
+                }
+                this.parsingThreads = parsingThreads;
+                return this;
+            }
+
+            /**
+             * Set the executor running network stages. It is not shut down by the batch.
+             *
+             * <p>
+             * By default, network stages are run on {@link NewPipe#getExecutor()}, at most
+             * {@link #setMaxConcurrentRequests(int) maxConcurrentRequests} at the same time.
+             * </p>
+             */
+            public Builder setIoExecutor(@Nullable final Executor ioExecutor) {
+                this.ioExecutor = ioExecutor;
+                return this;
+            }
+
+            /**
+             * Set the executor running parsing stages. It is not shut down by the batch.
+             *
+             * <p>
+             * By default, parsing stages are run on {@link NewPipe#getExecutor()}, at most
+             * {@link #setParsingThreads(int) parsingThreads} at the same time.
+             * </p>
+             */
+            public Builder setCpuExecutor(@Nullable final Executor cpuExecutor) {
+                this.cpuExecutor = cpuExecutor;
+                return this;
+            }
+
+            /**
+             * Set the optional fields to extract, see
+             * {@link StreamInfo#getInfo(StreamExtractor, EnumSet)}.
+             *
+             * <p>
+             * All fields are extracted by default.
+             * </p>
+             */
+            public Builder setRequestedFields(
+                    @Nonnull final EnumSet<StreamInfoField> requestedFields) {
+                this.requestedFields = EnumSet.copyOf(
+                        Objects.requireNonNull(requestedFields, "requestedFields is null"));
+                return this;
+            }
+
+            @Nonnull
+            public Options build() {
+                return new Options(this);
+            }
+        }
+    }
+
+    /**
+     * The result of the extraction of one URL of a batch.
+     */
+    public static final class Result {
+        private final int index;
+        @Nonnull
+        private final String url;
+        @Nullable
+        private final StreamInfo streamInfo;
+        @Nullable
+        private final Exception error;
+
+        Result(final int index,
+               @Nonnull final String url,
+               @Nullable final StreamInfo streamInfo,
+               @Nullable final Exception error) {
+            this.index = index;
+            this.url = url;
+            this.streamInfo = streamInfo;
+            this.error = error;
+        }
+
+        /**
+         * @return the position of the URL in the collection given to the batch
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        @Nonnull
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return the {@link StreamInfo} extracted, or {@code null} if the extraction failed
+         */
+        @Nullable
+        public StreamInfo getStreamInfo() {
+            return streamInfo;
+        }
+
+        /**
+         * @return the exception which made the extraction fail, or {@code null} if it succeeded
+         */
+        @Nullable
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccessful() {
+            return streamInfo != null;
+        }
+    }
+
+    private static final class Item {
+        private final int index;
+        @Nonnull
+        private final String url;
+        @Nullable
+        private final StreamingService service;
+
+        Item(final int index, @Nonnull final String url,
+             @Nullable final StreamingService service) {
+            this.index = index;
+            this.url = url;
+            this.service = service;
+        }
+    }
+
+    @Nonnull
+    private final Options options;
+    @Nonnull
+    private final Executor ioExecutor;
+    @Nonnull
+    private final Executor cpuExecutor;
+
+    private final int total;
+    private int returned = 0;
+    private final BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+
+    // Items which are ready to enter their network stage; guarded by this
+    private final Deque<Item> pending = new ArrayDeque<>();
+    // Items waiting for the first extraction of their service to complete; guarded by this
+    private final Map<Integer, Deque<Item>> waitingForBootstrap = new LinkedHashMap<>();
+    private int requestsInFlight = 0;
+    private boolean closed = false;
+
+    private StreamInfoBatch(@Nonnull final Collection<String> urls,
+                            @Nonnull final Options options) {
+        this.options = options;
+        this.total = urls.size();
+
+        ioExecutor = options.getIoExecutor() != null
+                ? options.getIoExecutor() : NewPipe.getExecutor();
+        cpuExecutor = options.getCpuExecutor() != null
+                ? options.getCpuExecutor()
+                : ExtractorExecutors.limit(NewPipe.getExecutor(), options.getParsingThreads());
+
+        final List<Item> items;
+        synchronized (this) {
+            int index = 0;
+            for (final String url : urls) {
+                StreamingService service = null;
+                Exception error = null;
+                try {
+                    service = NewPipe.getServiceByUrl(url);
+                } catch (final Exception e) {
+                    error = e;
+                }
+
+                final Item item = new Item(index, url, service);
+                if (error != null || service == null) {
+                    results.add(new Result(index, url, null, error));
+                } else if (waitingForBootstrap.containsKey(service.getServiceId())) {
+                    waitingForBootstrap.get(service.getServiceId()).add(item);
+                } else {
+                    // First URL of its service: extract it alone
+                    waitingForBootstrap.put(service.getServiceId(), new ArrayDeque<>());
+                    pending.add(item);
+                }
+                ++index;
+            }
+            items = dispatch();
+        }
+        submit(items);
+    }
+
+    /**
+     * Start the extraction of the {@link StreamInfo}s of the given URLs.
+     *
+     * @param urls    the URLs of the streams, from any supported service
+     * @param options the options of the batch
+     * @return the batch, which returns its results in completion order
+     */
+    @Nonnull
+    static StreamInfoBatch start(@Nonnull final Collection<String> urls,
+                                 @Nonnull final Options options) {
+        return new StreamInfoBatch(
+                Objects.requireNonNull(urls, "urls is null"),
+                Objects.requireNonNull(options, "options is null"));
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Iterator
+    //////////////////////////////////////////////////////////////////////////*/
+
+    @Override
+    public synchronized boolean hasNext() {
+        return returned < total && !closed;
+    }
+
+    /**
+     * Wait for the next completed extraction and return its result.
+     *
+     * @return the next result, in completion order
+     * @throws NoSuchElementException if all results have been returned or if the current thread
+     *                                has been interrupted while waiting
+     */
+    @Override
+    public Result next() {
+        synchronized (this) {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ++returned;
+        }
+
+        try {
+            return results.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NoSuchElementException("Interrupted while waiting for a result");
+        }
+    }
+
+    /**
+     * @return the number of URLs of the batch
+     */
+    public int size() {
+        return total;
+    }
+
+    /**
+     * Cancel the extractions which have not started yet. Their results, whose error is a
+     * {@link CancellationException}, are given to the threads already waiting in
+     * {@link #next()}.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (final Item item : pending) {
+            cancel(item);
+        }
+        pending.clear();
+        for (final Deque<Item> waitingItems : waitingForBootstrap.values()) {
+            for (final Item item : waitingItems) {
+                cancel(item);
+            }
+        }
+        waitingForBootstrap.clear();
+    }
+
+    private void cancel(@Nonnull final Item item) {
+        results.add(new Result(item.index, item.url, null,
+                new CancellationException("The batch has been closed")));
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Pipeline
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Take pending items while the maximum number of concurrent requests is not reached. Must be
+     * called while holding the lock of this batch.
+     *
+     * @return the items whose network stage can start
+     */
+    @Nonnull
+    private List<Item> dispatch() {
+        final List<Item> items = new ArrayList<>();
+        while (!closed && requestsInFlight < options.getMaxConcurrentRequests()
+                && !pending.isEmpty()) {
+            items.add(pending.poll());
+            ++requestsInFlight;
+        }
+        return items;
+    }
+
+    /**
+     * Submit the network stages of items to the I/O executor. Must not be called while holding
+     * the lock of this batch, as executors may run tasks on the submitting thread.
+     */
+    private void submit(@Nonnull final List<Item> items) {
+        for (final Item item : items) {
+            ExtractorExecutors.executeOrRun(ioExecutor, () -> runNetworkStages(item));
+        }
+    }
+
+    /**
+     * Run the network stage of an item, then of the next pending item, if any, until there are
+     * none left which can start or until an item keeps its request slot in its parsing stage.
+     */
+    private void runNetworkStages(@Nonnull final Item firstItem) {
+        Item item = firstItem;
+        while (item != null && runNetworkStage(item)) {
+            final List<Item> items = releaseRequestSlot();
+            // A completed request frees a single slot, so there is usually one item at most
+            item = items.isEmpty() ? null : items.remove(0);
+            submit(items);
+        }
+    }
+
+    /**
+     * @return whether the item does not make requests anymore, so that its request slot can be
+     * released, or {@code false} if its parsing stage releases the slot once completed
+     */
+    private boolean runNetworkStage(@Nonnull final Item item) {
+        final StreamExtractor extractor;
+        final boolean prefetched;
+        try {
+            extractor = Objects.requireNonNull(item.service).getStreamExtractor(item.url);
+            extractor.setRequestedFields(options.getRequestedFields());
+            extractor.fetchPage();
+            prefetched = extractor.prefetchRequestedFields();
+        } catch (final Exception e) {
+            complete(item, null, e);
+            return true;
+        }
+
+        if (prefetched) {
+            ExtractorExecutors.executeOrRun(cpuExecutor, () -> runParsingStage(item, extractor));
+            return true;
+        }
+
+        // The extraction may still make requests, so it keeps its slot until it completes
+        ExtractorExecutors.executeOrRun(cpuExecutor, () -> {
+            runParsingStage(item, extractor);
+            submit(releaseRequestSlot());
+        });
+        return false;
+    }
+
+    /**
+     * Release the request slot of an item.
+     *
+     * @return the items whose network stage can start
+     */
+    @Nonnull
+    private synchronized List<Item> releaseRequestSlot() {
+        --requestsInFlight;
+        return dispatch();
+    }
+
+    private void runParsingStage(@Nonnull final Item item,
+                                 @Nonnull final StreamExtractor extractor) {
+        try {
+            complete(item, StreamInfo.getInfo(extractor, options.getRequestedFields()), null);
+        } catch (final Exception e) {
+            complete(item, null, e);
+        }
+    }
+
+    private void complete(@Nonnull final Item item,
+                          @Nullable final StreamInfo streamInfo,
+                          @Nullable final Exception error) {
+        results.add(new Result(item.index, item.url, streamInfo, error));
+
+        final List<Item> items;
+        synchronized (this) {
+            // Release the other items of the service once its first extraction completed
+            final Deque<Item> waitingItems = waitingForBootstrap.remove(
+                    Objects.requireNonNull(item.service).getServiceId());
+            if (waitingItems == null) {
+                return;
+            }
+            pending.addAll(waitingItems);
+            items = dispatch();
+        }
+        submit(items);
+    }
+}
@@ -0,0 +1,143 @@
+package org.schabi.newpipe.extractor.stream;
+
+import java.util.EnumSet;
+
+/**
+ * An enum representing the optional data of a {@link StreamInfo} which can be requested with
+ * {@link StreamInfo#getInfo(StreamExtractor, EnumSet)}.
+ *
+ * <p>
+ * The important data (service ID, URLs, ID, name, stream type and age limit) and the streams
+ * (DASH and HLS manifests, audio, video and video-only streams) are always extracted, as a
+ * {@link StreamInfo} cannot be built without them.
+ * </p>
+ *
+ * <p>
+ * {@link StreamExtractor}s can use the fields requested (see
+ * {@link StreamExtractor#getRequestedFields()}) to skip network requests which are only needed
+ * by fields which have not been requested.
+ * </p>
+ */
+public enum StreamInfoField {
+
+    /**
+     * @see StreamExtractor#getThumbnailUrl()
+     */
+    THUMBNAIL,
+
+    /**
+     * @see StreamExtractor#getLength()
+     */
+    DURATION,
+
+    /**
+     * The name, URL, avatar URL, verification status and subscriber count of the uploader.
+     *
+     * @see StreamExtractor#getUploaderName()
+     */
+    UPLOADER,
+
+    /**
+     * The name, URL and avatar URL of the sub-channel.
+     *
+     * @see StreamExtractor#getSubChannelName()
+     */
+    SUB_CHANNEL,
+
+    /**
+     * @see StreamExtractor#getDescription()
+     */
+    DESCRIPTION,
+
+    /**
+     * @see StreamExtractor#getViewCount()
+     */
+    VIEW_COUNT,
+
+    /**
+     * The textual and the parsed upload dates.
+     *
+     * @see StreamExtractor#getUploadDate()
+     */
+    UPLOAD_DATE,
+
+    /**
+     * @see StreamExtractor#getTimeStamp()
+     */
+    START_POSITION,
+
+    /**
+     * @see StreamExtractor#getLikeCount()
+     */
+    LIKE_COUNT,
+
+    /**
+     * @see StreamExtractor#getDislikeCount()
+     */
+    DISLIKE_COUNT,
+
+    /**
+     * @see StreamExtractor#getSubtitlesDefault()
+     */
+    SUBTITLES,
+
+    /**
+     * @see StreamExtractor#getHost()
+     */
+    HOST,
+
+    /**
+     * @see StreamExtractor#getPrivacy()
+     */
+    PRIVACY,
+
+    /**
+     * @see StreamExtractor#getCategory()
+     */
+    CATEGORY,
+
+    /**
+     * @see StreamExtractor#getLicence()
+     */
+    LICENCE,
+
+    /**
+     * @see StreamExtractor#getLanguageInfo()
+     */
+    LANGUAGE_INFO,
+
+    /**
+     * @see StreamExtractor#getTags()
+     */
+    TAGS,
+
+    /**
+     * @see StreamExtractor#getSupportInfo()
+     */
+    SUPPORT_INFO,
+
+    /**
+     * @see StreamExtractor#getStreamSegments()
+     */
+    STREAM_SEGMENTS,
+
+    /**
+     * @see StreamExtractor#getMetaInfo()
+     */
+    META_INFO,
+
+    /**
+     * @see StreamExtractor#getFrames()
+     */
+    PREVIEW_FRAMES,
+
+    /**
+     * @see StreamExtractor#isShortFormContent()
+     */
+    SHORT_FORM_CONTENT,
+
+    /**
+     * @see StreamExtractor#getRelatedItems()
+     */
+    RELATED_ITEMS
+}
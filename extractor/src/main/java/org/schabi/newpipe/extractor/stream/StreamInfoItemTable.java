@@ -0,0 +1,598 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A read-only list of {@link StreamInfoItem}s storing the values of its items in columns of
+ * primitive arrays, instead of in one object per item.
+ *
+ * <p>
+ * The durations, the view counts and the upload dates are stored in {@code long} arrays, the
+ * stream types in a {@code byte} array, and the strings in a table shared by all the items, in
+ * which each distinct string is stored once. This is meant for very large result sets kept in
+ * memory, such as feeds or snapshots of playlists with hundreds of thousands of items, for which
+ * the headers and the references of the item objects are most of the used heap.
+ * </p>
+ *
+ * <p>
+ * The items returned by {@link #get(int)} are views reading the columns of the table, which are
+ * created on each call and throw an {@link UnsupportedOperationException} when modified. Use
+ * {@link #toStreamInfoItem(int)} to get a modifiable copy of an item. Upload dates are stored
+ * with the precision of a second, in UTC.
+ * </p>
+ *
+ * <p>
+ * A table can be converted from and to an {@link InfoItemsPage}, keeping the next page and the
+ * errors of the page.
+ * </p>
+ */
+public final class StreamInfoItemTable extends AbstractList<StreamInfoItem>
+        implements RandomAccess, Serializable {
+
+    /**
+     * The value returned by {@link #getUploadEpochSecond(int)} for items without upload date.
+     */
+    public static final long NO_UPLOAD_DATE = Long.MIN_VALUE;
+
+    private static final int URL = 0;
+    private static final int NAME = 1;
+    private static final int THUMBNAIL_URL = 2;
+    private static final int UPLOADER_NAME = 3;
+    private static final int UPLOADER_URL = 4;
+    private static final int UPLOADER_AVATAR_URL = 5;
+    private static final int TEXTUAL_UPLOAD_DATE = 6;
+    private static final int SHORT_DESCRIPTION = 7;
+    private static final int STRING_COLUMN_COUNT = 8;
+
+    /**
+     * The index of {@code null} in the string columns.
+     */
+    private static final int NULL_STRING = -1;
+    /**
+     * The value of {@code null} in the stream type column.
+     */
+    private static final byte NULL_STREAM_TYPE = -1;
+
+    private static final byte UPLOADER_VERIFIED = 1;
+    private static final byte SHORT_FORM_CONTENT = 1 << 1;
+    private static final byte APPROXIMATE_UPLOAD_DATE = 1 << 2;
+
+    private static final StreamType[] STREAM_TYPES = StreamType.values();
+
+    private final int size;
+    @Nonnull
+    private final String[] strings;
+    @Nonnull
+    private final int[] serviceIds;
+    /**
+     * One column per string field, containing the indices of the values in {@link #strings}.
+     */
+    @Nonnull
+    private final int[][] stringColumns;
+    @Nonnull
+    private final long[] durations;
+    @Nonnull
+    private final long[] viewCounts;
+    @Nonnull
+    private final long[] uploadEpochSeconds;
+    @Nonnull
+    private final byte[] streamTypes;
+    @Nonnull
+    private final byte[] flags;
+
+    @Nullable
+    private final Page nextPage;
+    @Nonnull
+    private final List<Throwable> errors;
+
+    private StreamInfoItemTable(@Nonnull final Builder builder) {
+        size = builder.size;
+        strings = builder.strings.toArray(new String[0]);
+        serviceIds = Arrays.copyOf(builder.serviceIds, size);
+        stringColumns = new int[STRING_COLUMN_COUNT][];
+        for (int column = 0; column < STRING_COLUMN_COUNT; column++) {
+            stringColumns[column] = Arrays.copyOf(builder.stringColumns[column], size);
+        }
+        durations = Arrays.copyOf(builder.durations, size);
+        viewCounts = Arrays.copyOf(builder.viewCounts, size);
+        uploadEpochSeconds = Arrays.copyOf(builder.uploadEpochSeconds, size);
+        streamTypes = Arrays.copyOf(builder.streamTypes, size);
+        flags = Arrays.copyOf(builder.flags, size);
+        nextPage = builder.nextPage;
+        errors = Collections.unmodifiableList(new ArrayList<>(builder.errors));
+    }
+
+    /**
+     * Create a table with the items, the next page and the errors of a page.
+     *
+     * @param page a page of stream items
+     * @return a table with the content of the page
+     */
+    @Nonnull
+    public static StreamInfoItemTable fromPage(
+            @Nonnull final InfoItemsPage<? extends StreamInfoItem> page) {
+        return new Builder()
+                .addAll(page.getItems())
+                .setNextPage(page.getNextPage())
+                .addErrors(page.getErrors())
+                .build();
+    }
+
+    /**
+     * Create a table with the given items, without next page and errors.
+     *
+     * @param items stream items
+     * @return a table with the items
+     */
+    @Nonnull
+    public static StreamInfoItemTable fromItems(
+            @Nonnull final Collection<? extends StreamInfoItem> items) {
+        return new Builder().addAll(items).build();
+    }
+
+    /**
+     * @return a page whose items are this table, with the next page and the errors of the
+     * table
+     */
+    @Nonnull
+    public InfoItemsPage<StreamInfoItem> toPage() {
+        return new InfoItemsPage<>(this, nextPage, errors);
+    }
+
+    @Nullable
+    public Page getNextPage() {
+        return nextPage;
+    }
+
+    @Nonnull
+    public List<Throwable> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the number of distinct strings stored by the table
+     */
+    public int getStringCount() {
+        return strings.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a read-only view of an item, reading its values from the columns of the table.
+     *
+     * @param index the index of the item
+     * @return a view of the item
+     */
+    @Override
+    public StreamInfoItem get(final int index) {
+        checkIndex(index);
+        return new ItemView(index);
+    }
+
+    /**
+     * Get a modifiable copy of an item, which does not reference the table.
+     *
+     * @param index the index of the item
+     * @return a copy of the item
+     */
+    @Nonnull
+    public StreamInfoItem toStreamInfoItem(final int index) {
+        final StreamInfoItem item = new StreamInfoItem(getServiceId(index), getUrl(index),
+                getName(index), getStreamType(index));
+        item.setThumbnailUrl(getThumbnailUrl(index));
+        item.setUploaderName(getUploaderName(index));
+        item.setUploaderUrl(getUploaderUrl(index));
+        item.setUploaderAvatarUrl(getUploaderAvatarUrl(index));
+        item.setUploaderVerified(isUploaderVerified(index));
+        item.setTextualUploadDate(getTextualUploadDate(index));
+        item.setUploadDate(getUploadDate(index));
+        item.setShortDescription(getShortDescription(index));
+        item.setShortFormContent(isShortFormContent(index));
+        item.setDuration(getDuration(index));
+        item.setViewCount(getViewCount(index));
+        return item;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Columns
+    //////////////////////////////////////////////////////////////////////////*/
+
+    public int getServiceId(final int index) {
+        checkIndex(index);
+        return serviceIds[index];
+    }
+
+    public String getUrl(final int index) {
+        return getString(URL, index);
+    }
+
+    public String getName(final int index) {
+        return getString(NAME, index);
+    }
+
+    public String getThumbnailUrl(final int index) {
+        return getString(THUMBNAIL_URL, index);
+    }
+
+    @Nullable
+    public StreamType getStreamType(final int index) {
+        checkIndex(index);
+        final byte streamType = streamTypes[index];
+        return streamType == NULL_STREAM_TYPE ? null : STREAM_TYPES[streamType];
+    }
+
+    public String getUploaderName(final int index) {
+        return getString(UPLOADER_NAME, index);
+    }
+
+    public String getUploaderUrl(final int index) {
+        return getString(UPLOADER_URL, index);
+    }
+
+    public String getUploaderAvatarUrl(final int index) {
+        return getString(UPLOADER_AVATAR_URL, index);
+    }
+
+    public boolean isUploaderVerified(final int index) {
+        return hasFlag(UPLOADER_VERIFIED, index);
+    }
+
+    public String getTextualUploadDate(final int index) {
+        return getString(TEXTUAL_UPLOAD_DATE, index);
+    }
+
+    /**
+     * @param index the index of the item
+     * @return the upload date of the item, as a number of seconds since the epoch, or
+     * {@link #NO_UPLOAD_DATE} if the item has no upload date
+     */
+    public long getUploadEpochSecond(final int index) {
+        checkIndex(index);
+        return uploadEpochSeconds[index];
+    }
+
+    @Nullable
+    public DateWrapper getUploadDate(final int index) {
+        final long uploadEpochSecond = getUploadEpochSecond(index);
+        if (uploadEpochSecond == NO_UPLOAD_DATE) {
+            return null;
+        }
+        return new DateWrapper(OffsetDateTime.ofInstant(
+                Instant.ofEpochSecond(uploadEpochSecond), ZoneOffset.UTC),
+                hasFlag(APPROXIMATE_UPLOAD_DATE, index));
+    }
+
+    public String getShortDescription(final int index) {
+        return getString(SHORT_DESCRIPTION, index);
+    }
+
+    public boolean isShortFormContent(final int index) {
+        return hasFlag(SHORT_FORM_CONTENT, index);
+    }
+
+    public long getDuration(final int index) {
+        checkIndex(index);
+        return durations[index];
+    }
+
+    public long getViewCount(final int index) {
+        checkIndex(index);
+        return viewCounts[index];
+    }
+
+    private String getString(final int column, final int index) {
+        checkIndex(index);
+        final int stringIndex = stringColumns[column][index];
+        return stringIndex == NULL_STRING ? null : strings[stringIndex];
+    }
+
+    private boolean hasFlag(final byte flag, final int index) {
+        checkIndex(index);
+        return (flags[index] & flag) != 0;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Views
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * A read-only {@link StreamInfoItem} reading its values from the columns of the table.
+     */
+    private final class ItemView extends StreamInfoItem {
+        private final int index;
+
+        ItemView(final int index) {
+            // The URL, the name and the stream type are already stored in the table, so passing
+            // them does not create new objects
+            super(serviceIds[index], getString(URL, index), getString(NAME, index),
+                    StreamInfoItemTable.this.getStreamType(index));
+            this.index = index;
+        }
+
+        @Override
+        public String getThumbnailUrl() {
+            return StreamInfoItemTable.this.getThumbnailUrl(index);
+        }
+
+        @Override
+        public String getUploaderName() {
+            return StreamInfoItemTable.this.getUploaderName(index);
+        }
+
+        @Override
+        public String getUploaderUrl() {
+            return StreamInfoItemTable.this.getUploaderUrl(index);
+        }
+
+        @Nullable
+        @Override
+        public String getUploaderAvatarUrl() {
+            return StreamInfoItemTable.this.getUploaderAvatarUrl(index);
+        }
+
+        @Override
+        public boolean isUploaderVerified() {
+            return StreamInfoItemTable.this.isUploaderVerified(index);
+        }
+
+        @Override
+        public String getTextualUploadDate() {
+            return StreamInfoItemTable.this.getTextualUploadDate(index);
+        }
+
+        @Nullable
+        @Override
+        public DateWrapper getUploadDate() {
+            return StreamInfoItemTable.this.getUploadDate(index);
+        }
+
+        @Override
+        public String getShortDescription() {
+            return StreamInfoItemTable.this.getShortDescription(index);
+        }
+
+        @Override
+        public boolean isShortFormContent() {
+            return StreamInfoItemTable.this.isShortFormContent(index);
+        }
+
+        @Override
+        public long getDuration() {
+            return StreamInfoItemTable.this.getDuration(index);
+        }
+
+        @Override
+        public long getViewCount() {
+            return StreamInfoItemTable.this.getViewCount(index);
+        }
+
+        @Override
+        public void setThumbnailUrl(final String thumbnailUrl) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setUploaderName(final String uploaderName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setUploaderUrl(final String uploaderUrl) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setUploaderAvatarUrl(final String uploaderAvatarUrl) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setUploaderVerified(final boolean uploaderVerified) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setTextualUploadDate(final String textualUploadDate) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setUploadDate(final DateWrapper uploadDate) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setShortDescription(final String shortDescription) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setShortFormContent(final boolean shortFormContent) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setDuration(final long duration) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setViewCount(final long viewCount) {
+            throw readOnly();
+        }
+
+        @Override
+        public String toString() {
+            // StreamInfoItem.toString() reads its own fields, which are not set in views
+            return toStreamInfoItem(index).toString();
+        }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException(
+                    "Items of a StreamInfoItemTable are read-only");
+        }
+
+        /**
+         * Serialize views as standalone copies, instead of with their whole table.
+         */
+        private Object writeReplace() {
+            return toStreamInfoItem(index);
+        }
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Builder
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * A builder of {@link StreamInfoItemTable}s, which stores each distinct string of the added
+     * items once.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int size;
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIndices = new HashMap<>();
+        private int[] serviceIds = new int[INITIAL_CAPACITY];
+        private final int[][] stringColumns = new int[STRING_COLUMN_COUNT][INITIAL_CAPACITY];
+        private long[] durations = new long[INITIAL_CAPACITY];
+        private long[] viewCounts = new long[INITIAL_CAPACITY];
+        private long[] uploadEpochSeconds = new long[INITIAL_CAPACITY];
+        private byte[] streamTypes = new byte[INITIAL_CAPACITY];
+        private byte[] flags = new byte[INITIAL_CAPACITY];
+
+        @Nullable
+        private Page nextPage;
+        private final List<Throwable> errors = new ArrayList<>();
+
+        /**
+         * Add an item to the table. The item is not referenced by the table, nor by this
+         * builder.
+         *
+         * @param item a stream item
+         * @return this builder
+         */
+        public Builder add(@Nonnull final StreamInfoItem item) {
+            ensureCapacity(size + 1);
+
+            serviceIds[size] = item.getServiceId();
+            stringColumns[URL][size] = indexOf(item.getUrl());
+            stringColumns[NAME][size] = indexOf(item.getName());
+            stringColumns[THUMBNAIL_URL][size] = indexOf(item.getThumbnailUrl());
+            stringColumns[UPLOADER_NAME][size] = indexOf(item.getUploaderName());
+            stringColumns[UPLOADER_URL][size] = indexOf(item.getUploaderUrl());
+            stringColumns[UPLOADER_AVATAR_URL][size] = indexOf(item.getUploaderAvatarUrl());
+            stringColumns[TEXTUAL_UPLOAD_DATE][size] = indexOf(item.getTextualUploadDate());
+            stringColumns[SHORT_DESCRIPTION][size] = indexOf(item.getShortDescription());
+            durations[size] = item.getDuration();
+            viewCounts[size] = item.getViewCount();
+
+            final StreamType streamType = item.getStreamType();
+            streamTypes[size] = streamType == null
+                    ? NULL_STREAM_TYPE : (byte) streamType.ordinal();
+
+            byte itemFlags = 0;
+            if (item.isUploaderVerified()) {
+                itemFlags |= UPLOADER_VERIFIED;
+            }
+            if (item.isShortFormContent()) {
+                itemFlags |= SHORT_FORM_CONTENT;
+            }
+            final DateWrapper uploadDate = item.getUploadDate();
+            if (uploadDate == null) {
+                uploadEpochSeconds[size] = NO_UPLOAD_DATE;
+            } else {
+                uploadEpochSeconds[size] = uploadDate.offsetDateTime().toEpochSecond();
+                if (uploadDate.isApproximation()) {
+                    itemFlags |= APPROXIMATE_UPLOAD_DATE;
+                }
+            }
+            flags[size] = itemFlags;
+
+            size++;
+            return this;
+        }
+
+        public Builder addAll(@Nonnull final Collection<? extends StreamInfoItem> items) {
+            ensureCapacity(size + items.size());
+            for (final StreamInfoItem item : items) {
+                add(item);
+            }
+            return this;
+        }
+
+        public Builder setNextPage(@Nullable final Page nextPage) {
+            this.nextPage = nextPage;
+            return this;
+        }
+
+        public Builder addErrors(@Nonnull final Collection<? extends Throwable> newErrors) {
+            errors.addAll(newErrors);
+            return this;
+        }
+
+        @Nonnull
+        public StreamInfoItemTable build() {
+            return new StreamInfoItemTable(this);
+        }
+
+        private int indexOf(@Nullable final String string) {
+            if (string == null) {
+                return NULL_STRING;
+            }
+            final Integer index = stringIndices.get(string);
+            if (index != null) {
+                return index;
+            }
+            strings.add(string);
+            stringIndices.put(string, strings.size() - 1);
+            return strings.size() - 1;
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= serviceIds.length) {
+                return;
+            }
+            final int newCapacity = Math.max(capacity, serviceIds.length + serviceIds.length / 2);
+            serviceIds = Arrays.copyOf(serviceIds, newCapacity);
+            for (int column = 0; column < STRING_COLUMN_COUNT; column++) {
+                stringColumns[column] = Arrays.copyOf(stringColumns[column], newCapacity);
+            }
+            durations = Arrays.copyOf(durations, newCapacity);
+            viewCounts = Arrays.copyOf(viewCounts, newCapacity);
+            uploadEpochSeconds = Arrays.copyOf(uploadEpochSeconds, newCapacity);
+            streamTypes = Arrays.copyOf(streamTypes, newCapacity);
+            flags = Arrays.copyOf(flags, newCapacity);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.schabi.newpipe.extractor.stream;
 
 import org.schabi.newpipe.extractor.InfoItemsCollector;
+import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.FoundAdException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.utils.StringPool;
 
 import java.util.Comparator;
 
+import javax.annotation.Nullable;
+
 /*
  * Created by Christian Schabesberger on 28.02.16.
  *
@@ -29,6 +33,10 @@ import java.util.Comparator;
 public class StreamInfoItemsCollector
         extends InfoItemsCollector<StreamInfoItem, StreamInfoItemExtractor> {
 
+    private boolean lazy = NewPipe.isLazyInfoItems();
+    @Nullable
+    private StringPool stringPool;
+
     public StreamInfoItemsCollector(final int serviceId) {
         super(serviceId);
     }
@@ -38,12 +46,68 @@ public class StreamInfoItemsCollector
         super(serviceId, comparator);
     }
 
+    /**
+     * Set whether the items should be {@link LazyStreamInfoItem}s, whose optional information is
+     * only extracted when it is accessed, instead of items whose information is all extracted
+     * when they are collected.
+     *
+     * <p>
+     * The errors which happen while extracting the optional information of lazy items are not
+     * added to the errors of this collector, but kept by each item, see
+     * {@link LazyStreamInfoItem#getErrors()}.
+     * </p>
+     *
+     * <p>
+     * The default value is {@link NewPipe#isLazyInfoItems()}.
+     * </p>
+     *
+     * @param lazy whether the collected items should be lazy
+     */
+    public void setLazy(final boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Set the pool of the strings repeated by many items, such as the name, the URL and the
+     * avatar URL of their uploader and their textual upload date, so that the items share a
+     * single instance of each of them instead of one per item.
+     *
+     * <p>
+     * A pool can be shared by many collectors, for instance to deduplicate the strings of all the
+     * pages of a channel.
+     * </p>
+     *
+     * @param stringPool the pool, or {@code null} to not deduplicate strings, which is the default
+     */
+    public void setStringPool(@Nullable final StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+
+    @Nullable
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+
+    @Nullable
+    private String intern(@Nullable final String value) {
+        return stringPool == null ? value : stringPool.intern(value);
+    }
+
     @Override
     public StreamInfoItem extract(final StreamInfoItemExtractor extractor) throws ParsingException {
         if (extractor.isAd()) {
             throw new FoundAdException("Found ad");
         }
 
+        if (lazy) {
+            return new LazyStreamInfoItem(getServiceId(), extractor.getUrl(),
+                    extractor.getName(), extractor.getStreamType(), extractor, stringPool);
+        }
+
         final StreamInfoItem resultItem = new StreamInfoItem(
                 getServiceId(), extractor.getUrl(), extractor.getName(), extractor.getStreamType());
 
@@ -54,12 +118,12 @@ public class StreamInfoItemsCollector
             addError(e);
         }
         try {
-            resultItem.setUploaderName(extractor.getUploaderName());
+            resultItem.setUploaderName(intern(extractor.getUploaderName()));
         } catch (final Exception e) {
             addError(e);
         }
         try {
-            resultItem.setTextualUploadDate(extractor.getTextualUploadDate());
+            resultItem.setTextualUploadDate(intern(extractor.getTextualUploadDate()));
         } catch (final Exception e) {
             addError(e);
         }
@@ -79,12 +143,12 @@ public class StreamInfoItemsCollector
             addError(e);
         }
         try {
-            resultItem.setUploaderUrl(extractor.getUploaderUrl());
+            resultItem.setUploaderUrl(intern(extractor.getUploaderUrl()));
         } catch (final Exception e) {
             addError(e);
         }
         try {
-            resultItem.setUploaderAvatarUrl(extractor.getUploaderAvatarUrl());
+            resultItem.setUploaderAvatarUrl(intern(extractor.getUploaderAvatarUrl()));
         } catch (final Exception e) {
             addError(e);
         }
@@ -0,0 +1,243 @@
+package org.schabi.newpipe.extractor.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Factories of the executors which can be used to run the concurrent operations of the
+ * extractor, such as prefetching pages, fetching feeds, searching several services or requesting
+ * the chunks of a playlist.
+ *
+ * <p>
+ * All these operations use the executor set with
+ * {@link org.schabi.newpipe.extractor.NewPipe#setExecutor(Executor)}, which is by default the
+ * shared {@link #getDefaultExecutor() bounded executor}. Blocking requests are a large part of
+ * their tasks, so environments where threads are cheap can use
+ * {@link #newVirtualThreadPerTaskExecutor() virtual threads} to run thousands of them at once,
+ * while environments where threads are expensive can run them on the threads requesting them
+ * with {@link #callerRunsExecutor()}.
+ * </p>
+ */
+public final class ExtractorExecutors {
+
+    /**
+     * The maximum number of threads of the {@link #getDefaultExecutor() default executor}.
+     */
+    public static final int DEFAULT_MAXIMUM_THREADS = 64;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final Executor CALLER_RUNS_EXECUTOR = Runnable::run;
+
+    @Nullable
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR =
+            getNewVirtualThreadPerTaskExecutorMethod();
+
+    private ExtractorExecutors() {
+    }
+
+    /**
+     * Create an executor running its tasks on at most the given number of daemon threads, which
+     * are created when needed and stopped when they have been idle for some time.
+     *
+     * <p>
+     * When all the threads are busy, tasks are run on the thread submitting them instead of
+     * being queued, so that tasks waiting for other tasks never wait for a thread which will not
+     * be available.
+     * </p>
+     *
+     * @param maximumThreads the maximum number of threads, which must be positive
+     * @return a new executor, which should be shut down once not used anymore
+     */
+    @Nonnull
+    public static ExecutorService newBoundedExecutor(final int maximumThreads) {
+        if (maximumThreads <= 0) {
+            throw new IllegalArgumentException("Invalid maximum threads: " + maximumThreads);
+        }
+        return new ThreadPoolExecutor(0, maximumThreads, 30, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable,
+                            "NewPipeExtractor-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Get the executor used when none has been set with
+     * {@link org.schabi.newpipe.extractor.NewPipe#setExecutor(Executor)}: a
+     * {@link #newBoundedExecutor(int) bounded executor} with
+     * {@value #DEFAULT_MAXIMUM_THREADS} threads, created when it is first used.
+     *
+     * @return the default executor, which must not be shut down
+     */
+    @Nonnull
+    public static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Get an executor running each task on the thread submitting it, so that no thread is
+     * created by the extractor. Concurrent operations are then run one task after the other.
+     *
+     * @return an executor running tasks on the current thread
+     */
+    @Nonnull
+    public static Executor callerRunsExecutor() {
+        return CALLER_RUNS_EXECUTOR;
+    }
+
+    /**
+     * @return whether {@link #newVirtualThreadPerTaskExecutor()} is supported by the runtime,
+     * i.e. whether it is a Java 21 or newer one
+     */
+    public static boolean isVirtualThreadPerTaskExecutorSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task, with
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}.
+     *
+     * <p>
+     * The extractor targets older Java versions and Android, so the method is looked up when
+     * this class is loaded.
+     * </p>
+     *
+     * @return a new executor, which should be shut down once not used anymore
+     * @throws UnsupportedOperationException if virtual threads are not supported by the runtime
+     * @see #isVirtualThreadPerTaskExecutorSupported()
+     */
+    @Nonnull
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads are not supported by this runtime");
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (final IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException("Could not create virtual thread executor",
+                    e);
+        }
+    }
+
+    /**
+     * Get an executor running the tasks submitted to it on another executor, with at most the
+     * given number of them running at the same time. The other tasks are queued, in submission
+     * order, until a running one completes.
+     *
+     * @param executor       the executor running the tasks
+     * @param maxConcurrency the maximum number of tasks running at the same time, which must be
+     *                       positive
+     * @return an executor limiting the concurrency of its tasks
+     */
+    @Nonnull
+    public static Executor limit(@Nonnull final Executor executor, final int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Invalid max concurrency: " + maxConcurrency);
+        }
+        return new LimitedExecutor(Objects.requireNonNull(executor, "executor is null"),
+                maxConcurrency);
+    }
+
+    /**
+     * Run a task on an executor, or on the current thread if the executor rejects it.
+     *
+     * @param executor an executor
+     * @param task     the task to run
+     */
+    public static void executeOrRun(@Nonnull final Executor executor,
+                                    @Nonnull final Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    @Nullable
+    private static Method getNewVirtualThreadPerTaskExecutorMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (final NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final Executor INSTANCE = newBoundedExecutor(DEFAULT_MAXIMUM_THREADS);
+    }
+
+    private static final class LimitedExecutor implements Executor {
+        @Nonnull
+        private final Executor executor;
+        private final int maxConcurrency;
+        // Guarded by this
+        private final Queue<Runnable> queue = new ArrayDeque<>();
+        private int running = 0;
+
+        LimitedExecutor(@Nonnull final Executor executor, final int maxConcurrency) {
+            this.executor = executor;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        @Override
+        public void execute(@Nonnull final Runnable command) {
+            Objects.requireNonNull(command, "command is null");
+            synchronized (this) {
+                if (running >= maxConcurrency) {
+                    queue.add(command);
+                    return;
+                }
+                ++running;
+            }
+
+            try {
+                executor.execute(() -> runAll(command));
+            } catch (final RejectedExecutionException e) {
+                synchronized (this) {
+                    --running;
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Run a task, then the queued tasks until there are none left.
+         */
+        private void runAll(@Nonnull final Runnable firstTask) {
+            Runnable task = firstTask;
+            while (task != null) {
+                try {
+                    task.run();
+                } catch (final RuntimeException e) {
+                    // Keep running the queued tasks, as the executor would do with other tasks
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+
+                synchronized (this) {
+                    task = queue.poll();
+                    if (task == null) {
+                        --running;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.grack.nanojson.JsonParserException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvents;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -106,17 +107,25 @@ public final class JsonUtils {
     }
 
     public static JsonArray toJsonArray(final String responseBody) throws ParsingException {
+        final long startTime = ExtractionEvents.start();
         try {
-            return JsonParser.array().from(responseBody);
+            final JsonArray array = JsonParser.array().from(responseBody);
+            ExtractionEvents.reportJsonParsing("array", responseBody, startTime, null);
+            return array;
         } catch (final JsonParserException e) {
+            ExtractionEvents.reportJsonParsing("array", responseBody, startTime, e);
             throw new ParsingException("Could not parse JSON", e);
         }
     }
 
     public static JsonObject toJsonObject(final String responseBody) throws ParsingException {
+        final long startTime = ExtractionEvents.start();
         try {
-            return JsonParser.object().from(responseBody);
+            final JsonObject object = JsonParser.object().from(responseBody);
+            ExtractionEvents.reportJsonParsing("object", responseBody, startTime, null);
+            return object;
         } catch (final JsonParserException e) {
+            ExtractionEvents.reportJsonParsing("object", responseBody, startTime, e);
             throw new ParsingException("Could not parse JSON", e);
         }
     }
@@ -0,0 +1,86 @@
+package org.schabi.newpipe.extractor.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * A pool of strings, used to share a single instance of the strings repeated by many items, such
+ * as the name, the URL and the avatar URL of the uploader of all the streams of a channel.
+ *
+ * <p>
+ * Unlike {@link String#intern()}, the strings are only kept as long as the pool is referenced,
+ * so a pool can be scoped to a collector, to a cache or to a whole application. It can be used
+ * from many threads at once.
+ * </p>
+ *
+ * <p>
+ * The pool is cleared when it reaches its maximum size, so that a long-living pool does not keep
+ * growing with strings which are not used anymore.
+ * </p>
+ */
+public final class StringPool {
+
+    /**
+     * The default maximum number of strings of a pool.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+    private final int maximumSize;
+
+    public StringPool() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of strings of the pool, which must be positive
+     */
+    public StringPool(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Get the instance of the pool equal to the given string, adding the string to the pool if
+     * there is none.
+     *
+     * @param value a string
+     * @return the instance of the pool equal to the string, or {@code null} if the string is
+     * {@code null}
+     */
+    @Nullable
+    public String intern(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        final String pooledValue = strings.get(value);
+        if (pooledValue != null) {
+            return pooledValue;
+        }
+
+        if (strings.size() >= maximumSize) {
+            strings.clear();
+        }
+        final String previousValue = strings.putIfAbsent(value, value);
+        return previousValue == null ? value : previousValue;
+    }
+
+    /**
+     * @return the number of strings of the pool
+     */
+    public int size() {
+        return strings.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void clear() {
+        strings.clear();
+    }
+}
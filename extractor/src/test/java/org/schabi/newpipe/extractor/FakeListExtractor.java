@@ -0,0 +1,78 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+/**
+ * A list extractor returning {@code pageCount} pages of {@code itemsPerPage} items, without
+ * network requests. The initial page is followed by pages whose URLs are their indexes, and the
+ * URLs of the items are {@code pageIndex/itemIndex}.
+ */
+class FakeListExtractor extends ListExtractor<StreamInfoItem> {
+    final List<String> requestedPages = Collections.synchronizedList(new ArrayList<>());
+    private final int pageCount;
+    private final int itemsPerPage;
+    private final int failingPage;
+
+    /**
+     * @param failingPage the index of the page for which a {@link ParsingException} is thrown, or
+     *                    {@code -1}
+     */
+    FakeListExtractor(final int pageCount, final int itemsPerPage, final int failingPage) {
+        super(YouTube, new ListLinkHandler("https://example.com", "https://example.com",
+                "id", Collections.emptyList(), ""));
+        this.pageCount = pageCount;
+        this.itemsPerPage = itemsPerPage;
+        this.failingPage = failingPage;
+    }
+
+    @Override
+    public void onFetchPage(@Nonnull final Downloader downloader) {
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "fake";
+    }
+
+    @Nonnull
+    @Override
+    public InfoItemsPage<StreamInfoItem> getInitialPage() {
+        requestedPages.add("initial");
+        return buildPage(0);
+    }
+
+    @Override
+    public InfoItemsPage<StreamInfoItem> getPage(final Page page) throws ExtractionException {
+        requestedPages.add(page.getUrl());
+        final int index = Integer.parseInt(page.getUrl());
+        if (index == failingPage) {
+            throw new ParsingException("Could not get page " + index);
+        }
+        return buildPage(index);
+    }
+
+    private InfoItemsPage<StreamInfoItem> buildPage(final int index) {
+        final List<StreamInfoItem> items = new ArrayList<>();
+        for (int i = 0; i < itemsPerPage; i++) {
+            items.add(new StreamInfoItem(YouTube.getServiceId(), index + "/" + i, "item",
+                    StreamType.VIDEO_STREAM));
+        }
+        final Page nextPage = index + 1 < pageCount ? new Page(String.valueOf(index + 1)) : null;
+        return new InfoItemsPage<>(items, nextPage,
+                Collections.singletonList(new ParsingException("Error on page " + index)));
+    }
+}
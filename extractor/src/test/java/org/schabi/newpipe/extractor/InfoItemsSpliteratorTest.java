@@ -0,0 +1,71 @@
+package org.schabi.newpipe.extractor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderTestImpl;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InfoItemsSpliteratorTest {
+
+    @BeforeAll
+    static void setUp() {
+        NewPipe.init(DownloaderTestImpl.getInstance());
+    }
+
+    @Test
+    void streamsAllItemsInOrder() {
+        final FakeListExtractor extractor = new FakeListExtractor(3, 2, -1);
+        final List<Throwable> errors = new ArrayList<>();
+
+        final List<String> urls = extractor.getAllItems(errors::add)
+                .map(InfoItem::getUrl)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("0/0", "0/1", "1/0", "1/1", "2/0", "2/1"), urls);
+        assertEquals(3, errors.size());
+    }
+
+    @Test
+    void limitOnlyFetchesConsumedPages() {
+        final FakeListExtractor extractor = new FakeListExtractor(100, 10, -1);
+        final List<Throwable> errors = new ArrayList<>();
+
+        final long count = extractor.getAllItems(errors::add).limit(25).count();
+
+        assertEquals(25, count);
+        assertEquals(List.of("initial", "1", "2"), extractor.requestedPages);
+    }
+
+    @Test
+    void takeWhileStopsFetching() {
+        final FakeListExtractor extractor = new FakeListExtractor(100, 10, -1);
+        final List<Throwable> errors = new ArrayList<>();
+
+        final long count = extractor.getAllItems(errors::add)
+                .takeWhile(item -> !item.getUrl().startsWith("1/"))
+                .count();
+
+        assertEquals(10, count);
+        assertEquals(List.of("initial", "1"), extractor.requestedPages);
+    }
+
+    @Test
+    void fetchErrorEndsStream() {
+        final FakeListExtractor extractor = new FakeListExtractor(10, 2, 2);
+        final List<Throwable> errors = new ArrayList<>();
+
+        final long count = extractor.getAllItems(errors::add).count();
+
+        assertEquals(4, count);
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(2) instanceof ParsingException);
+        assertEquals("Could not get page 2", errors.get(2).getMessage());
+    }
+}
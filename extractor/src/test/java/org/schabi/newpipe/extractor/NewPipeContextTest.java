@@ -0,0 +1,99 @@
+package org.schabi.newpipe.extractor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+public class NewPipeContextTest {
+    private NewPipeContext previousDefaultContext;
+
+    @BeforeEach
+    void saveDefaultContext() {
+        previousDefaultContext = NewPipe.getDefaultContext();
+    }
+
+    @AfterEach
+    void restoreDefaultContext() {
+        NewPipe.init(previousDefaultContext.getDownloader(),
+                previousDefaultContext.getPreferredLocalization(),
+                previousDefaultContext.getPreferredContentCountry());
+    }
+
+    @Test
+    void testDefaultContext() {
+        final Downloader downloader = new UnusedDownloader();
+        NewPipe.init(downloader, new Localization("de", "CH"));
+        assertSame(downloader, NewPipe.getDefaultContext().getDownloader());
+        assertEquals(new ContentCountry("CH"),
+                NewPipe.getDefaultContext().getPreferredContentCountry());
+
+        NewPipe.setPreferredContentCountry(new ContentCountry("AT"));
+        assertSame(downloader, NewPipe.getDefaultContext().getDownloader());
+        assertEquals(new Localization("de", "CH"),
+                NewPipe.getDefaultContext().getPreferredLocalization());
+        assertEquals(new ContentCountry("AT"), NewPipe.getPreferredContentCountry());
+
+        NewPipe.setPreferredLocalization(null);
+        assertEquals(Localization.DEFAULT, NewPipe.getPreferredLocalization());
+    }
+
+    @Test
+    void testExtractorContext() throws Exception {
+        final Downloader defaultDownloader = new UnusedDownloader();
+        NewPipe.init(defaultDownloader);
+
+        final Downloader downloader = new UnusedDownloader();
+        final NewPipeContext context = new NewPipeContext.Builder(downloader)
+                .setPreferredLocalization(new Localization("en", "GB"))
+                .setPreferredContentCountry(new ContentCountry("DE"))
+                .build();
+
+        final FakeListExtractor extractor = new FakeListExtractor(1, 1, -1);
+        assertSame(defaultDownloader, extractor.getDownloader());
+
+        extractor.setContext(context);
+        assertSame(downloader, extractor.getDownloader());
+        assertEquals(new Localization("en", "GB"), extractor.getExtractorLocalization());
+        assertEquals(new ContentCountry("DE"), extractor.getExtractorContentCountry());
+        // The default context is not changed
+        assertSame(defaultDownloader, NewPipe.getDownloader());
+        assertEquals(Localization.DEFAULT, new FakeListExtractor(1, 1, -1)
+                .getExtractorLocalization());
+
+        extractor.fetchPage();
+        assertThrows(IllegalStateException.class, () -> extractor.setContext(context));
+    }
+
+    @Test
+    void testContentCountryOfLocalization() {
+        final NewPipeContext context = new NewPipeContext.Builder(new UnusedDownloader())
+                .setPreferredLocalization(new Localization("fr", "CA"))
+                .build();
+        assertEquals(new ContentCountry("CA"), context.getPreferredContentCountry());
+        assertEquals(ContentCountry.DEFAULT, context.toBuilder()
+                .setPreferredLocalization(new Localization("fr"))
+                .setPreferredContentCountry(null)
+                .build()
+                .getPreferredContentCountry());
+    }
+
+    private static final class UnusedDownloader extends Downloader {
+        @Override
+        public Response execute(@Nonnull final Request request) throws IOException {
+            throw new IOException("No request expected");
+        }
+    }
+}
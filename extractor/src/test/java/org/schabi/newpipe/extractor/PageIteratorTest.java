@@ -0,0 +1,96 @@
+package org.schabi.newpipe.extractor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderTestImpl;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageIteratorTest {
+
+    @BeforeAll
+    static void setUp() {
+        NewPipe.init(DownloaderTestImpl.getInstance());
+    }
+
+    @Test
+    void iteratesAllPagesInOrder() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(5, 0, -1);
+        final List<String> pageUrls = new ArrayList<>();
+
+        try (PageIterator<StreamInfoItem> iterator =
+                     new PageIterator<>(extractor, null, 2, Runnable::run)) {
+            while (iterator.hasNext()) {
+                final InfoItemsPage<StreamInfoItem> page = iterator.next();
+                pageUrls.add(page.hasNextPage() ? page.getNextPage().getUrl() : "end");
+            }
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+
+        assertEquals(List.of("1", "2", "3", "4", "end"), pageUrls);
+        assertEquals(List.of("initial", "1", "2", "3", "4"), extractor.requestedPages);
+    }
+
+    @Test
+    void prefetchIsBoundedByDepth() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(10, 0, -1);
+
+        try (PageIterator<StreamInfoItem> iterator =
+                     new PageIterator<>(extractor, new Page("3"), 2, Runnable::run)) {
+            assertEquals(List.of("3", "4"), extractor.requestedPages);
+
+            iterator.next();
+            assertEquals(List.of("3", "4", "5"), extractor.requestedPages);
+        }
+    }
+
+    @Test
+    void noPrefetchWithZeroDepth() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(10, 0, -1);
+
+        try (PageIterator<StreamInfoItem> iterator =
+                     new PageIterator<>(extractor, null, 0, Runnable::run)) {
+            assertTrue(extractor.requestedPages.isEmpty());
+
+            iterator.next();
+            iterator.next();
+            assertEquals(List.of("initial", "1"), extractor.requestedPages);
+        }
+    }
+
+    @Test
+    void errorEndsIteration() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(10, 0, 2);
+
+        try (PageIterator<StreamInfoItem> iterator =
+                     new PageIterator<>(extractor, null, 3, Runnable::run)) {
+            iterator.next();
+            iterator.next();
+            assertThrows(ParsingException.class, iterator::next);
+            assertFalse(iterator.hasNext());
+            assertEquals(List.of("initial", "1", "2"), extractor.requestedPages);
+        }
+    }
+
+    @Test
+    void closeReleasesPrefetchedPages() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(10, 0, -1);
+        final PageIterator<StreamInfoItem> iterator =
+                new PageIterator<>(extractor, null, 3, Runnable::run);
+
+        iterator.close();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(3, extractor.requestedPages.size());
+    }
+}
@@ -0,0 +1,288 @@
+package org.schabi.newpipe.extractor.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.MediaFormat;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.stream.AudioStream;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class InfoCacheTest {
+    private static final long TTL = TimeUnit.HOURS.toMillis(1);
+    private static final long LIVE_TTL = TimeUnit.SECONDS.toMillis(30);
+
+    private final AtomicLong time = new AtomicLong(TimeUnit.DAYS.toMillis(365 * 50));
+
+    private InfoCache createCache(final InfoCache.Options.Builder builder) {
+        return new InfoCache(builder
+                .setStreamTimeToLiveMillis(TTL)
+                .setLiveStreamTimeToLiveMillis(LIVE_TTL)
+                .setStaleWhileRevalidateMillis(TTL)
+                .setExecutor(Runnable::run)
+                .build(), time::get);
+    }
+
+    private static InfoCache.Key key(final String url) {
+        return new InfoCache.Key(InfoCache.Kind.STREAM, 0, url, Localization.DEFAULT,
+                ContentCountry.DEFAULT);
+    }
+
+    private static StreamInfo createStreamInfo(final String url, final StreamType streamType) {
+        return new StreamInfo(0, url, url, streamType, "id", "name", 0);
+    }
+
+    @Test
+    void testFreshInfoNotExtractedAgain() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder());
+        final CountingLoader loader = new CountingLoader(StreamType.VIDEO_STREAM);
+
+        final StreamInfo info = cache.get(key("a"), loader);
+        time.addAndGet(TTL - 1);
+        assertSame(info, cache.get(key("a"), loader));
+        assertEquals(1, loader.getCalls());
+    }
+
+    @Test
+    void testStaleWhileRevalidate() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder());
+        final CountingLoader loader = new CountingLoader(StreamType.VIDEO_STREAM);
+
+        final StreamInfo info = cache.get(key("a"), loader);
+        time.addAndGet(TTL + 1);
+        // The stale info is returned, while the new one is extracted in the background
+        assertSame(info, cache.get(key("a"), loader));
+        assertEquals(2, loader.getCalls());
+        final StreamInfo newInfo = cache.get(key("a"), loader);
+        assertNotSame(info, newInfo);
+        assertEquals(2, loader.getCalls());
+
+        // Once too old, an info is extracted again before being returned
+        time.addAndGet(3 * TTL);
+        assertNotSame(newInfo, cache.get(key("a"), loader));
+        assertEquals(3, loader.getCalls());
+    }
+
+    @Test
+    void testDiscardedRevalidation() throws Exception {
+        final InfoCache cache = new InfoCache(new InfoCache.Options.Builder()
+                .setStreamTimeToLiveMillis(TTL)
+                .setStaleWhileRevalidateMillis(TTL)
+                .setExecutor(task -> {
+                    // Discard the task, like a saturated executor with a discard policy
+                })
+                .build(), time::get);
+        final CountingLoader loader = new CountingLoader(StreamType.VIDEO_STREAM);
+
+        final StreamInfo info = cache.get(key("a"), loader);
+        time.addAndGet(TTL + 1);
+        assertSame(info, cache.get(key("a"), loader));
+        assertEquals(1, loader.getCalls());
+
+        // The discarded revalidation is run by the request instead of being waited for forever
+        time.addAndGet(TTL);
+        assertNotSame(info, cache.get(key("a"), loader));
+        assertEquals(2, loader.getCalls());
+    }
+
+    @Test
+    void testLiveStreamTimeToLive() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder());
+        final CountingLoader loader = new CountingLoader(StreamType.LIVE_STREAM);
+
+        cache.get(key("a"), loader);
+        time.addAndGet(LIVE_TTL - 1);
+        cache.get(key("a"), loader);
+        assertEquals(1, loader.getCalls());
+
+        // The stale time of a live stream is limited to its time to live
+        time.addAndGet(2 * LIVE_TTL);
+        cache.get(key("a"), loader);
+        assertEquals(2, loader.getCalls());
+    }
+
+    @Test
+    void testStreamUrlExpiry() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder());
+        final long expiry = TimeUnit.MILLISECONDS.toSeconds(time.get())
+                + TimeUnit.MINUTES.toSeconds(10);
+        final CountingLoader loader = new CountingLoader(StreamType.VIDEO_STREAM) {
+            @Override
+            public StreamInfo load() throws IOException, ExtractionException {
+                final StreamInfo info = super.load();
+                info.setAudioStreams(Collections.singletonList(new AudioStream.Builder()
+                        .setId("140")
+                        .setContent("https://example.com/videoplayback?expire=" + expiry
+                                + "&itag=140", true)
+                        .setMediaFormat(MediaFormat.M4A)
+                        .build()));
+                return info;
+            }
+        };
+
+        assertEquals(TimeUnit.SECONDS.toMillis(expiry),
+                InfoCache.getStreamUrlsExpiry(cache.get(key("a"), loader)));
+        time.addAndGet(TimeUnit.MINUTES.toMillis(8));
+        cache.get(key("a"), loader);
+        assertEquals(1, loader.getCalls());
+
+        // No stale info is returned once its URLs are about to expire
+        time.addAndGet(TimeUnit.MINUTES.toMillis(1) + 1);
+        cache.get(key("a"), loader);
+        assertEquals(2, loader.getCalls());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder()
+                .setMaxWeight(2)
+                .setWeigher(info -> 1));
+        final CountingLoader loader = new CountingLoader(StreamType.VIDEO_STREAM);
+
+        cache.get(key("a"), loader);
+        cache.get(key("b"), loader);
+        cache.get(key("a"), loader);
+        cache.get(key("c"), loader);
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getWeight());
+        assertEquals(3, loader.getCalls());
+
+        cache.get(key("a"), loader);
+        assertEquals(3, loader.getCalls());
+        cache.get(key("b"), loader);
+        assertEquals(4, loader.getCalls());
+    }
+
+    @Test
+    void testLocalizationPartOfKey() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder());
+        final CountingLoader loader = new CountingLoader(StreamType.VIDEO_STREAM);
+
+        cache.get(key("a"), loader);
+        cache.get(new InfoCache.Key(InfoCache.Kind.STREAM, 0, "a", new Localization("de", "DE"),
+                ContentCountry.DEFAULT), loader);
+        cache.get(new InfoCache.Key(InfoCache.Kind.STREAM, 0, "a", Localization.DEFAULT,
+                new ContentCountry("DE")), loader);
+        assertEquals(3, loader.getCalls());
+    }
+
+    @Test
+    void testDiskStore() throws Exception {
+        final MapDiskStore diskStore = new MapDiskStore();
+        final CountingLoader loader = new CountingLoader(StreamType.VIDEO_STREAM);
+        createCache(new InfoCache.Options.Builder().setDiskStore(diskStore))
+                .get(key("https://example.com/a"), loader);
+        assertEquals(1, diskStore.entries.size());
+
+        // Another cache, for instance after a restart, reads the entry from the disk
+        final InfoCache cache = createCache(new InfoCache.Options.Builder()
+                .setDiskStore(diskStore));
+        final StreamInfo info = cache.get(key("https://example.com/a"), loader);
+        assertEquals("https://example.com/a", info.getUrl());
+        assertEquals(1, loader.getCalls());
+        assertEquals(1, cache.size());
+
+        // Expired entries are removed
+        time.addAndGet(3 * TTL);
+        cache.clear();
+        cache.get(key("https://example.com/b"), loader);
+        assertEquals(2, diskStore.entries.size());
+        cache.clear();
+        cache.get(key("https://example.com/a"), loader);
+        assertEquals(3, loader.getCalls());
+    }
+
+    @Test
+    void testStreamTimestampsNotShared() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder());
+        final String url = "https://www.youtube.com/watch?v=dQw4w9WgXcQ";
+        final StreamInfo info = new StreamInfo(YouTube.getServiceId(), url, url + "&t=60",
+                StreamType.VIDEO_STREAM, "dQw4w9WgXcQ", "name", 0);
+        info.setStartPosition(60);
+        cache.get(new InfoCache.Key(InfoCache.Kind.STREAM, YouTube.getServiceId(), url,
+                NewPipe.getPreferredLocalization(), NewPipe.getPreferredContentCountry()),
+                () -> info);
+
+        assertSame(info, cache.getStreamInfo(YouTube, url + "&t=60"));
+
+        // The same stream with another timestamp is not extracted again, but gets its own
+        // original URL and start position
+        final StreamInfo otherInfo = cache.getStreamInfo(YouTube, url + "&t=120");
+        assertNotSame(info, otherInfo);
+        assertEquals(url + "&t=120", otherInfo.getOriginalUrl());
+        assertEquals(120, otherInfo.getStartPosition());
+        assertEquals("name", otherInfo.getName());
+        assertEquals(url + "&t=60", info.getOriginalUrl());
+        assertEquals(60, info.getStartPosition());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testErrorsNotCached() throws Exception {
+        final InfoCache cache = createCache(new InfoCache.Options.Builder());
+        final AtomicInteger calls = new AtomicInteger();
+        final InfoCache.Loader<StreamInfo> loader = () -> {
+            calls.incrementAndGet();
+            throw new ExtractionException("Could not extract");
+        };
+
+        assertThrows(ExtractionException.class, () -> cache.get(key("a"), loader));
+        assertThrows(ExtractionException.class, () -> cache.get(key("a"), loader));
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+
+    private static class CountingLoader implements InfoCache.Loader<StreamInfo> {
+        private final StreamType streamType;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(final StreamType streamType) {
+            this.streamType = streamType;
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+
+        @Override
+        public StreamInfo load() throws IOException, ExtractionException {
+            calls.incrementAndGet();
+            return createStreamInfo("https://example.com/a", streamType);
+        }
+    }
+
+    private static final class MapDiskStore implements InfoCache.DiskStore {
+        private final Map<String, byte[]> entries = new HashMap<>();
+
+        @Override
+        public byte[] read(final String key) {
+            return entries.get(key);
+        }
+
+        @Override
+        public void write(final String key, final byte[] data) {
+            entries.put(key, data);
+        }
+
+        @Override
+        public void remove(final String key) {
+            entries.remove(key);
+        }
+    }
+}
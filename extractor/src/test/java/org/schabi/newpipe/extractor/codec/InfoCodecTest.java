@@ -0,0 +1,292 @@
+package org.schabi.newpipe.extractor.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderFactory;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.MediaFormat;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.channel.ChannelInfoItem;
+import org.schabi.newpipe.extractor.comments.CommentsInfoItem;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfoItem;
+import org.schabi.newpipe.extractor.services.youtube.ItagItem;
+import org.schabi.newpipe.extractor.stream.AudioStream;
+import org.schabi.newpipe.extractor.stream.DeliveryMethod;
+import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.stream.SubtitlesStream;
+import org.schabi.newpipe.extractor.stream.VideoStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class InfoCodecTest {
+    private static final String RESOURCE_PATH = DownloaderFactory.RESOURCE_PATH + "codec/";
+
+    @Test
+    void testPage() throws IOException {
+        final Page page = new Page("https://example.com/page", "id",
+                Arrays.asList("1", "2", null), Collections.singletonMap("key", "value"),
+                new byte[] {1, 2, 3});
+        final Page copy = InfoCodec.decodePage(InfoCodec.encodePage(page));
+
+        assertEquals(page.getUrl(), copy.getUrl());
+        assertEquals(page.getId(), copy.getId());
+        assertEquals(page.getIds(), copy.getIds());
+        assertEquals(page.getCookies(), copy.getCookies());
+        assertArrayEquals(page.getBody(), copy.getBody());
+
+        assertNull(InfoCodec.decodePage(InfoCodec.encodePage(null)));
+        final Page emptyPage = InfoCodec.decodePage(InfoCodec.encodePage(new Page("url")));
+        assertNull(emptyPage.getIds());
+        assertNull(emptyPage.getCookies());
+        assertNull(emptyPage.getBody());
+    }
+
+    @Test
+    void testInfoItems() throws IOException {
+        final List<InfoItem> items = createItems(10);
+        final ChannelInfoItem channel = new ChannelInfoItem(1, "https://example.com/c", "c");
+        channel.setSubscriberCount(1234);
+        channel.setVerified(true);
+        items.add(channel);
+        final PlaylistInfoItem playlist = new PlaylistInfoItem(2, "https://example.com/p", "p");
+        playlist.setStreamCount(-1);
+        playlist.setPlaylistType(PlaylistInfo.PlaylistType.MIX_STREAM);
+        items.add(playlist);
+        final CommentsInfoItem comment = new CommentsInfoItem(0, "https://example.com/v", "c");
+        comment.setCommentText("Nice");
+        comment.setPinned(true);
+        comment.setReplies(new Page("https://example.com/replies"));
+        items.add(comment);
+
+        final List<InfoItem> copy = InfoCodec.decodeInfoItems(InfoCodec.encodeInfoItems(items));
+        assertEquals(items.size(), copy.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i).getClass(), copy.get(i).getClass());
+            assertEquals(items.get(i).toString(), copy.get(i).toString());
+        }
+
+        final StreamInfoItem stream = (StreamInfoItem) items.get(3);
+        final StreamInfoItem streamCopy = (StreamInfoItem) copy.get(3);
+        assertEquals(stream.getUploaderName(), streamCopy.getUploaderName());
+        assertEquals(stream.getUploadDate().offsetDateTime(),
+                streamCopy.getUploadDate().offsetDateTime());
+        assertEquals(stream.getUploadDate().isApproximation(),
+                streamCopy.getUploadDate().isApproximation());
+        assertEquals(1234, ((ChannelInfoItem) copy.get(10)).getSubscriberCount());
+        assertEquals(PlaylistInfo.PlaylistType.MIX_STREAM,
+                ((PlaylistInfoItem) copy.get(11)).getPlaylistType());
+        final CommentsInfoItem commentCopy = (CommentsInfoItem) copy.get(12);
+        assertEquals("Nice", commentCopy.getCommentText());
+        assertTrue(commentCopy.isPinned());
+        assertEquals("https://example.com/replies", commentCopy.getReplies().getUrl());
+    }
+
+    @Test
+    void testRepeatedStringsWrittenOnce() {
+        final int oneItemSize = InfoCodec.encodeInfoItems(createItems(1)).length;
+        final int hundredItemsSize = InfoCodec.encodeInfoItems(createItems(100)).length;
+        // Only the URLs, names and view counts differ between the items
+        assertTrue(hundredItemsSize < oneItemSize * 100 / 2,
+                "Expected repeated strings to be shared, got " + hundredItemsSize + " bytes");
+    }
+
+    @Test
+    void testStreamInfo() throws IOException {
+        final StreamInfo info = createStreamInfo();
+        assertStreamInfoCopy(info, InfoCodec.decodeStreamInfo(InfoCodec.encodeStreamInfo(info)));
+    }
+
+    @Test
+    void testStreamInfoVersion1() throws IOException {
+        // Encoded from createStreamInfo() with the version 1 of the format, it must stay readable
+        final byte[] data = Files.readAllBytes(Paths.get(RESOURCE_PATH + "stream_info_v1.bin"));
+        assertStreamInfoCopy(createStreamInfo(), InfoCodec.decodeStreamInfo(data));
+    }
+
+    @Test
+    void testStreams() throws IOException {
+        final List<AudioStream> streams = Collections.singletonList(new AudioStream.Builder()
+                .setId("id")
+                .setContent("https://example.com/audio", true)
+                .setMediaFormat(MediaFormat.MP3)
+                .build());
+        assertInstanceOf(AudioStream.class,
+                InfoCodec.decodeStreams(InfoCodec.encodeStreams(streams)).get(0));
+    }
+
+    @Test
+    void testInvalidData() {
+        final byte[] data = InfoCodec.encodeInfoItems(createItems(2));
+        assertThrows(StreamCorruptedException.class, () -> InfoCodec.decodePage(data));
+        assertThrows(EOFException.class,
+                () -> InfoCodec.decodeInfoItems(Arrays.copyOf(data, data.length / 2)));
+        assertThrows(StreamCorruptedException.class,
+                () -> InfoCodec.decodeInfoItems(new byte[] {'X', 'Y', 1, 2}));
+        assertThrows(StreamCorruptedException.class,
+                () -> InfoCodec.decodeInfoItems(new byte[] {'N', 'P', 99, 2}));
+    }
+
+    @Test
+    @Disabled("Benchmark, run it manually")
+    void benchmarkJavaSerialization() throws Exception {
+        final List<InfoItem> items = createItems(100);
+        final int iterations = 2000;
+        for (int i = 0; i < iterations; i++) {
+            InfoCodec.decodeInfoItems(InfoCodec.encodeInfoItems(items));
+            deserialize(serialize(items));
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            InfoCodec.decodeInfoItems(InfoCodec.encodeInfoItems(items));
+        }
+        final long codecTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            deserialize(serialize(items));
+        }
+        final long serializationTime = System.nanoTime() - startTime;
+
+        System.out.println("InfoCodec: " + InfoCodec.encodeInfoItems(items).length + " bytes, "
+                + codecTime / iterations / 1000 + " µs/round trip; "
+                + "Java serialization: " + serialize(items).length + " bytes, "
+                + serializationTime / iterations / 1000 + " µs/round trip");
+    }
+
+    private static StreamInfo createStreamInfo() {
+        final StreamInfo info = new StreamInfo(0, "https://example.com/watch?v=id",
+                "https://example.com/watch?v=id&t=1", StreamType.VIDEO_STREAM, "id", "Video",
+                18);
+        info.setUploaderName("Uploader");
+        info.setDescription(new Description("<b>Description</b>", Description.HTML));
+        info.setUploadDate(new DateWrapper(OffsetDateTime.parse("2023-01-01T12:00:00Z")));
+        info.setDuration(3600);
+        info.setLikeCount(-1);
+        info.setPrivacy(StreamExtractor.Privacy.UNLISTED);
+        info.setLanguageInfo(Locale.GERMANY);
+        info.setTags(Arrays.asList("a", "b"));
+        info.setRelatedItems(createItems(3));
+
+        final ItagItem itagItem = new ItagItem(251, ItagItem.ItagType.AUDIO, MediaFormat.WEBMA,
+                160);
+        itagItem.setContentLength(123456789L);
+        itagItem.setCodec("opus");
+        info.setAudioStreams(Collections.singletonList(new AudioStream.Builder()
+                .setId("251")
+                .setContent("https://example.com/audio", true)
+                .setMediaFormat(MediaFormat.WEBMA)
+                .setAverageBitrate(160)
+                .setItagItem(itagItem)
+                .build()));
+        info.setVideoStreams(Collections.singletonList(new VideoStream.Builder()
+                .setId("22")
+                .setContent("https://example.com/manifest.mpd", true)
+                .setDeliveryMethod(DeliveryMethod.DASH)
+                .setMediaFormat(MediaFormat.MPEG_4)
+                .setResolution("720p")
+                .setIsVideoOnly(false)
+                .build()));
+        info.setSubtitles(Collections.singletonList(new SubtitlesStream.Builder()
+                .setContent("https://example.com/subtitles", true)
+                .setMediaFormat(MediaFormat.VTT)
+                .setLanguageCode("en")
+                .setAutoGenerated(true)
+                .build()));
+
+        return info;
+    }
+
+    private static void assertStreamInfoCopy(final StreamInfo info, final StreamInfo copy) {
+        assertEquals(info.getUrl(), copy.getUrl());
+        assertEquals(info.getOriginalUrl(), copy.getOriginalUrl());
+        assertEquals(18, copy.getAgeLimit());
+        assertEquals("Uploader", copy.getUploaderName());
+        assertEquals(info.getDescription(), copy.getDescription());
+        assertEquals(info.getUploadDate().offsetDateTime(), copy.getUploadDate().offsetDateTime());
+        assertEquals(3600, copy.getDuration());
+        assertEquals(-1, copy.getLikeCount());
+        assertEquals(StreamExtractor.Privacy.UNLISTED, copy.getPrivacy());
+        assertEquals(Locale.GERMANY, copy.getLanguageInfo());
+        assertEquals(info.getTags(), copy.getTags());
+        assertEquals(3, copy.getRelatedItems().size());
+
+        final AudioStream audioStream = copy.getAudioStreams().get(0);
+        assertTrue(audioStream.equalStats(info.getAudioStreams().get(0)));
+        assertEquals("https://example.com/audio", audioStream.getContent());
+        assertEquals(123456789L, audioStream.getItagItem().getContentLength());
+        assertEquals("opus", audioStream.getItagItem().getCodec());
+        assertEquals(160, audioStream.getItagItem().getAverageBitrate());
+
+        final VideoStream videoStream = copy.getVideoStreams().get(0);
+        assertTrue(videoStream.equalStats(info.getVideoStreams().get(0)));
+        assertEquals(DeliveryMethod.DASH, videoStream.getDeliveryMethod());
+        assertNull(videoStream.getItagItem());
+
+        final SubtitlesStream subtitles = copy.getSubtitles().get(0);
+        assertTrue(subtitles.equalStats(info.getSubtitles().get(0)));
+        assertTrue(subtitles.isAutoGenerated());
+    }
+
+    private static List<InfoItem> createItems(final int count) {
+        final List<InfoItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final StreamInfoItem item = new StreamInfoItem(0,
+                    "https://www.youtube.com/watch?v=video" + i, "Video " + i,
+                    StreamType.VIDEO_STREAM);
+            item.setThumbnailUrl("https://i.ytimg.com/vi/video" + i + "/hqdefault.jpg");
+            item.setUploaderName("A channel with a rather long name");
+            item.setUploaderUrl("https://www.youtube.com/channel/UCxxxxxxxxxxxxxxxxxxxxxx");
+            item.setUploaderAvatarUrl("https://yt3.ggpht.com/some-long-avatar-url=s88-c-k");
+            item.setUploaderVerified(true);
+            item.setTextualUploadDate("2 weeks ago");
+            item.setUploadDate(new DateWrapper(
+                    OffsetDateTime.parse("2023-01-01T00:00:00Z"), true));
+            item.setViewCount(1000L * i);
+            item.setDuration(600);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] data) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
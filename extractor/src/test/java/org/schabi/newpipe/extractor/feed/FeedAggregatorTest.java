@@ -0,0 +1,219 @@
+package org.schabi.newpipe.extractor.feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderFactory;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.services.youtube.YoutubeTestsUtils;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedAggregatorTest {
+    private static final String KURZGESAGT_RESOURCE_PATH = DownloaderFactory.RESOURCE_PATH
+            + "services/youtube/extractor/channel/kurzgesagt";
+    private static final String FEED_URL = "https://www.youtube.com/feeds/videos.xml";
+
+    private Downloader previousDownloader;
+
+    @BeforeEach
+    void setUp() {
+        previousDownloader = NewPipe.getDownloader();
+    }
+
+    @AfterEach
+    void tearDown() {
+        NewPipe.init(previousDownloader);
+    }
+
+    @Test
+    void mergeSortsNewestFirstAndRemovesDuplicates() {
+        final List<FeedAggregator.ChannelResult> channelResults = Arrays.asList(
+                channelResult("a", item(0, "a1", 3), item(0, "shared", 5), item(0, "a2", -1)),
+                channelResult("b", item(0, "b1", 4), item(0, "shared", 5), item(1, "shared", 1)),
+                channelResult("c", item(0, "c1", -1), item(0, "c2", 1)));
+
+        final List<String> urls = FeedAggregator.merge(channelResults).stream()
+                .map(item -> item.getServiceId() + ":" + item.getUrl())
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("0:shared", "0:b1", "0:a1", "1:shared", "0:c2", "0:a2",
+                "0:c1"), urls);
+    }
+
+    @Test
+    void requestsPerHostLimited() throws Exception {
+        // The channel IDs start with the host of their channel URL, as all feeds are requested
+        // from the same host
+        final List<String> channelUrls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            channelUrls.add("https://www.youtube.com/channel/www" + i);
+            channelUrls.add("https://m.youtube.com/channel/m" + i);
+        }
+        final BlockingFeedDownloader downloader = new BlockingFeedDownloader(4);
+        NewPipe.init(downloader);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(channelUrls.size());
+        try {
+            final FeedAggregator aggregator = new FeedAggregator(new FeedAggregator.Options
+                    .Builder()
+                    .setMaxConcurrentRequestsPerHost(2)
+                    .setExecutor(executor)
+                    .build());
+            final CompletableFuture<FeedAggregator.Result> aggregation =
+                    CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return aggregator.aggregate(channelUrls);
+                        } catch (final InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    });
+
+            // Let the aggregator start more requests than allowed, if it would do so
+            assertTrue(downloader.requestsStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            downloader.releaseRequests.countDown();
+
+            final FeedAggregator.Result result = aggregation.get(5, TimeUnit.SECONDS);
+            assertTrue(result.getFailedChannels().isEmpty());
+            assertEquals(channelUrls.size(), result.getChannelResults().size());
+            for (final FeedAggregator.ChannelResult channelResult
+                    : result.getChannelResults()) {
+                assertEquals(FeedAggregator.Source.FEED, channelResult.getSource());
+            }
+            assertEquals(2, downloader.getMaxRequestsInFlight("www"));
+            assertEquals(2, downloader.getMaxRequestsInFlight("m"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void channelUsedWhenFeedFails() throws Exception {
+        YoutubeTestsUtils.ensureStateless();
+        final Downloader channelDownloader =
+                DownloaderFactory.getDownloader(KURZGESAGT_RESOURCE_PATH);
+        NewPipe.init(new Downloader() {
+            @Override
+            public Response execute(@Nonnull final Request request)
+                    throws IOException, ReCaptchaException {
+                if (request.url().startsWith(FEED_URL)) {
+                    return new Response(404, "Not Found", null, "", request.url());
+                }
+                return channelDownloader.execute(request);
+            }
+        });
+
+        final String url = "https://www.youtube.com/channel/UCsXVk37bltHxD1rDPwtNM8Q";
+        final FeedAggregator.ChannelResult channelResult = new FeedAggregator(
+                FeedAggregator.Options.defaults())
+                .aggregate(Collections.singletonList(url))
+                .getChannelResults()
+                .get(0);
+
+        assertEquals(FeedAggregator.Source.CHANNEL, channelResult.getSource());
+        assertTrue(channelResult.getName().startsWith("Kurzgesagt"));
+        assertFalse(channelResult.getItems().isEmpty());
+        // The error of the feed is kept
+        assertInstanceOf(ContentNotAvailableException.class, channelResult.getErrors().get(0));
+    }
+
+    private static FeedAggregator.ChannelResult channelResult(final String url,
+                                                              final StreamInfoItem... items) {
+        return new FeedAggregator.ChannelResult(url, 0, url, FeedAggregator.Source.FEED,
+                Arrays.asList(items), Collections.emptyList(), 0);
+    }
+
+    /**
+     * @param day the day of the upload date in January 2020, or {@code -1} for no upload date
+     */
+    private static StreamInfoItem item(final int serviceId, final String url, final int day) {
+        final StreamInfoItem item = new StreamInfoItem(serviceId, url, url,
+                StreamType.VIDEO_STREAM);
+        if (day != -1) {
+            item.setUploadDate(new DateWrapper(
+                    OffsetDateTime.of(2020, 1, day, 0, 0, 0, 0, ZoneOffset.UTC)));
+        }
+        return item;
+    }
+
+    /**
+     * A downloader answering requests to YouTube feeds with an empty feed, once a given number of
+     * requests have been started, and recording the maximum number of requests in flight per
+     * channel host.
+     */
+    private static final class BlockingFeedDownloader extends Downloader {
+        private final CountDownLatch requestsStarted;
+        private final CountDownLatch releaseRequests = new CountDownLatch(1);
+        private final Map<String, Integer> requestsInFlight = new HashMap<>();
+        private final Map<String, Integer> maxRequestsInFlight = new HashMap<>();
+
+        BlockingFeedDownloader(final int blockedRequests) {
+            this.requestsStarted = new CountDownLatch(blockedRequests);
+        }
+
+        synchronized int getMaxRequestsInFlight(final String host) {
+            return maxRequestsInFlight.getOrDefault(host, 0);
+        }
+
+        @Override
+        public Response execute(@Nonnull final Request request) throws IOException {
+            final String url = request.url();
+            if (!url.startsWith(FEED_URL)) {
+                throw new IOException("Unexpected request: " + url);
+            }
+            final String channelId = url.substring(url.indexOf("channel_id=") + 11);
+            final String host = channelId.replaceAll("\\d+$", "");
+
+            synchronized (this) {
+                final int requests = requestsInFlight.merge(host, 1, Integer::sum);
+                maxRequestsInFlight.merge(host, requests, Math::max);
+            }
+            requestsStarted.countDown();
+            try {
+                releaseRequests.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                synchronized (this) {
+                    requestsInFlight.merge(host, -1, Integer::sum);
+                }
+            }
+
+            return new Response(200, "OK", null, "<feed xmlns:yt=\"http://www.youtube.com/xml/"
+                    + "schemas/2015\"><yt:channelId>" + channelId + "</yt:channelId>"
+                    + "<author><name>" + channelId + "</name><uri>https://www.youtube.com/"
+                    + "channel/" + channelId + "</uri></author></feed>", url);
+        }
+    }
+}
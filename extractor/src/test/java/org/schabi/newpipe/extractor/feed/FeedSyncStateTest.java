@@ -0,0 +1,96 @@
+package org.schabi.newpipe.extractor.feed;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedSyncStateTest {
+
+    @Test
+    void newItemsStopAtLastSeenUrl() {
+        final FeedSyncState state = new FeedSyncState("b", null, null, null);
+        final List<StreamInfoItem> items = Arrays.asList(item("a", 5, false), item("b", 4, false),
+                item("c", 3, false));
+
+        assertEquals(Collections.singletonList(items.get(0)), state.getNewItems(items));
+    }
+
+    @Test
+    void newItemsStopAtLastSeenUploadDate() {
+        final FeedSyncState state = new FeedSyncState("unknown", date(4), null, null);
+        final List<StreamInfoItem> items = Arrays.asList(item("a", 6, false), item("b", 5, false),
+                item("c", 3, false), item("d", 2, false));
+
+        assertEquals(items.subList(0, 2), state.getNewItems(items));
+    }
+
+    @Test
+    void itemsUploadedInTheSameSecondComparedByUrl() {
+        final FeedSyncState state = new FeedSyncState("b", date(4), null, null);
+        final List<StreamInfoItem> items = Arrays.asList(item("a", 4, false), item("b", 4, false),
+                item("c", 3, false));
+
+        assertEquals(items.subList(0, 1), state.getNewItems(items));
+        assertFalse(state.isKnown("a", new DateWrapper(date(4), false)));
+
+        // Without the URL of the last seen item, the date is all that can be compared
+        final FeedSyncState stateWithoutUrl = new FeedSyncState(null, date(4), null, null);
+        assertTrue(stateWithoutUrl.isKnown("a", new DateWrapper(date(4), false)));
+    }
+
+    @Test
+    void approximatedDatesAreNotCompared() {
+        final FeedSyncState state = new FeedSyncState("unknown", date(4), null, null);
+
+        assertFalse(state.isKnown("a", new DateWrapper(date(1), true)));
+        assertTrue(state.isKnown("a", new DateWrapper(date(1), false)));
+        assertFalse(state.isKnown("a", null));
+    }
+
+    @Test
+    void stateAfterRefresh() {
+        final FeedSyncState previous = new FeedSyncState("b", date(4), "\"etag\"", null);
+
+        final FeedSyncState withNewItems = FeedSyncState.after(
+                Arrays.asList(item("a", 5, false), item("z", 1, true)), previous, "\"new\"",
+                "Mon, 01 Jan 2020 00:00:00 GMT");
+        assertEquals("a", withNewItems.getLastSeenItemUrl());
+        assertEquals(date(5), withNewItems.getLastSeenUploadDate());
+        assertEquals("\"new\"", withNewItems.getETag());
+        assertEquals("Mon, 01 Jan 2020 00:00:00 GMT", withNewItems.getLastModified());
+
+        final FeedSyncState withApproximatedDate = FeedSyncState.after(
+                Collections.singletonList(item("a", 5, true)), previous, null, null);
+        assertEquals("a", withApproximatedDate.getLastSeenItemUrl());
+        assertNull(withApproximatedDate.getLastSeenUploadDate());
+
+        final FeedSyncState withoutNewItems = FeedSyncState.after(
+                Collections.emptyList(), previous, "\"etag\"", null);
+        assertEquals("b", withoutNewItems.getLastSeenItemUrl());
+        assertEquals(date(4), withoutNewItems.getLastSeenUploadDate());
+    }
+
+    private static OffsetDateTime date(final int day) {
+        return OffsetDateTime.of(2020, 1, day, 0, 0, 0, 0, ZoneOffset.UTC);
+    }
+
+    private static StreamInfoItem item(final String url,
+                                       final int day,
+                                       final boolean approximation) {
+        final StreamInfoItem item = new StreamInfoItem(0, url, url, StreamType.VIDEO_STREAM);
+        item.setUploadDate(new DateWrapper(date(day), approximation));
+        return item;
+    }
+}
@@ -0,0 +1,165 @@
+package org.schabi.newpipe.extractor.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.instrumentation.ExtractionEvent.Phase;
+import org.schabi.newpipe.extractor.instrumentation.LatencyHistogramListener.Histogram;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+public class LatencyHistogramListenerTest {
+
+    @AfterEach
+    void removeListener() {
+        NewPipe.setExtractionListener(null);
+    }
+
+    @Test
+    void testRequestEvents() throws Exception {
+        final List<ExtractionEvent> events = new ArrayList<>();
+        NewPipe.setExtractionListener(events::add);
+
+        final Downloader downloader = new FakeDownloader();
+        downloader.get("https://example.com/api/tracks?id=1&key=secret#top");
+        assertThrows(IOException.class, () -> downloader.get("https://example.com/failing"));
+
+        assertEquals(2, events.size());
+        final ExtractionEvent event = events.get(0);
+        assertEquals(Phase.REQUEST, event.getPhase());
+        assertEquals("https://example.com/api/tracks", event.getName());
+        assertEquals(200, event.getResponseCode());
+        // "é" takes two bytes in UTF-8
+        assertEquals(5, event.getBytes());
+        assertTrue(event.isSuccessful());
+        assertTrue(event.getDurationNanos() >= 0);
+
+        final ExtractionEvent failedEvent = events.get(1);
+        assertEquals(-1, failedEvent.getResponseCode());
+        assertFalse(failedEvent.isSuccessful());
+    }
+
+    @Test
+    void testUrlTemplate() {
+        assertEquals("https://www.youtube.com/youtubei/v1/player",
+                ExtractionEvents.getUrlTemplate(
+                        "https://www.youtube.com/youtubei/v1/player?key=abc123&alt=json"));
+        assertEquals("https://i.ytimg.com/vi/*/hqdefault.jpg", ExtractionEvents.getUrlTemplate(
+                "https://i.ytimg.com/vi/dQw4w9WgXcQ/hqdefault.jpg"));
+        assertEquals("https://api-v2.soundcloud.com/users/*/tracks",
+                ExtractionEvents.getUrlTemplate("https://api-v2.soundcloud.com/users/1234/tracks"));
+        assertEquals("https://artist.bandcamp.com/track/*", ExtractionEvents.getUrlTemplate(
+                "https://artist.bandcamp.com/track/a-very-long-track-name-with-many-words"));
+        assertEquals("https://example.com/", ExtractionEvents.getUrlTemplate(
+                "https://example.com/#top"));
+        assertEquals("https://example.com", ExtractionEvents.getUrlTemplate(
+                "https://example.com?q=1/2"));
+    }
+
+    @Test
+    void testNoListener() {
+        final long startTime = ExtractionEvents.start();
+        final List<ExtractionEvent> events = new ArrayList<>();
+        NewPipe.setExtractionListener(events::add);
+        // Phases started without a listener are not reported
+        ExtractionEvents.report(Phase.FETCH_PAGE, "extractor", 0, startTime);
+        assertTrue(events.isEmpty());
+
+        NewPipe.setExtractionListener(null);
+        assertNull(NewPipe.getExtractionListener());
+    }
+
+    @Test
+    void testHistograms() {
+        final LatencyHistogramListener listener = new LatencyHistogramListener(1);
+        for (int i = 1; i <= 100; i++) {
+            listener.onEvent(new ExtractionEvent(Phase.OPTIONAL_FIELD, "TAGS", 0, i * 1000L,
+                    -1, -1, null));
+        }
+        listener.onEvent(new ExtractionEvent(Phase.OPTIONAL_FIELD, "VIEW_COUNT", 0, 5_000_000,
+                -1, -1, new Exception()));
+
+        final Histogram histogram = listener.getHistogram(Phase.OPTIONAL_FIELD);
+        assertEquals(101, histogram.getCount());
+        assertEquals(1, histogram.getErrorCount());
+        assertEquals(5_000_000, histogram.getMaxNanos());
+        assertEquals(5_000_000, histogram.getPercentileNanos(100));
+        final long median = histogram.getPercentileNanos(50);
+        assertTrue(median >= 51_000 && median < 2 * 51_000, "Median: " + median);
+
+        // Only the first name has its own histogram
+        assertEquals(1, listener.getHistograms(Phase.OPTIONAL_FIELD).size());
+        assertEquals(100, listener.getHistograms(Phase.OPTIONAL_FIELD).get("TAGS").getCount());
+        assertEquals(0, listener.getHistogram(Phase.REQUEST).getCount());
+        assertEquals(0, listener.getHistogram(Phase.REQUEST).getPercentileNanos(50));
+
+        listener.reset();
+        assertEquals(0, histogram.getCount());
+        assertTrue(listener.getHistograms(Phase.OPTIONAL_FIELD).isEmpty());
+    }
+
+    @Test
+    void testFallbackErrorRate() {
+        final LatencyHistogramListener listener = new LatencyHistogramListener();
+        NewPipe.setExtractionListener(listener);
+        for (int i = 0; i < 4; i++) {
+            final long startTime = ExtractionEvents.start();
+            ExtractionEvents.reportFallback("throttling function", "lexer", 0, startTime,
+                    i == 0 ? new Exception() : null);
+        }
+        ExtractionEvents.reportFallback("throttling function", "regex", 0,
+                ExtractionEvents.start(), null);
+
+        final Histogram lexer = listener.getHistograms(Phase.FALLBACK)
+                .get("throttling function/lexer");
+        assertEquals(4, lexer.getCount());
+        assertEquals(0.25, lexer.getErrorRate());
+        assertEquals(0.0, listener.getHistograms(Phase.FALLBACK)
+                .get("throttling function/regex").getErrorRate());
+        assertEquals(0.0, listener.getHistogram(Phase.REQUEST).getErrorRate());
+    }
+
+    @Test
+    void testFallbackErrorCreatedOnlyWhenReported() {
+        ExtractionEvents.reportFallback("player", "android", 0, ExtractionEvents.start(), false,
+                () -> {
+                    throw new AssertionError("Error created without a listener");
+                });
+
+        final List<ExtractionEvent> events = new ArrayList<>();
+        NewPipe.setExtractionListener(events::add);
+        ExtractionEvents.reportFallback("player", "android", 0, ExtractionEvents.start(), true,
+                () -> {
+                    throw new AssertionError("Error created for a successful attempt");
+                });
+        ExtractionEvents.reportFallback("player", "ios", 0, ExtractionEvents.start(), false,
+                Exception::new);
+
+        assertEquals(2, events.size());
+        assertTrue(events.get(0).isSuccessful());
+        assertFalse(events.get(1).isSuccessful());
+    }
+
+    private static final class FakeDownloader extends Downloader {
+        @Override
+        public Response execute(@Nonnull final Request request) throws IOException {
+            if (request.url().endsWith("failing")) {
+                throw new IOException("Failing request");
+            }
+            return new Response(200, "OK", null, "café", request.url());
+        }
+    }
+}
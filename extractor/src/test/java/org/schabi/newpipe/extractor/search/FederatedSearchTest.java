@@ -0,0 +1,86 @@
+package org.schabi.newpipe.extractor.search;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.schabi.newpipe.extractor.ServiceList.PeerTube;
+import static org.schabi.newpipe.extractor.ServiceList.SoundCloud;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+class FederatedSearchTest {
+
+    private static final List<StreamingService> SERVICES =
+            Arrays.asList(YouTube, SoundCloud, PeerTube);
+
+    @Test
+    void mergeInterleavesByRankInServiceOrder() {
+        final List<FederatedSearch.ServiceResult> serviceResults = Arrays.asList(
+                serviceResult(PeerTube, "p1"),
+                serviceResult(YouTube, "y1", "y2", "y3"),
+                serviceResult(SoundCloud, "s1", "s2"));
+
+        assertEquals(Arrays.asList("y1", "s1", "p1", "y2", "s2", "y3"),
+                urls(FederatedSearch.merge(SERVICES, serviceResults,
+                        FederatedSearch.Order.INTERLEAVED)));
+    }
+
+    @Test
+    void mergeKeepsArrivalOrder() {
+        final List<FederatedSearch.ServiceResult> serviceResults = Arrays.asList(
+                serviceResult(PeerTube, "p1"),
+                serviceResult(YouTube, "y1", "y2"),
+                failedServiceResult(SoundCloud));
+
+        assertEquals(Arrays.asList("p1", "y1", "y2"),
+                urls(FederatedSearch.merge(SERVICES, serviceResults,
+                        FederatedSearch.Order.ARRIVAL)));
+    }
+
+    @Test
+    void mergeSkipsMissingServices() {
+        final List<FederatedSearch.ServiceResult> serviceResults = Arrays.asList(
+                failedServiceResult(YouTube),
+                serviceResult(PeerTube, "p1", "p2"));
+
+        assertEquals(Arrays.asList("p1", "p2"),
+                urls(FederatedSearch.merge(SERVICES, serviceResults,
+                        FederatedSearch.Order.INTERLEAVED)));
+    }
+
+    private static List<String> urls(final List<InfoItem> items) {
+        return items.stream().map(InfoItem::getUrl).collect(Collectors.toList());
+    }
+
+    private static FederatedSearch.ServiceResult serviceResult(final StreamingService service,
+                                                               final String... urls) {
+        final SearchInfo searchInfo = new SearchInfo(service.getServiceId(),
+                new SearchQueryHandler("https://example.com", "https://example.com", "query",
+                        Collections.emptyList(), ""), "query");
+        final List<InfoItem> items = new ArrayList<>();
+        for (final String url : urls) {
+            items.add(new StreamInfoItem(service.getServiceId(), url, url,
+                    StreamType.VIDEO_STREAM));
+        }
+        searchInfo.setRelatedItems(items);
+        return new FederatedSearch.ServiceResult(service.getServiceId(), searchInfo,
+                Collections.emptyList(), false, 0);
+    }
+
+    private static FederatedSearch.ServiceResult failedServiceResult(
+            final StreamingService service) {
+        return new FederatedSearch.ServiceResult(service.getServiceId(), null,
+                Collections.singletonList(new ParsingException("Could not search")), true, 0);
+    }
+}
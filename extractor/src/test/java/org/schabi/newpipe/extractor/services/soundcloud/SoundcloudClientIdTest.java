@@ -0,0 +1,170 @@
+package org.schabi.newpipe.extractor.services.soundcloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+class SoundcloudClientIdTest {
+    private static final String API_URL =
+            SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL + "tracks?client_id=";
+
+    private Downloader previousDownloader;
+
+    @BeforeEach
+    void setUp() {
+        previousDownloader = NewPipe.getDownloader();
+        SoundcloudParsingHelper.resetClientId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SoundcloudParsingHelper.resetClientId();
+        SoundcloudParsingHelper.setClientIdStore(null);
+        NewPipe.init(previousDownloader);
+    }
+
+    @Test
+    void testClientIdExtractedOnce() throws Exception {
+        final FakeDownloader downloader = new FakeDownloader("valid");
+        NewPipe.init(downloader);
+
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        final List<String> clientIds = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    final String clientId = SoundcloudParsingHelper.clientId();
+                    synchronized (clientIds) {
+                        clientIds.add(clientId);
+                    }
+                } catch (final Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(threadCount, clientIds.size());
+        assertTrue(clientIds.stream().allMatch("valid"::equals));
+        assertEquals(1, downloader.homePageRequests.get());
+    }
+
+    @Test
+    void testRejectedClientIdRefreshed() throws Exception {
+        final FakeDownloader downloader = new FakeDownloader("valid");
+        NewPipe.init(downloader);
+        final List<String> savedClientIds = new ArrayList<>();
+        SoundcloudParsingHelper.setClientIdStore(new SoundcloudParsingHelper.ClientIdStore() {
+            @Nullable
+            @Override
+            public String load() {
+                return "expired";
+            }
+
+            @Override
+            public void save(@Nonnull final String clientId) {
+                savedClientIds.add(clientId);
+            }
+        });
+
+        final String clientId = SoundcloudParsingHelper.clientId();
+        assertEquals("expired", clientId);
+        assertEquals(0, downloader.homePageRequests.get());
+
+        final Response response = SoundcloudParsingHelper.getWithClientId(downloader,
+                API_URL + clientId + "&ids=1");
+        assertEquals(200, response.responseCode());
+        assertEquals(API_URL + "valid&ids=1", response.latestUrl());
+        assertEquals("valid", SoundcloudParsingHelper.clientId());
+        assertEquals(1, downloader.homePageRequests.get());
+        assertEquals(1, savedClientIds.size());
+        assertEquals("valid", savedClientIds.get(0));
+
+        // A request made with the expired client ID before the refresh does not refresh it again
+        SoundcloudParsingHelper.getWithClientId(downloader, API_URL + "expired");
+        assertEquals(1, downloader.homePageRequests.get());
+    }
+
+    @Test
+    void testRejectedValidClientIdNotRefreshedAgain() throws Exception {
+        final FakeDownloader downloader = new FakeDownloader("valid");
+        NewPipe.init(downloader);
+        assertEquals("valid", SoundcloudParsingHelper.clientId());
+        assertEquals(1, downloader.homePageRequests.get());
+
+        // A private track is rejected with the valid client ID: it is extracted again once
+        final String privateTrackUrl = API_URL + "valid&ids=private";
+        assertEquals(403, SoundcloudParsingHelper.getWithClientId(downloader, privateTrackUrl)
+                .responseCode());
+        assertEquals(2, downloader.homePageRequests.get());
+
+        // The website still provides it, so it is not extracted again for the next rejections
+        for (int i = 0; i < 3; i++) {
+            assertEquals(403, SoundcloudParsingHelper.getWithClientId(downloader,
+                    privateTrackUrl).responseCode());
+        }
+        assertEquals(2, downloader.homePageRequests.get());
+    }
+
+    private static final class FakeDownloader extends Downloader {
+        private final String validClientId;
+        private final AtomicInteger homePageRequests = new AtomicInteger();
+
+        FakeDownloader(final String validClientId) {
+            this.validClientId = validClientId;
+        }
+
+        @Override
+        public Response execute(@Nonnull final Request request) throws IOException {
+            final String url = request.url();
+            if (url.equals("https://soundcloud.com")) {
+                homePageRequests.incrementAndGet();
+                return response(200, "<html><body>"
+                        + "<script src=\"https://a-v2.sndcdn.com/assets/0-first.js\"></script>"
+                        + "<script src=\"https://a-v2.sndcdn.com/assets/1-client.js\"></script>"
+                        + "<script src=\"https://a-v2.sndcdn.com/assets/2-last.js\"></script>"
+                        + "</body></html>", url);
+            } else if (url.endsWith("1-client.js")) {
+                return response(200, "a,client_id:\"" + validClientId + "\",b", url);
+            } else if (url.endsWith(".js")) {
+                return response(200, "no client id here", url);
+            } else if (url.startsWith(API_URL)) {
+                if (url.endsWith("ids=private")) {
+                    return response(403, "", url);
+                }
+                return url.contains("client_id=" + validClientId)
+                        ? response(200, "{}", url)
+                        : response(401, "", url);
+            }
+            throw new IOException("Unexpected request: " + url);
+        }
+
+        private static Response response(final int code, final String body, final String url) {
+            return new Response(code, "", null, body, url);
+        }
+    }
+}
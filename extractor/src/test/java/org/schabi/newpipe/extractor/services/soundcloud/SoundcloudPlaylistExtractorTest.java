@@ -1,18 +1,38 @@
 package org.schabi.newpipe.extractor.services.soundcloud;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.schabi.newpipe.downloader.DownloaderTestImpl;
 import org.schabi.newpipe.extractor.ExtractorAsserts;
 import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.playlist.PlaylistExtractor;
 import org.schabi.newpipe.extractor.services.BasePlaylistExtractorTest;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudPlaylistExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.schabi.newpipe.extractor.ExtractorAsserts.assertEmpty;
 import static org.schabi.newpipe.extractor.ExtractorAsserts.assertIsSecureUrl;
@@ -432,4 +452,197 @@ public class SoundcloudPlaylistExtractorTest {
             assertFalse(extractor.isUploaderVerified());
         }
     }
+
+    public static class FetchAll {
+        private static final String PLAYLIST_ID = "123";
+        private static final String TRACKS_URL =
+                SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL + "tracks?client_id=client&ids=";
+
+        private Downloader previousDownloader;
+        private ExecutorService executor;
+
+        @BeforeEach
+        void setUp() {
+            previousDownloader = NewPipe.getDownloader();
+            executor = Executors.newFixedThreadPool(4);
+            NewPipe.setExecutor(executor);
+            SoundcloudParsingHelper.resetClientId();
+            SoundcloudParsingHelper.setClientIdStore(new SoundcloudParsingHelper.ClientIdStore() {
+                @Nullable
+                @Override
+                public String load() {
+                    return "client";
+                }
+
+                @Override
+                public void save(@Nonnull final String clientId) {
+                }
+            });
+        }
+
+        @AfterEach
+        void tearDown() {
+            SoundcloudParsingHelper.resetClientId();
+            SoundcloudParsingHelper.setClientIdStore(null);
+            NewPipe.setExecutor(null);
+            executor.shutdown();
+            NewPipe.init(previousDownloader);
+        }
+
+        @Test
+        void testAllStreamsFetchedInOrder() throws Exception {
+            // 2 full tracks, then 33 tracks requested in chunks of 15, 15 and 3
+            final FakeDownloader downloader = new FakeDownloader(35, Collections.emptyList());
+            final ListExtractor.InfoItemsPage<StreamInfoItem> page =
+                    fetchAllStreams(downloader);
+
+            assertTrue(page.getErrors().isEmpty());
+            assertFalse(page.hasNextPage());
+            assertEquals(trackNames(1, 35), itemNames(page));
+            assertEquals(3, downloader.chunkSizes.size());
+            assertEquals(Arrays.asList(3, 15, 15), downloader.chunkSizes.stream().sorted()
+                    .collect(Collectors.toList()));
+        }
+
+        @Test
+        void testFailingChunkReportedInErrors() throws Exception {
+            // The chunk of tracks 18 to 32 fails
+            final FakeDownloader downloader = new FakeDownloader(35, Collections.singletonList(18));
+            final ListExtractor.InfoItemsPage<StreamInfoItem> page =
+                    fetchAllStreams(downloader);
+
+            assertEquals(1, page.getErrors().size());
+            assertInstanceOf(ParsingException.class, page.getErrors().get(0));
+            final List<String> expectedNames = trackNames(1, 17);
+            expectedNames.addAll(trackNames(33, 35));
+            assertEquals(expectedNames, itemNames(page));
+        }
+
+        @Nonnull
+        private static ListExtractor.InfoItemsPage<StreamInfoItem> fetchAllStreams(
+                @Nonnull final Downloader downloader) throws Exception {
+            NewPipe.init(downloader);
+            final String url = "https://soundcloud.com/user/sets/playlist";
+            final SoundcloudPlaylistExtractor extractor = new SoundcloudPlaylistExtractor(
+                    SoundCloud, new ListLinkHandler(url, url, PLAYLIST_ID,
+                    Collections.emptyList(), ""));
+            extractor.setFetchAll(true);
+            extractor.fetchPage();
+            return extractor.getInitialPage();
+        }
+
+        @Nonnull
+        private static List<String> itemNames(
+                @Nonnull final ListExtractor.InfoItemsPage<StreamInfoItem> page) {
+            return page.getItems().stream()
+                    .map(StreamInfoItem::getName)
+                    .collect(Collectors.toList());
+        }
+
+        @Nonnull
+        private static List<String> trackNames(final int firstId, final int lastId) {
+            final List<String> names = new ArrayList<>();
+            for (int id = firstId; id <= lastId; id++) {
+                names.add("Track " + id);
+            }
+            return names;
+        }
+
+        @Nonnull
+        private static String track(final int id) {
+            return "{\"id\":" + id + ",\"title\":\"Track " + id + "\","
+                    + "\"permalink_url\":\"https://soundcloud.com/user/track-" + id + "\","
+                    + "\"duration\":60000,\"playback_count\":10,"
+                    + "\"created_at\":\"2020-01-01T00:00:00Z\",\"artwork_url\":null,"
+                    + "\"user\":{\"username\":\"user\","
+                    + "\"permalink_url\":\"https://soundcloud.com/user\","
+                    + "\"avatar_url\":\"https://i1.sndcdn.com/avatar-large.jpg\","
+                    + "\"verified\":false}}";
+        }
+
+        /**
+         * A downloader of a playlist whose first two tracks are returned with their full info.
+         *
+         * <p>
+         * The tracks of a chunk are returned in the reverse order, and the first chunk is only
+         * answered once the other ones have been, so that chunks complete out of order.
+         * </p>
+         */
+        private static final class FakeDownloader extends Downloader {
+            private final int trackCount;
+            private final List<Integer> failingChunks;
+            private final List<Integer> chunkSizes = Collections.synchronizedList(
+                    new ArrayList<>());
+            private final CountDownLatch otherChunksAnswered;
+
+            /**
+             * @param trackCount    the number of tracks of the playlist
+             * @param failingChunks the IDs of the first track of the chunks which fail
+             */
+            FakeDownloader(final int trackCount, @Nonnull final List<Integer> failingChunks) {
+                this.trackCount = trackCount;
+                this.failingChunks = failingChunks;
+                final int chunkCount = (trackCount - 2 + 14) / 15;
+                this.otherChunksAnswered = new CountDownLatch(chunkCount - 1);
+            }
+
+            @Override
+            public Response execute(@Nonnull final Request request) throws IOException {
+                final String url = request.url();
+                if (url.startsWith(SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL + "playlists/"
+                        + PLAYLIST_ID + "?")) {
+                    return response(playlist(), url);
+                } else if (!url.startsWith(TRACKS_URL)) {
+                    throw new IOException("Unexpected request: " + url);
+                }
+
+                final List<Integer> ids = Arrays.stream(url.substring(TRACKS_URL.length())
+                                .split(","))
+                        .map(Integer::parseInt)
+                        .collect(Collectors.toList());
+                chunkSizes.add(ids.size());
+                if (ids.get(0) == 3) {
+                    try {
+                        otherChunksAnswered.await(5, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                }
+
+                try {
+                    if (failingChunks.contains(ids.get(0))) {
+                        return response("Internal error", url);
+                    }
+                    final List<String> tracks = ids.stream()
+                            .map(FetchAll::track)
+                            .collect(Collectors.toList());
+                    Collections.reverse(tracks);
+                    return response("[" + String.join(",", tracks) + "]", url);
+                } finally {
+                    if (ids.get(0) != 3) {
+                        otherChunksAnswered.countDown();
+                    }
+                }
+            }
+
+            @Nonnull
+            private String playlist() {
+                final List<String> tracks = new ArrayList<>();
+                tracks.add(track(1));
+                tracks.add(track(2));
+                for (int id = 3; id <= trackCount; id++) {
+                    tracks.add("{\"id\":" + id + "}");
+                }
+                return "{\"title\":\"Playlist\",\"track_count\":" + trackCount
+                        + ",\"tracks\":[" + String.join(",", tracks) + "]}";
+            }
+
+            @Nonnull
+            private static Response response(@Nonnull final String body,
+                                             @Nonnull final String url) {
+                return new Response(200, "OK", null, body, url);
+            }
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderFactory;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubeFeedEntryInfoItemExtractor;
+import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubeFeedInfoItemExtractor;
+import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubeFeedParser;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+
+import java.util.List;
+
+/**
+ * Test that {@link YoutubeFeedParser} gives the same results as the Jsoup parsing of feeds.
+ */
+public class YoutubeFeedParserTest {
+
+    private static final String RESOURCE_PATH = DownloaderFactory.RESOURCE_PATH + "services/youtube/extractor/feed/";
+    private static final String FEED_URL = "https://www.youtube.com/feeds/videos.xml?user=Kurzgesagt";
+
+    private static String feedXml;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        YoutubeTestsUtils.ensureStateless();
+        NewPipe.init(DownloaderFactory.getDownloader(RESOURCE_PATH));
+        feedXml = NewPipe.getDownloader().get(FEED_URL).responseBody();
+    }
+
+    @Test
+    void testSameFeedValuesAsJsoup() throws ParsingException {
+        final Document document = Jsoup.parse(feedXml);
+        final YoutubeFeedParser.Feed feed = YoutubeFeedParser.parse(feedXml);
+
+        assertEquals(document.getElementsByTag("yt:channelId").first().text(),
+                feed.getChannelId());
+        assertEquals(document.select("feed > author > name").first().text(),
+                feed.getAuthorName());
+        assertEquals(document.select("feed > author > uri").first().text(),
+                feed.getAuthorUri());
+    }
+
+    @Test
+    void testSameItemsAsJsoup() throws ParsingException {
+        final List<StreamInfoItem> jsoupItems = extractWithJsoup(feedXml);
+        final List<StreamInfoItem> streamedItems = extractWithParser(feedXml);
+
+        assertFalse(jsoupItems.isEmpty());
+        assertEquals(jsoupItems.size(), streamedItems.size());
+        for (int i = 0; i < jsoupItems.size(); i++) {
+            final StreamInfoItem expected = jsoupItems.get(i);
+            final StreamInfoItem actual = streamedItems.get(i);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getUploadDate().offsetDateTime(),
+                    actual.getUploadDate().offsetDateTime());
+        }
+    }
+
+    @Test
+    void testWhitespaceNormalization() throws ParsingException {
+        final String xml = "<feed><author><name>\n  Some \t channel  </name>"
+                + "<uri>https://www.youtube.com/channel/UC</uri></author>"
+                + "<entry><title> A\n\nvideo\u200B &amp; more </title></entry></feed>";
+
+        final YoutubeFeedParser.Feed feed = YoutubeFeedParser.parse(xml);
+        final Document document = Jsoup.parse(xml);
+
+        assertEquals(document.select("feed > author > name").first().text(),
+                feed.getAuthorName());
+        assertEquals(document.select("feed > entry").first().getElementsByTag("title").first()
+                .text(), feed.getEntries().get(0).getTitle());
+    }
+
+    @Test
+    void testStopAtKnownEntry() throws ParsingException {
+        final List<YoutubeFeedParser.Entry> allEntries =
+                YoutubeFeedParser.parse(feedXml).getEntries();
+        final String knownLink = allEntries.get(3).getLink();
+
+        final YoutubeFeedParser.Feed feed = YoutubeFeedParser.parse(feedXml,
+                entry -> knownLink.equals(entry.getLink()));
+
+        assertEquals(3, feed.getEntries().size());
+        assertEquals(allEntries.get(2).getLink(), feed.getEntries().get(2).getLink());
+        assertNotNull(feed.getChannelId());
+    }
+
+    @Test
+    void testMalformedFeed() {
+        assertThrows(ParsingException.class, () -> YoutubeFeedParser.parse("<feed><entry>"));
+    }
+
+    @Test
+    @Disabled("Benchmark, run it manually")
+    void benchmarkParsers() throws ParsingException {
+        final int iterations = 500;
+        for (int i = 0; i < iterations; i++) {
+            extractWithJsoup(feedXml);
+            extractWithParser(feedXml);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            extractWithJsoup(feedXml);
+        }
+        final long jsoupTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            extractWithParser(feedXml);
+        }
+        final long parserTime = System.nanoTime() - startTime;
+
+        System.out.println("Jsoup: " + jsoupTime / iterations / 1000 + " µs/feed, "
+                + "streaming parser: " + parserTime / iterations / 1000 + " µs/feed");
+    }
+
+    private static List<StreamInfoItem> extractWithJsoup(final String xml) {
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        for (final Element entry : Jsoup.parse(xml).select("feed > entry")) {
+            collector.commit(new YoutubeFeedInfoItemExtractor(entry));
+        }
+        return collector.getItems();
+    }
+
+    private static List<StreamInfoItem> extractWithParser(final String xml)
+            throws ParsingException {
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        for (final YoutubeFeedParser.Entry entry : YoutubeFeedParser.parse(xml).getEntries()) {
+            collector.commit(new YoutubeFeedEntryInfoItemExtractor(entry));
+        }
+        return collector.getItems();
+    }
+}
@@ -0,0 +1,217 @@
+package org.schabi.newpipe.extractor.services.youtube.extractors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import com.grack.nanojson.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+public class YoutubeLiveSessionTest {
+
+    @Test
+    void testChangeDispatchAndBackOff() throws Exception {
+        final FakeExtractor extractor = new FakeExtractor();
+        final RecordingListener listener = new RecordingListener();
+        final YoutubeLiveSession session = new YoutubeLiveSession(extractor, listener);
+        session.setPollingInterval(10, 40);
+        session.setBackOffFactor(2);
+
+        // Nothing changed: the interval is multiplied by the back-off factor, up to the maximum
+        extractor.response = playerResponse("hls", 100, true);
+        session.poll();
+        assertEquals(20, session.getCurrentIntervalMs());
+        session.poll();
+        assertEquals(40, session.getCurrentIntervalMs());
+        session.poll();
+        assertEquals(40, session.getCurrentIntervalMs());
+        assertTrue(listener.events.isEmpty());
+
+        // A change resets the interval to the minimum
+        extractor.response = playerResponse("new hls", 150, true);
+        final YoutubeLiveSession.Snapshot snapshot = session.poll();
+        assertEquals("new hls", snapshot.getHlsUrl());
+        assertEquals(150, snapshot.getViewCount());
+        assertEquals(10, session.getCurrentIntervalMs());
+        assertEquals(List.of("hls: new hls", "views: 150"), listener.events);
+
+        // The end of the livestream closes the session
+        listener.events.clear();
+        extractor.response = playerResponse("ended hls", 150, false);
+        assertTrue(session.poll().isEnded());
+        assertEquals(List.of("ended"), listener.events);
+        assertTrue(session.isClosed());
+        assertThrows(IllegalStateException.class, session::poll);
+    }
+
+    @Test
+    void testNoChangeDispatchedAfterClose() throws Exception {
+        final FakeExtractor extractor = new FakeExtractor();
+        final RecordingListener listener = new RecordingListener();
+        final YoutubeLiveSession session = new YoutubeLiveSession(extractor, listener);
+        final YoutubeLiveSession.Snapshot snapshot = session.getSnapshot();
+        extractor.response = playerResponse("new hls", 150, true);
+        extractor.blockRequests();
+
+        final CompletableFuture<YoutubeLiveSession.Snapshot> poll =
+                CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return session.poll();
+                    } catch (final Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+        assertTrue(extractor.requestStarted.await(5, TimeUnit.SECONDS));
+        session.close();
+        extractor.releaseRequest.countDown();
+
+        // The response got after the session has been closed is ignored
+        assertSame(snapshot, poll.get(5, TimeUnit.SECONDS));
+        assertSame(snapshot, session.getSnapshot());
+        assertTrue(listener.events.isEmpty());
+    }
+
+    @Test
+    void testNoErrorDispatchedAfterClose() throws Exception {
+        final FakeExtractor extractor = new FakeExtractor();
+        final RecordingListener listener = new RecordingListener();
+        final YoutubeLiveSession session = new YoutubeLiveSession(extractor, listener);
+        session.setPollingInterval(1, 1);
+        extractor.failure = new IOException("Failing request");
+        extractor.blockRequests();
+
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        try {
+            session.start(scheduler);
+            assertTrue(extractor.requestStarted.await(5, TimeUnit.SECONDS));
+            session.close();
+            extractor.releaseRequest.countDown();
+        } finally {
+            scheduler.shutdown();
+            assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        // The request failed because of the closing, which is not reported as an error
+        assertTrue(listener.events.isEmpty());
+    }
+
+    @Nonnull
+    private static JsonObject playerResponse(@Nonnull final String hlsUrl,
+                                             final long viewCount,
+                                             final boolean live) {
+        final JsonObject streamingData = new JsonObject();
+        streamingData.put("hlsManifestUrl", hlsUrl);
+        streamingData.put("dashManifestUrl", "dash");
+        final JsonObject videoDetails = new JsonObject();
+        videoDetails.put("viewCount", String.valueOf(viewCount));
+        videoDetails.put("isLive", live);
+        final JsonObject playabilityStatus = new JsonObject();
+        playabilityStatus.put("status", "OK");
+
+        final JsonObject playerResponse = new JsonObject();
+        playerResponse.put("streamingData", streamingData);
+        playerResponse.put("videoDetails", videoDetails);
+        playerResponse.put("playabilityStatus", playabilityStatus);
+        return playerResponse;
+    }
+
+    /**
+     * An extractor of a livestream whose player responses are set by the tests instead of being
+     * requested.
+     */
+    private static final class FakeExtractor extends YoutubeStreamExtractor {
+        private volatile JsonObject response = playerResponse("hls", 100, true);
+        private volatile IOException failure;
+        private final CountDownLatch requestStarted = new CountDownLatch(1);
+        private CountDownLatch releaseRequest = new CountDownLatch(0);
+
+        FakeExtractor() throws ParsingException {
+            super(YouTube, YouTube.getStreamLHFactory().fromId("live"));
+        }
+
+        void blockRequests() {
+            releaseRequest = new CountDownLatch(1);
+        }
+
+        @Override
+        public StreamType getStreamType() {
+            return StreamType.LIVE_STREAM;
+        }
+
+        @Override
+        public String getHlsUrl() {
+            return "hls";
+        }
+
+        @Override
+        public String getDashMpdUrl() {
+            return "dash";
+        }
+
+        @Nonnull
+        @Override
+        JsonObject getPlayerResponse() {
+            return playerResponse("hls", 100, true);
+        }
+
+        @Nonnull
+        @Override
+        JsonObject fetchLivePlayerResponse() throws IOException {
+            requestStarted.countDown();
+            try {
+                releaseRequest.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return response;
+        }
+    }
+
+    private static final class RecordingListener implements YoutubeLiveSession.Listener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public synchronized void onHlsUrlChanged(@Nonnull final String hlsUrl) {
+            events.add("hls: " + hlsUrl);
+        }
+
+        @Override
+        public synchronized void onDashMpdUrlChanged(@Nonnull final String dashMpdUrl) {
+            events.add("dash: " + dashMpdUrl);
+        }
+
+        @Override
+        public synchronized void onViewCountChanged(final long viewCount) {
+            events.add("views: " + viewCount);
+        }
+
+        @Override
+        public synchronized void onEnded() {
+            events.add("ended");
+        }
+
+        @Override
+        public synchronized void onError(@Nonnull final Exception e) {
+            events.add("error: " + e.getMessage());
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package org.schabi.newpipe.extractor.services.youtube.stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.schabi.newpipe.extractor.ServiceList.YouTube;
 
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.schabi.newpipe.downloader.DownloaderFactory;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.services.DefaultStreamExtractorTest;
 import org.schabi.newpipe.extractor.services.youtube.YoutubeTestsUtils;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoField;
 import org.schabi.newpipe.extractor.stream.StreamType;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -60,6 +64,15 @@ public class YoutubeStreamExtractorAgeRestrictedTest extends DefaultStreamExtrac
     @Override public String expectedCategory() { return "People & Blogs"; }
 
     @Override public String expectedLicence() { return "YouTube licence"; }
+
+    @Test
+    void testAgeLimitWithoutNextResponse() throws Exception {
+        // No requested field needs the next response, which is then not fetched
+        final StreamExtractor streamsOnlyExtractor = YouTube.getStreamExtractor(URL);
+        streamsOnlyExtractor.setRequestedFields(EnumSet.noneOf(StreamInfoField.class));
+        streamsOnlyExtractor.fetchPage();
+        assertEquals(extractor.getAgeLimit(), streamsOnlyExtractor.getAgeLimit());
+    }
     @Override
     public List<String> expectedTags() {
         return Collections.emptyList();
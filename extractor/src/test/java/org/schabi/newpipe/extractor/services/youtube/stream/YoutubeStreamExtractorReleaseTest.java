@@ -0,0 +1,95 @@
+package org.schabi.newpipe.extractor.services.youtube.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderFactory;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.services.youtube.YoutubeTestsUtils;
+import org.schabi.newpipe.extractor.stream.LazyStreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class YoutubeStreamExtractorReleaseTest {
+    private static final String RESOURCE_PATH = DownloaderFactory.RESOURCE_PATH
+            + "services/youtube/extractor/stream/";
+    private static final String URL = "https://www.youtube.com/watch?v=7PIMiDcwNvc";
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        YoutubeTestsUtils.ensureStateless();
+        NewPipe.init(DownloaderFactory.getDownloader(RESOURCE_PATH + "pewdiwpie"));
+    }
+
+    @Test
+    void testReleasedAfterExtraction() throws Exception {
+        final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+        extractor.setReleasedAfterExtraction(true);
+        final StreamInfo info = StreamInfo.getInfo(extractor);
+
+        assertFalse(info.getAudioStreams().isEmpty());
+        assertFalse(info.getRelatedItems().isEmpty());
+        for (final InfoItem item : info.getRelatedItems()) {
+            assertTrue(!(item instanceof LazyStreamInfoItem)
+                    || ((LazyStreamInfoItem) item).isMaterialized());
+        }
+        // The page has to be fetched again to use the extractor
+        assertThrows(IllegalStateException.class, extractor::getName);
+    }
+
+    @Test
+    void testNotReleasedByDefault() throws Exception {
+        final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+        final StreamInfo info = StreamInfo.getInfo(extractor);
+        assertEquals(info.getName(), extractor.getName());
+    }
+
+    @Test
+    @Disabled("Benchmark, run it manually")
+    void benchmarkRetainedHeap() throws Exception {
+        final int count = 20;
+        final long keptHeap = measureRetainedHeap(count, false);
+        final long releasedHeap = measureRetainedHeap(count, true);
+        System.out.println("Retained heap per result with the extractor kept: "
+                + keptHeap / count / 1024 + " KiB, with the extractor released: "
+                + releasedHeap / count / 1024 + " KiB");
+    }
+
+    /**
+     * Extract infos while keeping their extractors referenced, as a client keeping both would,
+     * and measure the heap they retain.
+     */
+    private static long measureRetainedHeap(final int count, final boolean released)
+            throws Exception {
+        final List<Object> results = new ArrayList<>();
+        final long before = getUsedHeap();
+        for (int i = 0; i < count; i++) {
+            final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+            extractor.setReleasedAfterExtraction(released);
+            results.add(StreamInfo.getInfo(extractor));
+            results.add(extractor);
+        }
+        final long retainedHeap = getUsedHeap() - before;
+        assertFalse(results.isEmpty());
+        return retainedHeap;
+    }
+
+    private static long getUsedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,186 @@
+package org.schabi.newpipe.extractor.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LazyStreamInfoItemTest {
+
+    @Test
+    void testEagerByDefault() {
+        final CountingExtractor extractor = new CountingExtractor();
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        collector.commit(extractor);
+
+        assertFalse(collector.getItems().get(0) instanceof LazyStreamInfoItem);
+        assertEquals(1, extractor.getCalls("getViewCount"));
+    }
+
+    @Test
+    void testFieldsExtractedOnFirstAccess() {
+        final CountingExtractor extractor = new CountingExtractor();
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        collector.setLazy(true);
+        collector.commit(extractor);
+
+        final StreamInfoItem item = collector.getItems().get(0);
+        assertInstanceOf(LazyStreamInfoItem.class, item);
+        assertEquals("https://example.com/watch", item.getUrl());
+        assertEquals("name", item.getName());
+        assertEquals(0, extractor.getCalls("getViewCount"));
+        assertEquals(0, extractor.getCalls("getUploadDate"));
+
+        assertEquals(42, item.getViewCount());
+        assertEquals(42, item.getViewCount());
+        assertEquals(1, extractor.getCalls("getViewCount"));
+        assertEquals(0, extractor.getCalls("getUploadDate"));
+    }
+
+    @Test
+    void testErrorsKeptByItem() {
+        final CountingExtractor extractor = new CountingExtractor();
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        collector.setLazy(true);
+        collector.commit(extractor);
+
+        final LazyStreamInfoItem item = (LazyStreamInfoItem) collector.getItems().get(0);
+        assertTrue(item.getErrors().isEmpty());
+        assertEquals(-1, item.getDuration());
+        assertEquals(1, item.getErrors().size());
+        assertInstanceOf(ParsingException.class, item.getErrors().get(0));
+        assertTrue(collector.getErrors().isEmpty());
+    }
+
+    @Test
+    void testSetValueNotOverridden() {
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        collector.setLazy(true);
+        collector.commit(new CountingExtractor());
+
+        final StreamInfoItem item = collector.getItems().get(0);
+        item.setViewCount(7);
+        assertEquals(7, item.getViewCount());
+    }
+
+    @Test
+    void testMaterialize() throws Exception {
+        final CountingExtractor extractor = new CountingExtractor();
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        collector.setLazy(true);
+        collector.commit(extractor);
+
+        final LazyStreamInfoItem item = (LazyStreamInfoItem) collector.getItems().get(0);
+        assertFalse(item.isMaterialized());
+        item.materialize();
+        assertTrue(item.isMaterialized());
+        assertEquals(1, extractor.getCalls("getUploadDate"));
+        assertEquals(1, extractor.getCalls("getThumbnailUrl"));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(item);
+        }
+        final StreamInfoItem copy;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (StreamInfoItem) in.readObject();
+        }
+        assertEquals(item.toString(), copy.toString());
+        assertEquals(42, copy.getViewCount());
+        assertEquals(item.getUploadDate().offsetDateTime(), copy.getUploadDate().offsetDateTime());
+    }
+
+    private static final class CountingExtractor implements StreamInfoItemExtractor {
+        private final Map<String, Integer> calls = new HashMap<>();
+
+        private void count(final String method) {
+            calls.merge(method, 1, Integer::sum);
+        }
+
+        private int getCalls(final String method) {
+            return calls.getOrDefault(method, 0);
+        }
+
+        @Override
+        public String getName() {
+            return "name";
+        }
+
+        @Override
+        public String getUrl() {
+            return "https://example.com/watch";
+        }
+
+        @Override
+        public String getThumbnailUrl() {
+            count("getThumbnailUrl");
+            return "https://example.com/thumbnail.jpg";
+        }
+
+        @Override
+        public StreamType getStreamType() {
+            return StreamType.VIDEO_STREAM;
+        }
+
+        @Override
+        public boolean isAd() {
+            return false;
+        }
+
+        @Override
+        public long getDuration() throws ParsingException {
+            count("getDuration");
+            throw new ParsingException("Could not get duration");
+        }
+
+        @Override
+        public long getViewCount() {
+            count("getViewCount");
+            return 42;
+        }
+
+        @Override
+        public String getUploaderName() {
+            return "uploader";
+        }
+
+        @Override
+        public String getUploaderUrl() {
+            return "https://example.com/uploader";
+        }
+
+        @Override
+        public String getUploaderAvatarUrl() {
+            return null;
+        }
+
+        @Override
+        public boolean isUploaderVerified() {
+            return true;
+        }
+
+        @Override
+        public String getTextualUploadDate() {
+            return "2023-01-01T00:00:00Z";
+        }
+
+        @Override
+        public DateWrapper getUploadDate() {
+            count("getUploadDate");
+            return new DateWrapper(OffsetDateTime.parse(getTextualUploadDate()));
+        }
+    }
+}
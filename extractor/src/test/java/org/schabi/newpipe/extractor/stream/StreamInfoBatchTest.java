@@ -0,0 +1,124 @@
+package org.schabi.newpipe.extractor.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+public class StreamInfoBatchTest {
+    private static final String UNSUPPORTED_URL = "https://example.com/unsupported";
+
+    @AfterEach
+    void resetDownloader() {
+        NewPipe.init(null);
+    }
+
+    @Nonnull
+    private static List<String> getUrls(final int count) {
+        final List<String> urls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            urls.add("https://media.ccc.de/v/talk-" + i);
+        }
+        return urls;
+    }
+
+    @Test
+    void testMaxConcurrentRequests() throws Exception {
+        final AtomicInteger runningRequests = new AtomicInteger();
+        final AtomicInteger maxRunningRequests = new AtomicInteger();
+        NewPipe.init(new Downloader() {
+            @Override
+            public Response execute(@Nonnull final Request request) throws IOException {
+                maxRunningRequests.accumulateAndGet(runningRequests.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    runningRequests.decrementAndGet();
+                }
+                throw new IOException("Failing request");
+            }
+        });
+
+        final List<String> urls = getUrls(10);
+        urls.add(3, UNSUPPORTED_URL);
+        final StreamInfoBatch.Options options = StreamInfoBatch.Options.newBuilder()
+                .setMaxConcurrentRequests(2)
+                .build();
+
+        final Set<Integer> indexes = new HashSet<>();
+        StreamInfo.getInfos(urls, options, result -> {
+            assertTrue(indexes.add(result.getIndex()));
+            assertEquals(urls.get(result.getIndex()), result.getUrl());
+            // Each failure is reported in the result of its URL
+            assertFalse(result.isSuccessful());
+            assertNull(result.getStreamInfo());
+            assertNotNull(result.getError());
+        });
+
+        assertEquals(urls.size(), indexes.size());
+        assertTrue(maxRunningRequests.get() <= 2, "Requests: " + maxRunningRequests.get());
+    }
+
+    @Test
+    void testCloseWakesUpWaitingThreads() throws Exception {
+        final CountDownLatch requestStarted = new CountDownLatch(1);
+        final CountDownLatch releaseRequest = new CountDownLatch(1);
+        NewPipe.init(new Downloader() {
+            @Override
+            public Response execute(@Nonnull final Request request) throws IOException {
+                requestStarted.countDown();
+                try {
+                    releaseRequest.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Failing request");
+            }
+        });
+
+        final StreamInfoBatch batch = StreamInfo.getInfos(getUrls(3),
+                StreamInfoBatch.Options.newBuilder().setMaxConcurrentRequests(1).build());
+        try {
+            assertTrue(requestStarted.await(5, TimeUnit.SECONDS));
+            final CompletableFuture<StreamInfoBatch.Result> waitingResult =
+                    new CompletableFuture<>();
+            final Thread waitingThread = new Thread(() -> waitingResult.complete(batch.next()));
+            waitingThread.start();
+            while (waitingThread.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            batch.close();
+
+            // The other URLs wait for the extraction of the first one, so they are cancelled
+            final StreamInfoBatch.Result result = waitingResult.get(5, TimeUnit.SECONDS);
+            assertInstanceOf(CancellationException.class, result.getError());
+            assertFalse(batch.hasNext());
+        } finally {
+            releaseRequest.countDown();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.schabi.newpipe.extractor.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class StreamInfoItemTableTest {
+
+    private static StreamInfoItem createItem(final int index) {
+        final StreamInfoItem item = new StreamInfoItem(index % 2,
+                "https://example.com/watch?v=" + index, "Video " + index,
+                index % 3 == 0 ? StreamType.LIVE_STREAM : StreamType.VIDEO_STREAM);
+        item.setThumbnailUrl("https://example.com/thumbnail/" + index);
+        item.setUploaderName(new String("Uploader"));
+        item.setUploaderUrl(new String("https://example.com/channel/uploader"));
+        item.setUploaderVerified(index % 2 == 0);
+        item.setTextualUploadDate(new String("1 day ago"));
+        if (index % 4 != 0) {
+            item.setUploadDate(new DateWrapper(
+                    OffsetDateTime.of(2023, 1, 1 + index % 28, 12, 0, 0, 0, ZoneOffset.UTC),
+                    index % 2 == 1));
+        }
+        item.setShortFormContent(index % 5 == 0);
+        item.setDuration(index * 10L);
+        item.setViewCount(index * 1000L);
+        return item;
+    }
+
+    private static List<StreamInfoItem> createItems(final int count) {
+        final List<StreamInfoItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(createItem(i));
+        }
+        return items;
+    }
+
+    private static void assertItemEquals(final StreamInfoItem expected,
+                                         final StreamInfoItem actual) {
+        assertEquals(expected.getServiceId(), actual.getServiceId());
+        assertEquals(expected.getUrl(), actual.getUrl());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getThumbnailUrl(), actual.getThumbnailUrl());
+        assertEquals(expected.getStreamType(), actual.getStreamType());
+        assertEquals(expected.getUploaderName(), actual.getUploaderName());
+        assertEquals(expected.getUploaderUrl(), actual.getUploaderUrl());
+        assertNull(actual.getUploaderAvatarUrl());
+        assertEquals(expected.isUploaderVerified(), actual.isUploaderVerified());
+        assertEquals(expected.getTextualUploadDate(), actual.getTextualUploadDate());
+        if (expected.getUploadDate() == null) {
+            assertNull(actual.getUploadDate());
+        } else {
+            assertEquals(expected.getUploadDate().offsetDateTime(),
+                    actual.getUploadDate().offsetDateTime());
+            assertEquals(expected.getUploadDate().isApproximation(),
+                    actual.getUploadDate().isApproximation());
+        }
+        assertEquals(expected.isShortFormContent(), actual.isShortFormContent());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.getViewCount(), actual.getViewCount());
+    }
+
+    @Test
+    void testItems() {
+        final List<StreamInfoItem> items = createItems(100);
+        final StreamInfoItemTable table = StreamInfoItemTable.fromItems(items);
+
+        assertEquals(items.size(), table.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertItemEquals(items.get(i), table.get(i));
+            assertItemEquals(items.get(i), table.toStreamInfoItem(i));
+        }
+        assertEquals(StreamInfoItemTable.NO_UPLOAD_DATE, table.getUploadEpochSecond(0));
+        // Three distinct strings per item, and three strings shared by all of them
+        assertEquals(items.size() * 3 + 3, table.getStringCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(items.size()));
+    }
+
+    @Test
+    void testViewsReadOnly() {
+        final StreamInfoItemTable table = StreamInfoItemTable.fromItems(createItems(1));
+        final StreamInfoItem view = table.get(0);
+        assertThrows(UnsupportedOperationException.class, () -> view.setViewCount(1));
+        assertThrows(UnsupportedOperationException.class, () -> view.setThumbnailUrl(""));
+        assertThrows(UnsupportedOperationException.class, () -> table.add(createItem(1)));
+
+        final StreamInfoItem copy = table.toStreamInfoItem(0);
+        copy.setViewCount(1);
+        assertEquals(1, copy.getViewCount());
+        assertEquals(0, table.getViewCount(0));
+    }
+
+    @Test
+    void testPageConversion() {
+        final Page nextPage = new Page("https://example.com/page/2");
+        final List<Throwable> errors = Collections.singletonList(new Exception("error"));
+        final InfoItemsPage<StreamInfoItem> page =
+                new InfoItemsPage<>(createItems(10), nextPage, errors);
+
+        final StreamInfoItemTable table = StreamInfoItemTable.fromPage(page);
+        assertSame(nextPage, table.getNextPage());
+        assertEquals(errors, table.getErrors());
+
+        final InfoItemsPage<StreamInfoItem> convertedPage = table.toPage();
+        assertSame(table, convertedPage.getItems());
+        assertTrue(convertedPage.hasNextPage());
+        assertEquals(errors, convertedPage.getErrors());
+        for (int i = 0; i < page.getItems().size(); i++) {
+            assertItemEquals(page.getItems().get(i), convertedPage.getItems().get(i));
+        }
+    }
+
+    @Test
+    void testSerialization() throws Exception {
+        final List<StreamInfoItem> items = createItems(10);
+        final StreamInfoItemTable table = StreamInfoItemTable.fromItems(items);
+
+        final StreamInfoItemTable deserializedTable = (StreamInfoItemTable) deserialize(
+                serialize(table));
+        for (int i = 0; i < items.size(); i++) {
+            assertItemEquals(items.get(i), deserializedTable.get(i));
+        }
+
+        // Views are serialized without their table
+        final Object item = deserialize(serialize(table.get(1)));
+        assertFalse(item instanceof StreamInfoItemTable);
+        assertEquals(StreamInfoItem.class, item.getClass());
+        assertItemEquals(items.get(1), (StreamInfoItem) item);
+    }
+
+    @Test
+    @Disabled("Benchmark, run it manually")
+    void benchmarkRetainedHeap() throws Exception {
+        final int count = 200_000;
+        final long before = getUsedHeap();
+        final List<StreamInfoItem> items = createItems(count);
+        final long itemsHeap = getUsedHeap() - before;
+        final StreamInfoItemTable table = StreamInfoItemTable.fromItems(items);
+        items.clear();
+        final long tableHeap = getUsedHeap() - before;
+        assertEquals(count, table.size());
+        System.out.println("Retained heap per item as objects: " + itemsHeap / count
+                + " bytes, as a table: " + tableHeap / count + " bytes");
+    }
+
+    private static byte[] serialize(final Object object) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] bytes) throws Exception {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return input.readObject();
+        }
+    }
+
+    private static long getUsedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,100 @@
+package org.schabi.newpipe.extractor.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExtractorExecutorsTest {
+
+    @Test
+    void testLimit() throws InterruptedException {
+        final ExecutorService executor = ExtractorExecutors.newBoundedExecutor(16);
+        try {
+            final Executor limitedExecutor = ExtractorExecutors.limit(executor, 3);
+            final int taskCount = 50;
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+            final CountDownLatch done = new CountDownLatch(taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                limitedExecutor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertTrue(maxRunning.get() <= 3, "At most 3 tasks should run at once");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallerRunsExecutor() {
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+        final Executor executor = ExtractorExecutors.limit(
+                ExtractorExecutors.callerRunsExecutor(), 2);
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> threads.add(Thread.currentThread()));
+        }
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void testBoundedExecutorRunsOnCallerWhenSaturated() throws InterruptedException {
+        final ExecutorService executor = ExtractorExecutors.newBoundedExecutor(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            final Thread[] thread = new Thread[1];
+            executor.execute(() -> thread[0] = Thread.currentThread());
+            assertSame(Thread.currentThread(), thread[0]);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testVirtualThreadPerTaskExecutor() throws InterruptedException {
+        if (!ExtractorExecutors.isVirtualThreadPerTaskExecutorSupported()) {
+            assertThrows(UnsupportedOperationException.class,
+                    ExtractorExecutors::newVirtualThreadPerTaskExecutor);
+            return;
+        }
+
+        final ExecutorService executor = ExtractorExecutors.newVirtualThreadPerTaskExecutor();
+        try {
+            final CountDownLatch done = new CountDownLatch(1);
+            executor.execute(done::countDown);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
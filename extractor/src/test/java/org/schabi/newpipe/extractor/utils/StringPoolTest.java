@@ -0,0 +1,182 @@
+package org.schabi.newpipe.extractor.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+public class StringPoolTest {
+
+    @Test
+    void testIntern() {
+        final StringPool pool = new StringPool();
+        final String value = new String("value");
+        assertSame(value, pool.intern(value));
+        assertSame(value, pool.intern(new String("value")));
+        assertNull(pool.intern(null));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testClearedWhenFull() {
+        final StringPool pool = new StringPool(2);
+        pool.intern("a");
+        pool.intern("b");
+        final String c = new String("c");
+        assertSame(c, pool.intern(c));
+        assertEquals(1, pool.size());
+
+        final String a = new String("a");
+        assertSame(a, pool.intern(a));
+        assertNotSame(a, pool.intern("b"));
+    }
+
+    @Test
+    void testCollectorFootprint() {
+        final int itemCount = 1000;
+        final long footprint = getStringsFootprint(collect(itemCount, null, false));
+        final long pooledFootprint = getStringsFootprint(
+                collect(itemCount, new StringPool(), false));
+        final long lazyPooledFootprint = getStringsFootprint(
+                collect(itemCount, new StringPool(), true));
+
+        // The URLs, the names and the thumbnails of the items are unique, but the uploader
+        // strings and the upload dates are the same for all of them
+        assertTrue(pooledFootprint < footprint * 6 / 10,
+                "Expected at least 40% less heap, got " + pooledFootprint + " instead of "
+                        + footprint + " bytes");
+        assertEquals(pooledFootprint, lazyPooledFootprint);
+    }
+
+    private static List<StreamInfoItem> collect(final int itemCount,
+                                                 final StringPool stringPool,
+                                                 final boolean lazy) {
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        collector.setStringPool(stringPool);
+        collector.setLazy(lazy);
+        for (int i = 0; i < itemCount; i++) {
+            collector.commit(new ChannelPageItemExtractor(i));
+        }
+        final List<StreamInfoItem> items = collector.getItems();
+        for (final StreamInfoItem item : items) {
+            // Read the values of lazy items
+            item.toString();
+        }
+        return items;
+    }
+
+    /**
+     * Estimate the heap used by the distinct instances of the strings of items, as a compact
+     * Latin-1 string: a 24 bytes object, and a byte array of 16 bytes of header plus its length,
+     * aligned on 8 bytes.
+     */
+    private static long getStringsFootprint(final List<StreamInfoItem> items) {
+        final Set<String> strings = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final StreamInfoItem item : items) {
+            strings.add(item.getUrl());
+            strings.add(item.getName());
+            strings.add(item.getThumbnailUrl());
+            strings.add(item.getUploaderName());
+            strings.add(item.getUploaderUrl());
+            strings.add(item.getUploaderAvatarUrl());
+            strings.add(item.getTextualUploadDate());
+        }
+
+        long footprint = 0;
+        for (final String string : strings) {
+            footprint += 24 + ((16 + string.length() + 7) / 8) * 8;
+        }
+        return footprint;
+    }
+
+    /**
+     * An item of a channel page, whose strings are new instances, as if they were parsed from a
+     * response.
+     */
+    private static final class ChannelPageItemExtractor implements StreamInfoItemExtractor {
+        private final int index;
+
+        ChannelPageItemExtractor(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getName() {
+            return "Video number " + index;
+        }
+
+        @Override
+        public String getUrl() {
+            return "https://www.youtube.com/watch?v=video" + index;
+        }
+
+        @Override
+        public String getThumbnailUrl() {
+            return "https://i.ytimg.com/vi/video" + index + "/hqdefault.jpg";
+        }
+
+        @Override
+        public StreamType getStreamType() {
+            return StreamType.VIDEO_STREAM;
+        }
+
+        @Override
+        public boolean isAd() {
+            return false;
+        }
+
+        @Override
+        public long getDuration() {
+            return 600;
+        }
+
+        @Override
+        public long getViewCount() {
+            return index;
+        }
+
+        @Override
+        public String getUploaderName() {
+            return new String("A channel with a rather long name");
+        }
+
+        @Override
+        public String getUploaderUrl() {
+            return new String("https://www.youtube.com/channel/UCxxxxxxxxxxxxxxxxxxxxxx");
+        }
+
+        @Override
+        public String getUploaderAvatarUrl() {
+            return new String("https://yt3.ggpht.com/ytc/some-rather-long-avatar-url-with-"
+                    + "many-characters-in-it=s88-c-k-c0x00ffffff-no-rj");
+        }
+
+        @Override
+        public boolean isUploaderVerified() {
+            return true;
+        }
+
+        @Override
+        public String getTextualUploadDate() {
+            return new String("2 weeks ago");
+        }
+
+        @Override
+        public DateWrapper getUploadDate() {
+            return null;
+        }
+    }
+}